@@ -17,7 +17,6 @@
 
 import com.google.gson.Gson;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -143,24 +142,23 @@ protected File createInvalidImage(String relativePath) throws IOException {
     // ==================== Metadata Assertion Helpers ====================
 
     /**
-     * Asserts that a metadata JSON file exists for the given image.
+     * Asserts that metadata exists for the given image.
      *
      * @param imageFilePath Absolute path to the image file
      */
     protected void assertMetadataExists(String imageFilePath) {
-        File metadataFile = getMetadataFile(imageFilePath);
-        assertThat(metadataFile.exists()).as("Metadata file should exist: " + metadataFile.getAbsolutePath()).isTrue();
+        assertThat(imageMetadataRepository.metadataExists(imageFilePath))
+                .as("Metadata should exist for: " + imageFilePath).isTrue();
     }
 
     /**
-     * Asserts that NO metadata JSON file exists for the given image.
+     * Asserts that NO metadata exists for the given image.
      *
      * @param imageFilePath Absolute path to the image file
      */
     protected void assertMetadataNotExists(String imageFilePath) {
-        File metadataFile = getMetadataFile(imageFilePath);
-        assertThat(metadataFile.exists()).as("Metadata file should NOT exist: " + metadataFile.getAbsolutePath())
-                .isFalse();
+        assertThat(imageMetadataRepository.metadataExists(imageFilePath))
+                .as("Metadata should NOT exist for: " + imageFilePath).isFalse();
     }
 
     /**
@@ -170,72 +168,40 @@ protected void assertMetadataNotExists(String imageFilePath) {
      * @param expectedFormat Expected image format
      * @param expectedWidth  Expected image width
      * @param expectedHeight Expected image height
-     * @throws IOException if reading metadata fails
      */
     protected void assertMetadataValid(String imageFilePath, ImageFormat expectedFormat,
-                                       int expectedWidth, int expectedHeight) throws IOException {
+                                       int expectedWidth, int expectedHeight) {
         assertMetadataExists(imageFilePath);
 
-        File metadataFile = getMetadataFile(imageFilePath);
-        try (FileReader reader = new FileReader(metadataFile)) {
-            ImageMetadata metadata = gson.fromJson(reader, ImageMetadata.class);
-
-            assertThat(metadata).as("Metadata should not be null").isNotNull();
-            assertThat(metadata.getFormat()).as("Image format mismatch").isEqualTo(expectedFormat);
-            assertThat(metadata.getWidth()).as("Image width mismatch").isEqualTo(expectedWidth);
-            assertThat(metadata.getHeight()).as("Image height mismatch").isEqualTo(expectedHeight);
-            assertThat(metadata.getSizeInBytes() > 0).as("Image size should be > 0").isTrue();
-            assertThat(metadata.getColorMode()).as("ColorMode should not be null").isNotNull();
-            assertThat(metadata.getFilePath()).as("FilePath should not be null").isNotNull();
-        }
-    }
-
-    /**
-     * Loads metadata from the JSON file for inspection.
-     *
-     * @param imageFilePath Absolute path to the image file
-     * @return ImageMetadata object, or null if file doesn't exist
-     * @throws IOException if reading fails
-     */
-    protected ImageMetadata loadMetadata(String imageFilePath) throws IOException {
-        File metadataFile = getMetadataFile(imageFilePath);
-
-        if (!metadataFile.exists()) {
-            return null;
-        }
+        ImageMetadata metadata = loadMetadata(imageFilePath);
 
-        try (FileReader reader = new FileReader(metadataFile)) {
-            return gson.fromJson(reader, ImageMetadata.class);
-        }
+        assertThat(metadata).as("Metadata should not be null").isNotNull();
+        assertThat(metadata.getFormat()).as("Image format mismatch").isEqualTo(expectedFormat);
+        assertThat(metadata.getWidth()).as("Image width mismatch").isEqualTo(expectedWidth);
+        assertThat(metadata.getHeight()).as("Image height mismatch").isEqualTo(expectedHeight);
+        assertThat(metadata.getSizeInBytes() > 0).as("Image size should be > 0").isTrue();
+        assertThat(metadata.getColorMode()).as("ColorMode should not be null").isNotNull();
+        assertThat(metadata.getFilePath()).as("FilePath should not be null").isNotNull();
     }
 
     /**
-     * Deletes the metadata JSON file for the given image (for setup/cleanup).
+     * Loads metadata for inspection.
      *
      * @param imageFilePath Absolute path to the image file
+     * @return ImageMetadata object, or null if none is stored
      */
-    protected void deleteMetadataFile(String imageFilePath) {
-        File metadataFile = getMetadataFile(imageFilePath);
-        if (metadataFile.exists()) {
-            boolean deleted = metadataFile.delete();
-            log.debug("Deleted metadata file: {} (success={})", metadataFile.getAbsolutePath(), deleted);
-        }
+    protected ImageMetadata loadMetadata(String imageFilePath) {
+        return imageMetadataRepository.loadMetadata(imageFilePath).orElse(null);
     }
 
     /**
-     * Gets the metadata file path for an image file.
+     * Deletes the stored metadata for the given image (for setup/cleanup).
      *
      * @param imageFilePath Absolute path to the image file
-     * @return The corresponding metadata file
      */
-    private File getMetadataFile(String imageFilePath) {
-        String metadataPath = imageFilePath.replaceAll("\\.(png|jpg|jpeg|gif|tif|tiff|bmp|webp)$", ".json");
-
-        if (metadataPath.equals(imageFilePath)) {
-            metadataPath = imageFilePath + ".json";
-        }
-
-        return new File(metadataPath);
+    protected void deleteMetadataFile(String imageFilePath) {
+        boolean deleted = imageMetadataRepository.deleteMetadata(imageFilePath);
+        log.debug("Deleted metadata for: {} (success={})", imageFilePath, deleted);
     }
 
     // ==================== Job Execution Helpers ====================
@@ -58,6 +58,9 @@ void batchLogFileLandsInCorrectDirectory() throws Exception {
         String logContent = Files.readString(logFile);
         assertThat(logContent).contains("Log verification marker");
 
+        // Verify lines logged by partition workers on executor threads carry the MDC into the same file
+        assertThat(logContent).contains("Log verification worker marker from log-verification-");
+
         // Verify no log file at the old broken path
         Path brokenLogDir = Paths.get(
                 cacheProperties.getLocation(), "batch-logs", "unknown");
@@ -3,19 +3,26 @@
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.job.Job;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.Step;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
 import org.springframework.batch.infrastructure.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.stapledon.engine.batch.JsonBatchExecutionTracker;
+import org.stapledon.engine.batch.logging.MdcTaskDecorator;
+
+import java.util.Map;
 
 /**
- * Minimal test-only batch job for verifying log file placement via the SiftingAppender.
+ * Minimal test-only batch job for verifying log file placement via the SiftingAppender, including lines logged by
+ * partition workers on executor threads.
  */
 @Configuration
 @Profile("batch-integration")
@@ -24,10 +31,12 @@ public class TestLogVerificationJobConfig {
     @Bean
     public Job logVerificationJob(JobRepository jobRepository,
                                   @Qualifier("logVerificationStep") Step step,
+                                  @Qualifier("logVerificationPartitionStep") Step partitionStep,
                                   JsonBatchExecutionTracker tracker) {
         return new JobBuilder("LogVerificationJob", jobRepository)
                 .listener(tracker)
                 .start(step)
+                .next(partitionStep)
                 .build();
     }
 
@@ -42,4 +51,30 @@ public Step logVerificationStep(JobRepository jobRepository,
                 }, txManager)
                 .build();
     }
+
+    @Bean
+    public Step logVerificationPartitionStep(JobRepository jobRepository,
+                                             @Qualifier("logVerificationWorkerStep") Step workerStep) {
+        Partitioner partitioner = gridSize -> Map.of("first", new ExecutionContext(), "second", new ExecutionContext());
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("log-verification-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return new StepBuilder("logVerificationPartitionStep", jobRepository)
+                .partitioner("logVerificationWorkerStep", partitioner)
+                .step(workerStep)
+                .taskExecutor(executor)
+                .build();
+    }
+
+    @Bean
+    public Step logVerificationWorkerStep(JobRepository jobRepository,
+                                          PlatformTransactionManager txManager) {
+        return new StepBuilder("logVerificationWorkerStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    LoggerFactory.getLogger("org.stapledon.batch.LogVerificationJob")
+                            .info("Log verification worker marker from {}", Thread.currentThread().getName());
+                    return RepeatStatus.FINISHED;
+                }, txManager)
+                .build();
+    }
 }
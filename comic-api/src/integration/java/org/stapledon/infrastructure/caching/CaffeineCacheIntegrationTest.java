@@ -36,24 +36,16 @@ void cacheManagerIsConfigured() {
     }
 
     @Test
-    void comicMetadataCaching() {
-        // Clear the cache first
-        Cache metadataCache = cacheManager.getCache(CaffeineCacheConfiguration.COMIC_METADATA_CACHE);
-        assertThat(metadataCache).isNotNull();
-        metadataCache.clear();
-
-        // First call - should cache the result
+    void allComicsServedFromCatalogSnapshot() {
+        // First call - reads the published snapshot
         var allComics1 = comicManagementFacade.getAllComics();
 
-        // Second call - should return cached result
+        // Second call - should return the same snapshot while the comic list is unchanged
         var allComics2 = comicManagementFacade.getAllComics();
 
-        // Verify same instance is returned (proving it's cached)
-        assertThat(allComics2).as("Second call should return cached instance").isSameAs(allComics1);
-
-        // Verify cache contains the entry
-        var cachedValue = metadataCache.get("allComics");
-        assertThat(cachedValue).as("Cache should contain 'allComics' entry").isNotNull();
+        // Verify same instance is returned without going through the metadata cache
+        assertThat(allComics2).as("Second call should return the same snapshot").isSameAs(allComics1);
+        assertThat(allComics1).as("Snapshot should be read-only").isUnmodifiable();
     }
 
     @Test
@@ -0,0 +1,61 @@
+package org.stapledon.infrastructure.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.stapledon.AbstractHttpGraphQlIntegrationTest;
+import org.stapledon.common.infrastructure.storage.IoPriority;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Verifies that strip reads made while resolving a GraphQL query reach the {@link IoScheduler} as interactive IO, although
+ * resolvers and batch loaders run on the application task executor rather than the request thread.
+ */
+class InteractiveIoGraphQlIT extends AbstractHttpGraphQlIntegrationTest {
+
+    private static final String QUERY_STRIP = """
+            query Strip($comicId: Int!, $date: Date!) {
+                strip(comicId: $comicId, date: $date) {
+                    date
+                    available
+                }
+            }
+            """;
+
+    @MockitoSpyBean
+    private IoScheduler ioScheduler;
+
+    private final List<IoPriority> readPriorities = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void recordReadPriorities() {
+        authenticateUser();
+        // Strip and avatar reads submit at the calling thread's priority
+        doAnswer(invocation -> {
+            readPriorities.add(IoScheduler.currentPriority());
+            return invocation.callRealMethod();
+        }).when(ioScheduler).submit(any(IoScheduler.IoTask.class));
+    }
+
+    @Test
+    void stripQueryReadsTheStripAsInteractiveIo() {
+        // When
+        getGraphQlTester()
+                .document(QUERY_STRIP)
+                .variable("comicId", TEST_COMIC_ID)
+                .variable("date", "2023-06-16")
+                .execute()
+                .errors().verify()
+                .path("strip.available").entity(Boolean.class).isEqualTo(true);
+
+        // Then
+        assertThat(readPriorities).isNotEmpty().containsOnly(IoPriority.INTERACTIVE);
+    }
+}
@@ -0,0 +1,18 @@
+package org.stapledon.api.dto.batch;
+
+import java.util.List;
+
+/**
+ * DTO mapping a page of a batch execution log to the GraphQL BatchJobLogPage type.
+ * Byte offsets are exposed as doubles because GraphQL Int is 32-bit.
+ */
+public record BatchJobLogPageDto(
+        List<String> lines,
+        Integer firstLine,
+        double startOffset,
+        double endOffset,
+        double logSize,
+        Integer totalLines,
+        boolean hasMore
+) {
+}
@@ -9,6 +9,7 @@
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.stapledon.api.dto.batch.BatchJobDto;
+import org.stapledon.api.dto.batch.BatchJobLogPageDto;
 import org.stapledon.api.dto.batch.BatchJobParameterDto;
 import org.stapledon.api.dto.batch.BatchJobParameterOptionDto;
 import org.stapledon.api.dto.batch.BatchJobParameterType;
@@ -21,8 +22,8 @@
 import org.stapledon.api.dto.payload.UserError;
 import org.stapledon.engine.batch.BatchJobBaseConfig;
 import org.stapledon.engine.batch.BatchJobMonitoringService;
+import org.stapledon.engine.batch.dto.BatchExecutionStats;
 import org.stapledon.engine.batch.dto.BatchExecutionSummary;
-import org.stapledon.engine.batch.dto.BatchStepSummary;
 import org.stapledon.engine.batch.logging.BatchJobLogService;
 import org.stapledon.engine.batch.scheduler.DailyJobScheduler;
 import org.stapledon.engine.batch.scheduler.JobParameterDefinition;
@@ -36,9 +37,8 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.OptionalDouble;
-import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -60,11 +60,6 @@ public class BatchJobResolver {
     @Value("${batch.timezone:America/Toronto}")
     private String batchTimezone;
 
-    private static final String STATUS_COMPLETED = "COMPLETED";
-    private static final String STATUS_FAILED = "FAILED";
-    private static final String STATUS_STARTED = "STARTED";
-    private static final String STATUS_STARTING = "STARTING";
-
     private static final java.util.Comparator<BatchExecutionSummary> BY_START_TIME_DESC = (a, b) -> {
         if (a.getStartTime() == null && b.getStartTime() == null) {
             return 0;
@@ -132,44 +127,20 @@ public BatchJobSummaryDto batchJobSummary(@Argument int days) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days - 1);
 
-        List<BatchExecutionSummary> allExecutions = BatchJobBaseConfig.KNOWN_JOBS.stream()
-                .flatMap(jobName -> monitoringService.getJobExecutionsForDateRange(jobName, startDate, endDate).stream())
-                .toList();
+        NavigableMap<LocalDate, BatchExecutionStats> dailyStats = monitoringService.getDailyStats(BatchJobBaseConfig.KNOWN_JOBS, startDate, endDate);
+        BatchExecutionStats totals = dailyStats.values().stream()
+                .reduce(BatchExecutionStats.EMPTY, BatchExecutionStats::plus);
 
-        int total = allExecutions.size();
-        int success = (int) allExecutions.stream()
-                .filter(e -> STATUS_COMPLETED.equals(e.getStatus())).count();
-        int failure = (int) allExecutions.stream()
-                .filter(e -> STATUS_FAILED.equals(e.getStatus())).count();
-        int running = (int) allExecutions.stream()
-                .filter(e -> STATUS_STARTED.equals(e.getStatus()) || STATUS_STARTING.equals(e.getStatus())).count();
-
-        OptionalDouble avgOpt = allExecutions.stream()
-                .filter(e -> e.getStartTime() != null && e.getEndTime() != null)
-                .mapToLong(e -> Duration.between(e.getStartTime(), e.getEndTime()).toMillis())
-                .average();
-        Double averageDurationMs = avgOpt.isPresent() ? avgOpt.getAsDouble() : null;
-
-        int totalItemsProcessed = allExecutions.stream()
-                .filter(e -> e.getSteps() != null)
-                .flatMap(e -> e.getSteps().stream())
-                .mapToInt(BatchStepSummary::readCount)
-                .sum();
-
-        Map<LocalDate, List<BatchExecutionSummary>> byDate = allExecutions.stream()
-                .filter(e -> e.getStartTime() != null)
-                .collect(Collectors.groupingBy(e -> e.getStartTime().toLocalDate()));
-
-        List<DailyJobStatsDto> dailyBreakdown = byDate.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
+        List<DailyJobStatsDto> dailyBreakdown = dailyStats.entrySet().stream()
                 .map(entry -> new DailyJobStatsDto(
                         entry.getKey(),
-                        entry.getValue().size(),
-                        (int) entry.getValue().stream().filter(e -> STATUS_COMPLETED.equals(e.getStatus())).count(),
-                        (int) entry.getValue().stream().filter(e -> STATUS_FAILED.equals(e.getStatus())).count()))
+                        entry.getValue().total(),
+                        entry.getValue().completed(),
+                        entry.getValue().failed()))
                 .toList();
 
-        return new BatchJobSummaryDto(days, total, success, failure, running, averageDurationMs, totalItemsProcessed, dailyBreakdown);
+        return new BatchJobSummaryDto(days, totals.total(), totals.completed(), totals.failed(), totals.running(),
+                totals.averageDurationMs(), totals.itemsProcessed(), dailyBreakdown);
     }
 
     /**
@@ -197,6 +168,31 @@ public String batchJobLog(@Argument int executionId, @Argument String jobName) {
                 .orElse(null);
     }
 
+    /**
+     * Get one page of the execution log for a specific batch job run.
+     */
+    @QueryMapping
+    @PreAuthorize("hasRole('OPERATOR')")
+    public BatchJobLogPageDto batchJobLogPage(@Argument int executionId, @Argument String jobName, @Argument Integer fromLine,
+            @Argument Double fromOffset, @Argument int limit, @Argument boolean tail) {
+        log.debug("GraphQL: Getting log page for {} execution {} (line={}, offset={}, limit={}, tail={})",
+                jobName, executionId, fromLine, fromOffset, limit, tail);
+        return monitoringService.getExecutionSummary(executionId)
+                .map(BatchExecutionSummary::getLogFileName)
+                .flatMap(logFileName -> {
+                    if (tail) {
+                        return batchJobLogService.getExecutionLogTail(jobName, logFileName, limit);
+                    }
+                    if (fromOffset != null) {
+                        return batchJobLogService.getExecutionLogFromOffset(jobName, logFileName, fromOffset.longValue(), limit);
+                    }
+                    return batchJobLogService.getExecutionLogFromLine(jobName, logFileName, fromLine != null ? fromLine : 0, limit);
+                })
+                .map(page -> new BatchJobLogPageDto(page.lines(), page.firstLine(), page.startOffset(), page.endOffset(),
+                        page.logSize(), page.totalLines(), page.hasMore()))
+                .orElse(null);
+    }
+
     // =========================================================================
     // Mutations
     // =========================================================================
@@ -13,12 +13,14 @@
 import org.stapledon.common.dto.StripLoaderKey.DateStripKey;
 import org.stapledon.common.dto.StripLoaderKey.BoundaryStripKey;
 import org.stapledon.common.dto.ComicNavigationResult;
+import org.stapledon.common.dto.ComicPage;
 import org.stapledon.common.model.ComicNotFoundException;
 import org.stapledon.common.model.ComicOperationException;
 import org.stapledon.api.dto.payload.MutationPayloads.CreateComicPayload;
 import org.stapledon.api.dto.payload.MutationPayloads.DeleteComicPayload;
 import org.stapledon.api.dto.payload.MutationPayloads.UpdateComicPayload;
 import org.stapledon.engine.management.ManagementFacade;
+import org.stapledon.engine.search.TranscriptSearchIndex;
 import org.stapledon.metrics.collector.AccessMetricsCollector;
 
 import java.time.LocalDate;
@@ -41,6 +43,7 @@ public class ComicResolver {
 
     private final ManagementFacade comicManagementFacade;
     private final AccessMetricsCollector accessMetricsCollector;
+    private final TranscriptSearchIndex transcriptSearchIndex;
     private final String externalBaseUrl;
 
     /**
@@ -48,9 +51,11 @@ public class ComicResolver {
      */
     public ComicResolver(ManagementFacade comicManagementFacade,
                          AccessMetricsCollector accessMetricsCollector,
+                         TranscriptSearchIndex transcriptSearchIndex,
                          @Value("${app.external-base-url:}") String externalBaseUrl) {
         this.comicManagementFacade = comicManagementFacade;
         this.accessMetricsCollector = accessMetricsCollector;
+        this.transcriptSearchIndex = transcriptSearchIndex;
         this.externalBaseUrl = externalBaseUrl;
     }
 
@@ -72,47 +77,22 @@ public ComicConnection comics(
 
         int limit = first != null ? Math.min(first, 50) : 20;
 
-        List<ComicItem> allComics = comicManagementFacade.getAllComics();
-
-        // Apply filters
-        List<ComicItem> filtered = allComics.stream()
-                .filter(c -> enabled == null || c.isEnabled() == enabled)
-                .filter(c -> search == null || matchesSearch(c, search))
-                .toList();
+        Integer afterId = after != null ? decodeCursor(after) : null;
 
-        // Apply cursor-based pagination
-        int startIndex = 0;
-        if (after != null) {
-            int afterId = decodeCursor(after);
-            for (int i = 0; i < filtered.size(); i++) {
-                if (filtered.get(i).getId() == afterId) {
-                    startIndex = i + 1;
-                    break;
-                }
-            }
-        }
+        // Filtering and cursor lookup are served by the catalog snapshot
+        ComicPage page = comicManagementFacade.getComicPage(search, enabled, afterId, limit);
 
-        List<ComicItem> page = filtered.stream()
-                .skip(startIndex)
-                .limit(limit + 1L) // Fetch one extra to check hasNextPage
-                .toList();
-
-        boolean hasNextPage = page.size() > limit;
-        if (hasNextPage) {
-            page = page.subList(0, limit);
-        }
-
-        List<ComicEdge> edges = page.stream()
+        List<ComicEdge> edges = page.comics().stream()
                 .map(c -> new ComicEdge(c, encodeCursor(c.getId())))
                 .toList();
 
         PageInfo pageInfo = new PageInfo(
-                hasNextPage,
-                startIndex > 0,
+                page.hasNext(),
+                page.hasPrevious(),
                 edges.isEmpty() ? null : edges.getFirst().cursor(),
                 edges.isEmpty() ? null : edges.getLast().cursor());
 
-        return new ComicConnection(edges, pageInfo, filtered.size());
+        return new ComicConnection(edges, pageInfo, page.totalCount());
     }
 
     /**
@@ -176,18 +156,19 @@ public CompletableFuture<ComicStrip> strip(
     }
 
     /**
-     * Get a random comic strip, optionally from a specific comic.
+     * Get a random comic strip, optionally from a specific comic, a date range, or weighted
+     * towards recent strips.
      */
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
-    public ComicStrip randomStrip(@Argument Integer comicId) {
+    public ComicStrip randomStrip(
+            @Argument Integer comicId,
+            @Argument LocalDate from,
+            @Argument LocalDate to,
+            @Argument Boolean favorRecent) {
+        boolean recent = Boolean.TRUE.equals(favorRecent);
         if (comicId != null) {
-            return comicManagementFacade.getRandomDate(comicId)
-                    .map(date -> {
-                        ComicNavigationResult result = comicManagementFacade.getComicStripWithNavigation(comicId, date);
-                        return toComicStrip(comicId, result);
-                    })
-                    .orElse(null);
+            return randomStrip(comicId, from, to, recent);
         }
 
         // No comicId — pick a random comic, then a random date
@@ -196,12 +177,13 @@ public ComicStrip randomStrip(@Argument Integer comicId) {
             return null;
         }
         int randomIndex = ThreadLocalRandom.current().nextInt(allComics.size());
-        ComicItem comic = allComics.get(randomIndex);
-        return comicManagementFacade.getRandomDate(comic.getId())
-                .map(date -> {
-                    ComicNavigationResult result = comicManagementFacade.getComicStripWithNavigation(comic.getId(), date);
-                    return toComicStrip(comic.getId(), result);
-                })
+        return randomStrip(allComics.get(randomIndex).getId(), from, to, recent);
+    }
+
+    private ComicStrip randomStrip(int comicId, LocalDate from, LocalDate to, boolean favorRecent) {
+        return comicManagementFacade.getRandomDate(comicId, from, to, favorRecent)
+                .flatMap(date -> comicManagementFacade.getStrips(comicId, List.of(date)).stream().findFirst())
+                .map(result -> toComicStrip(comicId, result))
                 .orElse(null);
     }
 
@@ -213,14 +195,47 @@ public ComicStrip randomStrip(@Argument Integer comicId) {
     public SearchResults search(@Argument String query, @Argument Integer limit) {
         int maxResults = limit != null ? Math.min(limit, 50) : 20;
 
-        List<ComicItem> matched = comicManagementFacade.getAllComics().stream()
-                .filter(c -> matchesSearch(c, query))
+        List<ComicItem> matched = comicManagementFacade.searchComics(query).stream()
                 .limit(maxResults)
                 .toList();
 
         return new SearchResults(matched, matched.size(), query);
     }
 
+    /**
+     * Search strip transcripts for strips containing every word of the query.
+     * Results are ordered by comic, then date, with cursor-based pagination.
+     */
+    @QueryMapping
+    @PreAuthorize("isAuthenticated()")
+    public TranscriptSearchConnection transcriptSearch(
+            @Argument String query,
+            @Argument Integer comicId,
+            @Argument Integer first,
+            @Argument String after) {
+
+        int limit = first != null ? Math.min(first, 50) : 20;
+        TranscriptSearchIndex.Match afterMatch = after != null ? decodeStripCursor(after) : null;
+
+        TranscriptSearchIndex.SearchResult result = transcriptSearchIndex.search(query, comicId, afterMatch, limit);
+
+        // Matches for comics deleted since indexing are dropped from the page but still move the cursor
+        List<TranscriptMatchEdge> edges = result.matches().stream()
+                .flatMap(match -> comicManagementFacade.getComic(match.comicId()).stream()
+                        .map(comic -> new TranscriptMatchEdge(new TranscriptMatch(comic, match.date()),
+                                encodeStripCursor(match))))
+                .toList();
+
+        List<TranscriptSearchIndex.Match> matches = result.matches();
+        PageInfo pageInfo = new PageInfo(
+                result.hasMore(),
+                after != null,
+                matches.isEmpty() ? null : encodeStripCursor(matches.getFirst()),
+                matches.isEmpty() ? null : encodeStripCursor(matches.getLast()));
+
+        return new TranscriptSearchConnection(edges, pageInfo, result.totalCount());
+    }
+
     // =========================================================================
     // SchemaMapping for Comic fields
     // =========================================================================
@@ -309,14 +324,25 @@ public List<ComicStrip> strips(
 
         List<LocalDate> cappedDates = dates.stream().limit(30).toList();
 
-        return cappedDates.stream()
-                .map(date -> {
-                    ComicNavigationResult result = comicManagementFacade.getComicStripWithNavigation(comic.getId(), date);
-                    return toComicStrip(comic.getId(), result);
-                })
+        return comicManagementFacade.getStrips(comic.getId(), cappedDates)
+                .stream()
+                .map(result -> toComicStrip(comic.getId(), result))
                 .toList();
     }
 
+    /**
+     * Resolve strip field for TranscriptMatch type.
+     * Uses DataLoader to batch the strips of a result page.
+     */
+    @SchemaMapping(typeName = "TranscriptMatch", field = "strip")
+    public CompletableFuture<ComicStrip> transcriptMatchStrip(
+            TranscriptMatch match,
+            DataLoader<StripLoaderKey, ComicNavigationResult> stripLoader) {
+        StripLoaderKey key = new DateStripKey(match.comic().getId(), match.comic().getName(), match.date());
+        return stripLoader.load(key)
+                .thenApply(result -> toComicStrip(match.comic().getId(), result));
+    }
+
     // =========================================================================
     // Mutations
     // =========================================================================
@@ -378,20 +404,6 @@ public DeleteComicPayload deleteComic(@Argument int id) {
     // Helper Methods
     // =========================================================================
 
-    private boolean matchesSearch(ComicItem comic, String query) {
-        String lowerQuery = query.toLowerCase();
-        return matchesField(comic.getName(), lowerQuery)
-            || matchesField(comic.getAuthor(), lowerQuery)
-            || matchesField(comic.getDescription(), lowerQuery);
-    }
-
-    private boolean matchesField(String field, String lowerQuery) {
-        return Optional.ofNullable(field)
-                       .map(String::toLowerCase)
-                       .map(s -> s.contains(lowerQuery))
-                       .orElse(false);
-    }
-
     private String encodeCursor(int id) {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(("comic:" + id).getBytes());
     }
@@ -401,6 +413,16 @@ private int decodeCursor(String cursor) {
         return Integer.parseInt(decoded.replace("comic:", ""));
     }
 
+    private String encodeStripCursor(TranscriptSearchIndex.Match match) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("strip:" + match.comicId() + ":" + match.date()).getBytes());
+    }
+
+    private TranscriptSearchIndex.Match decodeStripCursor(String cursor) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor)).split(":");
+        return new TranscriptSearchIndex.Match(Integer.parseInt(parts[1]), LocalDate.parse(parts[2]));
+    }
+
     private ComicStrip toComicStrip(int comicId, ComicNavigationResult result) {
         if (!result.isFound()) {
             // Return navigation hints even when strip not found.
@@ -461,6 +483,15 @@ static ComicStrip navStub(LocalDate date) {
     public record SearchResults(List<ComicItem> comics, int totalCount, String query) {
     }
 
+    public record TranscriptSearchConnection(List<TranscriptMatchEdge> edges, PageInfo pageInfo, int totalCount) {
+    }
+
+    public record TranscriptMatchEdge(TranscriptMatch node, String cursor) {
+    }
+
+    public record TranscriptMatch(ComicItem comic, LocalDate date) {
+    }
+
     public record CreateComicInput(String name, String author, String description, Boolean enabled, String source,
             String sourceIdentifier) {
     }
@@ -2,10 +2,12 @@
 
 import org.springframework.stereotype.Service;
 import org.stapledon.api.dto.preference.UserPreference;
+import org.stapledon.common.service.FavoritesService;
 import org.stapledon.infrastructure.config.PreferenceConfigWriter;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -15,7 +17,7 @@
 @ToString
 @Service
 @RequiredArgsConstructor
-public class JsonPreferenceService implements PreferenceService {
+public class JsonPreferenceService implements PreferenceService, FavoritesService {
 
     private final PreferenceConfigWriter preferenceConfigWriter;
 
@@ -48,4 +50,9 @@ public Optional<UserPreference> updateDisplaySettings(String username, HashMap<S
         log.info("Updating display settings for user: {}", username);
         return preferenceConfigWriter.updateDisplaySettings(username, settings);
     }
+
+    @Override
+    public Map<Integer, Integer> getFavoriteCounts() {
+        return preferenceConfigWriter.getFavoriteCounts();
+    }
 }
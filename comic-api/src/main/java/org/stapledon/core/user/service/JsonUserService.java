@@ -4,7 +4,9 @@
 import org.stapledon.api.dto.user.User;
 import org.stapledon.api.dto.user.UserRegistrationDto;
 import org.stapledon.infrastructure.config.UserConfigWriter;
+import org.stapledon.infrastructure.security.VerifiedTokenCache;
 
+import java.time.Instant;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -17,6 +19,7 @@
 public class JsonUserService implements UserService {
 
     private final UserConfigWriter userConfigWriter;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     public Optional<User> registerUser(UserRegistrationDto registrationDto) {
@@ -39,7 +42,12 @@ public Optional<User> getUser(String username) {
     @Override
     public Optional<User> updateUser(User user) {
         log.info("Updating user: {}", user.getUsername());
-        return userConfigWriter.updateUser(user);
+        Optional<User> updated = userConfigWriter.updateUser(user);
+        // Tokens verified before a logout must stop working even though they are cached
+        if (updated.isPresent() && user.getTokensInvalidatedBefore() != null) {
+            verifiedTokenCache.invalidateIssuedBefore(user.getUsername(), user.getTokensInvalidatedBefore().toInstant());
+        }
+        return updated;
     }
 
     @Override
@@ -64,6 +72,10 @@ public Optional<User> findByEmail(String email) {
     @Override
     public boolean deleteUser(String username) {
         log.info("Deleting user: {}", username);
-        return userConfigWriter.deleteUser(username);
+        boolean deleted = userConfigWriter.deleteUser(username);
+        if (deleted) {
+            verifiedTokenCache.invalidateIssuedBefore(username, Instant.now());
+        }
+        return deleted;
     }
 }
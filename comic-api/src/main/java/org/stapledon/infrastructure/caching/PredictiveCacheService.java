@@ -5,6 +5,8 @@
 import org.springframework.stereotype.Service;
 import org.stapledon.common.config.CaffeineCacheProperties;
 import org.stapledon.common.dto.ComicNavigationResult;
+import org.stapledon.common.infrastructure.storage.IoPriority;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
 import org.stapledon.common.util.Direction;
 import org.stapledon.engine.management.ManagementFacade;
 
@@ -15,7 +17,8 @@
 /**
  * Service that provides predictive cache warming for comic navigation.
  * When a user navigates to a comic, this service asynchronously prefetches
- * adjacent comics (N±X) to improve navigation performance.
+ * adjacent comics (N±X) to improve navigation performance. Prefetch reads are
+ * speculative, so they run as background IO and yield to real user reads.
  */
 @Slf4j
 @Service
@@ -47,7 +50,7 @@ public void prefetchAdjacentComics(int comicId, LocalDate currentDate, Direction
                     currentDate, LocalDate.now());
         }
 
-        try {
+        try (IoScheduler.PriorityScope ignored = IoScheduler.withPriority(IoPriority.BACKGROUND)) {
             LocalDate searchDate = currentDate;
             int successCount = 0;
 
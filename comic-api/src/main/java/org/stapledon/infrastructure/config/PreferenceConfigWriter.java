@@ -9,6 +9,7 @@
 import com.google.gson.Gson;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -186,6 +187,25 @@ public Optional<UserPreference> updateDisplaySettings(String username, HashMap<S
         }
     }
 
+    /**
+     * Count how many users favorited each comic
+     *
+     * @return Map of comic ID to number of users with it in their favorites
+     */
+    public Map<Integer, Integer> getFavoriteCounts() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        try {
+            for (UserPreference preference : loadPreferences().getPreferences().values()) {
+                if (preference.getFavoriteComics() != null) {
+                    preference.getFavoriteComics().stream().distinct().forEach(comicId -> counts.merge(comicId, 1, Integer::sum));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to count favorites: {}", e.getMessage(), e);
+        }
+        return counts;
+    }
+
     /**
      * Load preferences from the preferences.json file
      *
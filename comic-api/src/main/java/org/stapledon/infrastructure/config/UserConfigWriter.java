@@ -1,6 +1,7 @@
 package org.stapledon.infrastructure.config;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.stapledon.api.dto.user.User;
 import org.stapledon.api.dto.user.UserConfig;
@@ -9,11 +10,14 @@
 
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import jakarta.annotation.PreDestroy;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +27,10 @@
  * Configuration writer for user-related data.
  * This implementation now delegates to ApplicationConfigurationFacade for most
  * operations.
+ *
+ * <p>Changes to credentials, roles and accounts are written to users.json before returning.
+ * Bookkeeping such as {@code lastLogin} is only updated in memory and written by
+ * {@link #flushDeferredChanges()}, so a burst of logins costs one file write rather than one each.
  */
 @Slf4j
 @ToString
@@ -36,6 +44,10 @@ public class UserConfigWriter {
 
     private UserConfig userConfig;
 
+    // Bumped for each in-memory change awaiting the deferred writer
+    private final AtomicLong deferredGeneration = new AtomicLong();
+    private long writtenGeneration;
+
     /**
      * Save a user to the users.json file
      *
@@ -57,7 +69,7 @@ public boolean saveUser(User user) {
             log.info("Saving user: {}", user.getUsername());
 
             // Save to file using the configuration facade
-            return configurationFacade.saveUserConfig(userConfig);
+            return writeUsers();
         } catch (Exception e) {
             log.error("Failed to save user: {}", e.getMessage(), e);
             return false;
@@ -146,13 +158,9 @@ public Optional<User> authenticateUser(String username, String password) {
 
             // Verify password
             if (BCrypt.checkpw(password, user.getPasswordHash())) {
-                // Update last login time
+                // Update last login time in memory; the deferred writer persists it
                 user.setLastLogin(OffsetDateTime.now(ZoneOffset.UTC));
-                boolean saved = saveUser(user);
-                if (!saved) {
-                    log.warn("Failed to update last login time for user: {}", username);
-                    // Continue anyway, the authentication is still successful
-                }
+                deferredGeneration.incrementAndGet();
                 return Optional.of(user);
             }
 
@@ -334,10 +342,45 @@ public boolean deleteUser(String username) {
                 return false;
             }
             userConfig.getUsers().remove(username);
-            return configurationFacade.saveUserConfig(userConfig);
+            return writeUsers();
         } catch (Exception e) {
             log.error("Failed to delete user: {}", e.getMessage(), e);
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes users.json if users have changed in memory since the last write.
+     */
+    @Scheduled(initialDelayString = "${comics.cache.users-deferred-write-seconds:30}",
+            fixedDelayString = "${comics.cache.users-deferred-write-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void flushDeferredChanges() {
+        if (userConfig == null || deferredGeneration.get() == writtenGeneration) {
+            return;
+        }
+        if (!writeUsers()) {
+            log.warn("Failed to write deferred user changes, will retry");
+        }
+    }
+
+    /**
+     * Writes pending user changes on graceful shutdown.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDeferredChanges();
+    }
+
+    /**
+     * Writes the whole user table, which also persists any deferred changes.
+     */
+    private synchronized boolean writeUsers() {
+        // Read the generation first: a login during the write leaves it behind, forcing the next flush
+        long generation = deferredGeneration.get();
+        boolean saved = configurationFacade.saveUserConfig(userConfig);
+        if (saved) {
+            writtenGeneration = generation;
+        }
+        return saved;
+    }
+}
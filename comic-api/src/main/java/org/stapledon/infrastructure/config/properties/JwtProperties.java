@@ -16,4 +16,6 @@ public class JwtProperties {
     private final String secret;
     private final long expiration;
     private final long refreshExpiration;
+    /** Maximum number of verified tokens kept by {@code VerifiedTokenCache} (0 = default). */
+    private final int claimsCacheMaxSize;
 }
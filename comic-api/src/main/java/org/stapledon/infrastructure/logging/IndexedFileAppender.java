@@ -0,0 +1,60 @@
+package org.stapledon.infrastructure.logging;
+
+import ch.qos.logback.core.FileAppender;
+import org.stapledon.engine.batch.logging.LogLineIndex;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * File appender that maintains a {@link LogLineIndex} sidecar next to the log as events are written, so batch
+ * logs can be paged by line number without scanning from the start.
+ * Indexing failures are reported through the Logback status manager and only disable the index, never logging.
+ */
+public class IndexedFileAppender<E> extends FileAppender<E> {
+
+    private LogLineIndex.Writer indexWriter;
+
+    @Override
+    public void start() {
+        super.start();
+        if (!isStarted()) {
+            return;
+        }
+        try {
+            indexWriter = LogLineIndex.open(Path.of(getFile()));
+        } catch (IOException e) {
+            addError("Failed to open line index for " + getFile(), e);
+        }
+    }
+
+    @Override
+    protected void writeOut(E event) throws IOException {
+        byte[] bytes = getEncoder().encode(event);
+        if (bytes == null || bytes.length == 0) {
+            return;
+        }
+
+        // Use the stream lock Logback holds while it opens, rolls and closes the stream, so the log bytes and their
+        // index entries stay in the same order when several threads log to one execution
+        streamWriteLock.lock();
+        try {
+            OutputStream out = getOutputStream();
+            out.write(bytes);
+            if (isImmediateFlush()) {
+                out.flush();
+            }
+            if (indexWriter != null) {
+                try {
+                    indexWriter.written(bytes);
+                } catch (IOException e) {
+                    addError("Failed to update line index for " + getFile() + ", disabling it", e);
+                    indexWriter = null;
+                }
+            }
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+}
@@ -3,13 +3,10 @@
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.stapledon.api.dto.user.User;
-import org.stapledon.core.user.service.UserService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -28,9 +25,7 @@
 @RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
 
-    private final JwtTokenUtil jwtTokenUtil;
-    private final JwtUserDetailsService userDetailsService;
-    private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -38,51 +33,31 @@ protected void doFilterInternal(HttpServletRequest request, HttpServletResponse
         try {
             String jwt = parseJwt(request);
 
-            if (jwt != null) {
-                String username = jwtTokenUtil.extractUsername(jwt);
-                log.debug("JWT token found for user: {}", username);
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    log.debug("Loaded user details for: {}", username);
-
-                    Optional<User> userOpt = userService.getUser(username);
-                    if (userOpt.isPresent()
-                            && jwtTokenUtil.isTokenInvalidatedByLogout(jwt, userOpt.get().getTokensInvalidatedBefore())) {
-                        log.warn("JWT rejected — issued before logout cutoff for user: {}", username);
-                        filterChain.doFilter(request, response);
-                        return;
-                    }
-
-                    if (jwtTokenUtil.validateToken(jwt, userDetails)) {
-                        log.debug("JWT token validated for user: {}", username);
-
-                        // Extract roles from JWT and convert to authorities
-                        List<SimpleGrantedAuthority> authorities = jwtTokenUtil.extractRoles(jwt)
-                                .stream()
-                                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                                .toList();
-                        log.debug("User roles: {}", authorities);
-
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, authorities);
-
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("Authentication set in SecurityContext for user: {}", username);
-                    } else {
-                        log.warn("Invalid JWT token for user: {}", username);
-                    }
-                } else {
-                    if (username == null) {
-                        log.warn("No username extracted from JWT token");
-                    } else if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                        log.debug("SecurityContext already contains authentication: {}",
-                                SecurityContextHolder.getContext().getAuthentication().getName());
-                    }
-                }
-            } else {
+            if (jwt == null) {
                 log.debug("No JWT token found in request");
+            } else if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                log.debug("SecurityContext already contains authentication: {}",
+                        SecurityContextHolder.getContext().getAuthentication().getName());
+            } else {
+                // Verified once per token; repeat requests with the same token are a cache hit
+                Optional<VerifiedTokenCache.VerifiedToken> verified = verifiedTokenCache.resolve(jwt);
+                if (verified.isPresent()) {
+                    VerifiedTokenCache.VerifiedToken token = verified.get();
+
+                    // Extract roles from JWT and convert to authorities
+                    List<SimpleGrantedAuthority> authorities = token.roles()
+                            .stream()
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                            .toList();
+                    log.debug("User roles: {}", authorities);
+
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            token.principal(), null, authorities);
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Authentication set in SecurityContext for user: {}", token.username());
+                }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage(), e);
@@ -161,9 +161,18 @@ public boolean isTokenInvalidatedByLogout(String token, OffsetDateTime cutoff) {
      * @param token JWT token
      * @return List of roles (empty list if no roles found)
      */
-    @SuppressWarnings("unchecked")
     public java.util.List<String> extractRoles(String token) {
-        final Claims claims = extractAllClaims(token);
+        return extractRoles(extractAllClaims(token));
+    }
+
+    /**
+     * Extract roles from already verified claims
+     *
+     * @param claims Claims returned by {@link #extractAllClaims(String)}
+     * @return List of roles (empty list if no roles found)
+     */
+    @SuppressWarnings("unchecked")
+    public java.util.List<String> extractRoles(Claims claims) {
         Object roles = claims.get("roles");
         return roles != null ? (java.util.List<String>) roles : java.util.Collections.emptyList();
     }
@@ -237,12 +246,14 @@ private boolean isTokenExpired(String token) {
     }
 
     /**
-     * Extract all claims from token
+     * Verify the token's signature and expiry and extract all of its claims. Callers that need several
+     * claims should read them from one call, since each single-claim extractor verifies the token again.
      *
      * @param token JWT token
      * @return Claims
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
      */
-    private Claims extractAllClaims(String token) {
+    public Claims extractAllClaims(String token) {
         return Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build()
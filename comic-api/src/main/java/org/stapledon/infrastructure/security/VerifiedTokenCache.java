@@ -0,0 +1,181 @@
+package org.stapledon.infrastructure.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.stapledon.api.dto.user.User;
+import org.stapledon.infrastructure.config.properties.JwtProperties;
+import org.stapledon.infrastructure.repository.UserRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verified bearer tokens, keyed by a SHA-256 digest of the token and kept until the token expires.
+ *
+ * <p>A token's signature is verified and its user looked up once, on first use; later requests with the same
+ * token are a single map lookup. Logout is still honored: {@link #invalidateIssuedBefore(String, Instant)} records
+ * the user's cutoff, drops their cached tokens and rejects any token issued before it, including ones cached by
+ * requests that were in flight during the logout.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final UserRepository userRepository;
+    private final Cache<String, VerifiedToken> tokens;
+    private final Map<String, Instant> invalidatedBefore = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(JwtTokenUtil jwtTokenUtil, UserRepository userRepository, JwtProperties jwtProperties) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.userRepository = userRepository;
+        int maxSize = jwtProperties.getClaimsCacheMaxSize() > 0 ? jwtProperties.getClaimsCacheMaxSize() : DEFAULT_MAX_SIZE;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireWithToken())
+                .build();
+    }
+
+    /**
+     * Returns the verified claims and principal for a bearer token, verifying the token only the first time it is seen.
+     *
+     * @param token JWT token
+     * @return the verified token, or empty if it is invalid, expired, belongs to an unknown user or was issued before the
+     *         user's logout cutoff
+     */
+    public Optional<VerifiedToken> resolve(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = tokens.getIfPresent(digest);
+        if (cached != null) {
+            if (isInvalidated(cached, null)) {
+                log.warn("JWT rejected — issued before logout cutoff for user: {}", cached.username());
+                tokens.invalidate(digest);
+                return Optional.empty();
+            }
+            return Optional.of(cached);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtTokenUtil.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+        String username = claims.getSubject();
+        if (username == null) {
+            log.warn("No username extracted from JWT token");
+            return Optional.empty();
+        }
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty()) {
+            log.warn("JWT rejected — unknown user: {}", username);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified = new VerifiedToken(username, jwtTokenUtil.extractRoles(claims), toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()), JwtUserDetailsService.toUserDetails(user.get()));
+        if (isInvalidated(verified, user.get().getTokensInvalidatedBefore())) {
+            log.warn("JWT rejected — issued before logout cutoff for user: {}", username);
+            return Optional.empty();
+        }
+        if (verified.expiresAt() != null) {
+            tokens.put(digest, verified);
+        }
+        return Optional.of(verified);
+    }
+
+    /**
+     * Rejects every token of the user issued before the cutoff and drops them from the cache.
+     *
+     * @param username the user whose tokens are invalidated
+     * @param cutoff   tokens issued before this instant are rejected
+     */
+    public void invalidateIssuedBefore(String username, Instant cutoff) {
+        invalidatedBefore.merge(username, cutoff, (current, next) -> next.isAfter(current) ? next : current);
+        tokens.asMap().values().removeIf(token -> token.username().equals(username) && issuedBefore(token, cutoff));
+    }
+
+    /**
+     * Returns the number of tokens currently cached.
+     */
+    public long size() {
+        return tokens.estimatedSize();
+    }
+
+    private boolean isInvalidated(VerifiedToken token, OffsetDateTime storedCutoff) {
+        if (storedCutoff != null && issuedBefore(token, storedCutoff.toInstant())) {
+            return true;
+        }
+        Instant cutoff = invalidatedBefore.get(token.username());
+        return cutoff != null && issuedBefore(token, cutoff);
+    }
+
+    private static boolean issuedBefore(VerifiedToken token, Instant cutoff) {
+        return token.issuedAt() != null && token.issuedAt().isBefore(cutoff);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Keeps each entry until its token expires; reads do not extend it.
+     */
+    private static final class ExpireWithToken implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * A bearer token whose signature and expiry have been verified.
+     *
+     * @param username  token subject
+     * @param roles     roles claimed by the token
+     * @param issuedAt  issue time, or null if the token has none
+     * @param expiresAt expiry time, or null if the token has none (such tokens are not cached)
+     * @param principal the user the token was issued to, as loaded when it was verified
+     */
+    public record VerifiedToken(String username, List<String> roles, Instant issuedAt, Instant expiresAt, UserDetails principal) {
+    }
+}
@@ -0,0 +1,47 @@
+package org.stapledon.infrastructure.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.stapledon.common.infrastructure.storage.IoPriority;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Marks REST and GraphQL requests as interactive IO, so cache reads made while serving them are admitted ahead of
+ * background scans and backfills by the {@link IoScheduler}. GraphQL resolvers run on other threads and receive the priority through
+ * {@link IoPriorityThreadLocalAccessor}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InteractiveIoFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private final String graphqlPath;
+
+    public InteractiveIoFilter(@Value("${spring.graphql.http.path:/graphql}") String graphqlPath) {
+        this.graphqlPath = graphqlPath;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(API_PREFIX) && !path.equals(graphqlPath);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (IoScheduler.PriorityScope ignored = IoScheduler.withPriority(IoPriority.INTERACTIVE)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
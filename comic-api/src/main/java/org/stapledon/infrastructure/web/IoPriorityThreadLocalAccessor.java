@@ -0,0 +1,37 @@
+package org.stapledon.infrastructure.web;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import org.stapledon.common.infrastructure.storage.IoPriority;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
+
+/**
+ * Carries the request's {@link IoPriority} to the threads that serve it. Spring for GraphQL captures registered thread locals on
+ * the request thread and restores them around controller methods and batch loaders, which run on the application task executor
+ * when virtual threads are enabled, so reads made by resolvers stay interactive.
+ *
+ * <p>Registered through {@code META-INF/services/io.micrometer.context.ThreadLocalAccessor}.
+ */
+public class IoPriorityThreadLocalAccessor implements ThreadLocalAccessor<IoPriority> {
+
+    public static final String KEY = "stapledon.ioPriority";
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public IoPriority getValue() {
+        return IoScheduler.assignedPriority();
+    }
+
+    @Override
+    public void setValue(IoPriority value) {
+        IoScheduler.restorePriority(value);
+    }
+
+    @Override
+    public void setValue() {
+        IoScheduler.restorePriority(null);
+    }
+}
@@ -20,12 +20,14 @@
 import org.springframework.batch.core.job.parameters.JobParameters;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.stapledon.api.dto.batch.BatchJobLogPageDto;
 import org.stapledon.api.dto.batch.BatchSchedulerInfoDto;
 import org.stapledon.api.dto.payload.MutationPayloads.ToggleJobSchedulerPayload;
 import org.stapledon.api.dto.payload.MutationPayloads.TriggerBatchJobPayload;
 import org.stapledon.engine.batch.BatchJobMonitoringService;
 import org.stapledon.engine.batch.dto.BatchExecutionSummary;
 import org.stapledon.engine.batch.logging.BatchJobLogService;
+import org.stapledon.engine.batch.logging.BatchLogPage;
 import org.stapledon.engine.batch.scheduler.DailyJobScheduler;
 import org.stapledon.engine.batch.scheduler.SchedulerStateService;
 
@@ -151,6 +153,45 @@ void shouldReturnNullForMissingLog() {
 
             assertThat(log).isNull();
         }
+
+        @Test
+        @DisplayName("should return the tail page of the log")
+        void shouldReturnTailPage() {
+            var summary = BatchExecutionSummary.builder()
+                    .executionId(42L)
+                    .jobName("ComicBackfillJob")
+                    .logFileName("ComicBackfillJob-20260320-a3f7b2c1.log")
+                    .build();
+            when(monitoringService.getExecutionSummary(42)).thenReturn(Optional.of(summary));
+            when(batchJobLogService.getExecutionLogTail("ComicBackfillJob", "ComicBackfillJob-20260320-a3f7b2c1.log", 2))
+                    .thenReturn(Optional.of(new BatchLogPage(List.of("INFO Step 9", "INFO Step 10"), 8, 100, 140, 150, 10)));
+
+            var resolver = createResolver(List.of());
+            BatchJobLogPageDto page = resolver.batchJobLogPage(42, "ComicBackfillJob", null, null, 2, true);
+
+            assertThat(page.lines()).containsExactly("INFO Step 9", "INFO Step 10");
+            assertThat(page.firstLine()).isEqualTo(8);
+            assertThat(page.endOffset()).isEqualTo(140.0);
+            assertThat(page.hasMore()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should read forward from a byte offset")
+        void shouldReadFromOffset() {
+            var summary = BatchExecutionSummary.builder()
+                    .executionId(42L)
+                    .logFileName("ComicBackfillJob-20260320-a3f7b2c1.log")
+                    .build();
+            when(monitoringService.getExecutionSummary(42)).thenReturn(Optional.of(summary));
+            when(batchJobLogService.getExecutionLogFromOffset("ComicBackfillJob", "ComicBackfillJob-20260320-a3f7b2c1.log", 140L, 200))
+                    .thenReturn(Optional.of(new BatchLogPage(List.of(), 10, 140, 140, 140, 10)));
+
+            var resolver = createResolver(List.of());
+            BatchJobLogPageDto page = resolver.batchJobLogPage(42, "ComicBackfillJob", null, 140.0, 200, false);
+
+            assertThat(page.lines()).isEmpty();
+            assertThat(page.hasMore()).isFalse();
+        }
     }
 
     // =========================================================================
@@ -1,7 +1,7 @@
 package org.stapledon.api.resolver;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
@@ -16,8 +16,10 @@
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.stapledon.common.dto.ComicItem;
 import org.stapledon.common.dto.ComicNavigationResult;
+import org.stapledon.common.dto.ComicPage;
 import org.stapledon.common.dto.ImageDto;
 import org.stapledon.engine.management.ManagementFacade;
+import org.stapledon.engine.search.TranscriptSearchIndex;
 import org.stapledon.metrics.collector.AccessMetricsCollector;
 
 import java.time.LocalDate;
@@ -38,6 +40,9 @@ class ComicResolverTest {
     @Mock
     private AccessMetricsCollector accessMetricsCollector;
 
+    @Mock
+    private TranscriptSearchIndex transcriptSearchIndex;
+
     private ComicResolver resolver;
 
     private ComicItem testComic;
@@ -45,7 +50,8 @@ class ComicResolverTest {
 
     @BeforeEach
     void setUp() {
-        resolver = new ComicResolver(managementFacade, accessMetricsCollector, "http://localhost:8087");
+        resolver = new ComicResolver(managementFacade, accessMetricsCollector, transcriptSearchIndex,
+                "http://localhost:8087");
         testComic = ComicItem.builder()
                 .id(1)
                 .name("Test Comic")
@@ -55,6 +61,45 @@ void setUp() {
                 .build();
     }
 
+    // =========================================================================
+    // comics
+    // =========================================================================
+
+    @Nested
+    class ComicsConnectionTests {
+
+        @Test
+        void passesDecodedCursorAndFiltersToCatalogPage() {
+            when(managementFacade.getComicPage(null, null, null, 1))
+                    .thenReturn(new ComicPage(List.of(testComic), 2, false, true));
+            ComicItem second = testComic.toBuilder().id(2).name("Second Comic").build();
+            when(managementFacade.getComicPage("comic", true, 1, 1))
+                    .thenReturn(new ComicPage(List.of(second), 2, true, false));
+
+            ComicResolver.ComicConnection first = resolver.comics(null, null, null, 1, null);
+            ComicResolver.ComicConnection next = resolver.comics("comic", null, true, 1,
+                    first.pageInfo().endCursor());
+
+            assertThat(first.edges()).extracting(edge -> edge.node().getId()).containsExactly(1);
+            assertThat(first.pageInfo().hasNextPage()).isTrue();
+            assertThat(first.totalCount()).isEqualTo(2);
+            assertThat(next.edges()).extracting(edge -> edge.node().getId()).containsExactly(2);
+            assertThat(next.pageInfo().hasPreviousPage()).isTrue();
+            assertThat(next.pageInfo().hasNextPage()).isFalse();
+        }
+
+        @Test
+        void capsPageSizeAtFifty() {
+            when(managementFacade.getComicPage(null, null, null, 50))
+                    .thenReturn(new ComicPage(List.of(), 0, false, false));
+
+            ComicResolver.ComicConnection result = resolver.comics(null, null, null, 500, null);
+
+            assertThat(result.edges()).isEmpty();
+            assertThat(result.pageInfo().startCursor()).isNull();
+        }
+    }
+
     // =========================================================================
     // randomStrip
     // =========================================================================
@@ -64,13 +109,13 @@ class RandomStripTests {
 
         @Test
         void returnsStripFromSpecificComic() {
-            when(managementFacade.getRandomDate(1)).thenReturn(Optional.of(testDate));
-            when(managementFacade.getComicStripWithNavigation(1, testDate))
-                    .thenReturn(ComicNavigationResult.found(
+            when(managementFacade.getRandomDate(1, null, null, false)).thenReturn(Optional.of(testDate));
+            when(managementFacade.getStrips(1, List.of(testDate)))
+                    .thenReturn(List.of(ComicNavigationResult.found(
                             ImageDto.builder().mimeType("image/png").imageDate(testDate).build(),
-                            testDate.minusDays(1), testDate.plusDays(1)));
+                            testDate.minusDays(1), testDate.plusDays(1))));
 
-            ComicResolver.ComicStrip result = resolver.randomStrip(1);
+            ComicResolver.ComicStrip result = resolver.randomStrip(1, null, null, null);
 
             assertThat(result).isNotNull();
             assertThat(result.available()).isTrue();
@@ -80,9 +125,9 @@ void returnsStripFromSpecificComic() {
 
         @Test
         void returnsNullWhenComicHasNoDates() {
-            when(managementFacade.getRandomDate(999)).thenReturn(Optional.empty());
+            when(managementFacade.getRandomDate(999, null, null, false)).thenReturn(Optional.empty());
 
-            ComicResolver.ComicStrip result = resolver.randomStrip(999);
+            ComicResolver.ComicStrip result = resolver.randomStrip(999, null, null, null);
 
             assertThat(result).isNull();
         }
@@ -90,23 +135,36 @@ void returnsNullWhenComicHasNoDates() {
         @Test
         void picksRandomComicWhenNoComicIdProvided() {
             when(managementFacade.getAllComics()).thenReturn(List.of(testComic));
-            when(managementFacade.getRandomDate(1)).thenReturn(Optional.of(testDate));
-            when(managementFacade.getComicStripWithNavigation(1, testDate))
-                    .thenReturn(ComicNavigationResult.found(
+            when(managementFacade.getRandomDate(1, null, null, false)).thenReturn(Optional.of(testDate));
+            when(managementFacade.getStrips(1, List.of(testDate)))
+                    .thenReturn(List.of(ComicNavigationResult.found(
                             ImageDto.builder().mimeType("image/png").imageDate(testDate).build(),
-                            testDate.minusDays(1), null));
+                            testDate.minusDays(1), null)));
 
-            ComicResolver.ComicStrip result = resolver.randomStrip(null);
+            ComicResolver.ComicStrip result = resolver.randomStrip(null, null, null, null);
 
             assertThat(result).isNotNull();
             assertThat(result.available()).isTrue();
         }
 
+        @Test
+        void passesDateRangeAndRecencyWeighting() {
+            LocalDate from = testDate.minusYears(1);
+            when(managementFacade.getRandomDate(1, from, testDate, true)).thenReturn(Optional.of(testDate));
+            when(managementFacade.getStrips(1, List.of(testDate)))
+                    .thenReturn(List.of(ComicNavigationResult.found(
+                            ImageDto.builder().mimeType("image/png").imageDate(testDate).build(), null, null)));
+
+            ComicResolver.ComicStrip result = resolver.randomStrip(1, from, testDate, true);
+
+            assertThat(result.date()).isEqualTo(testDate);
+        }
+
         @Test
         void returnsNullWhenNoComicsExist() {
             when(managementFacade.getAllComics()).thenReturn(List.of());
 
-            ComicResolver.ComicStrip result = resolver.randomStrip(null);
+            ComicResolver.ComicStrip result = resolver.randomStrip(null, null, null, null);
 
             assertThat(result).isNull();
         }
@@ -122,12 +180,12 @@ class RandomStripNotFoundTests {
         @Test
         void fallsBackToRequestedDateWhenCurrentDateIsNull() {
             LocalDate requestedDate = testDate.plusDays(5);
-            when(managementFacade.getRandomDate(1)).thenReturn(Optional.of(requestedDate));
-            when(managementFacade.getComicStripWithNavigation(1, requestedDate))
-                    .thenReturn(ComicNavigationResult.notFound("NOT_AVAILABLE", requestedDate,
-                            testDate.plusDays(4), testDate.plusDays(6)));
+            when(managementFacade.getRandomDate(1, null, null, false)).thenReturn(Optional.of(requestedDate));
+            when(managementFacade.getStrips(1, List.of(requestedDate)))
+                    .thenReturn(List.of(ComicNavigationResult.notFound("NOT_AVAILABLE", requestedDate,
+                            testDate.plusDays(4), testDate.plusDays(6))));
 
-            ComicResolver.ComicStrip result = resolver.randomStrip(1);
+            ComicResolver.ComicStrip result = resolver.randomStrip(1, null, null, null);
 
             assertThat(result).isNotNull();
             assertThat(result.available()).isFalse();
@@ -214,10 +272,10 @@ void returnsStripsForRequestedDates() {
             LocalDate date2 = testDate.plusDays(1);
             ImageDto img = ImageDto.builder().mimeType("image/png").build();
 
-            when(managementFacade.getComicStripWithNavigation(1, date1))
-                    .thenReturn(ComicNavigationResult.found(img, null, date2));
-            when(managementFacade.getComicStripWithNavigation(1, date2))
-                    .thenReturn(ComicNavigationResult.found(img, date1, null));
+            when(managementFacade.getStrips(1, List.of(date1, date2)))
+                    .thenReturn(List.of(
+                            ComicNavigationResult.found(img, null, date2),
+                            ComicNavigationResult.found(img, date1, null)));
 
             List<ComicResolver.ComicStrip> result = resolver.strips(testComic, List.of(date1, date2));
 
@@ -235,8 +293,9 @@ void returnsEmptyForEmptyDateList() {
         @Test
         void handlesDuplicateDates() {
             ImageDto img = ImageDto.builder().mimeType("image/png").build();
-            when(managementFacade.getComicStripWithNavigation(1, testDate))
-                    .thenReturn(ComicNavigationResult.found(img, null, null));
+            ComicNavigationResult found = ComicNavigationResult.found(img, null, null);
+            when(managementFacade.getStrips(1, List.of(testDate, testDate)))
+                    .thenReturn(List.of(found, found));
 
             List<ComicResolver.ComicStrip> result = resolver.strips(testComic, List.of(testDate, testDate));
 
@@ -250,9 +309,11 @@ void capsListSizeCorrectly(int requested, int expected) {
                     .mapToObj(testDate::plusDays)
                     .toList();
 
-            when(managementFacade.getComicStripWithNavigation(anyInt(), org.mockito.ArgumentMatchers.any(LocalDate.class)))
-                    .thenReturn(ComicNavigationResult.found(
-                            ImageDto.builder().mimeType("image/png").build(), null, null));
+            when(managementFacade.getStrips(eq(1), anyList()))
+                    .thenAnswer(invocation -> invocation.<List<LocalDate>>getArgument(1).stream()
+                            .map(date -> ComicNavigationResult.found(
+                                    ImageDto.builder().mimeType("image/png").imageDate(date).build(), null, null))
+                            .toList());
 
             List<ComicResolver.ComicStrip> result = resolver.strips(testComic, dates);
 
@@ -261,8 +322,8 @@ void capsListSizeCorrectly(int requested, int expected) {
 
         @Test
         void handlesUnavailableDates() {
-            when(managementFacade.getComicStripWithNavigation(1, testDate))
-                    .thenReturn(ComicNavigationResult.notFound("NOT_AVAILABLE", testDate, null, null));
+            when(managementFacade.getStrips(1, List.of(testDate)))
+                    .thenReturn(List.of(ComicNavigationResult.notFound("NOT_AVAILABLE", testDate, null, null)));
 
             List<ComicResolver.ComicStrip> result = resolver.strips(testComic, List.of(testDate));
 
@@ -270,4 +331,73 @@ void handlesUnavailableDates() {
             assertThat(result.getFirst().available()).isFalse();
         }
     }
+
+    // =========================================================================
+    // transcriptSearch
+    // =========================================================================
+
+    @Nested
+    class TranscriptSearchTests {
+
+        @Test
+        void returnsMatchesWithCursorsAndTotal() {
+            TranscriptSearchIndex.Match first = new TranscriptSearchIndex.Match(1, testDate.minusDays(1));
+            TranscriptSearchIndex.Match second = new TranscriptSearchIndex.Match(1, testDate);
+            when(transcriptSearchIndex.search("pumpkin", null, null, 2))
+                    .thenReturn(new TranscriptSearchIndex.SearchResult(List.of(first, second), 3, true));
+            when(managementFacade.getComic(1)).thenReturn(Optional.of(testComic));
+
+            ComicResolver.TranscriptSearchConnection result = resolver.transcriptSearch("pumpkin", null, 2, null);
+
+            assertThat(result.totalCount()).isEqualTo(3);
+            assertThat(result.edges()).extracting(edge -> edge.node().date())
+                    .containsExactly(testDate.minusDays(1), testDate);
+            assertThat(result.pageInfo().hasNextPage()).isTrue();
+            assertThat(result.pageInfo().hasPreviousPage()).isFalse();
+            assertThat(result.pageInfo().endCursor()).isEqualTo(result.edges().getLast().cursor());
+        }
+
+        @Test
+        void resumesAfterCursor() {
+            TranscriptSearchIndex.Match first = new TranscriptSearchIndex.Match(1, testDate.minusDays(1));
+            TranscriptSearchIndex.Match second = new TranscriptSearchIndex.Match(1, testDate);
+            when(transcriptSearchIndex.search("pumpkin", null, null, 1))
+                    .thenReturn(new TranscriptSearchIndex.SearchResult(List.of(first), 2, true));
+            when(transcriptSearchIndex.search("pumpkin", null, first, 1))
+                    .thenReturn(new TranscriptSearchIndex.SearchResult(List.of(second), 2, false));
+            when(managementFacade.getComic(1)).thenReturn(Optional.of(testComic));
+
+            String cursor = resolver.transcriptSearch("pumpkin", null, 1, null).pageInfo().endCursor();
+            ComicResolver.TranscriptSearchConnection result = resolver.transcriptSearch("pumpkin", null, 1, cursor);
+
+            assertThat(result.edges()).extracting(edge -> edge.node().date()).containsExactly(testDate);
+            assertThat(result.pageInfo().hasNextPage()).isFalse();
+            assertThat(result.pageInfo().hasPreviousPage()).isTrue();
+        }
+
+        @Test
+        void skipsMatchesForDeletedComicsButKeepsCursor() {
+            TranscriptSearchIndex.Match deleted = new TranscriptSearchIndex.Match(2, testDate);
+            when(transcriptSearchIndex.search("pumpkin", null, null, 20))
+                    .thenReturn(new TranscriptSearchIndex.SearchResult(List.of(deleted), 1, false));
+            when(managementFacade.getComic(2)).thenReturn(Optional.empty());
+
+            ComicResolver.TranscriptSearchConnection result = resolver.transcriptSearch("pumpkin", null, null, null);
+
+            assertThat(result.edges()).isEmpty();
+            assertThat(result.pageInfo().endCursor()).isNotNull();
+        }
+
+        @ParameterizedTest
+        @CsvSource({"10, 10", "50, 50", "500, 50"})
+        void capsPageSize(int requested, int expected) {
+            when(transcriptSearchIndex.search("pumpkin", 1, null, expected))
+                    .thenReturn(new TranscriptSearchIndex.SearchResult(List.of(), 0, false));
+
+            ComicResolver.TranscriptSearchConnection result = resolver.transcriptSearch("pumpkin", 1, requested, null);
+
+            assertThat(result.edges()).isEmpty();
+            assertThat(result.pageInfo().endCursor()).isNull();
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package org.stapledon.core.user.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +13,9 @@
 import org.stapledon.api.dto.user.User;
 import org.stapledon.api.dto.user.UserRegistrationDto;
 import org.stapledon.infrastructure.config.UserConfigWriter;
+import org.stapledon.infrastructure.security.VerifiedTokenCache;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -23,11 +28,13 @@ class JsonUserServiceTest {
 
     @Mock private UserConfigWriter userConfigWriter;
 
+    @Mock private VerifiedTokenCache verifiedTokenCache;
+
     private JsonUserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new JsonUserService(userConfigWriter);
+        userService = new JsonUserService(userConfigWriter, verifiedTokenCache);
     }
 
     @Test
@@ -101,6 +108,35 @@ void updateUserShouldDelegateToConfigWriter() {
         assertThat(result.isPresent()).isTrue();
         assertThat(result.get().getUsername()).isEqualTo("testuser");
         verify(userConfigWriter).updateUser(user);
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
+    @Test
+    void updateUserShouldInvalidateCachedTokensIssuedBeforeLogout() {
+        // Given
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        User user = createTestUser("testuser");
+        user.setTokensInvalidatedBefore(cutoff);
+        when(userConfigWriter.updateUser(user)).thenReturn(Optional.of(user));
+
+        // When
+        userService.updateUser(user);
+
+        // Then
+        verify(verifiedTokenCache).invalidateIssuedBefore("testuser", cutoff.toInstant());
+    }
+
+    @Test
+    void deleteUserShouldInvalidateCachedTokens() {
+        // Given
+        when(userConfigWriter.deleteUser("testuser")).thenReturn(true);
+
+        // When
+        boolean deleted = userService.deleteUser("testuser");
+
+        // Then
+        assertThat(deleted).isTrue();
+        verify(verifiedTokenCache).invalidateIssuedBefore(eq("testuser"), any(Instant.class));
     }
 
     @Test
@@ -14,10 +14,13 @@
 import org.stapledon.common.config.CaffeineCacheProperties;
 import org.stapledon.common.dto.ComicNavigationResult;
 import org.stapledon.common.dto.ImageDto;
+import org.stapledon.common.infrastructure.storage.IoPriority;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
 import org.stapledon.common.util.Direction;
 import org.stapledon.engine.management.ManagementFacade;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
@@ -164,6 +167,27 @@ void prefetchAdjacentComicsBackwardCallsCorrectDates() {
         assertThat(capturedDates.get(2)).as("Third fetch should be from date before that").isEqualTo(startDate.minusDays(2));
     }
 
+    @Test
+    void prefetchAdjacentComicsReadsAsBackgroundEvenWhenCalledFromInteractiveThread() {
+        int comicId = 1;
+        LocalDate startDate = LocalDate.of(2025, 10, 24);
+        List<IoPriority> priorities = new ArrayList<>();
+        when(comicManagementFacade.getComicStrip(eq(comicId), eq(Direction.FORWARD), any(LocalDate.class)))
+                .thenAnswer(invocation -> {
+                    priorities.add(IoScheduler.currentPriority());
+                    return ComicNavigationResult.builder().found(false).reason("AT_END").build();
+                });
+
+        // Execute prefetch from a request thread marked interactive
+        try (IoScheduler.PriorityScope ignored = IoScheduler.withPriority(IoPriority.INTERACTIVE)) {
+            service.prefetchAdjacentComics(comicId, startDate, Direction.FORWARD);
+            assertThat(IoScheduler.currentPriority()).as("Caller priority should be restored").isEqualTo(IoPriority.INTERACTIVE);
+        }
+
+        // Speculative reads must not count as interactive IO
+        assertThat(priorities).containsExactly(IoPriority.BACKGROUND);
+    }
+
     @Test
     void prefetchAdjacentComicsDisabledLookahead() {
         // Disable lookahead
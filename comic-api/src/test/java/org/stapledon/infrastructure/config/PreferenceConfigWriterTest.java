@@ -16,6 +16,7 @@
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 class PreferenceConfigWriterTest {
@@ -146,6 +147,21 @@ void loadPreferencesShouldLoadExistingPreferencesFromFile() {
         assertThat(result.getPreferences().get("testuser").getUsername()).isEqualTo("testuser");
     }
 
+    @Test
+    void getFavoriteCountsShouldCountUsersPerComic() {
+        // Given
+        preferenceConfigWriter.addFavorite("alice", 1);
+        preferenceConfigWriter.addFavorite("alice", 2);
+        preferenceConfigWriter.addFavorite("bob", 2);
+        preferenceConfigWriter.getPreference("carol");
+
+        // When
+        Map<Integer, Integer> counts = preferenceConfigWriter.getFavoriteCounts();
+
+        // Then
+        assertThat(counts).containsOnly(Map.entry(1, 1), Map.entry(2, 2));
+    }
+
     @Test
     void getPreferenceShouldCreateDefaultPreferenceForNewUser() {
         // Given
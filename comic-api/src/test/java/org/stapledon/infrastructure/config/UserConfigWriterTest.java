@@ -2,6 +2,11 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -341,6 +346,49 @@ void authenticateUserShouldFailForInvalidCredentials() {
         assertThat(result.isEmpty()).isTrue();
     }
 
+    @Test
+    void authenticateUserShouldDeferLastLoginWriteToFlush() {
+        // Given: the real writer over a facade that records writes
+        ConfigurationFacade configurationFacade = mock(ConfigurationFacade.class);
+        UserConfig config = new UserConfig();
+        User user = createTestUser("loginuser");
+        config.getUsers().put(user.getUsername(), user);
+        when(configurationFacade.loadUserConfig()).thenReturn(config);
+        when(configurationFacade.saveUserConfig(config)).thenReturn(true);
+        UserConfigWriter writer = new UserConfigWriter(gson, TestUserConfigWriter.createCacheProperties(tempDir), configurationFacade);
+
+        // When: a burst of logins
+        for (int i = 0; i < 3; i++) {
+            assertThat(writer.authenticateUser("loginuser", "testpass")).isPresent();
+        }
+
+        // Then: lastLogin is updated in memory, and one flush writes it
+        assertThat(user.getLastLogin()).isNotNull();
+        verify(configurationFacade, never()).saveUserConfig(config);
+        writer.flushDeferredChanges();
+        writer.flushDeferredChanges();
+        verify(configurationFacade, times(1)).saveUserConfig(config);
+    }
+
+    @Test
+    void updatePasswordShouldWriteImmediatelyAndCoverDeferredLogins() {
+        // Given
+        ConfigurationFacade configurationFacade = mock(ConfigurationFacade.class);
+        UserConfig config = new UserConfig();
+        config.getUsers().put("loginuser", createTestUser("loginuser"));
+        when(configurationFacade.loadUserConfig()).thenReturn(config);
+        when(configurationFacade.saveUserConfig(config)).thenReturn(true);
+        UserConfigWriter writer = new UserConfigWriter(gson, TestUserConfigWriter.createCacheProperties(tempDir), configurationFacade);
+        writer.authenticateUser("loginuser", "testpass");
+
+        // When
+        assertThat(writer.updatePassword("loginuser", "newpass")).isPresent();
+        writer.flushDeferredChanges();
+
+        // Then: the password write also persisted the login, so the flush has nothing to do
+        verify(configurationFacade, times(1)).saveUserConfig(config);
+    }
+
     @Test
     void getUserShouldReturnUserForExistingUsername() {
         // Given
@@ -0,0 +1,65 @@
+package org.stapledon.infrastructure.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.stapledon.engine.batch.logging.LogLineIndex;
+
+@DisplayName("IndexedFileAppender")
+class IndexedFileAppenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("should write a line index entry every LINES_PER_ENTRY lines")
+    void shouldIndexLinesAsTheyAreWritten() throws Exception {
+        Path logFile = tempDir.resolve("TestJob-20260320-a3f7b2c1.log");
+        LoggerContext context = new LoggerContext();
+        Logger logger = context.getLogger("test");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+
+        IndexedFileAppender<ILoggingEvent> appender = new IndexedFileAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setFile(logFile.toString());
+        appender.start();
+
+        for (int i = 0; i < 250; i++) {
+            appender.doAppend(new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "line " + i, null, null));
+        }
+        appender.stop();
+
+        List<String> lines = Files.readAllLines(logFile);
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(LogLineIndex.sidecarFor(logFile)));
+        assertThat(index.remaining()).isEqualTo(2 * Long.BYTES);
+        long hundredth = index.getLong();
+        long twoHundredth = index.getLong();
+        assertThat(readLineAt(logFile, hundredth)).isEqualTo(lines.get(100));
+        assertThat(readLineAt(logFile, twoHundredth)).isEqualTo(lines.get(200));
+    }
+
+    private String readLineAt(Path file, long offset) throws Exception {
+        String content = Files.readString(file);
+        int start = (int) offset;
+        return content.substring(start, content.indexOf('\n', start));
+    }
+}
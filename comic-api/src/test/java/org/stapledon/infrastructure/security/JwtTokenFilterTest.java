@@ -1,9 +1,6 @@
 package org.stapledon.infrastructure.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -13,17 +10,15 @@
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.stapledon.api.dto.user.User;
-import org.stapledon.core.user.service.UserService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
-import java.util.Collections;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.mockito.Mock;
@@ -32,11 +27,7 @@
 @ExtendWith(MockitoExtension.class)
 class JwtTokenFilterTest {
 
-    @Mock private JwtTokenUtil jwtTokenUtil;
-
-    @Mock private JwtUserDetailsService userDetailsService;
-
-    @Mock private UserService userService;
+    @Mock private VerifiedTokenCache verifiedTokenCache;
 
     @Mock private HttpServletRequest request;
 
@@ -50,7 +41,7 @@ class JwtTokenFilterTest {
 
     @BeforeEach
     void setUp() {
-        jwtTokenFilter = new JwtTokenFilter(jwtTokenUtil, userDetailsService, userService);
+        jwtTokenFilter = new JwtTokenFilter(verifiedTokenCache);
         SecurityContextHolder.clearContext();
     }
 
@@ -60,61 +51,44 @@ void doFilterInternalShouldSetAuthenticationForValidToken() throws Exception {
         String username = "testuser";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenUtil.extractUsername(token)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(userService.getUser(username)).thenReturn(Optional.of(User.builder().username(username).build()));
-        when(jwtTokenUtil.isTokenInvalidatedByLogout(anyString(), any())).thenReturn(false);
-        when(jwtTokenUtil.validateToken(token, userDetails)).thenReturn(true);
-        when(jwtTokenUtil.extractRoles(token)).thenReturn(Collections.singletonList("USER"));
+        when(verifiedTokenCache.resolve(token)).thenReturn(Optional.of(new VerifiedTokenCache.VerifiedToken(
+                username, List.of("USER"), Instant.now(), Instant.now().plusSeconds(300), userDetails)));
         when(userDetails.getUsername()).thenReturn(username);
 
         jwtTokenFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTokenUtil).validateToken(token, userDetails);
-        verify(jwtTokenUtil).extractRoles(token);
         verify(filterChain).doFilter(request, response);
-
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(username);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ROLE_USER");
     }
 
     @Test
-    void doFilterInternalShouldNotSetAuthenticationForInvalidToken() throws Exception {
+    void doFilterInternalShouldNotSetAuthenticationForRejectedToken() throws Exception {
         String token = "invalid_token";
-        String username = "testuser";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenUtil.extractUsername(token)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(userService.getUser(username)).thenReturn(Optional.of(User.builder().username(username).build()));
-        when(jwtTokenUtil.isTokenInvalidatedByLogout(anyString(), any())).thenReturn(false);
-        when(jwtTokenUtil.validateToken(token, userDetails)).thenReturn(false);
+        when(verifiedTokenCache.resolve(token)).thenReturn(Optional.empty());
 
         jwtTokenFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTokenUtil).validateToken(token, userDetails);
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
     @Test
-    void doFilterInternalShouldRejectTokenInvalidatedByLogout() throws Exception {
-        String token = "stale_token";
-        String username = "testuser";
-        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC);
-
-        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenUtil.extractUsername(token)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(userService.getUser(username))
-                .thenReturn(Optional.of(User.builder().username(username).tokensInvalidatedBefore(cutoff).build()));
-        when(jwtTokenUtil.isTokenInvalidatedByLogout(token, cutoff)).thenReturn(true);
+    void doFilterInternalShouldKeepExistingAuthentication() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer some_token");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
 
         jwtTokenFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTokenUtil, never()).validateToken(anyString(), any(UserDetails.class));
         verify(filterChain).doFilter(request, response);
-        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(verifiedTokenCache);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("admin");
     }
 
     @Test
@@ -124,7 +98,7 @@ void doFilterInternalShouldNotSetAuthenticationWhenNoToken() throws Exception {
         jwtTokenFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verifyNoInteractions(jwtTokenUtil, userDetailsService, userService);
+        verifyNoInteractions(verifiedTokenCache);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
@@ -133,11 +107,11 @@ void doFilterInternalShouldHandleExceptions() throws Exception {
         String token = "error_token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenUtil.extractUsername(token)).thenThrow(new RuntimeException("Test exception"));
+        when(verifiedTokenCache.resolve(token)).thenThrow(new RuntimeException("Test exception"));
 
         jwtTokenFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTokenUtil).extractUsername(token);
+        verify(verifiedTokenCache).resolve(token);
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
@@ -150,7 +124,7 @@ void doFilterInternalShouldSkipAuthForInvalidHeaders(String headerValue) throws
         jwtTokenFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verifyNoInteractions(jwtTokenUtil, userDetailsService, userService);
+        verifyNoInteractions(verifiedTokenCache);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
@@ -0,0 +1,125 @@
+package org.stapledon.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.stapledon.api.dto.user.User;
+import org.stapledon.infrastructure.config.properties.JwtProperties;
+import org.stapledon.infrastructure.repository.UserRepository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    private static final String USERNAME = "testuser";
+
+    @Mock private UserRepository userRepository;
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = JwtProperties.builder()
+                .secret("testSecretKeyWithAtLeast32Characters0123456789")
+                .expiration(900000L)
+                .refreshExpiration(86400000L)
+                .build();
+        jwtTokenUtil = spy(new JwtTokenUtil(jwtProperties));
+        cache = new VerifiedTokenCache(jwtTokenUtil, userRepository, jwtProperties);
+    }
+
+    @Test
+    void resolveShouldVerifyTokenOnceAndServeRepeatsFromCache() {
+        // Given
+        User user = createTestUser(null);
+        String token = jwtTokenUtil.generateToken(user);
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+
+        // When
+        Optional<VerifiedTokenCache.VerifiedToken> first = cache.resolve(token);
+        Optional<VerifiedTokenCache.VerifiedToken> second = cache.resolve(token);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(first.get().username()).isEqualTo(USERNAME);
+        assertThat(first.get().roles()).containsExactly("USER");
+        assertThat(first.get().principal().getUsername()).isEqualTo(USERNAME);
+        assertThat(second).containsSame(first.get());
+        verify(jwtTokenUtil, times(1)).extractAllClaims(token);
+        verify(userRepository, times(1)).findByUsername(USERNAME);
+    }
+
+    @Test
+    void resolveShouldRejectTokenIssuedBeforeStoredLogoutCutoff() {
+        // Given
+        String token = jwtTokenUtil.generateToken(createTestUser(null));
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(1);
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(createTestUser(cutoff)));
+
+        // When / Then
+        assertThat(cache.resolve(token)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidateIssuedBeforeShouldRejectTokenAlreadyCached() {
+        // Given
+        User user = createTestUser(null);
+        String token = jwtTokenUtil.generateToken(user);
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+        assertThat(cache.resolve(token)).isPresent();
+
+        // When
+        cache.invalidateIssuedBefore(USERNAME, Instant.now().plusSeconds(1));
+
+        // Then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.resolve(token)).isEmpty();
+    }
+
+    @Test
+    void resolveShouldRejectTamperedTokenWithoutLookingUpUser() {
+        // Given
+        String token = jwtTokenUtil.generateToken(createTestUser(null));
+
+        // When / Then
+        assertThat(cache.resolve(token + "x")).isEmpty();
+        verify(userRepository, never()).findByUsername(USERNAME);
+    }
+
+    @Test
+    void resolveShouldRejectUnknownUser() {
+        // Given
+        String token = jwtTokenUtil.generateToken(createTestUser(null));
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(cache.resolve(token)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    private User createTestUser(OffsetDateTime tokensInvalidatedBefore) {
+        return User.builder()
+                .username(USERNAME)
+                .passwordHash("hashedPassword")
+                .roles(List.of("USER"))
+                .tokensInvalidatedBefore(tokensInvalidatedBefore)
+                .build();
+    }
+}
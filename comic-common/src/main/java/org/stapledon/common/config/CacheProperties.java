@@ -44,4 +44,27 @@ public class CacheProperties {
      * SHA256 - Secure byte-exact matching, slower than MD5.
      */
     private final HashAlgorithm hashAlgorithm;
+
+    /**
+     * Maximum concurrent directory reads when scanning the whole cache.
+     * Higher values overlap more NFS round-trips; 0 uses the scanner default.
+     */
+    private final int scanConcurrency;
+
+    /**
+     * Maximum images hashed in parallel by the background hash backfill.
+     * 0 uses the number of available processors.
+     */
+    private final int hashBackfillConcurrency;
+
+    /**
+     * Whether to keep a binary warm-start snapshot of the date and strip-number indexes, restored
+     * at startup in place of parsing each comic's index JSON when that file is unchanged.
+     */
+    private final boolean warmStartSnapshot;
+
+    /**
+     * Minutes between periodic warm-start snapshot writes; the snapshot is also written on shutdown.
+     */
+    private final int warmStartSnapshotIntervalMinutes;
 }
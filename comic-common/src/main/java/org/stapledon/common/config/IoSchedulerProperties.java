@@ -0,0 +1,35 @@
+package org.stapledon.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Budgets for IO against the comic cache, shared by user requests and background work.
+ * Maps to comics.cache.io.* properties in application.properties. A value of zero means unlimited.
+ */
+@Getter
+@ToString
+@Builder
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "comics.cache.io")
+public class IoSchedulerProperties {
+
+    /** Maximum interactive IO operations in flight at once. */
+    private final int interactiveConcurrency;
+
+    /** Maximum background IO operations in flight at once. */
+    private final int backgroundConcurrency;
+
+    /** Maximum background IO operations started per second. */
+    private final int backgroundOpsPerSecond;
+
+    /** Interactive operations queued or in flight at which background work starts yielding. */
+    private final int backgroundYieldDepth;
+
+    /** Longest a background operation yields before it proceeds anyway. */
+    private final int backgroundMaxYieldMs;
+}
@@ -36,6 +36,12 @@ public class ComicDownloadResult {
      */
     private final String errorMessage;
 
+    /**
+     * Outcome of the download; a failure's status tells a transient network error from a strip that is not there.
+     */
+    @ToString.Include
+    private final ComicRetrievalStatus status;
+
     /**
      * The actual publication date discovered from the page (for indexed comics).
      * Null for date-based comics where the date is already known from the request.
@@ -81,13 +87,39 @@ public static ComicDownloadResult successWithMetadata(ComicDownloadRequest reque
     }
 
     /**
-     * Factory method to create a failed result.
+     * Factory method to create a failed result for a strip that could not be found or was not valid.
      */
     public static ComicDownloadResult failure(ComicDownloadRequest request, String errorMessage) {
+        return failure(request, errorMessage, ComicRetrievalStatus.COMIC_UNAVAILABLE);
+    }
+
+    /**
+     * Factory method to create a failed result with the cause of the failure.
+     */
+    public static ComicDownloadResult failure(ComicDownloadRequest request, String errorMessage, ComicRetrievalStatus status) {
         return ComicDownloadResult.builder()
                 .request(request)
                 .successful(false)
                 .errorMessage(errorMessage)
+                .status(status)
                 .build();
     }
+
+    /**
+     * Outcome of the download. Results built without a status count as {@link ComicRetrievalStatus#SUCCESS} when
+     * successful and {@link ComicRetrievalStatus#COMIC_UNAVAILABLE} otherwise.
+     */
+    public ComicRetrievalStatus getStatus() {
+        if (status != null) {
+            return status;
+        }
+        return successful ? ComicRetrievalStatus.SUCCESS : ComicRetrievalStatus.COMIC_UNAVAILABLE;
+    }
+
+    /**
+     * Whether the download failed for a reason that may clear up on a retry, such as a timeout or a server error.
+     */
+    public boolean isTransientFailure() {
+        return !successful && getStatus() == ComicRetrievalStatus.NETWORK_ERROR;
+    }
 }
\ No newline at end of file
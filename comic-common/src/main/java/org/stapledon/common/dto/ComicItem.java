@@ -23,6 +23,9 @@
 @ToString(onlyExplicitlyIncluded = true)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ComicItem implements Comparable<ComicItem> {
+    private static final Comparator<ComicItem> BY_NAME = Comparator.comparing(ComicItem::getName,
+            Comparator.nullsFirst(String::compareTo));
+
     @ToString.Include
     int id;
 
@@ -71,8 +74,6 @@ public int hashCode() {
 
     @Override
     public int compareTo(ComicItem other) {
-        return Comparator.comparing(ComicItem::getName,
-                                   Comparator.nullsFirst(String::compareTo))
-                        .compare(this, other);
+        return BY_NAME.compare(this, other);
     }
 }
@@ -0,0 +1,14 @@
+package org.stapledon.common.dto;
+
+import java.util.List;
+
+/**
+ * One page of the comic list, in catalog (name) order.
+ *
+ * @param comics      comics on this page
+ * @param totalCount  number of comics matching the filters across all pages
+ * @param hasPrevious whether matching comics precede this page
+ * @param hasNext     whether matching comics follow this page
+ */
+public record ComicPage(List<ComicItem> comics, int totalCount, boolean hasPrevious, boolean hasNext) {
+}
@@ -8,7 +8,7 @@
 
 /**
  * Metadata about an individual comic image.
- * Stored as a sidecar JSON file alongside each image.
+ * Stored as one record in the image-metadata segment of the image's year directory.
  */
 @Data
 @Builder(toBuilder = true)
@@ -0,0 +1,31 @@
+package org.stapledon.common.infrastructure.storage;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumer of the records emitted by a {@link CacheScanner} pass. Several listeners can share
+ * one pass over the cache. Callbacks arrive concurrently from scanner worker threads, so
+ * implementations must be thread-safe.
+ */
+public interface CacheScanListener {
+    /**
+     * Called for each file accepted by the scan's file filter.
+     */
+    default void onFile(CacheScanner.ScannedFile file) {
+    }
+
+    /**
+     * Called once a year directory has been fully listed, with every accepted file it contains.
+     */
+    default void onYearScanned(String comicDirectory, String year, Path yearDirectory,
+                               List<CacheScanner.ScannedFile> files) {
+    }
+
+    /**
+     * Called once after the whole pass, with the year directories found under each comic directory.
+     */
+    default void onScanComplete(Map<String, List<String>> yearsByComic) {
+    }
+}
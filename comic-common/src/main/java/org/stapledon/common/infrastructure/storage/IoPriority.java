@@ -0,0 +1,15 @@
+package org.stapledon.common.infrastructure.storage;
+
+/**
+ * Priority class of an IO operation against the comic cache. See {@link IoScheduler}.
+ */
+public enum IoPriority {
+    /**
+     * Work a user is waiting on: REST and GraphQL requests
+     */
+    INTERACTIVE,
+    /**
+     * Batch jobs, scanners and backfills
+     */
+    BACKGROUND
+}
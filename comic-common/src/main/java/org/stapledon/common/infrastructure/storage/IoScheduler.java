@@ -0,0 +1,229 @@
+package org.stapledon.common.infrastructure.storage;
+
+import com.google.common.util.concurrent.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.stapledon.common.config.IoSchedulerProperties;
+
+/**
+ * Admission control for IO against the comic cache. User requests and batch work share one JVM and one NFS mount,
+ * so every storage read and directory scan passes through here with an {@link IoPriority}:
+ * <ul>
+ * <li>{@link IoPriority#INTERACTIVE} operations are bounded only by {@code comics.cache.io.interactive-concurrency}</li>
+ * <li>{@link IoPriority#BACKGROUND} operations first yield while {@code comics.cache.io.background-yield-depth} or more
+ * interactive operations are queued or in flight (for at most {@code background-max-yield-ms}), then take a slot from
+ * the {@code background-ops-per-second} rate and the {@code background-concurrency} limit</li>
+ * </ul>
+ * The priority of the current thread is set with {@link #withPriority(IoPriority)}. It is not inherited: threads started from
+ * a request, such as {@code @Async} prefetches or batch partition workers, are background unless they set a priority themselves.
+ * Work handed to another thread on the request's behalf, such as GraphQL data fetching, carries it over explicitly with
+ * {@link #assignedPriority()} and {@link #restorePriority(IoPriority)}.
+ */
+@Slf4j
+@Component
+public class IoScheduler {
+
+    private static final ThreadLocal<IoPriority> CURRENT_PRIORITY = new ThreadLocal<>();
+
+    private final Semaphore interactivePermits;
+    private final Semaphore backgroundPermits;
+    private final RateLimiter backgroundRate;
+    private final int yieldDepth;
+    private final long maxYieldNanos;
+
+    private final AtomicInteger interactiveDepth = new AtomicInteger();
+    private final AtomicInteger yielding = new AtomicInteger();
+    private final AtomicLong backgroundYields = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition interactiveDrained = lock.newCondition();
+
+    @Autowired
+    public IoScheduler(IoSchedulerProperties properties) {
+        this(properties.getInteractiveConcurrency(), properties.getBackgroundConcurrency(), properties.getBackgroundOpsPerSecond(),
+                properties.getBackgroundYieldDepth(), properties.getBackgroundMaxYieldMs());
+        log.info("IO scheduler budgets: {}", properties);
+    }
+
+    public IoScheduler(int interactiveConcurrency, int backgroundConcurrency, int backgroundOpsPerSecond, int backgroundYieldDepth,
+            long backgroundMaxYieldMs) {
+        this.interactivePermits = interactiveConcurrency > 0 ? new Semaphore(interactiveConcurrency) : null;
+        this.backgroundPermits = backgroundConcurrency > 0 ? new Semaphore(backgroundConcurrency) : null;
+        this.backgroundRate = backgroundOpsPerSecond > 0 ? RateLimiter.create(backgroundOpsPerSecond) : null;
+        this.yieldDepth = Math.max(0, backgroundYieldDepth);
+        this.maxYieldNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, backgroundMaxYieldMs));
+    }
+
+    /**
+     * Returns a scheduler that admits everything immediately, for callers constructed outside Spring.
+     */
+    public static IoScheduler unlimited() {
+        return new IoScheduler(0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Returns the priority of IO issued by the current thread.
+     */
+    public static IoPriority currentPriority() {
+        IoPriority priority = CURRENT_PRIORITY.get();
+        return priority != null ? priority : IoPriority.BACKGROUND;
+    }
+
+    /**
+     * Sets the priority of IO issued by the current thread until the returned scope is closed.
+     */
+    public static PriorityScope withPriority(IoPriority priority) {
+        IoPriority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(priority);
+        return new PriorityScope(previous);
+    }
+
+    /**
+     * Returns the priority set on the current thread, or null if none has been set.
+     */
+    public static IoPriority assignedPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    /**
+     * Sets the current thread's priority to one read with {@link #assignedPriority()}, clearing it when null.
+     */
+    public static void restorePriority(IoPriority priority) {
+        if (priority == null) {
+            CURRENT_PRIORITY.remove();
+        } else {
+            CURRENT_PRIORITY.set(priority);
+        }
+    }
+
+    /**
+     * Runs an IO operation at the current thread's priority.
+     */
+    public <T, E extends Exception> T submit(IoTask<T, E> task) throws E {
+        return submit(currentPriority(), task);
+    }
+
+    /**
+     * Runs an IO operation once its priority class admits it.
+     *
+     * @param priority the operation's priority class
+     * @param task     the IO to perform
+     * @return the task's result
+     * @throws E whatever the task throws
+     */
+    public <T, E extends Exception> T submit(IoPriority priority, IoTask<T, E> task) throws E {
+        if (priority == IoPriority.INTERACTIVE) {
+            return runInteractive(task);
+        }
+        return runBackground(task);
+    }
+
+    /**
+     * Returns the number of interactive operations queued or in flight.
+     */
+    public int getInteractiveDepth() {
+        return interactiveDepth.get();
+    }
+
+    /**
+     * Returns how many background operations have yielded to interactive work since startup.
+     */
+    public long getBackgroundYields() {
+        return backgroundYields.get();
+    }
+
+    private <T, E extends Exception> T runInteractive(IoTask<T, E> task) throws E {
+        interactiveDepth.incrementAndGet();
+        try {
+            if (interactivePermits != null) {
+                interactivePermits.acquireUninterruptibly();
+            }
+            try {
+                return task.call();
+            } finally {
+                if (interactivePermits != null) {
+                    interactivePermits.release();
+                }
+            }
+        } finally {
+            if (interactiveDepth.decrementAndGet() < yieldDepth && yielding.get() > 0) {
+                lock.lock();
+                try {
+                    interactiveDrained.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private <T, E extends Exception> T runBackground(IoTask<T, E> task) throws E {
+        yieldToInteractive();
+        if (backgroundRate != null) {
+            backgroundRate.acquire();
+        }
+        if (backgroundPermits != null) {
+            backgroundPermits.acquireUninterruptibly();
+        }
+        try {
+            return task.call();
+        } finally {
+            if (backgroundPermits != null) {
+                backgroundPermits.release();
+            }
+        }
+    }
+
+    private void yieldToInteractive() {
+        if (yieldDepth == 0 || interactiveDepth.get() < yieldDepth) {
+            return;
+        }
+        backgroundYields.incrementAndGet();
+        long remainingNanos = maxYieldNanos;
+        yielding.incrementAndGet();
+        lock.lock();
+        try {
+            while (interactiveDepth.get() >= yieldDepth && remainingNanos > 0) {
+                remainingNanos = interactiveDrained.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+            yielding.decrementAndGet();
+        }
+    }
+
+    /**
+     * An IO operation run through the scheduler.
+     */
+    @FunctionalInterface
+    public interface IoTask<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Restores the thread's previous IO priority when closed.
+     */
+    public static final class PriorityScope implements AutoCloseable {
+
+        private final IoPriority previous;
+
+        private PriorityScope(IoPriority previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            restorePriority(previous);
+        }
+    }
+}
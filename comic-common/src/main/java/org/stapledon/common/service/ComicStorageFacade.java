@@ -7,7 +7,9 @@
 
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -75,8 +77,22 @@ default boolean saveComicStrip(ComicIdentifier comic, LocalDate date, byte[] ima
 
     Optional<ImageDto> getComicStrip(ComicIdentifier comic, LocalDate date);
 
+    /**
+     * Gets lightweight descriptors for several strips of one comic in a single call.
+     * <p>
+     * Descriptors carry the date, dimensions and transcript but no image data. Dates without
+     * a stored strip are left out of the result.
+     * </p>
+     */
+    Map<LocalDate, ImageDto> getComicStripDescriptors(ComicIdentifier comic, Collection<LocalDate> dates);
+
     Optional<ImageDto> getAvatar(ComicIdentifier comic);
 
+    /**
+     * Checks whether an avatar is stored for the comic without reading it.
+     */
+    boolean avatarExists(ComicIdentifier comic);
+
     // Navigation operations
     Optional<LocalDate> getNextDateWithComic(ComicIdentifier comic, LocalDate fromDate);
 
@@ -93,6 +109,18 @@ default boolean saveComicStrip(ComicIdentifier comic, LocalDate date, byte[] ima
      */
     List<LocalDate> getAvailableDates(ComicIdentifier comic);
 
+    /**
+     * Gets up to {@code before} dates earlier than center, center itself if available, and up to
+     * {@code after} dates later than center, in ascending order, from one read of the date index.
+     */
+    List<LocalDate> getDatesAround(ComicIdentifier comic, LocalDate center, int before, int after);
+
+    /**
+     * Picks a random available date between {@code from} and {@code to} inclusive (null for an
+     * open end), optionally weighted towards recent strips, without copying the date index.
+     */
+    Optional<LocalDate> getRandomDate(ComicIdentifier comic, LocalDate from, LocalDate to, boolean favorRecent);
+
     // Management operations
     boolean comicStripExists(ComicIdentifier comic, LocalDate date);
 
@@ -0,0 +1,15 @@
+package org.stapledon.common.service;
+
+import java.util.Map;
+
+/**
+ * Read-only view of user favorites for components outside the API module.
+ */
+public interface FavoritesService {
+    /**
+     * Gets how many users have each comic in their favorites.
+     *
+     * @return Map of comic ID to number of users who favorited it (comics with no favorites are absent)
+     */
+    Map<Integer, Integer> getFavoriteCounts();
+}
@@ -0,0 +1,60 @@
+package org.stapledon.common.service;
+
+import java.time.LocalDate;
+
+import org.stapledon.common.dto.ImageMetadata;
+
+/**
+ * Receives notifications when comic strip images are written to or removed from the cache.
+ * Lets consumers such as storage metrics stay current without rescanning the cache tree.
+ */
+public interface StorageEventListener {
+    /**
+     * Called after a strip image has been written to disk.
+     *
+     * @param comicDirectoryName directory name of the comic under the cache root
+     * @param date               publication date of the strip
+     * @param sizeBytes          size of the written image in bytes
+     */
+    void onStripSaved(String comicDirectoryName, LocalDate date, long sizeBytes);
+
+    /**
+     * Called after a strip image has been removed from disk.
+     *
+     * @param comicDirectoryName directory name of the comic under the cache root
+     * @param date               publication date of the strip
+     * @param sizeBytes          size of the removed image in bytes
+     */
+    void onStripDeleted(String comicDirectoryName, LocalDate date, long sizeBytes);
+
+    /**
+     * Called after an existing strip image has been overwritten with a new one. The strip was on disk
+     * before and still is, so only its size changed. Defaults to a delete of the old image followed by
+     * a save of the new one.
+     *
+     * @param comicDirectoryName directory name of the comic under the cache root
+     * @param date               publication date of the strip
+     * @param previousSizeBytes  size of the overwritten image in bytes
+     * @param sizeBytes          size of the written image in bytes
+     */
+    default void onStripReplaced(String comicDirectoryName, LocalDate date, long previousSizeBytes, long sizeBytes) {
+        onStripDeleted(comicDirectoryName, date, previousSizeBytes);
+        onStripSaved(comicDirectoryName, date, sizeBytes);
+    }
+
+    /**
+     * Called after the image metadata of a newly written strip has been saved, following
+     * {@link #onStripSaved} or {@link #onStripReplaced}.
+     *
+     * @param metadata the saved metadata, including the transcript if the source provided one
+     */
+    default void onStripMetadataSaved(ImageMetadata metadata) {
+    }
+
+    /**
+     * Called after a comic's entire cache directory has been removed.
+     *
+     * @param comicDirectoryName directory name of the comic under the cache root
+     */
+    void onComicDeleted(String comicDirectoryName);
+}
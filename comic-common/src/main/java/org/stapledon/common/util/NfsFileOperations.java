@@ -32,6 +32,14 @@ public static void atomicWrite(Path target, String content) throws IOException {
      * This is safe for NFS where network hiccups could corrupt direct writes.
      */
     public static void atomicWrite(Path target, String content, Charset charset) throws IOException {
+        atomicWrite(target, content.getBytes(charset));
+    }
+
+    /**
+     * Atomically write binary content to a file using the write-to-temp-then-move pattern.
+     * This is safe for NFS where network hiccups could corrupt direct writes.
+     */
+    public static void atomicWrite(Path target, byte[] content) throws IOException {
         // Ensure parent directory exists
         Path parent = target.getParent();
         if (parent != null && !Files.exists(parent)) {
@@ -42,7 +50,7 @@ public static void atomicWrite(Path target, String content, Charset charset) thr
         Path tempFile = target
                 .resolveSibling(target.getFileName() + ".tmp." + System.nanoTime());
         try {
-            Files.writeString(tempFile, content, charset);
+            Files.write(tempFile, content);
             // Atomic move to target location
             Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
@@ -0,0 +1,164 @@
+package org.stapledon.common.infrastructure.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class CacheScannerTest {
+
+    @TempDir
+    Path cacheRoot;
+
+    private CacheScanner scanner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scanner = new CacheScanner(4);
+
+        writeFile(cacheRoot.resolve("ComicA/2023/2023-12-31.png"), 10);
+        writeFile(cacheRoot.resolve("ComicA/2024/2024-01-01.png"), 20);
+        writeFile(cacheRoot.resolve("ComicA/2024/2024-01-02.jpg"), 30);
+        writeFile(cacheRoot.resolve("ComicA/2024/2024-01-01.json"), 5);
+        writeFile(cacheRoot.resolve("ComicA/avatar.png"), 40);
+        writeFile(cacheRoot.resolve("ComicA/@eaDir/2024-01-01.png"), 50);
+        writeFile(cacheRoot.resolve("ComicB/2024/2024-02-01.png"), 60);
+        writeFile(cacheRoot.resolve("batch-logs/2024/run.png"), 70);
+        writeFile(cacheRoot.resolve("@eaDir/2024/2024-01-01.png"), 80);
+    }
+
+    @Test
+    void scanCache_emitsFilesFromComicYearDirectoriesOnly() {
+        // Arrange
+        Set<Path> seen = ConcurrentHashMap.newKeySet();
+        Map<String, List<String>> years = new ConcurrentHashMap<>();
+        CacheScanListener listener = new CacheScanListener() {
+            @Override
+            public void onFile(CacheScanner.ScannedFile file) {
+                seen.add(cacheRoot.relativize(file.path()));
+            }
+
+            @Override
+            public void onScanComplete(Map<String, List<String>> yearsByComic) {
+                years.putAll(yearsByComic);
+            }
+        };
+
+        // Act
+        CacheScanner.ScanSummary summary = scanner.scanCache(cacheRoot, CacheScanner.ScanOptions.imagesWithAttributes(),
+                List.of(listener));
+
+        // Assert
+        assertThat(seen).containsExactlyInAnyOrder(
+                Path.of("ComicA/2023/2023-12-31.png"),
+                Path.of("ComicA/2024/2024-01-01.png"),
+                Path.of("ComicA/2024/2024-01-02.jpg"),
+                Path.of("ComicB/2024/2024-02-01.png"));
+        assertThat(summary.comics()).isEqualTo(2);
+        assertThat(summary.files()).isEqualTo(4);
+        assertThat(summary.bytes()).isEqualTo(120);
+        assertThat(years).containsOnlyKeys("ComicA", "ComicB");
+        assertThat(years.get("ComicA")).containsExactlyInAnyOrder("2023", "2024");
+    }
+
+    @Test
+    void scanComic_reportsEachYearWithItsFiles() {
+        // Arrange
+        Map<String, Integer> filesPerYear = new ConcurrentHashMap<>();
+        CacheScanListener listener = new CacheScanListener() {
+            @Override
+            public void onYearScanned(String comicDirectory, String year, Path yearDirectory,
+                                      List<CacheScanner.ScannedFile> files) {
+                filesPerYear.put(comicDirectory + "/" + year, files.size());
+            }
+        };
+
+        // Act
+        scanner.scanComic(cacheRoot.resolve("ComicA"), CacheScanner.ScanOptions.pngNames(), List.of(listener));
+
+        // Assert
+        assertThat(filesPerYear).containsOnly(Map.entry("ComicA/2023", 1), Map.entry("ComicA/2024", 1));
+    }
+
+    @Test
+    void scanYear_withNamesOnly_skipsAttributesAndParsesDates() {
+        // Arrange
+        List<CacheScanner.ScannedFile> files = new CopyOnWriteArrayList<>();
+        CacheScanListener listener = new CacheScanListener() {
+            @Override
+            public void onFile(CacheScanner.ScannedFile file) {
+                files.add(file);
+            }
+        };
+
+        // Act
+        scanner.scanYear(cacheRoot.resolve("ComicA/2024"), CacheScanner.ScanOptions.pngNames(), List.of(listener));
+
+        // Assert
+        assertThat(files).hasSize(1);
+        CacheScanner.ScannedFile file = files.get(0);
+        assertThat(file.comicDirectory()).isEqualTo("ComicA");
+        assertThat(file.year()).isEqualTo("2024");
+        assertThat(file.date()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(file.sizeBytes()).isEqualTo(-1);
+        assertThat(file.lastModified()).isNull();
+    }
+
+    @Test
+    void scanCache_whenListenerThrows_otherListenersStillReceiveFiles() {
+        // Arrange
+        CacheScanListener failing = new CacheScanListener() {
+            @Override
+            public void onFile(CacheScanner.ScannedFile file) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        Set<Path> seen = ConcurrentHashMap.newKeySet();
+        CacheScanListener collecting = new CacheScanListener() {
+            @Override
+            public void onFile(CacheScanner.ScannedFile file) {
+                seen.add(file.path());
+            }
+        };
+
+        // Act
+        scanner.scanCache(cacheRoot, CacheScanner.ScanOptions.pngNames(), List.of(failing, collecting));
+
+        // Assert
+        assertThat(seen).hasSize(3);
+    }
+
+    @Test
+    void scanComic_whenDirectoryMissing_returnsEmptySummary() {
+        // Act
+        CacheScanner.ScanSummary summary = scanner.scanComic(cacheRoot.resolve("Missing"),
+                CacheScanner.ScanOptions.pngNames(), List.of());
+
+        // Assert
+        assertThat(summary.comics()).isZero();
+        assertThat(summary.files()).isZero();
+    }
+
+    @Test
+    void parseDate_handlesDatedAndUndatedNames() {
+        assertThat(CacheScanner.parseDate("2024-03-05.png")).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(CacheScanner.parseDate("avatar.png")).isNull();
+        assertThat(CacheScanner.parseDate("noextension")).isNull();
+    }
+
+    private static void writeFile(Path path, int size) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[size]);
+    }
+}
@@ -0,0 +1,132 @@
+package org.stapledon.common.infrastructure.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class IoSchedulerTest {
+
+    @Test
+    void currentPriority_defaultsToBackgroundAndRestoresOnClose() {
+        // Act / Assert
+        assertThat(IoScheduler.currentPriority()).isEqualTo(IoPriority.BACKGROUND);
+        try (IoScheduler.PriorityScope ignored = IoScheduler.withPriority(IoPriority.INTERACTIVE)) {
+            assertThat(IoScheduler.currentPriority()).isEqualTo(IoPriority.INTERACTIVE);
+        }
+        assertThat(IoScheduler.currentPriority()).isEqualTo(IoPriority.BACKGROUND);
+    }
+
+    @Test
+    void currentPriority_isNotInheritedByThreadsStartedFromAnInteractiveRequest() throws Exception {
+        // Arrange: like an @Async method on a fresh virtual thread, started while serving a request
+        AtomicReference<IoPriority> seen = new AtomicReference<>();
+
+        // Act
+        try (IoScheduler.PriorityScope ignored = IoScheduler.withPriority(IoPriority.INTERACTIVE)) {
+            Thread.ofVirtual().start(() -> seen.set(IoScheduler.currentPriority())).join();
+        }
+
+        // Assert
+        assertThat(seen.get()).isEqualTo(IoPriority.BACKGROUND);
+    }
+
+    @Test
+    void submit_returnsResultAndPropagatesTaskException() throws IOException {
+        // Arrange
+        IoScheduler scheduler = IoScheduler.unlimited();
+
+        // Act / Assert
+        assertThat(scheduler.submit(IoPriority.BACKGROUND, () -> "read")).isEqualTo("read");
+        assertThatThrownBy(() -> scheduler.submit(IoPriority.INTERACTIVE, () -> {
+            throw new IOException("stale NFS handle");
+        })).isInstanceOf(IOException.class).hasMessage("stale NFS handle");
+        assertThat(scheduler.getInteractiveDepth()).isZero();
+    }
+
+    @Test
+    void submit_backgroundWaitsWhileInteractiveDepthIsAtYieldDepth() throws Exception {
+        // Arrange: one interactive read in flight reaches a yield depth of 1
+        IoScheduler scheduler = new IoScheduler(0, 0, 0, 1, 10_000);
+        CountDownLatch interactiveStarted = new CountDownLatch(1);
+        CountDownLatch releaseInteractive = new CountDownLatch(1);
+        CompletableFuture<Void> interactive = CompletableFuture.runAsync(() -> scheduler.submit(IoPriority.INTERACTIVE, () -> {
+            interactiveStarted.countDown();
+            awaitQuietly(releaseInteractive, 10_000);
+            return null;
+        }));
+        interactiveStarted.await();
+
+        // Act
+        CompletableFuture<String> background = CompletableFuture.supplyAsync(() -> scheduler.submit(IoPriority.BACKGROUND, () -> "scan"));
+        Thread.sleep(100);
+        boolean ranEarly = background.isDone();
+        releaseInteractive.countDown();
+
+        // Assert
+        assertThat(ranEarly).isFalse();
+        assertThat(background.get(5, TimeUnit.SECONDS)).isEqualTo("scan");
+        interactive.get(5, TimeUnit.SECONDS);
+        assertThat(scheduler.getBackgroundYields()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_backgroundProceedsAfterMaxYield() throws Exception {
+        // Arrange
+        IoScheduler scheduler = new IoScheduler(0, 0, 0, 1, 50);
+        CountDownLatch interactiveStarted = new CountDownLatch(1);
+        CountDownLatch releaseInteractive = new CountDownLatch(1);
+        CompletableFuture<Void> interactive = CompletableFuture.runAsync(() -> scheduler.submit(IoPriority.INTERACTIVE, () -> {
+            interactiveStarted.countDown();
+            awaitQuietly(releaseInteractive, 10_000);
+            return null;
+        }));
+        interactiveStarted.await();
+
+        // Act: the interactive read is still running when the background read gives up waiting
+        String result = scheduler.submit(IoPriority.BACKGROUND, () -> "scan");
+        releaseInteractive.countDown();
+
+        // Assert
+        assertThat(result).isEqualTo("scan");
+        interactive.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void submit_boundsBackgroundConcurrency() throws Exception {
+        // Arrange
+        IoScheduler scheduler = new IoScheduler(0, 2, 0, 0, 0);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // Act
+        CompletableFuture<?>[] reads = new CompletableFuture<?>[8];
+        for (int i = 0; i < reads.length; i++) {
+            reads[i] = CompletableFuture.runAsync(() -> scheduler.submit(IoPriority.BACKGROUND, () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                awaitQuietly(new CountDownLatch(1), 20);
+                inFlight.decrementAndGet();
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(reads).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch, long millis) {
+        try {
+            latch.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.stapledon.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class LongIntHashMapTest {
+
+    @Test
+    void getReturnsMissingForAbsentKey() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThat(map.get(42L)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.containsKey(42L)).isFalse();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void putOverwritesAndReturnsPreviousValue() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThat(map.put(7L, 1)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.put(7L, 2)).isEqualTo(1);
+
+        assertThat(map.get(7L)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroKeyIsStoredOutsideTable() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        map.put(0L, 5);
+        map.put(Long.MIN_VALUE, 6);
+
+        assertThat(map.get(0L)).isEqualTo(5);
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo(6);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 0x9E3779B97F4A7C15L, i);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map.get(i * 0x9E3779B97F4A7C15L)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void removeKeepsCollidingKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i * 0x9E3779B97F4A7C15L, i);
+        }
+
+        for (int i = 0; i < 1_000; i += 2) {
+            assertThat(map.remove(i * 0x9E3779B97F4A7C15L)).isEqualTo(i);
+        }
+
+        assertThat(map.size()).isEqualTo(500);
+        assertThat(map.remove(0L)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.remove(2 * 0x9E3779B97F4A7C15L)).isEqualTo(LongIntHashMap.MISSING);
+        for (int i = 1; i < 1_000; i += 2) {
+            assertThat(map.get(i * 0x9E3779B97F4A7C15L)).isEqualTo(i);
+            assertThat(map.get((i - 1) * 0x9E3779B97F4A7C15L)).isEqualTo(LongIntHashMap.MISSING);
+        }
+    }
+
+    @Test
+    void forEachVisitsEveryEntryAndClearEmpties() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(0L, 0);
+        map.put(-1L, 1);
+        map.put(0xffffffffffffL, 2);
+
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        map.clear();
+
+        assertThat(visited).containsOnly(Map.entry(0L, 0), Map.entry(-1L, 1), Map.entry(0xffffffffffffL, 2));
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(-1L)).isEqualTo(LongIntHashMap.MISSING);
+    }
+}
@@ -10,8 +10,9 @@
 import java.io.File;
 import java.io.IOException;
 import java.time.OffsetDateTime;
-import java.util.Random;
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 
 import org.stapledon.common.dto.ImageMetadata;
 import org.stapledon.common.dto.ImageValidationResult;
@@ -20,18 +21,18 @@
 /**
  * Implementation of ImageAnalysisService that analyzes images for metadata.
  * Uses pixel sampling to determine if an image is grayscale or color.
+ * Only the sampled rows are decoded ({@link ImageSampling}) and they are scanned
+ * straight from the raster ({@link ImageKernels}).
  */
 @Slf4j
 @ToString
 @Service
 public class ImageAnalysisService implements AnalysisService {
     private final double samplePercentage;
-    private final Random random;
 
     public ImageAnalysisService(
             @Value("${comics.metrics.color-detection.sample-percentage:5.0}") double samplePercentage) {
         this.samplePercentage = samplePercentage;
-        this.random = new Random();
     }
 
     @Override
@@ -42,8 +43,8 @@ public ImageMetadata analyzeImage(int comicId, String comicName, File imageFile,
             return buildUnknownMetadata(comicId, comicName, imageFile.getAbsolutePath(), validation, sourceUrl);
         }
 
-        try {
-            BufferedImage image = ImageIO.read(imageFile);
+        try (ImageInputStream input = ImageIO.createImageInputStream(imageFile)) {
+            BufferedImage image = ImageSampling.readRows(input, sampleRowStep());
             if (image == null) {
                 log.warn("Could not read image file: {}", imageFile.getAbsolutePath());
                 return buildUnknownMetadata(comicId, comicName, imageFile.getAbsolutePath(), validation, sourceUrl);
@@ -78,8 +79,8 @@ public ImageMetadata analyzeImage(int comicId, String comicName, byte[] imageDat
             return buildUnknownMetadata(comicId, comicName, filePath, validation, sourceUrl);
         }
 
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(imageData)) {
-            BufferedImage image = ImageIO.read(bais);
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(imageData))) {
+            BufferedImage image = ImageSampling.readRows(input, sampleRowStep());
             if (image == null) {
                 log.warn("Could not read image data for path: {}", filePath);
                 return buildUnknownMetadata(comicId, comicName, filePath, validation, sourceUrl);
@@ -117,8 +118,8 @@ public ImageMetadata.ColorMode detectColorMode(byte[] imageData) {
             return ImageMetadata.ColorMode.UNKNOWN;
         }
 
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(imageData)) {
-            BufferedImage image = ImageIO.read(bais);
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(imageData))) {
+            BufferedImage image = ImageSampling.readRows(input, sampleRowStep());
             if (image == null) {
                 return ImageMetadata.ColorMode.UNKNOWN;
             }
@@ -132,41 +133,30 @@ public ImageMetadata.ColorMode detectColorMode(byte[] imageData) {
 
     /**
      * Detects color mode by sampling a percentage of pixels from the image.
+     * Every Nth row is scanned in full, where N is chosen so the rows cover
+     * roughly {@code samplePercentage} of the pixels; the image passed in holds
+     * only those rows.
      * If any sampled pixel is colored (R != G or G != B), returns COLOR.
      * Otherwise returns GRAYSCALE.
      */
-    private ImageMetadata.ColorMode detectColorModeFromImage(BufferedImage image) {
-        int width = image.getWidth();
-        int height = image.getHeight();
-        int totalPixels = width * height;
-
-        if (totalPixels == 0) {
+    private ImageMetadata.ColorMode detectColorModeFromImage(BufferedImage sampledRows) {
+        if (sampledRows.getWidth() == 0 || sampledRows.getHeight() == 0) {
             return ImageMetadata.ColorMode.UNKNOWN;
         }
 
-        // Calculate number of pixels to sample
-        int sampleCount = Math.max(1, (int) (totalPixels * (samplePercentage / 100.0)));
-
-        // Sample random pixels
-        for (int i = 0; i < sampleCount; i++) {
-            int x = random.nextInt(width);
-            int y = random.nextInt(height);
-
-            int rgb = image.getRGB(x, y);
-
-            // Extract RGB components
-            int red = (rgb >> 16) & 0xFF;
-            int green = (rgb >> 8) & 0xFF;
-            int blue = rgb & 0xFF;
+        return ImageKernels.hasColor(sampledRows, 1)
+                ? ImageMetadata.ColorMode.COLOR
+                : ImageMetadata.ColorMode.GRAYSCALE;
+    }
 
-            // If any component differs, it's a color image
-            if (red != green || green != blue) {
-                return ImageMetadata.ColorMode.COLOR;
-            }
+    /**
+     * Row spacing that samples roughly {@code samplePercentage} of the pixels; at least one row is always read.
+     */
+    private int sampleRowStep() {
+        if (samplePercentage <= 0) {
+            return Integer.MAX_VALUE;
         }
-
-        // All sampled pixels are grayscale
-        return ImageMetadata.ColorMode.GRAYSCALE;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(100.0 / samplePercentage)));
     }
 
     /**
@@ -0,0 +1,354 @@
+package org.stapledon.engine.analysis;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * Pixel kernels for image hashing and analysis that read the raster's backing {@code DataBuffer}
+ * directly instead of going through {@code Graphics2D} and per-pixel {@code getRGB}.
+ *
+ * <p>{@link #grayscaleThumbnail} reproduces the bilinear {@code drawImage} into a
+ * {@code TYPE_BYTE_GRAY} image followed by {@code getRGB(x, y) & 0xFF} that the perceptual hashers
+ * have always used, bit for bit, so stored hashes stay valid. {@link #hasColor} scans whole rows
+ * straight from the backing array.
+ *
+ * <p>Only the layouts ImageIO produces for opaque PNG/JPEG/GIF strips are handled directly:
+ * {@code TYPE_INT_RGB}, {@code TYPE_3BYTE_BGR}, {@code TYPE_BYTE_GRAY} and opaque 8-bit
+ * {@code TYPE_BYTE_INDEXED}. Anything else falls back to the {@code Graphics2D}/{@code getRGB} path.
+ */
+public final class ImageKernels {
+
+    // Linear gray -> sRGB, as applied by getRGB on a TYPE_BYTE_GRAY image
+    private static final int[] GRAY_TO_SRGB = grayToSrgbTable();
+
+    private ImageKernels() {
+    }
+
+    /**
+     * Downscales an image to {@code width x height} grayscale, returning the sRGB gray level (0-255)
+     * of each pixel in row-major order.
+     */
+    public static int[] grayscaleThumbnail(BufferedImage image, int width, int height) {
+        PixelSource source = PixelSource.of(image);
+        if (source == null) {
+            return grayscaleThumbnailGraphics2D(image, width, height);
+        }
+
+        return bilinearThumbnail(source, image.getWidth(), image.getHeight(), width, height);
+    }
+
+    /**
+     * Source rows read when downscaling an image of {@code srcHeight} rows to {@code height} rows.
+     */
+    static boolean[] thumbnailRows(int srcHeight, int height) {
+        Axis rows = Axis.of(srcHeight, height);
+        boolean[] wanted = new boolean[srcHeight];
+        for (int dy = 0; dy < height; dy++) {
+            wanted[rows.low[dy]] = true;
+            wanted[rows.high[dy]] = true;
+        }
+        return wanted;
+    }
+
+    static int[] bilinearThumbnail(PixelSource source, int srcWidth, int srcHeight, int width, int height) {
+        Axis columns = Axis.of(srcWidth, width);
+        Axis rows = Axis.of(srcHeight, height);
+        int[] gray = new int[width * height];
+
+        for (int dy = 0; dy < height; dy++) {
+            int y0 = rows.low[dy];
+            int y1 = rows.high[dy];
+            int yFactor = rows.factor[dy];
+            for (int dx = 0; dx < width; dx++) {
+                int x0 = columns.low[dx];
+                int x1 = columns.high[dx];
+                int xFactor = columns.factor[dx];
+
+                int p00 = source.rgb(x0, y0);
+                int p01 = source.rgb(x1, y0);
+                int p10 = source.rgb(x0, y1);
+                int p11 = source.rgb(x1, y1);
+                int r = interpolate(p00 >> 16, p01 >> 16, p10 >> 16, p11 >> 16, xFactor, yFactor);
+                int g = interpolate(p00 >> 8, p01 >> 8, p10 >> 8, p11 >> 8, xFactor, yFactor);
+                int b = interpolate(p00, p01, p10, p11, xFactor, yFactor);
+
+                gray[dy * width + dx] = GRAY_TO_SRGB[luminance(r, g, b)];
+            }
+        }
+        return gray;
+    }
+
+    /**
+     * Whether any pixel in every {@code rowStep}-th row has differing red, green and blue components.
+     */
+    public static boolean hasColor(BufferedImage image, int rowStep) {
+        int step = Math.max(1, rowStep);
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        switch (image.getType()) {
+            case BufferedImage.TYPE_BYTE_GRAY:
+                return false;
+            case BufferedImage.TYPE_INT_RGB:
+            case BufferedImage.TYPE_INT_ARGB: {
+                IntLayout layout = IntLayout.of(image.getRaster());
+                if (layout == null) {
+                    break;
+                }
+                for (int y = 0; y < height; y += step) {
+                    int start = layout.offset + y * layout.stride;
+                    if (hasColorIntRgb(layout.data, start, start + width)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case BufferedImage.TYPE_3BYTE_BGR: {
+                ByteLayout layout = ByteLayout.of(image.getRaster(), 3);
+                if (layout == null) {
+                    break;
+                }
+                for (int y = 0; y < height; y += step) {
+                    int start = layout.offset + y * layout.stride;
+                    if (hasColorInterleaved3(layout.data, start, start + width * 3)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case BufferedImage.TYPE_BYTE_INDEXED: {
+                ByteLayout layout = ByteLayout.of(image.getRaster(), 1);
+                if (layout == null || !(image.getColorModel() instanceof IndexColorModel palette)
+                        || palette.getPixelSize() != 8) {
+                    break;
+                }
+                boolean[] colorEntry = colorPaletteEntries(palette);
+                for (int y = 0; y < height; y += step) {
+                    int start = layout.offset + y * layout.stride;
+                    for (int i = start; i < start + width; i++) {
+                        if (colorEntry[layout.data[i] & 0xFF]) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            default:
+                break;
+        }
+
+        for (int y = 0; y < height; y += step) {
+            for (int x = 0; x < width; x++) {
+                if (isColor(image.getRGB(x, y))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean hasColorIntRgb(int[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isColor(data[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean hasColorInterleaved3(byte[] data, int from, int to) {
+        for (int i = from; i < to; i += 3) {
+            if (data[i] != data[i + 1] || data[i + 1] != data[i + 2]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isColor(int rgb) {
+        int red = (rgb >> 16) & 0xFF;
+        int green = (rgb >> 8) & 0xFF;
+        int blue = rgb & 0xFF;
+        return red != green || green != blue;
+    }
+
+    private static boolean[] colorPaletteEntries(IndexColorModel palette) {
+        boolean[] color = new boolean[256];
+        for (int i = 0; i < palette.getMapSize(); i++) {
+            color[i] = isColor(palette.getRGB(i));
+        }
+        return color;
+    }
+
+    private static final long FIXED_HALF = 1L << 31;
+
+    private static long toFixed(double value) {
+        return (long) (value * FIXED_HALF * 2);
+    }
+
+    private static int interpolate(int c00, int c01, int c10, int c11, int xFactor, int yFactor) {
+        int top = ((c00 & 0xFF) << 8) + ((c01 & 0xFF) - (c00 & 0xFF)) * xFactor;
+        int bottom = ((c10 & 0xFF) << 8) + ((c11 & 0xFF) - (c10 & 0xFF)) * xFactor;
+        int value = (top << 8) + (bottom - top) * yFactor;
+        return (value + (1 << 15)) >> 16;
+    }
+
+    private static int luminance(int r, int g, int b) {
+        return (77 * r + 150 * g + 29 * b + 128) >> 8;
+    }
+
+    private static int[] grayToSrgbTable() {
+        BufferedImage ramp = new BufferedImage(256, 1, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] levels = ((DataBufferByte) ramp.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < 256; i++) {
+            levels[i] = (byte) i;
+        }
+        int[] table = new int[256];
+        for (int i = 0; i < 256; i++) {
+            table[i] = ramp.getRGB(i, 0) & 0xFF;
+        }
+        return table;
+    }
+
+    private static int[] grayscaleThumbnailGraphics2D(BufferedImage original, int width, int height) {
+        BufferedImage grayscale = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = grayscale.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(original, 0, 0, width, height, null);
+        g.dispose();
+
+        byte[] levels = ((DataBufferByte) grayscale.getRaster().getDataBuffer()).getData();
+        int[] gray = new int[width * height];
+        for (int i = 0; i < gray.length; i++) {
+            gray[i] = GRAY_TO_SRGB[levels[i] & 0xFF];
+        }
+        return gray;
+    }
+
+    /**
+     * Bilinear sample positions along one axis: for each destination pixel, the two source pixels
+     * to blend and the 8-bit weight of the second. Uses the same fixed-point (32.32) stepping and
+     * edge clamping as Java2D's TransformHelper, including its scale factor being the inverse of
+     * the forward transform's.
+     */
+    private record Axis(int[] low, int[] high, int[] factor) {
+        static Axis of(int srcSize, int dstSize) {
+            double scale = 1.0 / ((double) dstSize / srcSize);
+            long step = toFixed(scale);
+            long position = toFixed(0.5 * scale) - FIXED_HALF;
+
+            int[] low = new int[dstSize];
+            int[] high = new int[dstSize];
+            int[] factor = new int[dstSize];
+            for (int i = 0; i < dstSize; i++, position += step) {
+                int first = (int) (position >> 32);
+                int second = first + 1;
+                if (first < 0) {
+                    first = 0;
+                    second = 0;
+                } else if (second >= srcSize) {
+                    second = first;
+                }
+                low[i] = first;
+                high[i] = second;
+                factor[i] = (int) ((position & 0xFFFFFFFFL) >>> 24);
+            }
+            return new Axis(low, high, factor);
+        }
+    }
+
+    /**
+     * Opaque source pixels as 0xRRGGBB, read straight from the backing array.
+     */
+    @FunctionalInterface
+    interface PixelSource {
+        int rgb(int x, int y);
+
+        static PixelSource of(BufferedImage image) {
+            Raster raster = image.getRaster();
+            switch (image.getType()) {
+                case BufferedImage.TYPE_INT_RGB: {
+                    IntLayout layout = IntLayout.of(raster);
+                    return layout == null ? null : (x, y) -> layout.data[layout.offset + y * layout.stride + x];
+                }
+                case BufferedImage.TYPE_3BYTE_BGR: {
+                    ByteLayout layout = ByteLayout.of(raster, 3);
+                    if (layout == null) {
+                        return null;
+                    }
+                    return (x, y) -> {
+                        int i = layout.offset + y * layout.stride + x * 3;
+                        return (layout.data[i + 2] & 0xFF) << 16 | (layout.data[i + 1] & 0xFF) << 8 | layout.data[i] & 0xFF;
+                    };
+                }
+                case BufferedImage.TYPE_BYTE_GRAY: {
+                    ByteLayout layout = ByteLayout.of(raster, 1);
+                    if (layout == null) {
+                        return null;
+                    }
+                    return (x, y) -> {
+                        int level = layout.data[layout.offset + y * layout.stride + x] & 0xFF;
+                        return level << 16 | level << 8 | level;
+                    };
+                }
+                case BufferedImage.TYPE_BYTE_INDEXED: {
+                    ByteLayout layout = ByteLayout.of(raster, 1);
+                    if (layout == null || !(image.getColorModel() instanceof IndexColorModel palette)
+                            || palette.getPixelSize() != 8 || palette.getTransparency() != Transparency.OPAQUE) {
+                        return null;
+                    }
+                    int[] rgb = new int[256];
+                    palette.getRGBs(rgb);
+                    return (x, y) -> rgb[layout.data[layout.offset + y * layout.stride + x] & 0xFF];
+                }
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private record IntLayout(int[] data, int offset, int stride) {
+        static IntLayout of(Raster raster) {
+            if (!(raster.getDataBuffer() instanceof DataBufferInt buffer)
+                    || !(raster.getSampleModel() instanceof SinglePixelPackedSampleModel model)) {
+                return null;
+            }
+            int stride = model.getScanlineStride();
+            int offset = buffer.getOffset() - raster.getSampleModelTranslateY() * stride
+                    - raster.getSampleModelTranslateX();
+            return new IntLayout(buffer.getData(), offset, stride);
+        }
+    }
+
+    private record ByteLayout(byte[] data, int offset, int stride) {
+        static ByteLayout of(Raster raster, int pixelStride) {
+            if (!(raster.getDataBuffer() instanceof DataBufferByte buffer)
+                    || !(raster.getSampleModel() instanceof ComponentSampleModel model)
+                    || model.getPixelStride() != pixelStride || !isPacked(model.getBandOffsets())) {
+                return null;
+            }
+            int stride = model.getScanlineStride();
+            int offset = buffer.getOffset() - raster.getSampleModelTranslateY() * stride
+                    - raster.getSampleModelTranslateX() * pixelStride;
+            return new ByteLayout(buffer.getData(), offset, stride);
+        }
+
+        // Band offsets {2, 1, 0} for BGR, {0} for single band
+        private static boolean isPacked(int[] bandOffsets) {
+            for (int i = 0; i < bandOffsets.length; i++) {
+                if (bandOffsets[i] != bandOffsets.length - 1 - i) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
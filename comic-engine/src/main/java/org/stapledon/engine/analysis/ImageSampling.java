@@ -0,0 +1,75 @@
+package org.stapledon.engine.analysis;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Decodes only the pixels that hashing and color analysis look at.
+ *
+ * <p>A perceptual hash thumbnail reads two source rows per output row, so PNGs are streamed through
+ * {@link PngRowDecoder} keeping just those rows; other formats are decoded in full. Color analysis
+ * scans every Nth row, which maps directly onto {@link ImageReadParam#setSourceSubsampling} for any
+ * ImageIO reader. Both give the same results as a full {@code ImageIO.read}.
+ */
+public final class ImageSampling {
+
+    private ImageSampling() {
+    }
+
+    /**
+     * Decodes image bytes to a {@code width x height} grayscale thumbnail, as
+     * {@link ImageKernels#grayscaleThumbnail(BufferedImage, int, int)} would from the fully decoded image.
+     *
+     * @return sRGB gray levels in row-major order, or null if no ImageIO reader can decode the data
+     * @throws IOException if the image data cannot be read
+     */
+    public static int[] grayscaleThumbnail(byte[] imageData, int width, int height) throws IOException {
+        PngRowDecoder png = PngRowDecoder.open(imageData);
+        if (png != null) {
+            int srcWidth = png.width();
+            int srcHeight = png.height();
+            int[][] rows = png.readRows(ImageKernels.thumbnailRows(srcHeight, height));
+            if (rows != null) {
+                return ImageKernels.bilinearThumbnail((x, y) -> rows[y][x], srcWidth, srcHeight, width, height);
+            }
+        }
+
+        try (ByteArrayInputStream input = new ByteArrayInputStream(imageData)) {
+            BufferedImage image = ImageIO.read(input);
+            return image == null ? null : ImageKernels.grayscaleThumbnail(image, width, height);
+        }
+    }
+
+    /**
+     * Decodes every {@code rowStep}-th row of an image, starting with the first.
+     *
+     * @param input image stream; may be null, as returned by {@code ImageIO.createImageInputStream}
+     * @return the subsampled image, or null if no ImageIO reader can decode the stream
+     * @throws IOException if the image data cannot be read
+     */
+    public static BufferedImage readRows(ImageInputStream input, int rowStep) throws IOException {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(1, Math.max(1, rowStep), 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.stapledon.engine.analysis;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Streaming PNG decoder that keeps only selected rows.
+ *
+ * <p>Rows are inflated and unfiltered one at a time with two row buffers, and only the rows asked
+ * for are converted to 0xRRGGBB, so memory is proportional to the image width rather than its
+ * area. Pixel values are the ones ImageIO would produce for the same file.
+ *
+ * <p>Only the layouts that ImageIO decodes to an opaque {@code TYPE_BYTE_GRAY},
+ * {@code TYPE_3BYTE_BGR} or 8-bit {@code TYPE_BYTE_INDEXED} image are handled: non-interlaced,
+ * 8 bits per sample, grayscale, RGB or palette, no {@code tRNS}. {@link #open} returns null for
+ * anything else so callers can fall back to a full decode.
+ */
+final class PngRowDecoder {
+
+    private static final long SIGNATURE = 0x89504E470D0A1A0AL;
+    private static final int IHDR = 0x49484452;
+    private static final int PLTE = 0x504C5445;
+    private static final int TRNS = 0x74524E53;
+    private static final int IDAT = 0x49444154;
+    private static final int IEND = 0x49454E44;
+
+    private static final int COLOR_GRAY = 0;
+    private static final int COLOR_RGB = 2;
+    private static final int COLOR_PALETTE = 3;
+
+    private final ByteBuffer data;
+    private final int width;
+    private final int height;
+    private final int colorType;
+    private final int[] palette;
+    private final int firstDataChunk;
+
+    private PngRowDecoder(ByteBuffer data, int width, int height, int colorType, int[] palette, int firstDataChunk) {
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.colorType = colorType;
+        this.palette = palette;
+        this.firstDataChunk = firstDataChunk;
+    }
+
+    /**
+     * Parses the chunks ahead of the image data.
+     *
+     * @return a decoder, or null if the data is not a PNG this class handles
+     */
+    static PngRowDecoder open(byte[] imageData) {
+        if (imageData == null || imageData.length < 8 + 25) {
+            return null;
+        }
+        ByteBuffer data = ByteBuffer.wrap(imageData);
+        if (data.getLong() != SIGNATURE || data.getInt() != 13 || data.getInt() != IHDR) {
+            return null;
+        }
+
+        int width = data.getInt();
+        int height = data.getInt();
+        int bitDepth = data.get() & 0xFF;
+        int colorType = data.get() & 0xFF;
+        int compression = data.get() & 0xFF;
+        int filter = data.get() & 0xFF;
+        int interlace = data.get() & 0xFF;
+        data.getInt(); // CRC
+        if (width <= 0 || height <= 0 || bitDepth != 8 || compression != 0 || filter != 0 || interlace != 0
+                || (colorType != COLOR_GRAY && colorType != COLOR_RGB && colorType != COLOR_PALETTE)) {
+            return null;
+        }
+
+        int[] palette = null;
+        while (data.remaining() >= 12) {
+            int chunkStart = data.position();
+            int length = data.getInt();
+            int type = data.getInt();
+            if (length < 0 || length > data.remaining() - 4) {
+                return null;
+            }
+            switch (type) {
+                case PLTE -> palette = readPalette(data, length);
+                case TRNS -> {
+                    // Transparency changes the decoded image type; leave it to ImageIO
+                    return null;
+                }
+                case IDAT -> {
+                    if (colorType == COLOR_PALETTE && palette == null) {
+                        return null;
+                    }
+                    return new PngRowDecoder(data, width, height, colorType, palette, chunkStart);
+                }
+                case IEND -> {
+                    return null;
+                }
+                default -> data.position(data.position() + length);
+            }
+            data.getInt(); // CRC
+        }
+        return null;
+    }
+
+    int width() {
+        return width;
+    }
+
+    int height() {
+        return height;
+    }
+
+    /**
+     * Decodes the image, keeping the rows flagged in {@code wanted}.
+     *
+     * @return 0xRRGGBB pixels per kept row (null for skipped rows), or null if the data is corrupt
+     */
+    int[][] readRows(boolean[] wanted) {
+        int bytesPerPixel = colorType == COLOR_RGB ? 3 : 1;
+        int rowBytes = width * bytesPerPixel;
+        byte[] previous = new byte[rowBytes];
+        byte[] current = new byte[rowBytes];
+        byte[] filterType = new byte[1];
+        int[][] rows = new int[height][];
+
+        Inflater inflater = new Inflater();
+        try {
+            data.position(firstDataChunk);
+            for (int y = 0; y < height; y++) {
+                if (!inflateFully(inflater, filterType, 1) || !inflateFully(inflater, current, rowBytes)
+                        || !unfilter(filterType[0], current, previous, bytesPerPixel)) {
+                    return null;
+                }
+                if (wanted[y]) {
+                    rows[y] = toRgb(current);
+                }
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return rows;
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private boolean inflateFully(Inflater inflater, byte[] buffer, int length) throws DataFormatException {
+        int filled = 0;
+        while (filled < length) {
+            int inflated = inflater.inflate(buffer, filled, length - filled);
+            filled += inflated;
+            if (inflated == 0 && (!inflater.needsInput() || !nextDataChunk(inflater))) {
+                // Finished early, needs a preset dictionary, or ran out of IDAT chunks
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Feeds the next IDAT chunk to the inflater; the data buffer is positioned at a chunk start
+    private boolean nextDataChunk(Inflater inflater) {
+        while (data.remaining() >= 12) {
+            int length = data.getInt();
+            int type = data.getInt();
+            if (length < 0 || length > data.remaining() - 4) {
+                return false;
+            }
+            if (type != IDAT) {
+                return false;
+            }
+            inflater.setInput(data.array(), data.position(), length);
+            data.position(data.position() + length + 4);
+            if (length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] toRgb(byte[] row) {
+        int[] rgb = new int[width];
+        switch (colorType) {
+            case COLOR_GRAY -> {
+                for (int x = 0; x < width; x++) {
+                    int level = row[x] & 0xFF;
+                    rgb[x] = level << 16 | level << 8 | level;
+                }
+            }
+            case COLOR_RGB -> {
+                for (int x = 0, i = 0; x < width; x++, i += 3) {
+                    rgb[x] = (row[i] & 0xFF) << 16 | (row[i + 1] & 0xFF) << 8 | row[i + 2] & 0xFF;
+                }
+            }
+            default -> {
+                for (int x = 0; x < width; x++) {
+                    rgb[x] = palette[row[x] & 0xFF];
+                }
+            }
+        }
+        return rgb;
+    }
+
+    private static boolean unfilter(byte type, byte[] row, byte[] previous, int bpp) {
+        switch (type) {
+            case 0:
+                return true;
+            case 1:
+                for (int i = bpp; i < row.length; i++) {
+                    row[i] += row[i - bpp];
+                }
+                return true;
+            case 2:
+                for (int i = 0; i < row.length; i++) {
+                    row[i] += previous[i];
+                }
+                return true;
+            case 3:
+                for (int i = 0; i < row.length; i++) {
+                    int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    row[i] += (byte) ((left + (previous[i] & 0xFF)) >> 1);
+                }
+                return true;
+            case 4:
+                for (int i = 0; i < row.length; i++) {
+                    int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    int upperLeft = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                    row[i] += (byte) paeth(left, previous[i] & 0xFF, upperLeft);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int paeth(int left, int up, int upperLeft) {
+        int estimate = left + up - upperLeft;
+        int distanceLeft = Math.abs(estimate - left);
+        int distanceUp = Math.abs(estimate - up);
+        int distanceUpperLeft = Math.abs(estimate - upperLeft);
+        if (distanceLeft <= distanceUp && distanceLeft <= distanceUpperLeft) {
+            return left;
+        }
+        return distanceUp <= distanceUpperLeft ? up : upperLeft;
+    }
+
+    // ImageIO pads a short palette to 256 entries with its last entry
+    private static int[] readPalette(ByteBuffer data, int length) {
+        int entries = length / 3;
+        if (entries == 0 || entries > 256) {
+            data.position(data.position() + length);
+            return null;
+        }
+        int[] palette = new int[256];
+        for (int i = 0; i < entries; i++) {
+            palette[i] = (data.get() & 0xFF) << 16 | (data.get() & 0xFF) << 8 | data.get() & 0xFF;
+        }
+        data.position(data.position() + length - entries * 3);
+        Arrays.fill(palette, entries, 256, palette[entries - 1]);
+        return palette;
+    }
+}
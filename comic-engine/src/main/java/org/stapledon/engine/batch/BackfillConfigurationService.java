@@ -33,6 +33,8 @@
  * batch.comic-backfill.default-max-days-back=365
  * batch.comic-backfill.sources.gocomics.max-per-day=20
  * batch.comic-backfill.sources.gocomics.max-days-back=730
+ * batch.comic-backfill.retry-backoff-hours=24
+ * batch.comic-backfill.permanent-miss-after-attempts=4
  * </pre>
  */
 @Slf4j
@@ -53,6 +55,17 @@ public class BackfillConfigurationService {
      */
     private final int maxConsecutiveFailures;
 
+    /**
+     * Hours to wait before retrying a failed backfill download. Doubles with each further failure.
+     */
+    private final int retryBackoffHours;
+
+    /**
+     * Failed attempts after which a queued strip is marked as a permanent miss (the source never published it) and no longer retried.
+     * 0 retries forever.
+     */
+    private final int permanentMissAfterAttempts;
+
     /** Global default for max comics per day per source (can be overridden per source). */
     private final int defaultMaxPerDay;
 
@@ -0,0 +1,103 @@
+package org.stapledon.engine.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.stapledon.common.dto.ComicItem;
+import org.stapledon.common.service.FavoritesService;
+import org.stapledon.engine.batch.ComicBackfillService.BackfillTask;
+import org.stapledon.engine.batch.ComicBackfillService.DateBackfillTask;
+import org.stapledon.engine.batch.ComicBackfillService.StripBackfillTask;
+import org.stapledon.metrics.collector.AccessMetricsCollector;
+
+/**
+ * Ranks backfill tasks so each source's limited daily budget goes to the strips readers are most likely to request.
+ * <p>
+ * A task's priority is its comic's popularity divided by how far the strip is from the comic's newest strip
+ * ({@code 1 + distance / 30}, in days or strip numbers). Popularity is:
+ * <ul>
+ * <li>1, so comics nobody reads still make progress</li>
+ * <li>plus the log-scaled access count from {@link AccessMetricsCollector}, halved for every 14 days since the last access</li>
+ * <li>plus 2 for every user with the comic in their favorites</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackfillPriorityService {
+
+    private static final double RECENCY_HALF_LIFE_DAYS = 14.0;
+    private static final double FAVORITE_WEIGHT = 2.0;
+    private static final double DISTANCE_SCALE = 30.0;
+
+    private final AccessMetricsCollector accessMetricsCollector;
+    private final FavoritesService favoritesService;
+
+    /**
+     * Returns the tasks ordered by descending priority. Ties keep their input order.
+     */
+    public List<BackfillTask> rank(List<BackfillTask> tasks) {
+        Map<String, Integer> accessCounts = accessMetricsCollector.getAccessCounts();
+        Map<String, String> lastAccessTimes = accessMetricsCollector.getLastAccessTimes();
+        Map<Integer, Integer> favoriteCounts = favoritesService.getFavoriteCounts();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Integer, Double> popularityByComic = new HashMap<>();
+        return tasks.stream()
+                .map(task -> new RankedTask(task, popularityByComic.computeIfAbsent(task.comic().getId(),
+                        id -> popularity(task.comic(), accessCounts, lastAccessTimes, favoriteCounts, now)) / (1 + distance(task) / DISTANCE_SCALE)))
+                .sorted(Comparator.comparingDouble(RankedTask::priority).reversed())
+                .map(RankedTask::task)
+                .toList();
+    }
+
+    private double popularity(ComicItem comic, Map<String, Integer> accessCounts, Map<String, String> lastAccessTimes,
+            Map<Integer, Integer> favoriteCounts, LocalDateTime now) {
+        double accesses = Math.log1p(accessCounts.getOrDefault(comic.getName(), 0));
+        double recency = lastAccessDaysAgo(lastAccessTimes.get(comic.getName()), now)
+                .map(days -> Math.pow(0.5, days / RECENCY_HALF_LIFE_DAYS))
+                .orElse(0.0);
+        return 1.0 + accesses * recency + FAVORITE_WEIGHT * favoriteCounts.getOrDefault(comic.getId(), 0);
+    }
+
+    private static Optional<Double> lastAccessDaysAgo(String lastAccess, LocalDateTime now) {
+        if (lastAccess == null || lastAccess.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            long hours = Math.max(0, Duration.between(LocalDateTime.parse(lastAccess), now).toHours());
+            return Optional.of(hours / 24.0);
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring unparseable last access time '{}'", lastAccess);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Distance from the comic's newest strip: days for date-based comics, strip numbers for indexed comics.
+     */
+    static long distance(BackfillTask task) {
+        ComicItem comic = task.comic();
+        if (task instanceof DateBackfillTask dateTask) {
+            LocalDate newest = comic.getNewest() != null ? comic.getNewest() : LocalDate.now();
+            return Math.max(0, ChronoUnit.DAYS.between(dateTask.date(), newest));
+        }
+        Integer lastStrip = comic.getLastStripNumber();
+        return lastStrip == null ? 0 : Math.max(0, lastStrip - ((StripBackfillTask) task).stripNumber());
+    }
+
+    private record RankedTask(BackfillTask task, double priority) {
+    }
+}
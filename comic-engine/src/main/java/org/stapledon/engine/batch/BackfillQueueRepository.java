@@ -0,0 +1,214 @@
+package org.stapledon.engine.batch;
+
+import com.google.gson.Gson;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.util.NfsFileOperations;
+import org.stapledon.engine.batch.dto.BackfillQueueItem;
+import org.stapledon.engine.batch.dto.BackfillScanCursor;
+
+/**
+ * Persistent backfill work queue, stored in {@code backfill-queue.json} in the cache root.
+ *
+ * <p>Holds the gaps discovered by {@link ComicBackfillService} with their attempt counts, retry times and permanent-miss markers, plus a
+ * {@link BackfillScanCursor} per comic recording how far its history has been scanned. Changes are kept in memory and written atomically by
+ * {@link #flush()}. All methods are synchronized because source partitions of the backfill job run concurrently.
+ *
+ * <p>Items that can still be retried are also indexed per comic, newest first, so {@link #findDue} reads only the comic's own items.
+ * Permanent misses are left out of the index; they stay in the file only so a rescan does not queue them again.
+ */
+@Slf4j
+@Repository
+public class BackfillQueueRepository {
+
+    private static final String STORAGE_FILE = "backfill-queue.json";
+    private static final Comparator<BackfillQueueItem> NEWEST_FIRST = Comparator.comparingLong(BackfillQueueRepository::position).reversed()
+            .thenComparing(BackfillQueueItem::key);
+
+    private final Gson gson;
+    private final CacheProperties cacheProperties;
+
+    private QueueFile queue;
+    private boolean dirty;
+
+    // comic id -> items that are not permanent misses, newest first
+    private final Map<Integer, NavigableSet<BackfillQueueItem>> retryableByComic = new HashMap<>();
+
+    public BackfillQueueRepository(@Qualifier("gsonWithLocalDate") Gson gson, CacheProperties cacheProperties) {
+        this.gson = gson;
+        this.cacheProperties = cacheProperties;
+    }
+
+    /**
+     * On-disk layout: items keyed by {@link BackfillQueueItem#key()}, cursors keyed by comic id.
+     */
+    private static final class QueueFile {
+        private Map<String, BackfillQueueItem> items = new HashMap<>();
+        private Map<Integer, BackfillScanCursor> cursors = new HashMap<>();
+    }
+
+    private QueueFile load() {
+        if (queue != null) {
+            return queue;
+        }
+
+        Path storageFile = NfsFileOperations.resolvePath(cacheProperties.getLocation(), STORAGE_FILE);
+        queue = new QueueFile();
+        if (!NfsFileOperations.exists(storageFile)) {
+            return queue;
+        }
+
+        try (Reader reader = Files.newBufferedReader(storageFile)) {
+            QueueFile loaded = gson.fromJson(reader, QueueFile.class);
+            if (loaded != null) {
+                queue.items.putAll(Optional.ofNullable(loaded.items).orElse(Map.of()));
+                queue.cursors.putAll(Optional.ofNullable(loaded.cursors).orElse(Map.of()));
+            }
+            queue.items.values().forEach(this::index);
+            log.info("Loaded backfill queue: {} items, {} comic cursors", queue.items.size(), queue.cursors.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load backfill queue, starting empty: {}", e.getMessage(), e);
+        }
+        return queue;
+    }
+
+    /**
+     * Returns up to {@code limit} of the comic's items that are due at {@code now}, newest first.
+     */
+    public synchronized List<BackfillQueueItem> findDue(int comicId, OffsetDateTime now, int limit) {
+        load();
+        return retryableByComic.getOrDefault(comicId, Collections.emptyNavigableSet()).stream()
+                .filter(item -> item.isDue(now))
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    /**
+     * Looks up an item by key.
+     */
+    public synchronized Optional<BackfillQueueItem> find(String key) {
+        return Optional.ofNullable(load().items.get(key));
+    }
+
+    /**
+     * Adds a newly discovered item, keeping any existing entry (and its attempt history) for the same key.
+     */
+    public synchronized void enqueue(BackfillQueueItem item) {
+        if (load().items.putIfAbsent(item.key(), item) == null) {
+            index(item);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Removes an item, e.g. once its strip has been stored.
+     */
+    public synchronized void remove(String key) {
+        BackfillQueueItem removed = load().items.remove(key);
+        if (removed != null) {
+            unindex(removed);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Removes a downloaded item and re-opens the comic's scan if it had been marked exhausted, since the comic evidently has strips there.
+     */
+    public synchronized void recordSuccess(BackfillQueueItem item) {
+        remove(item.key());
+        BackfillScanCursor cursor = load().cursors.get(item.comicId());
+        if (cursor != null && (cursor.exhausted() || cursor.consecutiveMissing() > 0)) {
+            queue.cursors.put(item.comicId(), new BackfillScanCursor(cursor.newestScanned(), cursor.oldestScanned(), 0, false));
+            dirty = true;
+        }
+    }
+
+    /**
+     * Records a failed attempt. The retry is pushed back exponentially from {@code baseBackoff} (doubling per attempt), and after
+     * {@code permanentMissAfter} attempts the item is marked as a permanent miss and never retried. A {@code permanentMissAfter} of 0 or less
+     * retries forever.
+     */
+    public synchronized void recordFailure(BackfillQueueItem item, String error, OffsetDateTime now, Duration baseBackoff, int permanentMissAfter) {
+        BackfillQueueItem current = load().items.getOrDefault(item.key(), item);
+        int attempts = current.attempts() + 1;
+        boolean givenUp = permanentMissAfter > 0 && attempts >= permanentMissAfter;
+        OffsetDateTime retryAt = givenUp ? null : now.plus(baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 16)));
+        BackfillQueueItem failed = current.withFailure(error, retryAt, givenUp);
+        unindex(current);
+        queue.items.put(item.key(), failed);
+        index(failed);
+        dirty = true;
+
+        if (givenUp) {
+            log.info("Marking {} as a permanent backfill miss after {} attempts: {}", item.key(), attempts, error);
+        }
+    }
+
+    /**
+     * Returns the comic's scan cursor, if it has been scanned before.
+     */
+    public synchronized Optional<BackfillScanCursor> findCursor(int comicId) {
+        return Optional.ofNullable(load().cursors.get(comicId));
+    }
+
+    /**
+     * Stores the comic's scan cursor.
+     */
+    public synchronized void saveCursor(int comicId, BackfillScanCursor cursor) {
+        if (!cursor.equals(load().cursors.put(comicId, cursor))) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes the queue to disk if it changed since the last flush.
+     */
+    public synchronized void flush() {
+        if (!dirty || queue == null) {
+            return;
+        }
+
+        Path storageFile = NfsFileOperations.resolvePath(cacheProperties.getLocation(), STORAGE_FILE);
+        try {
+            NfsFileOperations.atomicWrite(storageFile, gson.toJson(queue));
+            dirty = false;
+        } catch (IOException e) {
+            log.error("Failed to save backfill queue: {}", e.getMessage(), e);
+        }
+    }
+
+    private void index(BackfillQueueItem item) {
+        if (!item.permanentMiss()) {
+            retryableByComic.computeIfAbsent(item.comicId(), id -> new TreeSet<>(NEWEST_FIRST)).add(item);
+        }
+    }
+
+    private void unindex(BackfillQueueItem item) {
+        NavigableSet<BackfillQueueItem> items = retryableByComic.get(item.comicId());
+        if (items != null && items.remove(item) && items.isEmpty()) {
+            retryableByComic.remove(item.comicId());
+        }
+    }
+
+    private static long position(BackfillQueueItem item) {
+        return item.date() != null ? item.date().toEpochDay() : item.stripNumber();
+    }
+}
@@ -5,18 +5,21 @@
 import org.springframework.batch.core.job.JobExecution;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.stereotype.Service;
+import org.stapledon.engine.batch.dto.BatchExecutionStats;
 import org.stapledon.engine.batch.dto.BatchExecutionSummary;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
 
 /**
  * Service for monitoring batch job executions.
  *
  * <p>History queries are delegated to {@link JsonBatchExecutionTracker} which
- * persists execution data to JSON on NFS. The H2 {@link JobRepository} is only
+ * serves execution data from memory and persists it to NFS. The H2 {@link JobRepository} is only
  * used for in-flight job lookup (e.g. immediately after triggering a job).
  */
 @Slf4j
@@ -41,6 +44,13 @@ public List<BatchExecutionSummary> getJobExecutionsForDateRange(String jobName,
         return executionTracker.getExecutionHistoryForDateRange(jobName, startDate, endDate);
     }
 
+    /**
+     * Get per-day execution stats for the given jobs within a date range, keyed by start date.
+     */
+    public NavigableMap<LocalDate, BatchExecutionStats> getDailyStats(Collection<String> jobNames, LocalDate startDate, LocalDate endDate) {
+        return executionTracker.getDailyStats(jobNames, startDate, endDate);
+    }
+
     /**
      * Get a persisted execution summary by execution ID from JSON history.
      */
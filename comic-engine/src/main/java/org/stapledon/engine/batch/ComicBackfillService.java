@@ -5,16 +5,22 @@
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.LongFunction;
 
+import org.stapledon.common.dto.ComicDownloadResult;
 import org.stapledon.common.dto.ComicIdentifier;
 import org.stapledon.common.dto.ComicItem;
 import org.stapledon.common.service.ComicStorageFacade;
+import org.stapledon.engine.batch.dto.BackfillQueueItem;
+import org.stapledon.engine.batch.dto.BackfillScanCursor;
 import org.stapledon.engine.downloader.DownloaderFacade;
 import org.stapledon.engine.management.ManagementFacade;
 import org.stapledon.engine.storage.ComicIndexService;
@@ -34,6 +40,18 @@
  * This service pre-filters comics once upfront rather than logging skip
  * messages
  * during each date iteration, significantly reducing log noise.
+ * <p>
+ * Discovered gaps are kept in the persistent {@link BackfillQueueRepository}
+ * together with a scan cursor per comic. Each run first takes the comic's due
+ * queue items and only scans history it has not scanned before, so planning
+ * cost follows the queue head rather than the archive size. Failed downloads
+ * are retried with exponential backoff and eventually marked as permanent
+ * misses instead of being retried every day.
+ * <p>
+ * Each comic offers up to its source's daily quota of candidates, and the
+ * source's budget is then spent on the highest-ranked candidates across all
+ * its comics (see {@link BackfillPriorityService}), so popular comics and
+ * recent gaps are filled first.
  */
 @Slf4j
 @Service
@@ -45,6 +63,8 @@ public class ComicBackfillService {
     private final BackfillConfigurationService config;
     private final DownloaderFacade downloaderFacade;
     private final ComicIndexService comicIndexService;
+    private final BackfillQueueRepository backfillQueue;
+    private final BackfillPriorityService priorityService;
 
     /**
      * Sealed interface representing a backfill task for either date-based or indexed comics.
@@ -77,12 +97,16 @@ public List<BackfillTask> findMissingStrips() {
     }
 
     /**
-     * Scans eligible comics and identifies missing strips, respecting
+     * Plans backfill tasks for eligible comics, respecting
      * source-specific rate limits. When sourceFilter is non-null and not "ALL",
      * only comics from that source are considered.
      * <p>
-     * This method filters comics upfront and only scans dates where the comic
-     * is expected to have published. The filtering considers:
+     * Each comic's candidates come first from its due items in the backfill
+     * queue; any remaining quota is filled by extending the comic's scan from
+     * where the previous run stopped. Each source's candidates are then ranked
+     * by {@link BackfillPriorityService} and cut to the source's daily limit.
+     * The scan only visits dates where the comic is
+     * expected to have published. The filtering considers:
      * <ul>
      * <li>Active status (skips discontinued comics)</li>
      * <li>Source availability and enablement</li>
@@ -96,7 +120,7 @@ public List<BackfillTask> findMissingStrips() {
      *         daily limits
      */
     public List<BackfillTask> findMissingStrips(String sourceFilter) {
-        log.info("Scanning for missing comic strips (sourceFilter={})", sourceFilter);
+        log.info("Planning backfill tasks (sourceFilter={})", sourceFilter);
 
         List<ComicItem> allComics = managementFacade.getAllComics();
 
@@ -107,59 +131,79 @@ public List<BackfillTask> findMissingStrips(String sourceFilter) {
                 eligibleComics.size(), allComics.size(),
                 allComics.size() - eligibleComics.size());
 
-        // Track counts per source for rate limiting
-        Map<String, Integer> taskCountBySource = new HashMap<>();
-        List<BackfillTask> allTasks = new ArrayList<>();
+        // Gather each comic's candidates per source; LinkedHashMap keeps source order deterministic
+        Map<String, List<BackfillTask>> candidatesBySource = new LinkedHashMap<>();
+        OffsetDateTime now = OffsetDateTime.now();
 
         for (ComicItem comic : eligibleComics) {
             String source = comic.getSource();
+            List<BackfillTask> comicTasks = planComic(comic, config.getMaxPerDayForSource(source), now);
 
-            // Check if we've hit the daily limit for this source
-            int currentCount = taskCountBySource.getOrDefault(source, 0);
-            int maxPerDay = config.getMaxPerDayForSource(source);
-
-            if (currentCount >= maxPerDay) {
-                log.debug("Skipping {} - reached daily limit of {} for source '{}'",
-                        comic.getName(), maxPerDay, source);
-                continue;
+            if (!comicTasks.isEmpty()) {
+                candidatesBySource.computeIfAbsent(source, s -> new ArrayList<>()).addAll(comicTasks);
+                log.debug("Found {} backfill candidates for {} (source '{}')",
+                        comicTasks.size(), comic.getName(), source);
             }
+        }
+        backfillQueue.flush();
 
-            int remainingQuota = maxPerDay - currentCount;
-            List<BackfillTask> comicTasks;
-
-            // Handle indexed comics differently
-            if (downloaderFacade.isIndexedSource(source)) {
-                comicTasks = scanIndexedComicForMissingStrips(comic, remainingQuota);
-            } else {
-                // Calculate the effective scan range for this specific comic
-                DateRange scanRange = calculateScanRange(comic);
-
-                if (scanRange == null) {
-                    log.debug("No valid scan range for comic '{}'", comic.getName());
-                    continue;
-                }
-
-                log.debug("Scanning {} ({} to {})",
-                        comic.getName(), scanRange.start(), scanRange.end());
+        // Spend each source's daily limit on its highest-priority candidates
+        List<BackfillTask> allTasks = new ArrayList<>();
+        candidatesBySource.forEach((source, candidates) -> {
+            int maxPerDay = config.getMaxPerDayForSource(source);
+            List<BackfillTask> selected = priorityService.rank(candidates).stream().limit(maxPerDay).toList();
+            allTasks.addAll(selected);
+            log.info("Selected {} of {} backfill candidates for source '{}' (max {}/day)",
+                    selected.size(), candidates.size(), source, maxPerDay);
+        });
+
+        log.info("Total backfill tasks planned: {} (across {} sources)",
+                allTasks.size(), candidatesBySource.size());
+        return allTasks;
+    }
 
-                // Scan for missing strips, respecting remaining quota
-                comicTasks = scanComicForMissingStrips(
-                        comic, scanRange.start(), scanRange.end(), remainingQuota);
-            }
+    /**
+     * Records the outcome of a backfill download in the queue. A null result means nothing was downloaded: that
+     * counts as done if the strip is stored (e.g. the daily job got it first), otherwise as a failed attempt.
+     * Changes are persisted by {@link #flushQueue()}.
+     */
+    public void recordResult(BackfillTask task, ComicDownloadResult result) {
+        if (result != null && !result.isSuccessful()) {
+            recordFailure(task, result.getErrorMessage());
+        } else if (result == null && task instanceof DateBackfillTask dateTask
+                && !storageFacade.comicStripExists(ComicIdentifier.from(dateTask.comic()), dateTask.date())) {
+            recordFailure(task, "Strip was not saved");
+        } else {
+            backfillQueue.recordSuccess(toQueueItem(task));
+        }
+    }
 
-            allTasks.addAll(comicTasks);
-            taskCountBySource.put(source, currentCount + comicTasks.size());
+    /**
+     * Records a failed backfill download: the task is retried after an exponentially growing backoff, and
+     * marked as a permanent miss once it has failed {@code permanent-miss-after-attempts} times.
+     */
+    public void recordFailure(BackfillTask task, String error) {
+        backfillQueue.recordFailure(toQueueItem(task), error, OffsetDateTime.now(),
+                Duration.ofHours(Math.max(0, config.getRetryBackoffHours())), config.getPermanentMissAfterAttempts());
+    }
 
-            if (!comicTasks.isEmpty()) {
-                log.info("Found {} missing strips for {} (source '{}': {}/{})",
-                        comicTasks.size(), comic.getName(), source,
-                        currentCount + comicTasks.size(), maxPerDay);
-            }
-        }
+    /**
+     * Persists pending backfill queue changes.
+     */
+    public void flushQueue() {
+        backfillQueue.flush();
+    }
 
-        log.info("Total missing strips found: {} (across {} sources)",
-                allTasks.size(), taskCountBySource.size());
-        return allTasks;
+    /**
+     * Returns the distinct sources that have at least one comic eligible for backfill, in sorted order. Used to
+     * partition the backfill job so each source is scanned and downloaded independently.
+     */
+    public List<String> findEligibleSources(String sourceFilter) {
+        return filterEligibleComics(managementFacade.getAllComics(), sourceFilter).stream()
+                .map(ComicItem::getSource)
+                .distinct()
+                .sorted()
+                .toList();
     }
 
     /**
@@ -256,71 +300,125 @@ private record DateRange(LocalDate start, LocalDate end) {
     }
 
     /**
-     * Scans a single comic for missing strips in the date range.
-     * <p>
-     * Scans backwards in time from start to end.
-     * Respects the comic's publication day schedule and quota limit.
-     * Stops early if too many consecutive missing strips are found.
-     *
-     * @param comic    the comic to scan
-     * @param start    the starting date (most recent)
-     * @param end      the ending date (oldest)
-     * @param maxTasks maximum number of tasks to return
-     * @return list of backfill tasks for missing strips
+     * Plans up to {@code quota} tasks for one comic: due queue items first, then newly discovered gaps.
      */
-    private List<BackfillTask> scanComicForMissingStrips(
-            ComicItem comic,
-            LocalDate start,
-            LocalDate end,
-            int maxTasks) {
+    private List<BackfillTask> planComic(ComicItem comic, int quota, OffsetDateTime now) {
+        boolean indexed = downloaderFacade.isIndexedSource(comic.getSource());
+        ScanRange range = indexed ? indexedScanRange(comic) : dateScanRange(comic);
+
+        if (range == null) {
+            log.debug("No valid scan range for comic '{}'", comic.getName());
+            return List.of();
+        }
 
         List<BackfillTask> tasks = new ArrayList<>();
-        int consecutiveMissing = 0;
-        LocalDate date = start;
-        int maxConsecutive = config.getMaxConsecutiveFailures();
-
-        // Scan backwards in time
-        while (!date.isBefore(end) && tasks.size() < maxTasks) {
-            // Check if this comic publishes on this day of week
-            if (shouldCheckDate(comic, date)) {
-                boolean exists = storageFacade.comicStripExists(
-                        ComicIdentifier.from(comic),
-                        date);
-
-                if (!exists) {
-                    tasks.add(new DateBackfillTask(comic, date));
-                    consecutiveMissing++;
-
-                    // Stop if we've hit too many consecutive missing strips
-                    // This likely means the comic didn't exist this far back
-                    if (consecutiveMissing >= maxConsecutive) {
-                        log.debug("Stopping scan for {} at {} - {} consecutive missing strips "
-                                + "(comic likely didn't exist this far back)",
-                                comic.getName(), date, consecutiveMissing);
-                        break;
-                    }
-                } else {
-                    consecutiveMissing = 0; // Reset counter when we find a strip
-                }
+        for (BackfillQueueItem item : backfillQueue.findDue(comic.getId(), now, quota)) {
+            long position = item.date() != null ? item.date().toEpochDay() : item.stripNumber();
+            if (position < range.oldest() || position > range.newest()) {
+                // Fell outside the allowed range since it was queued (e.g. older than max-days-back)
+                backfillQueue.remove(item.key());
+                continue;
             }
-
-            date = date.minusDays(1);
+            tasks.add(toTask(comic, item));
         }
 
+        if (tasks.size() < quota) {
+            for (long position : discoverGaps(comic, range, quota - tasks.size())) {
+                BackfillQueueItem item = indexed
+                        ? BackfillQueueItem.forStrip(comic.getId(), (int) position)
+                        : BackfillQueueItem.forDate(comic.getId(), LocalDate.ofEpochDay(position));
+                backfillQueue.enqueue(item);
+                tasks.add(toTask(comic, item));
+            }
+        }
         return tasks;
     }
 
     /**
-     * Scans an indexed comic for missing strips by iterating strip numbers
-     * backwards from the last known strip number.
-     *
-     * @param comic    the indexed comic to scan
-     * @param maxTasks maximum number of tasks to return
-     * @return list of backfill tasks for missing strips
+     * Extends the comic's scan from its persisted cursor and returns up to {@code limit} newly found missing
+     * positions. Positions newer than the last scan are walked first (oldest to newest, so the scanned range
+     * stays contiguous), then history is walked backwards from the oldest position scanned so far, stopping
+     * for good once {@code max-consecutive-failures} missing strips are found in a row.
      */
-    private List<BackfillTask> scanIndexedComicForMissingStrips(ComicItem comic, int maxTasks) {
-        List<BackfillTask> tasks = new ArrayList<>();
+    private List<Long> discoverGaps(ComicItem comic, ScanRange range, int limit) {
+        List<Long> found = new ArrayList<>();
+        BackfillScanCursor cursor = backfillQueue.findCursor(comic.getId())
+                .orElse(new BackfillScanCursor(range.newest(), range.newest() + 1, 0, false));
+
+        if (cursor.newestScanned() < range.newest()) {
+            long from = Math.max(cursor.newestScanned() + 1, range.oldest());
+            Walk recent = walk(from, range.newest(), 1, limit, 0, Integer.MAX_VALUE, range.probe(), found);
+            cursor = new BackfillScanCursor(recent.last(), cursor.oldestScanned(), cursor.consecutiveMissing(), cursor.exhausted());
+        }
+
+        if (!cursor.exhausted() && found.size() < limit && cursor.oldestScanned() > range.oldest()) {
+            Walk history = walk(cursor.oldestScanned() - 1, range.oldest(), -1, limit, cursor.consecutiveMissing(),
+                    config.getMaxConsecutiveFailures(), range.probe(), found);
+            cursor = new BackfillScanCursor(cursor.newestScanned(), history.last(), history.consecutiveMissing(), history.exhausted());
 
+            if (history.exhausted()) {
+                log.debug("Stopping scan for {} - {} consecutive missing strips (comic likely didn't exist this far back)",
+                        comic.getName(), history.consecutiveMissing());
+            }
+        }
+
+        backfillQueue.saveCursor(comic.getId(), cursor);
+        return found;
+    }
+
+    /**
+     * Walks positions from {@code from} towards {@code to} by {@code step}, adding missing ones to {@code found}
+     * until it holds {@code limit} entries or {@code maxConsecutive} positions in a row are missing.
+     */
+    private Walk walk(long from, long to, int step, int limit, int consecutiveMissing, int maxConsecutive,
+            LongFunction<Probe> probe, List<Long> found) {
+        long last = from - step;
+        int missingInRow = consecutiveMissing;
+
+        for (long position = from; step > 0 ? position <= to : position >= to; position += step) {
+            if (found.size() >= limit) {
+                break;
+            }
+            last = position;
+
+            Probe result = probe.apply(position);
+            if (result == Probe.PRESENT) {
+                missingInRow = 0; // Reset counter when we find a strip
+            } else if (result == Probe.MISSING) {
+                found.add(position);
+                missingInRow++;
+                if (missingInRow >= maxConsecutive) {
+                    return new Walk(last, missingInRow, true);
+                }
+            }
+        }
+        return new Walk(last, missingInRow, false);
+    }
+
+    /**
+     * Scan range of a date-based comic in epoch days, probing storage and the publication schedule.
+     */
+    private ScanRange dateScanRange(ComicItem comic) {
+        DateRange dates = calculateScanRange(comic);
+        if (dates == null) {
+            return null;
+        }
+
+        ComicIdentifier identifier = ComicIdentifier.from(comic);
+        return new ScanRange(dates.start().toEpochDay(), dates.end().toEpochDay(), day -> {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            if (!shouldCheckDate(comic, date)) {
+                return Probe.SKIP;
+            }
+            return storageFacade.comicStripExists(identifier, date) ? Probe.PRESENT : Probe.MISSING;
+        });
+    }
+
+    /**
+     * Scan range of an indexed comic in strip numbers, from the last known strip back to the first, probing
+     * the downloaded strip index.
+     */
+    private ScanRange indexedScanRange(ComicItem comic) {
         Integer lastStrip = comic.getLastStripNumber();
         Integer firstStrip = comic.getFirstStripNumber();
 
@@ -332,36 +430,51 @@ private List<BackfillTask> scanIndexedComicForMissingStrips(ComicItem comic, int
                 log.info("Discovered lastStripNumber={} for '{}'", lastStrip, comic.getName());
             } else {
                 log.warn("Could not auto-discover latest strip for '{}'", comic.getName());
-                return tasks;
+                return null;
             }
         }
 
+        int endStrip = firstStrip != null ? firstStrip : 1;
+        if (lastStrip < endStrip) {
+            return null;
+        }
+
         // Load already-downloaded strip numbers to avoid wasteful re-downloads
         Set<Integer> downloadedStrips = comicIndexService.getDownloadedStripNumbers(
                 comic.getId(), comic.getName());
+        return new ScanRange(lastStrip, endStrip,
+                stripNum -> downloadedStrips.contains((int) stripNum) ? Probe.PRESENT : Probe.MISSING);
+    }
 
-        int startStrip = downloadedStrips.contains(lastStrip) ? lastStrip - 1 : lastStrip;
-        int endStrip = firstStrip != null ? firstStrip : 1;
-        int consecutiveMissing = 0;
-        int maxConsecutive = config.getMaxConsecutiveFailures();
+    private static BackfillTask toTask(ComicItem comic, BackfillQueueItem item) {
+        return item.date() != null
+                ? new DateBackfillTask(comic, item.date())
+                : new StripBackfillTask(comic, item.stripNumber());
+    }
 
-        for (int stripNum = startStrip; stripNum >= endStrip && tasks.size() < maxTasks; stripNum--) {
-            if (downloadedStrips.contains(stripNum)) {
-                consecutiveMissing = 0;
-                continue;
-            }
+    private static BackfillQueueItem toQueueItem(BackfillTask task) {
+        return task instanceof StripBackfillTask stripTask
+                ? BackfillQueueItem.forStrip(stripTask.comic().getId(), stripTask.stripNumber())
+                : BackfillQueueItem.forDate(task.comic().getId(), ((DateBackfillTask) task).date());
+    }
 
-            tasks.add(new StripBackfillTask(comic, stripNum));
-            consecutiveMissing++;
+    /**
+     * What a scan finds at one position.
+     */
+    private enum Probe {
+        SKIP, PRESENT, MISSING
+    }
 
-            if (consecutiveMissing >= maxConsecutive) {
-                log.debug("Stopping scan for {} at strip #{} - {} consecutive missing strips",
-                        comic.getName(), stripNum, consecutiveMissing);
-                break;
-            }
-        }
+    /**
+     * Positions to scan for one comic (newest to oldest, inclusive) and how to probe each one.
+     */
+    private record ScanRange(long newest, long oldest, LongFunction<Probe> probe) {
+    }
 
-        return tasks;
+    /**
+     * Result of a walk: the last position examined, the missing run at its end and whether the run hit the limit.
+     */
+    private record Walk(long last, int consecutiveMissing, boolean exhausted) {
     }
 
     /**
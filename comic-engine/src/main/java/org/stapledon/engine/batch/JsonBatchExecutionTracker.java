@@ -3,6 +3,7 @@
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.BatchStatus;
@@ -14,9 +15,11 @@
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,30 +27,40 @@
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.MDC;
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.util.NfsFileOperations;
+import org.stapledon.engine.batch.dto.BatchExecutionStats;
 import org.stapledon.engine.batch.dto.BatchExecutionSummary;
 import org.stapledon.engine.batch.dto.BatchStepSummary;
 
 /**
- * Exports Spring Batch job execution data to JSON file for monitoring and
- * history tracking.
- * Implements JobExecutionListener to automatically export after each job
- * completion.
+ * Tracks Spring Batch job executions for monitoring and history.
+ * Implements JobExecutionListener to record each job as it starts and completes.
  * Uses gsonWithLocalDate bean for proper OffsetDateTime serialization.
  *
- * <p>Stores a capped list of executions per job (configurable via
- * {@code batch.tracking.max-history-per-job}). Handles migration from
- * the legacy single-entry format automatically on read.
+ * <p>History is held in memory: a capped list of executions per job (configurable via
+ * {@code batch.tracking.max-history-per-job}), an index by execution ID and per-job daily
+ * {@link BatchExecutionStats}, so reads never touch the disk. Each job event appends the
+ * execution's current summary as one compact JSON line to {@code batch-executions.log}; after
+ * {@code batch.tracking.compact-after-events} appends the full history is written atomically to
+ * {@code batch-executions.json} and the log is deleted. On first use the JSON snapshot is loaded
+ * (migrating the legacy single-entry format) and the log replayed on top of it.
  *
  * <p>Spring Batch returns {@link LocalDateTime} from {@code JobExecution} and
  * {@code StepExecution}. Per CLAUDE.md, those values are converted to
@@ -61,25 +74,37 @@ public class JsonBatchExecutionTracker extends LoggingJobExecutionListener imple
     private final CacheProperties cacheProperties;
     private final Gson gson;
     private final int maxHistoryPerJob;
+    private final int compactAfterEvents;
     private final ZoneId batchZone;
     private final ConcurrentHashMap<Long, Long> h2ToStableId = new ConcurrentHashMap<>();
 
+    // Immutable values, replaced under the tracker lock so reads need no locking
+    private final Map<String, List<BatchExecutionSummary>> historyByJob = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<LocalDate, BatchExecutionStats>> dailyStatsByJob = new ConcurrentHashMap<>();
+    private final Map<Long, BatchExecutionSummary> executionsById = new ConcurrentHashMap<>();
+    private final AtomicLong lastStableId = new AtomicLong();
+    private volatile boolean loaded;
+    private int eventsSinceCompaction;
+
     private static final String BATCH_EXECUTIONS_FILENAME = "batch-executions.json";
+    private static final String BATCH_EXECUTIONS_LOG_FILENAME = "batch-executions.log";
     private static final String MDC_EXECUTION_ID = "batchJobExecutionId";
     private static final String MDC_JOB_NAME = "batchJobName";
     private static final String MDC_LOG_PATH = "batchLogPath";
 
     /**
-     * Constructor with configurable max history per job.
+     * Constructor with configurable history depth and compaction interval.
      */
     public JsonBatchExecutionTracker(
             CacheProperties cacheProperties,
             @Qualifier("gsonWithLocalDate") Gson gson,
             @Value("${batch.tracking.max-history-per-job:30}") int maxHistoryPerJob,
+            @Value("${batch.tracking.compact-after-events:50}") int compactAfterEvents,
             @Value("${batch.timezone:UTC}") String batchTimezone) {
         this.cacheProperties = cacheProperties;
         this.gson = gson;
         this.maxHistoryPerJob = maxHistoryPerJob;
+        this.compactAfterEvents = Math.max(1, compactAfterEvents);
         this.batchZone = ZoneId.of(batchTimezone);
     }
 
@@ -103,6 +128,7 @@ public synchronized void beforeJob(JobExecution jobExecution) {
         super.beforeJob(jobExecution);
 
         try {
+            ensureLoaded();
             long stableId = nextStableId();
             h2ToStableId.put(jobExecution.getId(), stableId);
 
@@ -113,17 +139,10 @@ public synchronized void beforeJob(JobExecution jobExecution) {
                     .startTime(toOffset(jobExecution.getStartTime()))
                     .build();
 
-            Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-            List<BatchExecutionSummary> jobHistory = executions.computeIfAbsent(jobName, k -> new ArrayList<>());
-            jobHistory.addFirst(summary);
-            if (jobHistory.size() > maxHistoryPerJob) {
-                executions.put(jobName, new ArrayList<>(jobHistory.subList(0, maxHistoryPerJob)));
-            }
-
-            writeExecutions(executions);
+            record(summary);
             log.info("Batch job started: {} - Stable execution ID: {}", jobName, stableId);
         } catch (Exception e) {
-            log.error("Failed to write STARTED entry to JSON", e);
+            log.error("Failed to record STARTED entry", e);
         }
     }
 
@@ -133,6 +152,8 @@ public synchronized void afterJob(JobExecution jobExecution) {
             // Log end banner before MDC cleanup so it's captured in the per-execution log file
             super.afterJob(jobExecution);
 
+            ensureLoaded();
+            // Without a beforeJob() entry (e.g. beforeJob failed) the summary gets a new ID and is prepended
             Long stableId = h2ToStableId.remove(jobExecution.getId());
             BatchExecutionSummary summary = createSummary(jobExecution, stableId);
             String logPath = MDC.get(MDC_LOG_PATH);
@@ -140,34 +161,12 @@ public synchronized void afterJob(JobExecution jobExecution) {
                 summary.setLogFileName(logPath.substring(logPath.lastIndexOf('/') + 1) + ".log");
             }
 
-            Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-            String jobName = jobExecution.getJobInstance().getJobName();
-            List<BatchExecutionSummary> jobHistory = executions.computeIfAbsent(jobName, k -> new ArrayList<>());
-
-            if (stableId != null) {
-                // Find and update the STARTED entry written by beforeJob()
-                Optional<BatchExecutionSummary> existing = jobHistory.stream()
-                        .filter(s -> stableId.equals(s.getExecutionId()))
-                        .findFirst();
-                if (existing.isPresent()) {
-                    updateSummaryInPlace(existing.get(), summary);
-                } else {
-                    jobHistory.addFirst(summary);
-                }
-            } else {
-                // Fallback: no beforeJob() entry (e.g. backward compat or beforeJob failed)
-                jobHistory.addFirst(summary);
-            }
-
-            if (jobHistory.size() > maxHistoryPerJob) {
-                executions.put(jobName, new ArrayList<>(jobHistory.subList(0, maxHistoryPerJob)));
-            }
-
-            writeExecutions(executions);
-            logExecutionSummary(jobName, summary);
+            // Replaces the STARTED entry written by beforeJob()
+            record(summary);
+            logExecutionSummary(summary.getJobName(), summary);
 
         } catch (Exception e) {
-            log.error("Failed to export batch execution to JSON", e);
+            log.error("Failed to record batch execution", e);
         } finally {
             MDC.remove(MDC_EXECUTION_ID);
             MDC.remove(MDC_JOB_NAME);
@@ -176,33 +175,156 @@ public synchronized void afterJob(JobExecution jobExecution) {
     }
 
     /**
-     * Derive the next stable execution ID from the JSON file.
-     * Must be called within a synchronized context.
+     * Allocate the next stable execution ID. IDs continue across restarts from the highest persisted ID.
      */
     private long nextStableId() {
-        Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-        return executions.values().stream()
-                .flatMap(List::stream)
-                .filter(s -> s.getExecutionId() != null)
-                .mapToLong(BatchExecutionSummary::getExecutionId)
-                .max()
-                .orElse(0L) + 1;
+        return lastStableId.incrementAndGet();
+    }
+
+    /**
+     * Apply a summary to the in-memory history and append it to the persistence log.
+     * Must be called within a synchronized context.
+     */
+    private void record(BatchExecutionSummary summary) throws IOException {
+        apply(summary);
+
+        Path logPath = getLogFilePath();
+        String line = gson.toJsonTree(summary) + "\n";
+        Files.writeString(logPath, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        if (++eventsSinceCompaction >= compactAfterEvents) {
+            compact();
+        }
+    }
+
+    /**
+     * Insert or replace a summary (matched by execution ID) in its job's history, trim the history
+     * to the cap and refresh the job's indexes. Must be called within a synchronized context.
+     */
+    private void apply(BatchExecutionSummary summary) {
+        String jobName = summary.getJobName();
+        List<BatchExecutionSummary> history = new ArrayList<>(historyByJob.getOrDefault(jobName, List.of()));
+        int existing = -1;
+        for (int i = 0; i < history.size() && summary.getExecutionId() != null; i++) {
+            if (summary.getExecutionId().equals(history.get(i).getExecutionId())) {
+                existing = i;
+                break;
+            }
+        }
+        if (existing >= 0) {
+            history.set(existing, summary);
+        } else {
+            history.addFirst(summary);
+        }
+        while (history.size() > maxHistoryPerJob) {
+            BatchExecutionSummary evicted = history.removeLast();
+            if (evicted.getExecutionId() != null) {
+                executionsById.remove(evicted.getExecutionId(), evicted);
+            }
+        }
+        putHistory(jobName, history);
+
+        if (summary.getExecutionId() != null) {
+            executionsById.put(summary.getExecutionId(), summary);
+            lastStableId.accumulateAndGet(summary.getExecutionId(), Math::max);
+        }
+    }
+
+    private void putHistory(String jobName, List<BatchExecutionSummary> history) {
+        historyByJob.put(jobName, List.copyOf(history));
+
+        NavigableMap<LocalDate, BatchExecutionStats> daily = new TreeMap<>();
+        history.stream()
+                .filter(s -> s.getStartTime() != null)
+                .forEach(s -> daily.merge(s.getStartTime().toLocalDate(), BatchExecutionStats.of(s), BatchExecutionStats::plus));
+        dailyStatsByJob.put(jobName, Collections.unmodifiableNavigableMap(daily));
+    }
+
+    /**
+     * Load the JSON snapshot and replay the persistence log on first use.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+
+            readSnapshot().forEach((jobName, history) -> {
+                List<BatchExecutionSummary> capped = history.stream()
+                        .filter(Objects::nonNull)
+                        .limit(maxHistoryPerJob)
+                        .toList();
+                putHistory(jobName, capped);
+                capped.stream()
+                        .filter(s -> s.getExecutionId() != null)
+                        .forEach(s -> {
+                            executionsById.putIfAbsent(s.getExecutionId(), s);
+                            lastStableId.accumulateAndGet(s.getExecutionId(), Math::max);
+                        });
+            });
+
+            boolean tornLog = replayLog();
+            loaded = true;
+            log.info("Loaded batch execution history: {} jobs, {} executions, {} pending log entries",
+                    historyByJob.size(), executionsById.size(), eventsSinceCompaction);
+
+            if (tornLog) {
+                // Rewrite the snapshot so later appends don't land after a partial line
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Replay the persistence log into memory.
+     *
+     * @return true if the log contained an unreadable line (e.g. torn by a crash mid-write)
+     */
+    private boolean replayLog() {
+        Path logPath = getLogFilePath();
+        if (!Files.exists(logPath)) {
+            return false;
+        }
+
+        boolean torn = false;
+        try {
+            for (String line : Files.readAllLines(logPath, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    BatchExecutionSummary summary = gson.fromJson(line, BatchExecutionSummary.class);
+                    if (summary != null && summary.getJobName() != null) {
+                        apply(summary);
+                        eventsSinceCompaction++;
+                    }
+                } catch (JsonParseException e) {
+                    log.warn("Skipping unreadable batch execution log entry: {}", e.getMessage());
+                    torn = true;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read batch execution log", e);
+        }
+        return torn;
     }
 
     /**
-     * Update an existing STARTED summary in-place with final execution data.
+     * Write the in-memory history to the JSON snapshot and drop the log it now contains.
+     * Must be called within a synchronized context.
      */
-    private void updateSummaryInPlace(BatchExecutionSummary target, BatchExecutionSummary source) {
-        target.setStatus(source.getStatus());
-        target.setExitCode(source.getExitCode());
-        target.setExitMessage(source.getExitMessage());
-        target.setExecutionTime(source.getExecutionTime());
-        target.setStartTime(source.getStartTime());
-        target.setEndTime(source.getEndTime());
-        target.setErrorMessage(source.getErrorMessage());
-        target.setLogFileName(source.getLogFileName());
-        target.setParameters(source.getParameters());
-        target.setSteps(source.getSteps());
+    private void compact() {
+        try {
+            writeExecutions(new TreeMap<>(historyByJob));
+            Files.deleteIfExists(getLogFilePath());
+            eventsSinceCompaction = 0;
+        } catch (IOException e) {
+            // The log still holds every event, so nothing is lost; compaction is retried on the next event
+            log.error("Failed to compact batch execution history", e);
+        }
     }
 
     /**
@@ -210,7 +332,7 @@ private void updateSummaryInPlace(BatchExecutionSummary target, BatchExecutionSu
      */
     private BatchExecutionSummary createSummary(JobExecution jobExecution, Long stableId) {
         String jobName = jobExecution.getJobInstance().getJobName();
-        long effectiveId = Optional.ofNullable(stableId).orElse(nextStableId());
+        long effectiveId = Optional.ofNullable(stableId).orElseGet(this::nextStableId);
 
         Map<String, Object> params = new LinkedHashMap<>();
         jobExecution.getJobParameters().parameters()
@@ -252,9 +374,9 @@ private BatchExecutionSummary createSummary(JobExecution jobExecution, Long stab
     }
 
     /**
-     * Read existing executions from JSON file, handling migration from legacy single-entry format.
+     * Read the JSON snapshot, handling migration from legacy single-entry format.
      */
-    private Map<String, List<BatchExecutionSummary>> readExecutions() {
+    private Map<String, List<BatchExecutionSummary>> readSnapshot() {
         Path filePath = getExecutionsFilePath();
 
         if (!Files.exists(filePath)) {
@@ -264,8 +386,8 @@ private Map<String, List<BatchExecutionSummary>> readExecutions() {
         try {
             String json = Files.readString(filePath);
             return parseWithMigration(json);
-        } catch (IOException e) {
-            log.error("Failed to read batch executions from JSON file", e);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read batch executions snapshot", e);
             return new HashMap<>();
         }
     }
@@ -313,13 +435,13 @@ Map<String, List<BatchExecutionSummary>> parseWithMigration(String json) {
     }
 
     /**
-     * Write executions to JSON file using atomic write for NFS safety.
+     * Write the history snapshot to the JSON file using atomic write for NFS safety.
      */
     private void writeExecutions(Map<String, List<BatchExecutionSummary>> executions) throws IOException {
         Path filePath = getExecutionsFilePath();
         String json = gson.toJson(executions);
         NfsFileOperations.atomicWrite(filePath, json);
-        log.debug("Batch executions exported to: {}", filePath);
+        log.debug("Batch execution history compacted to: {}", filePath);
     }
 
     /**
@@ -329,6 +451,13 @@ private Path getExecutionsFilePath() {
         return Paths.get(cacheProperties.getLocation(), BATCH_EXECUTIONS_FILENAME);
     }
 
+    /**
+     * Get path to the append-only batch executions log.
+     */
+    private Path getLogFilePath() {
+        return Paths.get(cacheProperties.getLocation(), BATCH_EXECUTIONS_LOG_FILENAME);
+    }
+
     /**
      * Log execution summary.
      */
@@ -349,8 +478,7 @@ private void logExecutionSummary(String jobName, BatchExecutionSummary summary)
      * Gets the last execution summary for a specific job.
      */
     public Optional<BatchExecutionSummary> getLastExecution(String jobName) {
-        Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-        return Optional.ofNullable(executions.get(jobName))
+        return Optional.ofNullable(history(jobName))
                 .filter(list -> !list.isEmpty())
                 .map(List::getFirst);
     }
@@ -359,58 +487,54 @@ public Optional<BatchExecutionSummary> getLastExecution(String jobName) {
      * Gets execution history for a specific job.
      */
     public List<BatchExecutionSummary> getExecutionHistory(String jobName, int count) {
-        Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-        List<BatchExecutionSummary> history = executions.getOrDefault(jobName, List.of());
-        return history.stream()
-                .limit(count)
-                .toList();
+        List<BatchExecutionSummary> history = Optional.ofNullable(history(jobName)).orElse(List.of());
+        return history.subList(0, Math.min(Math.max(count, 0), history.size()));
     }
 
     /**
      * Gets execution history for a specific job within a date range.
      */
     public List<BatchExecutionSummary> getExecutionHistoryForDateRange(String jobName, LocalDate start, LocalDate end) {
-        Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-        List<BatchExecutionSummary> history = executions.getOrDefault(jobName, List.of());
-        return history.stream()
+        return Optional.ofNullable(history(jobName)).orElse(List.of()).stream()
                 .filter(s -> s.getStartTime() != null)
-                .filter(s -> {
-                    LocalDate executionDate = s.getStartTime().toLocalDate();
-                    return !executionDate.isBefore(start) && !executionDate.isAfter(end);
-                })
+                .filter(s -> isWithin(s.getStartTime().toLocalDate(), start, end))
                 .toList();
     }
 
     /**
-     * Gets a specific execution by ID, scanning all jobs. Returns the most recent match.
+     * Gets per-day execution stats for the given jobs within a date range, keyed by start date.
+     * Served from the precomputed per-job daily stats, so the cost does not grow with history size.
+     */
+    public NavigableMap<LocalDate, BatchExecutionStats> getDailyStats(Collection<String> jobNames, LocalDate start, LocalDate end) {
+        ensureLoaded();
+        NavigableMap<LocalDate, BatchExecutionStats> result = new TreeMap<>();
+        if (start.isAfter(end)) {
+            return result;
+        }
+        for (String jobName : jobNames) {
+            Optional.ofNullable(dailyStatsByJob.get(jobName))
+                    .map(daily -> daily.subMap(start, true, end, true))
+                    .ifPresent(daily -> daily.forEach((date, stats) -> result.merge(date, stats, BatchExecutionStats::plus)));
+        }
+        return result;
+    }
+
+    /**
+     * Gets a specific execution by ID.
      */
     public Optional<BatchExecutionSummary> getExecution(long executionId) {
-        Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-        return executions.values().stream()
-                .flatMap(List::stream)
-                .filter(s -> s.getExecutionId() != null && s.getExecutionId() == executionId)
-                .findFirst();
+        ensureLoaded();
+        return Optional.ofNullable(executionsById.get(executionId));
     }
 
     /**
      * Gets all execution history across all jobs, sorted most recent first.
      */
     public List<BatchExecutionSummary> getAllExecutionHistory(int count) {
-        Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-        return executions.values().stream()
+        ensureLoaded();
+        return historyByJob.values().stream()
                 .flatMap(List::stream)
-                .sorted((a, b) -> {
-                    if (a.getStartTime() == null && b.getStartTime() == null) {
-                        return 0;
-                    }
-                    if (a.getStartTime() == null) {
-                        return 1;
-                    }
-                    if (b.getStartTime() == null) {
-                        return -1;
-                    }
-                    return b.getStartTime().compareTo(a.getStartTime());
-                })
+                .sorted(Comparator.comparing(BatchExecutionSummary::getStartTime, Comparator.nullsFirst(Comparator.<OffsetDateTime>naturalOrder())).reversed())
                 .limit(count)
                 .toList();
     }
@@ -419,14 +543,11 @@ public List<BatchExecutionSummary> getAllExecutionHistory(int count) {
      * Gets all execution history for a date range across all jobs, sorted most recent first.
      */
     public List<BatchExecutionSummary> getAllExecutionHistoryForDateRange(LocalDate start, LocalDate end) {
-        Map<String, List<BatchExecutionSummary>> executions = readExecutions();
-        return executions.values().stream()
+        ensureLoaded();
+        return historyByJob.values().stream()
                 .flatMap(List::stream)
                 .filter(s -> s.getStartTime() != null)
-                .filter(s -> {
-                    LocalDate executionDate = s.getStartTime().toLocalDate();
-                    return !executionDate.isBefore(start) && !executionDate.isAfter(end);
-                })
+                .filter(s -> isWithin(s.getStartTime().toLocalDate(), start, end))
                 .sorted((a, b) -> b.getStartTime().compareTo(a.getStartTime()))
                 .toList();
     }
@@ -450,4 +571,13 @@ public boolean hasJobRunSince(String jobName, OffsetDateTime since) {
                 .filter(summary -> summary.getEndTime().isAfter(since))
                 .isPresent();
     }
+
+    private List<BatchExecutionSummary> history(String jobName) {
+        ensureLoaded();
+        return historyByJob.get(jobName);
+    }
+
+    private static boolean isWithin(LocalDate date, LocalDate start, LocalDate end) {
+        return !date.isBefore(start) && !date.isAfter(end);
+    }
 }
@@ -17,8 +17,11 @@
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.Set;
+
 import org.stapledon.engine.batch.JsonBatchExecutionTracker;
 import org.stapledon.engine.batch.scheduler.DailyJobScheduler;
+import org.stapledon.engine.batch.scheduler.JobResourceClass;
 import org.stapledon.engine.management.ManagementFacade;
 
 /**
@@ -53,7 +56,10 @@ public DailyJobScheduler avatarBackfillJobScheduler(
             @Qualifier("avatarBackfillJob") Job avatarBackfillJob,
             JobOperator jobOperator,
             JsonBatchExecutionTracker tracker) {
-        return new DailyJobScheduler(avatarBackfillJob, cronExpression, timezone, jobOperator, tracker, "Downloads missing avatar images for comics with a configured source");
+        DailyJobScheduler scheduler = new DailyJobScheduler(avatarBackfillJob, cronExpression, timezone, jobOperator, tracker,
+                "Downloads missing avatar images for comics with a configured source");
+        scheduler.setResourceClasses(Set.of(JobResourceClass.NETWORK));
+        return scheduler;
     }
 
     /**
@@ -6,9 +6,11 @@
 import org.springframework.batch.core.job.Job;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.partition.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.Step;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
 import org.springframework.batch.infrastructure.item.ItemReader;
 import org.springframework.batch.infrastructure.item.ItemWriter;
@@ -18,9 +20,13 @@
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.stapledon.common.dto.ComicDownloadResult;
 import org.stapledon.engine.batch.ComicBackfillService;
@@ -28,13 +34,19 @@
 import org.stapledon.engine.batch.ComicBackfillService.DateBackfillTask;
 import org.stapledon.engine.batch.ComicBackfillService.StripBackfillTask;
 import org.stapledon.engine.batch.JsonBatchExecutionTracker;
+import org.stapledon.engine.batch.logging.MdcTaskDecorator;
 import org.stapledon.engine.batch.scheduler.DailyJobScheduler;
 import org.stapledon.engine.batch.scheduler.JobParameterDefinition;
 import org.stapledon.engine.batch.scheduler.JobParameterDefinition.Option;
+import org.stapledon.engine.batch.scheduler.JobResourceClass;
 import org.stapledon.engine.management.ManagementFacade;
 
 /**
  * Spring Batch configuration for comic backfill job. Gradually backfills missing comic strips for a configurable target year.
+ *
+ * <p>The job is partitioned by comic source: each source gets its own worker step that scans for that source's missing strips (within its {@code max-per-day} quota) and downloads
+ * them serially, while the sources run concurrently. Requests are paced per source by {@code SourceThrottleService} inside the downloader strategies, so a slow source never
+ * delays another and the job takes as long as its slowest source.
  */
 @Slf4j
 @Configuration(proxyBeanMethods = false)
@@ -48,8 +60,8 @@ public class ComicBackfillJobConfig {
     @Value("${batch.comic-backfill.chunk-size:10}")
     private int chunkSize;
 
-    @Value("${batch.comic-backfill.delay-between-comics-ms:2000}")
-    private long delayBetweenComics;
+    @Value("${batch.comic-backfill.max-concurrent-sources:4}")
+    private int maxConcurrentSources;
 
     @Value("${batch.comic-backfill.cron}")
     private String cronExpression;
@@ -70,8 +82,12 @@ public class ComicBackfillJobConfig {
      */
     @Bean
     public DailyJobScheduler comicBackfillJobScheduler(@Qualifier("comicBackfillJob") Job comicBackfillJob, JobOperator jobOperator, JsonBatchExecutionTracker tracker) {
-        return new DailyJobScheduler(comicBackfillJob, cronExpression, timezone, jobOperator, tracker,
+        DailyJobScheduler scheduler = new DailyJobScheduler(comicBackfillJob, cronExpression, timezone, jobOperator, tracker,
                 "Backfills missing comic strips for gaps in the archive", BACKFILL_PARAMETERS);
+        scheduler.setResourceClasses(Set.of(JobResourceClass.NETWORK));
+        // Today's strips first; backfill plans around each comic's newest strip
+        scheduler.setRunsAfter(Set.of("ComicDownloadJob"));
+        return scheduler;
     }
 
     /**
@@ -87,75 +103,108 @@ public Job comicBackfillJob(JobRepository jobRepository, @Qualifier("comicBackfi
     }
 
     /**
-     * Step for processing comic backfill tasks
+     * Manager step that runs one {@code comicBackfillWorkerStep} partition per source concurrently.
      */
     @Bean
     @Qualifier("comicBackfillStep")
-    public Step comicBackfillStep(JobRepository jobRepository, PlatformTransactionManager transactionManager, @Qualifier("backfillTaskReader") ItemReader<BackfillTask> backfillTaskReader,
+    public Step comicBackfillStep(JobRepository jobRepository, @Qualifier("backfillSourcePartitioner") Partitioner backfillSourcePartitioner,
+            @Qualifier("comicBackfillWorkerStep") Step comicBackfillWorkerStep) {
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("comic-backfill-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setConcurrencyLimit(Math.max(1, maxConcurrentSources));
+
+        return new StepBuilder("comicBackfillStep", jobRepository).partitioner("comicBackfillWorkerStep", backfillSourcePartitioner).step(comicBackfillWorkerStep)
+                .taskExecutor(executor).build();
+    }
+
+    /**
+     * Worker step for processing one source's backfill tasks
+     */
+    @Bean
+    @Qualifier("comicBackfillWorkerStep")
+    public Step comicBackfillWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            @Qualifier("backfillTaskReader") ItemReader<BackfillTask> backfillTaskReader,
             @Qualifier("backfillTaskProcessor") ItemProcessor<BackfillTask, ComicDownloadResult> backfillTaskProcessor,
             @Qualifier("backfillTaskWriter") ItemWriter<ComicDownloadResult> backfillTaskWriter) {
 
-        return new StepBuilder("comicBackfillStep", jobRepository).<BackfillTask, ComicDownloadResult>chunk(chunkSize).transactionManager(transactionManager).reader(backfillTaskReader)
-                .processor(backfillTaskProcessor).writer(backfillTaskWriter).build();
+        return new StepBuilder("comicBackfillWorkerStep", jobRepository).<BackfillTask, ComicDownloadResult>chunk(chunkSize).transactionManager(transactionManager)
+                .reader(backfillTaskReader).processor(backfillTaskProcessor).writer(backfillTaskWriter).build();
+    }
+
+    /**
+     * Partitioner that creates one partition per source with eligible comics. Uses @StepScope so sources are resolved when the job runs. Accepts an optional "source" job parameter
+     * to restrict the run to a single source.
+     */
+    @Bean
+    @StepScope
+    @Qualifier("backfillSourcePartitioner")
+    public Partitioner backfillSourcePartitioner(@Value("#{jobParameters['source']}") String sourceFilter) {
+        return gridSize -> {
+            Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+            for (String source : backfillService.findEligibleSources(sourceFilter)) {
+                ExecutionContext context = new ExecutionContext();
+                context.putString("source", source);
+                partitions.put(source, context);
+            }
+            log.info("Backfill partitioned into {} sources: {} (sourceFilter={})", partitions.size(), partitions.keySet(), sourceFilter);
+            return partitions;
+        };
     }
 
     /**
-     * Reader that provides the list of backfill tasks (comic + date pairs). Uses @StepScope so findMissingStrips() is called when the job runs, not at application startup. Accepts an
-     * optional "source" job parameter to filter by comic source.
+     * Reader that provides the backfill tasks (comic + date pairs) for one source partition. Uses @StepScope so findMissingStrips() is called when the partition runs, not at
+     * application startup.
      */
     @Bean
     @StepScope
     @Qualifier("backfillTaskReader")
-    public ItemReader<BackfillTask> backfillTaskReader(@Value("#{jobParameters['source']}") String sourceFilter) {
-        log.debug("Building backfill task list for job execution (sourceFilter={})", sourceFilter);
-        List<BackfillTask> tasks = backfillService.findMissingStrips(sourceFilter);
+    public ItemReader<BackfillTask> backfillTaskReader(@Value("#{stepExecutionContext['source']}") String source) {
+        log.debug("Building backfill task list for source {}", source);
+        List<BackfillTask> tasks = backfillService.findMissingStrips(source);
         if (tasks.isEmpty()) {
-            log.info("No missing strips found - backfill has nothing to process");
+            log.info("No missing strips found for source {} - nothing to backfill", source);
         } else {
-            log.info("Backfill reader prepared {} tasks (chunk size: {}, delay: {}ms)", tasks.size(), chunkSize, delayBetweenComics);
+            log.info("Backfill reader prepared {} tasks for source {} (chunk size: {})", tasks.size(), source, chunkSize);
         }
         return new ListItemReader<>(tasks);
     }
 
     /**
      * Processor that downloads a comic for a specific date. Uses downloadComicForDate for efficient single-comic downloads - the comic has already been validated and filtered by
-     * ComicBackfillService.
+     * ComicBackfillService. Requests are paced per source by the downloader strategy's throttle, not here. Each outcome is recorded in the backfill queue.
      */
     @Bean
     @Qualifier("backfillTaskProcessor")
     public ItemProcessor<BackfillTask, ComicDownloadResult> backfillTaskProcessor() {
         return task -> {
             try {
-                // Add a small delay between comics to avoid overwhelming sources
-                if (delayBetweenComics > 0) {
-                    Thread.sleep(delayBetweenComics);
-                }
-
+                ComicDownloadResult result;
                 if (task instanceof DateBackfillTask dateTask) {
                     log.info("Backfilling {} for date: {}", dateTask.comic().getName(), dateTask.date());
-                    return managementFacade.downloadComicForDate(dateTask.comic(), dateTask.date()).orElse(null);
+                    result = managementFacade.downloadComicForDate(dateTask.comic(), dateTask.date()).orElse(null);
                 } else if (task instanceof StripBackfillTask stripTask) {
                     log.info("Backfilling {} for strip #{}", stripTask.comic().getName(), stripTask.stripNumber());
-                    return managementFacade.downloadComicByStripNumber(
+                    result = managementFacade.downloadComicByStripNumber(
                             stripTask.comic(), stripTask.stripNumber()).orElse(null);
                 } else {
                     log.error("Unknown backfill task type: {}", task.getClass().getName());
                     return null;
                 }
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("Backfill interrupted for {}: {}", task.comic().getName(), e.getMessage());
-                return null;
+                backfillService.recordResult(task, result);
+                return result;
             } catch (Exception e) {
                 log.error("Error backfilling {}: {}", task.comic().getName(), e.getMessage(), e);
+                backfillService.recordFailure(task, e.getMessage());
                 return null;
             }
         };
     }
 
     /**
-     * Writer that logs the backfill results
+     * Writer that logs the backfill results and persists the chunk's backfill queue updates
      */
     @Bean
     @Qualifier("backfillTaskWriter")
@@ -179,6 +228,7 @@ public ItemWriter<ComicDownloadResult> backfillTaskWriter() {
                 }
             }
 
+            backfillService.flushQueue();
             log.info("Backfill chunk complete: {} successful, {} failed", successCount, failureCount);
         };
     }
@@ -7,9 +7,12 @@
 import org.springframework.batch.core.job.Job;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.listener.SkipListener;
+import org.springframework.batch.core.partition.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.Step;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
 import org.springframework.batch.infrastructure.item.ItemReader;
 import org.springframework.batch.infrastructure.item.ItemWriter;
@@ -20,20 +23,33 @@
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
 import org.stapledon.common.dto.ComicDownloadResult;
+import org.stapledon.common.dto.ComicItem;
 import org.stapledon.engine.batch.JsonBatchExecutionTracker;
+import org.stapledon.engine.batch.logging.MdcTaskDecorator;
 import org.stapledon.engine.batch.scheduler.DailyJobScheduler;
 import org.stapledon.engine.batch.scheduler.JobParameterDefinition;
 import org.stapledon.engine.batch.scheduler.JobParameterDefinition.Option;
+import org.stapledon.engine.batch.scheduler.JobResourceClass;
 import org.stapledon.engine.management.ManagementFacade;
 
 /**
  * Spring Batch configuration for comic retrieval jobs. Provides comprehensive execution tracking, retry logic, and monitoring.
+ *
+ * <p>The job is partitioned by comic source and each partition reads one comic per item, so the step counts, retries and skips of every comic are recorded by Spring Batch.
+ * Sources run concurrently while each source downloads its comics serially, paced by {@code SourceThrottleService} inside the downloader strategies.
  */
 @Slf4j
 @ToString
@@ -44,6 +60,15 @@ public class ComicRetrievalJobConfig {
 
     private final ManagementFacade managementFacade;
 
+    @Value("${batch.comic-download.max-concurrent-sources:4}")
+    private int maxConcurrentSources;
+
+    @Value("${batch.comic-download.retry-limit:2}")
+    private int retryLimit;
+
+    @Value("${batch.comic-download.skip-limit:50}")
+    private int skipLimit;
+
     @Value("${batch.comic-download.cron}")
     private String cronExpression;
 
@@ -63,8 +88,10 @@ public class ComicRetrievalJobConfig {
      */
     @Bean
     public DailyJobScheduler comicDownloadJobScheduler(@Qualifier("comicDownloadJob") Job comicDownloadJob, JobOperator jobOperator, JsonBatchExecutionTracker tracker) {
-        return new DailyJobScheduler(comicDownloadJob, cronExpression, timezone, jobOperator, tracker,
+        DailyJobScheduler scheduler = new DailyJobScheduler(comicDownloadJob, cronExpression, timezone, jobOperator, tracker,
                 "Downloads today's comic strips from all enabled sources", DOWNLOAD_PARAMETERS);
+        scheduler.setResourceClasses(Set.of(JobResourceClass.NETWORK));
+        return scheduler;
     }
 
     /**
@@ -79,53 +106,96 @@ public Job comicDownloadJob(JobRepository jobRepository, @Qualifier("comicRetrie
     }
 
     /**
-     * Step for processing comic retrieval
+     * Manager step that runs one {@code comicRetrievalWorkerStep} partition per source concurrently.
+     */
+    @Bean
+    @Qualifier("comicRetrievalStep")
+    public Step comicRetrievalStep(JobRepository jobRepository, @Qualifier("retrievalSourcePartitioner") Partitioner retrievalSourcePartitioner,
+            @Qualifier("comicRetrievalWorkerStep") Step comicRetrievalWorkerStep) {
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("comic-download-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setConcurrencyLimit(Math.max(1, maxConcurrentSources));
+
+        return new StepBuilder("comicRetrievalStep", jobRepository).partitioner("comicRetrievalWorkerStep", retrievalSourcePartitioner).step(comicRetrievalWorkerStep)
+                .taskExecutor(executor).build();
+    }
+
+    /**
+     * Worker step that downloads one source's comics, one comic per chunk. A comic whose download fails with a network error or timeout is retried up to
+     * {@code retry-limit} times; a comic that still fails, or throws any other way, is skipped and logged by {@link ComicDownloadSkipListener}, so one bad comic never
+     * fails the rest of its source. A strip that is simply not there is not retried and reaches the writer as a failed result.
      */
     @Bean
-    public Step comicRetrievalStep(JobRepository jobRepository, PlatformTransactionManager transactionManager, ItemReader<LocalDate> dateReader,
-            @Qualifier("comicProcessor") ItemProcessor<LocalDate, List<ComicDownloadResult>> comicProcessor, ItemWriter<List<ComicDownloadResult>> comicResultWriter) {
+    @Qualifier("comicRetrievalWorkerStep")
+    public Step comicRetrievalWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            @Qualifier("comicReader") ItemReader<ComicItem> comicReader,
+            @Qualifier("comicProcessor") ItemProcessor<ComicItem, ComicDownloadResult> comicProcessor,
+            @Qualifier("comicResultWriter") ItemWriter<ComicDownloadResult> comicResultWriter) {
+
+        return new StepBuilder("comicRetrievalWorkerStep", jobRepository).<ComicItem, ComicDownloadResult>chunk(1).transactionManager(transactionManager)
+                .reader(comicReader).processor(comicProcessor).writer(comicResultWriter)
+                .faultTolerant().retry(IOException.class, UncheckedIOException.class, TimeoutException.class).retryLimit(retryLimit)
+                .skip(Exception.class).skipLimit(skipLimit).listener(new ComicDownloadSkipListener()).build();
+    }
 
-        return new StepBuilder("comicRetrievalStep", jobRepository).<LocalDate, List<ComicDownloadResult>>chunk(1).transactionManager(transactionManager).reader(dateReader)
-                .processor(comicProcessor).writer(comicResultWriter).build();
+    /**
+     * Partitioner that creates one partition per source with comics still to download. Uses @StepScope so the target date is captured when the job runs; the date is stored in
+     * each partition's context so a restarted partition keeps working on the same day. Accepts an optional "source" job parameter to restrict the run to a single source.
+     */
+    @Bean
+    @StepScope
+    @Qualifier("retrievalSourcePartitioner")
+    public Partitioner retrievalSourcePartitioner(@Value("#{jobParameters['source']}") String sourceFilter) {
+        return gridSize -> {
+            LocalDate targetDate = LocalDate.now();
+            log.info("Comic download target date: {} ({})", targetDate, targetDate.getDayOfWeek());
+
+            Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+            managementFacade.findComicsForDailyUpdate(targetDate, sourceFilter).forEach((source, comics) -> {
+                ExecutionContext context = new ExecutionContext();
+                context.putString("source", source);
+                context.putString("date", targetDate.toString());
+                partitions.put(source, context);
+                log.info("Source {} has {} comics to download for {}", source, comics.size(), targetDate);
+            });
+            log.info("Comic download partitioned into {} sources: {} (sourceFilter={})", partitions.size(), partitions.keySet(), sourceFilter);
+            return partitions;
+        };
     }
 
     /**
-     * Reader that provides the target date for comic downloads. Uses @StepScope so the date is captured at job execution time and the underlying ListItemReader is recreated per run.
-     * A singleton ListItemReader would be exhausted after the first execution and silently no-op forever.
+     * Reader that provides the comics still missing a strip for one source partition. Uses @StepScope so the list is built when the partition runs; comics already cached are
+     * left out, so a rerun or restarted partition resumes after the last comic that was saved.
      */
     @Bean
     @StepScope
-    public ItemReader<LocalDate> dateReader() {
-        LocalDate targetDate = LocalDate.now();
-        log.info("Comic download target date: {} ({})", targetDate, targetDate.getDayOfWeek());
-        return new ListItemReader<>(List.of(targetDate));
+    @Qualifier("comicReader")
+    public ItemReader<ComicItem> comicReader(@Value("#{stepExecutionContext['source']}") String source, @Value("#{stepExecutionContext['date']}") String date) {
+        LocalDate targetDate = LocalDate.parse(date);
+        List<ComicItem> comics = managementFacade.findComicsForDailyUpdate(targetDate, source).getOrDefault(source, List.of());
+        log.info("Comic download reader prepared {} comics for source {} on {}", comics.size(), source, targetDate);
+        return new ListItemReader<>(comics);
     }
 
     /**
-     * Processor that handles downloading and saving comics for a date. Accepts an optional "source" job parameter to filter by comic source.
+     * Processor that downloads and saves one comic for the partition's date. Requests are paced per source by the downloader strategy's throttle, not here. The downloader
+     * reports failures as results rather than exceptions, so a transient failure is rethrown as a {@link TransientDownloadException} for the step's retry and skip policies.
      */
     @Bean
     @StepScope
     @Qualifier("comicProcessor")
-    public ItemProcessor<LocalDate, List<ComicDownloadResult>> comicProcessor(@Value("#{jobParameters['source']}") String sourceFilter) {
-        return date -> {
-            log.info("Processing comics for date: {} ({}, sourceFilter={})", date, date.getDayOfWeek(), sourceFilter);
-            long startTime = System.currentTimeMillis();
-
-            // Management facade handles download + save + metadata update
-            List<ComicDownloadResult> results = managementFacade.updateComicsForDate(date, sourceFilter);
-
-            long duration = System.currentTimeMillis() - startTime;
-
-            if (results.isEmpty()) {
-                log.info("No comics returned for download on {} - all comics were filtered upstream", date);
-            } else {
-                long successCount = results.stream().filter(ComicDownloadResult::isSuccessful).count();
-                long failureCount = results.size() - successCount;
-                log.info("Completed processing {} comics in {}ms: {} successful, {} failed", results.size(), duration, successCount, failureCount);
+    public ItemProcessor<ComicItem, ComicDownloadResult> comicProcessor(@Value("#{stepExecutionContext['date']}") String date) {
+        LocalDate targetDate = LocalDate.parse(date);
+        return comic -> {
+            log.info("Downloading {} for {}", comic.getName(), targetDate);
+            // Management facade handles download + save + metadata update; exceptions propagate to the step's retry and skip policies
+            ComicDownloadResult result = managementFacade.updateComicForDate(comic, targetDate).orElse(null);
+            if (result != null && result.isTransientFailure()) {
+                throw new TransientDownloadException(comic.getName(), result.getErrorMessage());
             }
-
-            return results;
+            return result;
         };
     }
 
@@ -133,17 +203,42 @@ public ItemProcessor<LocalDate, List<ComicDownloadResult>> comicProcessor(@Value
      * Writer that handles the results (logging summary)
      */
     @Bean
-    public ItemWriter<List<ComicDownloadResult>> comicResultWriter() {
+    @Qualifier("comicResultWriter")
+    public ItemWriter<ComicDownloadResult> comicResultWriter() {
         return chunk -> {
-            for (List<ComicDownloadResult> results : chunk.getItems()) {
-                for (ComicDownloadResult result : results) {
-                    if (result.isSuccessful()) {
-                        log.info("Successfully downloaded: {} for {}", result.getRequest().getComicName(), result.getRequest().getDate());
-                    } else {
-                        log.error("Failed to process: {} - {}", result.getRequest().getComicName(), result.getErrorMessage());
-                    }
+            for (ComicDownloadResult result : chunk.getItems()) {
+                if (result.isSuccessful()) {
+                    log.info("Successfully downloaded: {} for {}", result.getRequest().getComicName(), result.getRequest().getDate());
+                } else {
+                    log.error("Failed to process: {} - {}", result.getRequest().getComicName(), result.getErrorMessage());
                 }
             }
         };
     }
+
+    /**
+     * A download that failed for a reason that may clear up on a retry, such as a timeout or a server error.
+     */
+    public static class TransientDownloadException extends IOException {
+
+        public TransientDownloadException(String comicName, String errorMessage) {
+            super("Transient failure downloading " + comicName + ": " + errorMessage);
+        }
+    }
+
+    /**
+     * Logs each comic the retrieval step skips. Spring Batch records skips only at DEBUG, so without this a comic that fails would leave no error in the execution log.
+     */
+    public static class ComicDownloadSkipListener implements SkipListener<ComicItem, ComicDownloadResult> {
+
+        @Override
+        public void onSkipInProcess(ComicItem comic, Throwable t) {
+            log.error("Error processing comic {}, skipped: {}", comic.getName(), t.getMessage(), t);
+        }
+
+        @Override
+        public void onSkipInWrite(ComicDownloadResult result, Throwable t) {
+            log.error("Error recording result for comic {}, skipped: {}", result.getRequest().getComicName(), t.getMessage(), t);
+        }
+    }
 }
@@ -26,18 +26,26 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.dto.ComicItem;
 import org.stapledon.common.dto.ImageMetadata;
 import org.stapledon.common.dto.ImageValidationResult;
+import org.stapledon.common.infrastructure.storage.CacheScanListener;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.IoPriority;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
 import org.stapledon.common.service.AnalysisService;
 import org.stapledon.common.service.ComicConfigurationService;
 import org.stapledon.common.service.ValidationService;
 import org.stapledon.engine.batch.JsonBatchExecutionTracker;
 import org.stapledon.engine.batch.scheduler.DailyJobScheduler;
 import org.stapledon.engine.batch.scheduler.JobParameterDefinition;
+import org.stapledon.engine.batch.scheduler.JobResourceClass;
 import org.stapledon.engine.storage.ImageMetadataRepository;
 
 /**
@@ -56,6 +64,8 @@ public class ImageMetadataBackfillJobConfig {
     private final AnalysisService imageAnalysisService;
     private final ImageMetadataRepository imageMetadataRepository;
     private final ComicConfigurationService comicConfigurationService;
+    private final CacheScanner cacheScanner;
+    private final IoScheduler ioScheduler;
 
     private final Map<String, ComicItem> comicDirectoryMap = new HashMap<>();
 
@@ -98,8 +108,12 @@ private void ensureInitialized() {
     @Bean
     public DailyJobScheduler imageMetadataBackfillJobScheduler(@Qualifier("imageMetadataBackfillJob") Job imageMetadataBackfillJob, JobOperator jobOperator,
             JsonBatchExecutionTracker tracker) {
-        return new DailyJobScheduler(imageMetadataBackfillJob, cronExpression, timezone, jobOperator, tracker,
+        DailyJobScheduler scheduler = new DailyJobScheduler(imageMetadataBackfillJob, cronExpression, timezone, jobOperator, tracker,
                 "Recalculates image dimensions and format metadata", IMAGE_BACKFILL_PARAMETERS);
+        scheduler.setResourceClasses(Set.of(JobResourceClass.DISK_SCAN, JobResourceClass.CPU_DECODE));
+        // Scan the cache once today's strips have landed
+        scheduler.setRunsAfter(Set.of("ComicDownloadJob"));
+        return scheduler;
     }
 
     /**
@@ -122,8 +136,8 @@ public Step imageBackfillStep(JobRepository jobRepository, PlatformTransactionMa
     }
 
     /**
-     * Tasklet that performs the actual image metadata backfill. Uses streaming to avoid loading all file paths into memory. Accepts an optional "batchSize" job parameter to override the
-     * configured batch size.
+     * Tasklet that performs the actual image metadata backfill. Candidates are found with a parallel cache scan and capped at the per-run limit, so at most that many paths
+     * are held in memory. Accepts an optional "batchSize" job parameter to override the configured batch size.
      */
     @Bean
     @StepScope
@@ -143,26 +157,39 @@ public Tasklet imageBackfillTasklet(@Value("#{jobParameters['batchSize']}") Stri
                 log.warn("Cache directory does not exist or is not a directory: {}", cacheRoot.getAbsolutePath());
                 return RepeatStatus.FINISHED;
             }
-            int[] counters = {0, 0, 0}; // processed, successful, failed
-
-            try (Stream<Path> paths = Files.walk(cacheRoot.toPath())) {
-                paths.filter(Files::isRegularFile).filter(this::isImageFile).filter(path -> !"avatar.png".equals(path.getFileName().toString()))
-                        .filter(path -> !imageMetadataRepository.metadataExists(path.toString())).limit(maxToProcess).forEach(path -> {
-                            try {
-                                backfillImageMetadata(path.toFile());
-                                counters[1]++;
-                            } catch (Exception e) {
-                                counters[2]++;
-                                log.error("Failed to backfill metadata for {}: {}", path.toAbsolutePath(), e.getMessage());
+            // Parallel scan finds images without metadata; decoding stays on this thread to bound memory
+            Queue<Path> pending = new ConcurrentLinkedQueue<>();
+            AtomicInteger claimed = new AtomicInteger();
+            cacheScanner.scanCache(cacheRoot.toPath(), new CacheScanner.ScanOptions(this::isImageFile, false),
+                    List.of(new CacheScanListener() {
+                        @Override
+                        public void onFile(CacheScanner.ScannedFile file) {
+                            if (claimed.get() >= maxToProcess || imageMetadataRepository.metadataExists(file.path().toString())) {
+                                return;
                             }
+                            if (claimed.getAndIncrement() < maxToProcess) {
+                                pending.add(file.path());
+                            }
+                        }
+                    }));
+
+            List<Path> toProcess = pending.stream().sorted().toList();
+            int[] counters = {0, 0, 0}; // processed, successful, failed
+            for (Path path : toProcess) {
+                try {
+                    backfillImageMetadata(path.toFile());
+                    counters[1]++;
+                } catch (Exception e) {
+                    counters[2]++;
+                    log.error("Failed to backfill metadata for {}: {}", path.toAbsolutePath(), e.getMessage());
+                }
 
-                            counters[0]++;
+                counters[0]++;
 
-                            // Log progress every batch
-                            if (counters[0] % effectiveBatchSize == 0) {
-                                log.info("Progress: {} images processed ({} successful, {} failed)", counters[0], counters[1], counters[2]);
-                            }
-                        });
+                // Log progress every batch
+                if (counters[0] % effectiveBatchSize == 0) {
+                    log.info("Progress: {} images processed ({} successful, {} failed)", counters[0], counters[1], counters[2]);
+                }
             }
 
             if (counters[0] == 0) {
@@ -181,10 +208,10 @@ public Tasklet imageBackfillTasklet(@Value("#{jobParameters['batchSize']}") Stri
     }
 
     /**
-     * Checks if a path is an image file based on extension.
+     * Checks if a file name is an image file based on extension.
      */
-    private boolean isImageFile(Path path) {
-        String fileName = path.getFileName().toString().toLowerCase();
+    private boolean isImageFile(String name) {
+        String fileName = name.toLowerCase();
         return fileName.endsWith(".png") || fileName.endsWith(".jpg") || fileName.endsWith(".jpeg") || fileName.endsWith(".gif") || fileName.endsWith(".tif") || fileName.endsWith(".tiff")
                 || fileName.endsWith(".bmp") || fileName.endsWith(".webp");
     }
@@ -193,8 +220,8 @@ private boolean isImageFile(Path path) {
      * Backfills metadata for a single image file.
      */
     private void backfillImageMetadata(File imageFile) throws IOException {
-        // Read the image file
-        byte[] imageData = Files.readAllBytes(imageFile.toPath());
+        // Read the image file, giving way to user requests
+        byte[] imageData = ioScheduler.submit(IoPriority.BACKGROUND, () -> Files.readAllBytes(imageFile.toPath()));
 
         // Validate the image
         ImageValidationResult validation = imageValidationService.validate(imageData);
@@ -20,11 +20,13 @@
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 import org.stapledon.engine.batch.JsonBatchExecutionTracker;
 import org.stapledon.engine.batch.logging.BatchJobLogService;
 import org.stapledon.engine.batch.scheduler.DailyJobScheduler;
 import org.stapledon.engine.batch.scheduler.JobParameterDefinition;
+import org.stapledon.engine.batch.scheduler.JobResourceClass;
 import org.stapledon.engine.management.ManagementFacade;
 
 /**
@@ -57,8 +59,10 @@ public class RetrievalRecordPurgeJobConfig {
      */
     @Bean
     public DailyJobScheduler retrievalRecordPurgeJobScheduler(@Qualifier("retrievalRecordPurgeJob") Job retrievalRecordPurgeJob, JobOperator jobOperator, JsonBatchExecutionTracker tracker) {
-        return new DailyJobScheduler(retrievalRecordPurgeJob, cronExpression, timezone, jobOperator, tracker,
+        DailyJobScheduler scheduler = new DailyJobScheduler(retrievalRecordPurgeJob, cronExpression, timezone, jobOperator, tracker,
                 "Purges old retrieval records and batch log files beyond the retention window", PURGE_PARAMETERS);
+        scheduler.setResourceClasses(Set.of(JobResourceClass.DISK_SCAN));
+        return scheduler;
     }
 
     /**
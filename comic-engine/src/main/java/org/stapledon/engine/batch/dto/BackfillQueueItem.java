@@ -0,0 +1,75 @@
+package org.stapledon.engine.batch.dto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * A missing strip discovered by the backfill scan, persisted in the backfill queue until it is downloaded or given up on.
+ *
+ * @param comicId        the comic the strip belongs to
+ * @param date           the missing date, for date-based comics (null for indexed comics)
+ * @param stripNumber    the missing strip number, for indexed comics (null for date-based comics)
+ * @param attempts       failed download attempts so far
+ * @param nextEligibleAt earliest time the next attempt may run, or null if due now
+ * @param permanentMiss  true once the source is assumed never to have published this strip
+ * @param lastError      error message of the last failed attempt
+ */
+public record BackfillQueueItem(
+        int comicId,
+        LocalDate date,
+        Integer stripNumber,
+        int attempts,
+        OffsetDateTime nextEligibleAt,
+        boolean permanentMiss,
+        String lastError
+) {
+
+    /**
+     * Creates a newly discovered, immediately due item for a date-based comic.
+     */
+    public static BackfillQueueItem forDate(int comicId, LocalDate date) {
+        return new BackfillQueueItem(comicId, date, null, 0, null, false, null);
+    }
+
+    /**
+     * Creates a newly discovered, immediately due item for an indexed comic.
+     */
+    public static BackfillQueueItem forStrip(int comicId, int stripNumber) {
+        return new BackfillQueueItem(comicId, null, stripNumber, 0, null, false, null);
+    }
+
+    /**
+     * Queue key for a date-based comic's missing date.
+     */
+    public static String dateKey(int comicId, LocalDate date) {
+        return comicId + ":" + date;
+    }
+
+    /**
+     * Queue key for an indexed comic's missing strip number.
+     */
+    public static String stripKey(int comicId, int stripNumber) {
+        return comicId + "#" + stripNumber;
+    }
+
+    /**
+     * Returns this item's queue key.
+     */
+    public String key() {
+        return date != null ? dateKey(comicId, date) : stripKey(comicId, stripNumber);
+    }
+
+    /**
+     * Returns true if the item is not a permanent miss and its retry time has passed.
+     */
+    public boolean isDue(OffsetDateTime now) {
+        return !permanentMiss && (nextEligibleAt == null || !nextEligibleAt.isAfter(now));
+    }
+
+    /**
+     * Returns a copy recording one more failed attempt.
+     */
+    public BackfillQueueItem withFailure(String error, OffsetDateTime retryAt, boolean givenUp) {
+        return new BackfillQueueItem(comicId, date, stripNumber, attempts + 1, retryAt, givenUp, error);
+    }
+}
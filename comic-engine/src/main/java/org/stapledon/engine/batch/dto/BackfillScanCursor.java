@@ -0,0 +1,20 @@
+package org.stapledon.engine.batch.dto;
+
+/**
+ * How far the backfill scan has walked a comic's history, persisted in the backfill queue so each run resumes where the last one stopped.
+ *
+ * <p>Positions are epoch days for date-based comics and strip numbers for indexed comics. Everything between {@code oldestScanned} and
+ * {@code newestScanned} (inclusive) has been checked and any gaps queued.
+ *
+ * @param newestScanned      most recent position checked
+ * @param oldestScanned      oldest position checked
+ * @param consecutiveMissing missing positions in a row at the old end of the scanned range
+ * @param exhausted          true once the scan hit {@code max-consecutive-failures} going back, so the comic likely did not exist earlier
+ */
+public record BackfillScanCursor(
+        long newestScanned,
+        long oldestScanned,
+        int consecutiveMissing,
+        boolean exhausted
+) {
+}
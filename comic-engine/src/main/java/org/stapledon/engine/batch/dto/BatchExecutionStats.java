@@ -0,0 +1,69 @@
+package org.stapledon.engine.batch.dto;
+
+import java.time.Duration;
+
+/**
+ * Aggregated outcome counts for a set of batch executions, precomputed per job and day by the execution tracker.
+ *
+ * @param total           executions counted
+ * @param completed       executions with status {@code COMPLETED}
+ * @param failed          executions with status {@code FAILED}
+ * @param running         executions still {@code STARTING} or {@code STARTED}
+ * @param durationMsTotal summed duration of executions that have both a start and end time
+ * @param timedCount      executions included in {@code durationMsTotal}
+ * @param itemsProcessed  summed step read counts, excluding partition worker steps (already counted by their manager step)
+ */
+public record BatchExecutionStats(
+        int total,
+        int completed,
+        int failed,
+        int running,
+        long durationMsTotal,
+        int timedCount,
+        int itemsProcessed
+) {
+
+    public static final BatchExecutionStats EMPTY = new BatchExecutionStats(0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Stats for a single execution.
+     */
+    public static BatchExecutionStats of(BatchExecutionSummary summary) {
+        String status = summary.getStatus();
+        boolean timed = summary.getStartTime() != null && summary.getEndTime() != null;
+        int items = summary.getSteps() == null ? 0 : summary.getSteps().stream()
+                // Partition worker steps ("worker:partition") are already aggregated into their manager step
+                .filter(step -> step.stepName() == null || !step.stepName().contains(":"))
+                .mapToInt(BatchStepSummary::readCount)
+                .sum();
+        return new BatchExecutionStats(
+                1,
+                "COMPLETED".equals(status) ? 1 : 0,
+                "FAILED".equals(status) ? 1 : 0,
+                "STARTED".equals(status) || "STARTING".equals(status) ? 1 : 0,
+                timed ? Duration.between(summary.getStartTime(), summary.getEndTime()).toMillis() : 0,
+                timed ? 1 : 0,
+                items);
+    }
+
+    /**
+     * Combines two sets of stats.
+     */
+    public BatchExecutionStats plus(BatchExecutionStats other) {
+        return new BatchExecutionStats(
+                total + other.total,
+                completed + other.completed,
+                failed + other.failed,
+                running + other.running,
+                durationMsTotal + other.durationMsTotal,
+                timedCount + other.timedCount,
+                itemsProcessed + other.itemsProcessed);
+    }
+
+    /**
+     * Average duration of the timed executions, or null if none finished.
+     */
+    public Double averageDurationMs() {
+        return timedCount == 0 ? null : (double) durationMsTotal / timedCount;
+    }
+}
@@ -3,13 +3,19 @@
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -22,6 +28,11 @@
  * Reads per-execution log files produced by the SiftingAppender.
  * Log files are stored at {@code ${comics.cache.location}/batch-logs/{jobName}/{jobName}-{date}-{hash}.log}.
  * The exact filename is recorded in {@code BatchExecutionSummary.logFileName}.
+ *
+ * <p>Besides whole-file reads, logs can be read a page at a time from a byte offset, from a line number or
+ * from the end. Pages are read with positional {@link FileChannel} reads, and line numbers are located through
+ * the {@link LogLineIndex} sidecar written alongside the log, so a page costs roughly its own size however
+ * large the log has grown.
  */
 @Slf4j
 @Service
@@ -30,6 +41,11 @@ public class BatchJobLogService {
     private final CacheProperties cacheProperties;
 
     private static final String BATCH_LOGS_DIR = "batch-logs";
+    private static final int MAX_PAGE_LINES = 1000;
+    private static final int MAX_PAGE_BYTES = 1024 * 1024;
+    private static final int CHUNK_SIZE = 16 * 1024;
+    // Longest stretch scanned without the index to number lines before giving up and leaving them unnumbered
+    private static final long MAX_LINE_SCAN_BYTES = 4L * 1024 * 1024;
     private static final Pattern LOG_DATE_PATTERN = Pattern.compile("^.+-(\\d{8})-[0-9a-f]{8}\\.log$");
 
     /**
@@ -57,6 +73,213 @@ public Optional<String> getExecutionLog(String jobName, String logFileName) {
         }
     }
 
+    /**
+     * Reads up to {@code limit} complete lines starting at a byte offset, e.g. the {@code endOffset} of the previous page.
+     */
+    public Optional<BatchLogPage> getExecutionLogFromOffset(String jobName, String logFileName, long offset, int limit) {
+        return readPage(jobName, logFileName, (channel, index, size) -> Math.clamp(offset, 0, size), limit);
+    }
+
+    /**
+     * Reads up to {@code limit} complete lines starting at a zero-based line number.
+     */
+    public Optional<BatchLogPage> getExecutionLogFromLine(String jobName, String logFileName, int line, int limit) {
+        return readPage(jobName, logFileName, (channel, index, size) -> offsetOfLine(channel, index, size, Math.max(line, 0)), limit);
+    }
+
+    /**
+     * Reads the last {@code limit} complete lines of a log.
+     */
+    public Optional<BatchLogPage> getExecutionLogTail(String jobName, String logFileName, int limit) {
+        return readPage(jobName, logFileName, (channel, index, size) -> tailStart(channel, size, pageLines(limit)), limit);
+    }
+
+    @FunctionalInterface
+    private interface PageStart {
+        long locate(FileChannel channel, long[] index, long size) throws IOException;
+    }
+
+    private Optional<BatchLogPage> readPage(String jobName, String logFileName, PageStart pageStart, int limit) {
+        Path logFile = getJobLogDir(jobName).resolve(logFileName);
+        if (!Files.exists(logFile)) {
+            log.debug("No log file found at {}", logFile);
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] index = LogLineIndex.read(logFile, size);
+            long start = pageStart.locate(channel, index, size);
+
+            List<String> lines = new ArrayList<>();
+            long end = readLines(channel, start, pageLines(limit), lines);
+            Integer firstLine = lineNumberAt(channel, index, start);
+            Integer totalLines = lineNumberAt(channel, index, size);
+            return Optional.of(new BatchLogPage(lines, firstLine, start, end, size, totalLines));
+        } catch (IOException e) {
+            log.error("Failed to read log file {}", logFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private static int pageLines(int limit) {
+        return Math.clamp(limit, 1, MAX_PAGE_LINES);
+    }
+
+    /**
+     * Reads complete lines forward from {@code start} into {@code lines}, stopping at {@code limit} lines, about
+     * {@link #MAX_PAGE_BYTES} bytes or a trailing line that has no terminator yet.
+     *
+     * @return the offset just past the last line read
+     */
+    private static long readLines(FileChannel channel, long start, int limit, List<String> lines) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        long position = start;
+        long end = start;
+        while (lines.size() < limit && position - start < MAX_PAGE_BYTES) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read && lines.size() < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    lines.add(decode(line));
+                    line.reset();
+                    end = position + i + 1;
+                } else {
+                    line.write(b);
+                }
+            }
+            position += read;
+        }
+
+        if (lines.isEmpty() && line.size() >= MAX_PAGE_BYTES) {
+            // A single line longer than a page: return what was read so the reader can move past it
+            lines.add(decode(line));
+            end = start + line.size();
+        }
+        return end;
+    }
+
+    private static String decode(ByteArrayOutputStream line) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    /**
+     * Finds where line {@code line} starts: seeks to the nearest indexed line at or before it, then scans forward.
+     * A line past the end of the log starts after the last complete line.
+     */
+    private static long offsetOfLine(FileChannel channel, long[] index, long size, int line) throws IOException {
+        int entry = Math.min(line / LogLineIndex.LINES_PER_ENTRY, index.length);
+        long position = entry == 0 ? 0 : index[entry - 1];
+        long remaining = line - (long) entry * LogLineIndex.LINES_PER_ENTRY;
+        long lineStart = position;
+
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        while (remaining > 0 && position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read && remaining > 0; i++) {
+                if (buffer.get(i) == '\n') {
+                    remaining--;
+                    lineStart = position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Finds where the last {@code limit} complete lines start by scanning backwards from the end of the log.
+     */
+    private static long tailStart(FileChannel channel, long size, int limit) throws IOException {
+        long end = lastLineEnd(channel, size);
+        long start = end;
+        int found = 0;
+        long scanTo = end - 1;
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        while (scanTo > 0 && found < limit && end - scanTo < MAX_PAGE_BYTES) {
+            int length = (int) Math.min(CHUNK_SIZE, scanTo);
+            long chunkStart = scanTo - length;
+            buffer.clear().limit(length);
+            channel.read(buffer, chunkStart);
+            for (int i = length - 1; i >= 0 && found < limit; i--) {
+                if (buffer.get(i) == '\n') {
+                    found++;
+                    start = chunkStart + i + 1;
+                }
+            }
+            scanTo = chunkStart;
+        }
+        if (found < limit && scanTo <= 0) {
+            return 0;
+        }
+        // A final line longer than a page: start a page's worth before its end
+        return start == end && end > 0 ? Math.max(0, end - MAX_PAGE_BYTES) : start;
+    }
+
+    /**
+     * Returns the offset just past the last line terminator, excluding a trailing line still being written.
+     */
+    private static long lastLineEnd(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        long scanTo = size;
+        while (scanTo > 0) {
+            int length = (int) Math.min(CHUNK_SIZE, scanTo);
+            long chunkStart = scanTo - length;
+            buffer.clear().limit(length);
+            channel.read(buffer, chunkStart);
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return chunkStart + i + 1;
+                }
+            }
+            scanTo = chunkStart;
+        }
+        return 0;
+    }
+
+    /**
+     * Counts the line terminators before {@code offset}, i.e. the zero-based number of the line containing it,
+     * scanning forward from the nearest indexed line. Returns null if that would scan more than
+     * {@link #MAX_LINE_SCAN_BYTES}, e.g. for a large log written before the index existed.
+     */
+    private static Integer lineNumberAt(FileChannel channel, long[] index, long offset) throws IOException {
+        int entry = 0;
+        while (entry < index.length && index[entry] <= offset) {
+            entry++;
+        }
+        long position = entry == 0 ? 0 : index[entry - 1];
+        if (offset - position > MAX_LINE_SCAN_BYTES) {
+            return null;
+        }
+
+        long lines = (long) entry * LogLineIndex.LINES_PER_ENTRY;
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        while (position < offset) {
+            buffer.clear().limit((int) Math.min(CHUNK_SIZE, offset - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            position += read;
+        }
+        return (int) Math.min(lines, Integer.MAX_VALUE);
+    }
+
     /**
      * Lists recent log files for a job, sorted by filename descending.
      */
@@ -111,6 +334,7 @@ private int purgeLogFilesInDirectory(Path jobDir, LocalDate cutoffDate) {
                 Optional<LocalDate> fileDate = extractDateFromFilename(logFile.getFileName().toString());
                 if (fileDate.isPresent() && fileDate.get().isBefore(cutoffDate)) {
                     Files.delete(logFile);
+                    Files.deleteIfExists(LogLineIndex.sidecarFor(logFile));
                     deleted++;
                 }
             }
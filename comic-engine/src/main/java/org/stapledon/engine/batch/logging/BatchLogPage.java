@@ -0,0 +1,33 @@
+package org.stapledon.engine.batch.logging;
+
+import java.util.List;
+
+/**
+ * A page of complete lines read from a batch execution log.
+ *
+ * <p>To follow a running job, request the next page from {@code endOffset}; a trailing line that is still being
+ * written is never included, so it is returned whole on a later poll.
+ *
+ * @param lines       the lines, without line terminators
+ * @param firstLine   zero-based line number of the first line, or null if it would take a long scan to work out
+ * @param startOffset byte offset of the first line
+ * @param endOffset   byte offset just past the last line returned
+ * @param logSize     size of the log in bytes when it was read
+ * @param totalLines  complete lines in the log, or null if it would take a long scan to count them
+ */
+public record BatchLogPage(
+        List<String> lines,
+        Integer firstLine,
+        long startOffset,
+        long endOffset,
+        long logSize,
+        Integer totalLines
+) {
+
+    /**
+     * Whether the log holds bytes after this page.
+     */
+    public boolean hasMore() {
+        return endOffset < logSize;
+    }
+}
@@ -0,0 +1,132 @@
+package org.stapledon.engine.batch.logging;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Sparse line-offset index stored beside a batch log file as {@code <log file>.idx}.
+ *
+ * <p>The sidecar is a sequence of big-endian longs: entry {@code k} is the byte offset at which line
+ * {@code (k + 1) * LINES_PER_ENTRY} (zero-based) starts. Line 0 always starts at offset 0 and is not stored.
+ * The appender extends the index through a {@link Writer} as it writes the log, so readers can seek to any
+ * line after scanning at most {@link #LINES_PER_ENTRY} lines. Readers ignore entries past the end of the log,
+ * so a sidecar that is ahead of unflushed log bytes, or missing trailing entries, is still safe to use.
+ */
+public final class LogLineIndex {
+
+    public static final int LINES_PER_ENTRY = 100;
+
+    private static final String SUFFIX = ".idx";
+
+    private LogLineIndex() {
+    }
+
+    /**
+     * Returns the sidecar path for a log file.
+     */
+    public static Path sidecarFor(Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Reads the stored offsets that lie within the first {@code logSize} bytes of the log.
+     *
+     * @return offsets in line order; entry {@code k} is the start of line {@code (k + 1) * LINES_PER_ENTRY}
+     */
+    static long[] read(Path logFile, long logSize) throws IOException {
+        Path sidecar = sidecarFor(logFile);
+        if (!Files.exists(sidecar)) {
+            return new long[0];
+        }
+        LongBuffer entries = ByteBuffer.wrap(Files.readAllBytes(sidecar)).asLongBuffer();
+        long[] offsets = new long[entries.remaining()];
+        int count = 0;
+        long previous = 0;
+        while (entries.hasRemaining()) {
+            long offset = entries.get();
+            if (offset <= previous || offset > logSize) {
+                break;
+            }
+            offsets[count++] = offset;
+            previous = offset;
+        }
+        return count == offsets.length ? offsets : Arrays.copyOf(offsets, count);
+    }
+
+    /**
+     * Opens an index writer for a log file that is about to be appended to. A non-empty log is scanned once
+     * to rebuild its sidecar; an empty one starts a fresh sidecar.
+     */
+    public static Writer open(Path logFile) throws IOException {
+        Path sidecar = sidecarFor(logFile);
+        long size = Files.exists(logFile) ? Files.size(logFile) : 0;
+        Writer writer = new Writer(sidecar);
+        Files.deleteIfExists(sidecar);
+        if (size == 0) {
+            return writer;
+        }
+
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(logFile));
+                DataOutputStream out = new DataOutputStream(entries)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                writer.count(buffer, 0, read, out);
+            }
+        }
+        if (entries.size() > 0) {
+            Files.write(sidecar, entries.toByteArray());
+        }
+        return writer;
+    }
+
+    /**
+     * Tracks the byte position and line count of a log as it is written and appends index entries.
+     * Not thread-safe; callers serialize writes to the log and to this writer together.
+     */
+    public static final class Writer {
+
+        private final Path sidecar;
+        private long position;
+        private long lines;
+
+        private Writer(Path sidecar) {
+            this.sidecar = sidecar;
+        }
+
+        /**
+         * Records bytes just written to the end of the log.
+         */
+        public void written(byte[] bytes) throws IOException {
+            ByteArrayOutputStream entries = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(entries)) {
+                count(bytes, 0, bytes.length, out);
+            }
+            if (entries.size() > 0) {
+                Files.write(sidecar, entries.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        }
+
+        private void count(byte[] bytes, int from, int length, DataOutputStream entries) throws IOException {
+            for (int i = from; i < from + length; i++) {
+                if (bytes[i] == '\n') {
+                    lines++;
+                    if (lines % LINES_PER_ENTRY == 0) {
+                        entries.writeLong(position + (i - from) + 1);
+                    }
+                }
+            }
+            position += length;
+        }
+    }
+}
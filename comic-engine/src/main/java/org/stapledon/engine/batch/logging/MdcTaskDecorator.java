@@ -0,0 +1,30 @@
+package org.stapledon.engine.batch.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Copies the submitting thread's MDC onto the thread that runs a task, and clears it afterwards.
+ *
+ * <p>Partitioned steps run their workers on executor threads. Without this, worker log lines have no
+ * {@code batchLogPath} and are dropped from the per-execution batch log by the {@code BATCH_SIFT} appender.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                runnable.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+}
@@ -7,9 +7,12 @@
 import org.springframework.batch.core.job.parameters.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobOperator;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Abstract base class for job schedulers. Provides common functionality for all batch job schedulers using the modern JobOperator API.
@@ -27,6 +30,7 @@
  * <li>Use JobOperator for job execution (Spring Batch 6 compliant)</li>
  * <li>Log execution start/completion</li>
  * <li>Handle exceptions gracefully</li>
+ * <li>Wait for their resource classes and the jobs they run after through {@link JobResourceGate}, once it is wired in</li>
  * </ul>
  */
 @Slf4j
@@ -35,6 +39,9 @@ public abstract class AbstractJobScheduler {
 
     protected final Job job;
     protected final JobOperator jobOperator;
+    private Set<JobResourceClass> resourceClasses = Set.of();
+    private Set<String> runsAfter = Set.of();
+    private JobResourceGate resourceGate;
 
     /**
      * Schedule type for categorization and health checks.
@@ -59,6 +66,41 @@ public String getJobName() {
         return job.getName();
     }
 
+    /**
+     * Declares the resource classes this job uses. Jobs sharing a class are limited by {@link JobResourceGate}.
+     */
+    public void setResourceClasses(Set<JobResourceClass> resourceClasses) {
+        this.resourceClasses = resourceClasses.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(resourceClasses));
+    }
+
+    /**
+     * Returns the resource classes this job uses.
+     */
+    public Set<JobResourceClass> getResourceClasses() {
+        return resourceClasses;
+    }
+
+    /**
+     * Declares the jobs this job runs after: it does not start while any of them is running or waiting to run.
+     */
+    public void setRunsAfter(Set<String> runsAfter) {
+        this.runsAfter = Set.copyOf(runsAfter);
+    }
+
+    /**
+     * Returns the names of the jobs this job runs after.
+     */
+    public Set<String> getRunsAfter() {
+        return runsAfter;
+    }
+
+    /**
+     * Sets the gate that admits launches of this job. Without one, launches start immediately.
+     */
+    public void setResourceGate(JobResourceGate resourceGate) {
+        this.resourceGate = resourceGate;
+    }
+
     /**
      * Returns the scheduling type for this scheduler.
      *
@@ -98,9 +140,37 @@ protected Long runJob(String trigger) {
     }
 
     /**
-     * Executes the job with the given trigger source and extra parameters.
+     * Executes the job with the given trigger source and extra parameters. Scheduled and startup launches wait up to
+     * {@link JobResourceGate#getMaxWait()} for their resources and dependencies; manual launches fail straight away with an
+     * {@link IllegalStateException} naming what the job is waiting for.
      */
     protected Long runJob(String trigger, Map<String, String> extraParams) {
+        if (resourceGate == null) {
+            return launch(trigger, extraParams);
+        }
+
+        Duration wait = "MANUAL".equals(trigger) ? Duration.ZERO : resourceGate.getMaxWait();
+        JobResourceGate.Lease lease;
+        try {
+            lease = resourceGate.acquire(getJobName(), resourceClasses, runsAfter, wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while {} was waiting to launch", getJobName());
+            return null;
+        } catch (IllegalStateException e) {
+            if ("MANUAL".equals(trigger)) {
+                throw e;
+            }
+            log.warn("Skipping {} launch (triggered by: {}): {}", getJobName(), trigger, e.getMessage());
+            return null;
+        }
+
+        try (lease) {
+            return launch(trigger, extraParams);
+        }
+    }
+
+    private Long launch(String trigger, Map<String, String> extraParams) {
         log.info("Launching {} (triggered by: {}, params: {})", getJobName(), trigger, extraParams);
 
         try {
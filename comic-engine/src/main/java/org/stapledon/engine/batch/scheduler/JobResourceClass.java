@@ -0,0 +1,33 @@
+package org.stapledon.engine.batch.scheduler;
+
+/**
+ * Shared resource a batch job leans on. {@link JobResourceGate} limits how many jobs of each class run at once, so heavy jobs do not
+ * contend with each other for the same bandwidth.
+ */
+public enum JobResourceClass {
+    /**
+     * Downloads from comic sources
+     */
+    NETWORK("network"),
+    /**
+     * Walks or rewrites the image cache on shared storage
+     */
+    DISK_SCAN("disk-scan"),
+    /**
+     * Decodes images to analyze them
+     */
+    CPU_DECODE("cpu-decode");
+
+    private final String propertyName;
+
+    JobResourceClass(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * Returns the name used for this class in {@code batch.resources.<name>.max-concurrent}.
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
@@ -0,0 +1,160 @@
+package org.stapledon.engine.batch.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for batch job launches. A job may start only when:
+ * <ul>
+ * <li>every resource class it uses is below its {@code batch.resources.<class>.max-concurrent} limit (default 1)</li>
+ * <li>none of the jobs it runs after is running or waiting to run</li>
+ * </ul>
+ * All of a job's resources are taken together under one lock, so jobs with overlapping classes cannot deadlock. Launches through
+ * {@code JobOperator} are synchronous, so a {@link Lease} covers the whole job run.
+ */
+@Slf4j
+@Component
+public class JobResourceGate {
+
+    private final Map<JobResourceClass, Integer> limits = new EnumMap<>(JobResourceClass.class);
+    private final Map<JobResourceClass, Integer> inUse = new EnumMap<>(JobResourceClass.class);
+    private final Set<String> running = new HashSet<>();
+    private final Set<String> waiting = new HashSet<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Duration maxWait;
+
+    public JobResourceGate(@Value("${batch.resources.network.max-concurrent:1}") int networkLimit,
+            @Value("${batch.resources.disk-scan.max-concurrent:1}") int diskScanLimit,
+            @Value("${batch.resources.cpu-decode.max-concurrent:1}") int cpuDecodeLimit,
+            @Value("${batch.resources.max-wait-minutes:180}") long maxWaitMinutes) {
+        limits.put(JobResourceClass.NETWORK, Math.max(1, networkLimit));
+        limits.put(JobResourceClass.DISK_SCAN, Math.max(1, diskScanLimit));
+        limits.put(JobResourceClass.CPU_DECODE, Math.max(1, cpuDecodeLimit));
+        this.maxWait = Duration.ofMinutes(Math.max(0, maxWaitMinutes));
+    }
+
+    /**
+     * Returns how long scheduled launches wait for their resources and dependencies before giving up.
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Waits until the job may start and takes its resources.
+     *
+     * @param jobName      the job being launched
+     * @param resources    resource classes the job uses
+     * @param runsAfter    names of jobs that must not be running or waiting when this job starts
+     * @param wait         how long to wait; {@link Duration#ZERO} to fail immediately if the job cannot start
+     * @return a lease to close when the job has finished
+     * @throws IllegalStateException if the job could not start within {@code wait}, naming what blocked it
+     * @throws InterruptedException  if interrupted while waiting
+     */
+    public Lease acquire(String jobName, Set<JobResourceClass> resources, Set<String> runsAfter, Duration wait) throws InterruptedException {
+        long remainingNanos = wait.toNanos();
+        lock.lock();
+        try {
+            waiting.add(jobName);
+            List<String> blockers = blockers(jobName, resources, runsAfter);
+            if (!blockers.isEmpty() && remainingNanos > 0) {
+                log.info("{} waiting for {}", jobName, blockers);
+            }
+            while (!blockers.isEmpty()) {
+                if (remainingNanos <= 0) {
+                    waiting.remove(jobName);
+                    released.signalAll();
+                    throw new IllegalStateException(jobName + " is waiting for " + String.join(", ", blockers));
+                }
+                remainingNanos = released.awaitNanos(remainingNanos);
+                blockers = blockers(jobName, resources, runsAfter);
+            }
+            waiting.remove(jobName);
+            running.add(jobName);
+            resources.forEach(resource -> inUse.merge(resource, 1, Integer::sum));
+            return new Lease(jobName, Set.copyOf(resources));
+        } catch (InterruptedException e) {
+            waiting.remove(jobName);
+            released.signalAll();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the names of the jobs currently holding a lease.
+     */
+    public Set<String> getRunningJobs() {
+        lock.lock();
+        try {
+            return Set.copyOf(running);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<String> blockers(String jobName, Set<JobResourceClass> resources, Set<String> runsAfter) {
+        List<String> blockers = new ArrayList<>();
+        if (running.contains(jobName)) {
+            blockers.add("its previous run");
+        }
+        for (String dependency : runsAfter) {
+            if (running.contains(dependency) || waiting.contains(dependency)) {
+                blockers.add(dependency);
+            }
+        }
+        for (JobResourceClass resource : resources) {
+            if (inUse.getOrDefault(resource, 0) >= limits.get(resource)) {
+                blockers.add(resource + " capacity");
+            }
+        }
+        return blockers;
+    }
+
+    private void release(Lease lease) {
+        lock.lock();
+        try {
+            running.remove(lease.jobName);
+            lease.resources.forEach(resource -> inUse.merge(resource, -1, Integer::sum));
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resources held by one running job. Closing it lets waiting jobs start.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String jobName;
+        private final Set<JobResourceClass> resources;
+        private boolean closed;
+
+        private Lease(String jobName, Set<JobResourceClass> resources) {
+            this.jobName = jobName;
+            this.resources = resources;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(this);
+            }
+        }
+    }
+}
@@ -9,7 +9,7 @@
 import java.util.List;
 
 /**
- * Wires the SchedulerStateService into all DailyJobScheduler beans after construction.
+ * Wires the SchedulerStateService into all DailyJobScheduler beans, and the JobResourceGate into all job schedulers, after construction.
  */
 @Slf4j
 @Component
@@ -17,18 +17,24 @@
 public class SchedulerStateWiring {
 
     private final SchedulerStateService schedulerStateService;
+    private final JobResourceGate jobResourceGate;
 
     @Autowired(required = false)
-    private List<DailyJobScheduler> schedulers = List.of();
+    private List<AbstractJobScheduler> schedulers = List.of();
 
     /**
-     * Injects the state service into all daily job schedulers.
+     * Injects the state service into all daily job schedulers and the resource gate into every scheduler.
      */
     @PostConstruct
     public void wireStateService() {
-        for (DailyJobScheduler scheduler : schedulers) {
-            scheduler.setSchedulerStateService(schedulerStateService);
-            log.debug("Wired SchedulerStateService into {}", scheduler.getJobName());
+        for (AbstractJobScheduler scheduler : schedulers) {
+            if (scheduler instanceof DailyJobScheduler dailyScheduler) {
+                dailyScheduler.setSchedulerStateService(schedulerStateService);
+                log.debug("Wired SchedulerStateService into {}", scheduler.getJobName());
+            }
+            scheduler.setResourceGate(jobResourceGate);
+            log.debug("Wired JobResourceGate into {} (resources: {}, runs after: {})", scheduler.getJobName(), scheduler.getResourceClasses(),
+                    scheduler.getRunsAfter());
         }
     }
 }
@@ -7,7 +7,14 @@
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Handles startup behavior for batch jobs.
@@ -27,6 +34,11 @@
  * This replaces the previous approach of running makeup jobs in @PostConstruct,
  * which caused race conditions when job configs ran before strategy
  * registrations.
+ *
+ * <p>
+ * Makeup runs are checked in dependency order, so a job that runs after
+ * another (e.g. ImageMetadataBackfillJob after ComicDownloadJob) is made up
+ * after it.
  */
 @Slf4j
 @Component
@@ -54,7 +66,7 @@ public void onApplicationReady(ApplicationReadyEvent event) {
 
         log.info("Found {} daily scheduler(s) to check", dailySchedulers.size());
 
-        dailySchedulers.values().forEach(scheduler -> {
+        orderByDependencies(dailySchedulers.values()).forEach(scheduler -> {
             try {
                 log.debug("Checking missed execution for: {}", scheduler.getJobName());
                 scheduler.runMissedExecutionIfNeeded();
@@ -66,4 +78,36 @@ public void onApplicationReady(ApplicationReadyEvent event) {
 
         log.info("======== STARTUP JOB CHECK COMPLETE ========");
     }
+
+    /**
+     * Orders schedulers so each comes after the jobs it runs after. Dependencies on jobs that are not
+     * registered are ignored; schedulers left in a cycle keep their original order at the end.
+     */
+    static List<DailyJobScheduler> orderByDependencies(Collection<DailyJobScheduler> schedulers) {
+        Set<String> registered = schedulers.stream().map(DailyJobScheduler::getJobName).collect(Collectors.toSet());
+        Set<DailyJobScheduler> remaining = new LinkedHashSet<>(schedulers);
+        Set<String> placed = new HashSet<>();
+        List<DailyJobScheduler> ordered = new ArrayList<>(schedulers.size());
+
+        boolean progress = true;
+        while (!remaining.isEmpty() && progress) {
+            progress = false;
+            for (DailyJobScheduler scheduler : List.copyOf(remaining)) {
+                boolean ready = scheduler.getRunsAfter().stream()
+                        .allMatch(dependency -> placed.contains(dependency) || !registered.contains(dependency));
+                if (ready) {
+                    ordered.add(scheduler);
+                    placed.add(scheduler.getJobName());
+                    remaining.remove(scheduler);
+                    progress = true;
+                }
+            }
+        }
+        if (!remaining.isEmpty()) {
+            log.warn("Job dependency cycle among {}, checking them in registration order",
+                    remaining.stream().map(DailyJobScheduler::getJobName).toList());
+            ordered.addAll(remaining);
+        }
+        return ordered;
+    }
 }
@@ -63,7 +63,7 @@ public ComicDownloadResult downloadComic(ComicDownloadRequest request) {
             String errorMessage = String.format("Error downloading comic %s for date %s: %s",
                     request.getComicName(), request.getDate(), e.getMessage());
             log.error(errorMessage, e);
-            return ComicDownloadResult.failure(request, errorMessage);
+            return ComicDownloadResult.failure(request, errorMessage, DownloadErrors.statusOf(e));
         }
     }
 
@@ -55,7 +55,7 @@ public ComicDownloadResult downloadLatestStrip(ComicItem comic) {
             String errorMessage = String.format("Error downloading latest strip for %s: %s",
                     comic.getName(), e.getMessage());
             log.error(errorMessage, e);
-            return ComicDownloadResult.failure(buildRequest(comic, LocalDate.now()), errorMessage);
+            return ComicDownloadResult.failure(buildRequest(comic, LocalDate.now()), errorMessage, DownloadErrors.statusOf(e));
         }
     }
 
@@ -72,7 +72,7 @@ public ComicDownloadResult downloadStrip(ComicItem comic, int stripNumber) {
             String errorMessage = String.format("Error downloading strip #%d for %s: %s",
                     stripNumber, comic.getName(), e.getMessage());
             log.error(errorMessage, e);
-            return ComicDownloadResult.failure(buildRequest(comic, LocalDate.now()), errorMessage);
+            return ComicDownloadResult.failure(buildRequest(comic, LocalDate.now()), errorMessage, DownloadErrors.statusOf(e));
         }
     }
 
@@ -52,7 +52,7 @@ public ComicDownloadResult downloadComic(ComicDownloadRequest request) {
             String errorMsg = String.format("Comic '%s' has null or empty source", request.getComicName());
             log.error(errorMsg);
             recordFailure(request, ComicRetrievalStatus.UNKNOWN_ERROR, errorMsg, startTime, null);
-            return ComicDownloadResult.failure(request, errorMsg);
+            return ComicDownloadResult.failure(request, errorMsg, ComicRetrievalStatus.UNKNOWN_ERROR);
         }
 
         // Attempt to find the appropriate strategy
@@ -61,7 +61,7 @@ public ComicDownloadResult downloadComic(ComicDownloadRequest request) {
             String errorMsg = String.format("No downloader strategy registered for source: %s", request.getSource());
             log.error(errorMsg);
             recordFailure(request, ComicRetrievalStatus.UNKNOWN_ERROR, errorMsg, startTime, null);
-            return ComicDownloadResult.failure(request, errorMsg);
+            return ComicDownloadResult.failure(request, errorMsg, ComicRetrievalStatus.UNKNOWN_ERROR);
         }
 
         try {
@@ -87,14 +87,14 @@ public ComicDownloadResult downloadComic(ComicDownloadRequest request) {
                         request.getSource());
                 log.error(errorMsg);
                 recordFailure(request, ComicRetrievalStatus.UNKNOWN_ERROR, errorMsg, startTime, null);
-                return ComicDownloadResult.failure(request, errorMsg);
+                return ComicDownloadResult.failure(request, errorMsg, ComicRetrievalStatus.UNKNOWN_ERROR);
             }
 
             // Record the result
             if (result.isSuccessful()) {
                 recordSuccess(request, startTime, result.getImageData().length);
             } else {
-                recordFailure(request, ComicRetrievalStatus.COMIC_UNAVAILABLE,
+                recordFailure(request, result.getStatus(),
                         result.getErrorMessage(), startTime, null);
             }
 
@@ -103,9 +103,9 @@ public ComicDownloadResult downloadComic(ComicDownloadRequest request) {
             String errorMessage = String.format("Error downloading comic %s for date %s: %s",
                     request.getComicName(), request.getDate(), e.getMessage());
             log.error(errorMessage, e);
-            ComicRetrievalStatus status = determineErrorStatus(e);
+            ComicRetrievalStatus status = DownloadErrors.statusOf(e);
             recordFailure(request, status, errorMessage, startTime, null);
-            return ComicDownloadResult.failure(request, errorMessage);
+            return ComicDownloadResult.failure(request, errorMessage, status);
         }
     }
 
@@ -205,7 +205,7 @@ public ComicDownloadResult downloadLatestStrip(ComicItem comic) {
             log.error(errorMsg);
             ComicDownloadRequest request = buildRequestFromComic(comic);
             recordFailure(request, ComicRetrievalStatus.UNKNOWN_ERROR, errorMsg, startTime, null);
-            return ComicDownloadResult.failure(request, errorMsg);
+            return ComicDownloadResult.failure(request, errorMsg, ComicRetrievalStatus.UNKNOWN_ERROR);
         }
 
         try {
@@ -215,7 +215,7 @@ public ComicDownloadResult downloadLatestStrip(ComicItem comic) {
             if (result.isSuccessful()) {
                 recordSuccess(request, startTime, result.getImageData().length);
             } else {
-                recordFailure(request, ComicRetrievalStatus.COMIC_UNAVAILABLE,
+                recordFailure(request, result.getStatus(),
                         result.getErrorMessage(), startTime, null);
             }
 
@@ -225,9 +225,9 @@ public ComicDownloadResult downloadLatestStrip(ComicItem comic) {
                     comic.getName(), e.getMessage());
             log.error(errorMessage, e);
             ComicDownloadRequest request = buildRequestFromComic(comic);
-            ComicRetrievalStatus status = determineErrorStatus(e);
+            ComicRetrievalStatus status = DownloadErrors.statusOf(e);
             recordFailure(request, status, errorMessage, startTime, null);
-            return ComicDownloadResult.failure(request, errorMessage);
+            return ComicDownloadResult.failure(request, errorMessage, status);
         }
     }
 
@@ -244,7 +244,7 @@ public ComicDownloadResult downloadStrip(ComicItem comic, int stripNumber) {
             log.error(errorMsg);
             ComicDownloadRequest request = buildRequestFromComic(comic);
             recordFailure(request, ComicRetrievalStatus.UNKNOWN_ERROR, errorMsg, startTime, null);
-            return ComicDownloadResult.failure(request, errorMsg);
+            return ComicDownloadResult.failure(request, errorMsg, ComicRetrievalStatus.UNKNOWN_ERROR);
         }
 
         try {
@@ -254,7 +254,7 @@ public ComicDownloadResult downloadStrip(ComicItem comic, int stripNumber) {
             if (result.isSuccessful()) {
                 recordSuccess(request, startTime, result.getImageData().length);
             } else {
-                recordFailure(request, ComicRetrievalStatus.COMIC_UNAVAILABLE,
+                recordFailure(request, result.getStatus(),
                         result.getErrorMessage(), startTime, null);
             }
 
@@ -264,9 +264,9 @@ public ComicDownloadResult downloadStrip(ComicItem comic, int stripNumber) {
                     stripNumber, comic.getName(), e.getMessage());
             log.error(errorMessage, e);
             ComicDownloadRequest request = buildRequestFromComic(comic);
-            ComicRetrievalStatus status = determineErrorStatus(e);
+            ComicRetrievalStatus status = DownloadErrors.statusOf(e);
             recordFailure(request, status, errorMessage, startTime, null);
-            return ComicDownloadResult.failure(request, errorMessage);
+            return ComicDownloadResult.failure(request, errorMessage, status);
         }
     }
 
@@ -305,20 +305,6 @@ public void registerDownloaderStrategy(String source, ComicDownloaderStrategy st
         downloaderStrategies.put(source, strategy);
     }
 
-    private ComicRetrievalStatus determineErrorStatus(Exception e) {
-        if (e instanceof java.net.ConnectException
-                || e instanceof java.net.SocketTimeoutException
-                || e instanceof java.io.IOException) {
-            return ComicRetrievalStatus.NETWORK_ERROR;
-        } else if (e instanceof org.jsoup.HttpStatusException) {
-            return ComicRetrievalStatus.PARSING_ERROR;
-        } else if (e instanceof java.nio.file.AccessDeniedException) {
-            return ComicRetrievalStatus.STORAGE_ERROR;
-        } else {
-            return ComicRetrievalStatus.UNKNOWN_ERROR;
-        }
-    }
-
     private void recordSuccess(ComicDownloadRequest request, Instant startTime, long imageSize) {
         long durationMs = Duration.between(startTime, Instant.now()).toMillis();
 
@@ -0,0 +1,37 @@
+package org.stapledon.engine.downloader;
+
+import org.jsoup.HttpStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.util.concurrent.TimeoutException;
+
+import org.stapledon.common.dto.ComicRetrievalStatus;
+
+/**
+ * Classifies download exceptions into a {@link ComicRetrievalStatus}, shared by the strategies and the facade.
+ */
+final class DownloadErrors {
+
+    private DownloadErrors() {
+    }
+
+    /**
+     * Connection failures, timeouts and server-side HTTP errors (5xx and 429) are {@link ComicRetrievalStatus#NETWORK_ERROR}
+     * and worth retrying; any other HTTP status means the page is not there or not what was expected.
+     */
+    static ComicRetrievalStatus statusOf(Throwable e) {
+        if (e instanceof HttpStatusException http) {
+            int code = http.getStatusCode();
+            return code >= 500 || code == 429 ? ComicRetrievalStatus.NETWORK_ERROR : ComicRetrievalStatus.PARSING_ERROR;
+        }
+        if (e instanceof AccessDeniedException) {
+            return ComicRetrievalStatus.STORAGE_ERROR;
+        }
+        if (e instanceof IOException || e instanceof UncheckedIOException || e instanceof TimeoutException) {
+            return ComicRetrievalStatus.NETWORK_ERROR;
+        }
+        return ComicRetrievalStatus.UNKNOWN_ERROR;
+    }
+}
@@ -0,0 +1,307 @@
+package org.stapledon.engine.management;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.stapledon.common.dto.ComicItem;
+import org.stapledon.common.dto.ComicPage;
+
+/**
+ * Immutable, versioned snapshot of the comic list with lookup structures for id, name and text
+ * search.
+ *
+ * <p>Comics are copied when the snapshot is built and held in {@link ComicItem} order in an
+ * unmodifiable list, so readers share it without locking or copying.
+ *
+ * <p>Each comic's name, author and description are lower-cased once at build time, and every
+ * substring of up to {@link #GRAM_LENGTH} characters maps to the sorted positions of the comics
+ * containing it. A query that short is answered by a single map lookup; a longer one checks only
+ * the comics that contain its rarest gram.
+ *
+ * <p>Pages resume from a comic id through an id-to-position map. For the enabled and disabled
+ * filters, a running count of enabled comics turns that position into an offset in the filtered
+ * list, so a page costs the same however deep it is.
+ *
+ * <p>A catalog is never modified after it is built. {@link ComicManagementFacade} publishes a new
+ * one on every change to its comic list; the search index is carried over from the previous
+ * catalog when no name, author or description changed.
+ */
+final class ComicCatalog {
+
+    /** Longest substring indexed for search. */
+    static final int GRAM_LENGTH = 3;
+
+    private static final int[] NONE = new int[0];
+
+    private final long version;
+    private final List<ComicItem> comics;
+    private final Map<Integer, Integer> positions;
+    private final Map<String, ComicItem> byName;
+    private final String[][] searchKeys;
+    private final Map<String, int[]> grams;
+
+    /** Positions of enabled and disabled comics, ascending. */
+    private final int[] enabled;
+    private final int[] disabled;
+
+    /** {@code enabledBefore[i]} is the number of enabled comics at positions below {@code i}. */
+    private final int[] enabledBefore;
+
+    private ComicCatalog(long version, List<ComicItem> comics, String[][] searchKeys, Map<String, int[]> grams) {
+        this.version = version;
+        this.comics = comics;
+        this.searchKeys = searchKeys;
+        this.grams = grams;
+
+        int size = comics.size();
+        this.positions = new HashMap<>(size * 4 / 3 + 1);
+        this.byName = new HashMap<>(size * 4 / 3 + 1);
+        this.enabledBefore = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            ComicItem comic = comics.get(i);
+            positions.putIfAbsent(comic.getId(), i);
+            if (comic.getName() != null) {
+                byName.putIfAbsent(lowerCase(comic.getName()), comic);
+            }
+            enabledBefore[i + 1] = enabledBefore[i] + (comic.isEnabled() ? 1 : 0);
+        }
+        this.enabled = new int[enabledBefore[size]];
+        this.disabled = new int[size - enabled.length];
+        for (int i = 0, e = 0, d = 0; i < size; i++) {
+            if (comics.get(i).isEnabled()) {
+                enabled[e++] = i;
+            } else {
+                disabled[d++] = i;
+            }
+        }
+    }
+
+    /**
+     * Builds a catalog from copies of the given comics.
+     *
+     * @param version  version of the new catalog
+     * @param previous catalog this one replaces, whose search index is reused if still valid; may be null
+     */
+    static ComicCatalog build(long version, Collection<ComicItem> items, ComicCatalog previous) {
+        List<ComicItem> sorted = new ArrayList<>(items.size());
+        for (ComicItem item : items) {
+            sorted.add(copyOf(item));
+        }
+        Collections.sort(sorted);
+        List<ComicItem> comics = Collections.unmodifiableList(sorted);
+
+        // Most changes only move dates or flags, which leave the search index as it was
+        if (previous != null && previous.hasSameText(comics)) {
+            return new ComicCatalog(version, comics, previous.searchKeys, previous.grams);
+        }
+
+        String[][] searchKeys = new String[comics.size()][];
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < comics.size(); i++) {
+            ComicItem comic = comics.get(i);
+            searchKeys[i] = new String[] {
+                    lowerCase(comic.getName()), lowerCase(comic.getAuthor()), lowerCase(comic.getDescription())};
+            for (String key : searchKeys[i]) {
+                addGrams(key, i, positions);
+            }
+        }
+
+        Map<String, int[]> grams = new HashMap<>(positions.size() * 4 / 3 + 1);
+        positions.forEach((gram, list) -> grams.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new ComicCatalog(version, comics, searchKeys, grams);
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * All comics, sorted. The list and its comics must not be modified.
+     */
+    List<ComicItem> comics() {
+        return comics;
+    }
+
+    /**
+     * Finds a comic by id.
+     */
+    Optional<ComicItem> get(int id) {
+        Integer position = positions.get(id);
+        return position != null ? Optional.of(comics.get(position)) : Optional.empty();
+    }
+
+    /**
+     * Finds a comic by name, ignoring case.
+     */
+    Optional<ComicItem> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(byName.get(lowerCase(name)));
+    }
+
+    /**
+     * Finds comics whose name, author or description contains the query, ignoring case.
+     *
+     * @return matching comics in catalog order
+     */
+    List<ComicItem> search(String query) {
+        int[] matches = searchPositions(query);
+        List<ComicItem> result = new ArrayList<>(matches.length);
+        for (int position : matches) {
+            result.add(comics.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the page of comics following {@code afterId} that match the filters.
+     *
+     * @param search  text the name, author or description must contain, or null for no text filter
+     * @param enabled required enabled state, or null for either
+     * @param afterId id of the last comic on the previous page, or null for the first page;
+     *                an id not in the catalog also starts from the first page
+     * @param limit   maximum number of comics on the page
+     */
+    ComicPage page(String search, Boolean enabled, Integer afterId, int limit) {
+        Integer afterPosition = afterId != null ? positions.get(afterId) : null;
+        int next = afterPosition != null ? afterPosition + 1 : 0;
+
+        int[] view;
+        int start;
+        if (search != null) {
+            view = filterEnabled(searchPositions(search), enabled);
+            start = afterPosition != null ? lowerBound(view, next) : 0;
+        } else if (enabled == null) {
+            view = null;
+            start = next;
+        } else if (enabled) {
+            view = this.enabled;
+            start = enabledBefore[next];
+        } else {
+            view = this.disabled;
+            start = next - enabledBefore[next];
+        }
+
+        int total = view != null ? view.length : comics.size();
+        int end = (int) Math.min(total, (long) start + Math.max(limit, 0));
+        List<ComicItem> page = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            page.add(comics.get(view != null ? view[i] : i));
+        }
+        return new ComicPage(page, total, start > 0, end < total);
+    }
+
+    // Catalog positions of the comics matching a search, ascending
+    private int[] searchPositions(String query) {
+        String key = lowerCase(query);
+        if (key == null) {
+            return NONE;
+        }
+
+        int[] candidates = key.isEmpty() ? null : candidates(key);
+        if (!key.isEmpty() && key.length() <= GRAM_LENGTH) {
+            return candidates;
+        }
+        int count = candidates != null ? candidates.length : comics.size();
+        int[] matches = new int[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int position = candidates != null ? candidates[i] : i;
+            if (matches(searchKeys[position], key)) {
+                matches[found++] = position;
+            }
+        }
+        return Arrays.copyOf(matches, found);
+    }
+
+    private int[] filterEnabled(int[] view, Boolean enabled) {
+        if (enabled == null) {
+            return view;
+        }
+        return Arrays.stream(view).filter(position -> comics.get(position).isEnabled() == enabled).toArray();
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    // Positions of the comics containing the rarest gram of the key
+    private int[] candidates(String key) {
+        if (key.length() <= GRAM_LENGTH) {
+            return grams.getOrDefault(key, NONE);
+        }
+        int[] rarest = null;
+        for (int start = 0; start + GRAM_LENGTH <= key.length(); start++) {
+            int[] list = grams.getOrDefault(key.substring(start, start + GRAM_LENGTH), NONE);
+            if (rarest == null || list.length < rarest.length) {
+                rarest = list;
+            }
+            if (rarest.length == 0) {
+                break;
+            }
+        }
+        return rarest;
+    }
+
+    // Whether the comics hold the same ids and searchable text, position for position
+    private boolean hasSameText(List<ComicItem> others) {
+        if (others.size() != comics.size()) {
+            return false;
+        }
+        for (int i = 0; i < others.size(); i++) {
+            ComicItem mine = comics.get(i);
+            ComicItem other = others.get(i);
+            if (mine.getId() != other.getId()
+                    || !Objects.equals(mine.getName(), other.getName())
+                    || !Objects.equals(mine.getAuthor(), other.getAuthor())
+                    || !Objects.equals(mine.getDescription(), other.getDescription())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Later changes to the caller's instance must not reach a published catalog
+    private static ComicItem copyOf(ComicItem item) {
+        ComicItem.ComicItemBuilder builder = item.toBuilder();
+        if (item.getPublicationDays() != null) {
+            builder.publicationDays(List.copyOf(item.getPublicationDays()));
+        }
+        return builder.build();
+    }
+
+    private static boolean matches(String[] keys, String query) {
+        for (String key : keys) {
+            if (key != null && key.contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addGrams(String key, int position, Map<String, List<Integer>> positions) {
+        if (key == null) {
+            return;
+        }
+        for (int start = 0; start < key.length(); start++) {
+            for (int end = start + 1; end <= Math.min(key.length(), start + GRAM_LENGTH); end++) {
+                List<Integer> list = positions.computeIfAbsent(key.substring(start, end), g -> new ArrayList<>());
+                // Comics are indexed in position order, so a repeat can only be the last entry
+                if (list.isEmpty() || list.getLast() != position) {
+                    list.add(position);
+                }
+            }
+        }
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,8 +3,8 @@
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
@@ -13,13 +13,20 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.stapledon.common.dto.ComicConfig;
@@ -29,12 +36,14 @@
 import org.stapledon.common.dto.ComicItem;
 import org.stapledon.common.dto.ComicSaveData;
 import org.stapledon.common.dto.ComicNavigationResult;
+import org.stapledon.common.dto.ComicPage;
 import org.stapledon.common.dto.ComicRetrievalRecord;
 import org.stapledon.common.dto.ComicRetrievalStatus;
 import org.stapledon.common.dto.ImageDto;
 import org.stapledon.common.dto.StripLoaderKey;
 import org.stapledon.common.dto.StripLoaderKey.DateStripKey;
 import org.stapledon.common.dto.StripLoaderKey.BoundaryStripKey;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
 import org.stapledon.common.service.ComicConfigurationService;
 import org.stapledon.common.service.ComicStorageFacade;
 import org.stapledon.common.service.RetrievalStatusService;
@@ -60,8 +69,8 @@ public class ComicManagementFacade implements ManagementFacade {
      * In-memory cache of comics for O(1) lookups.
      * <p>
      * This is the PRIMARY SOURCE during runtime - the config file serves as the
-     * persistence layer. Changes are written through to config but reads are
-     * always served from this cache.
+     * persistence layer. Changes are written through to config; reads are served
+     * from {@link #catalog}, an immutable snapshot republished after every change.
      * </p>
      * <p>
      * IMPORTANT:
@@ -79,6 +88,20 @@ public class ComicManagementFacade implements ManagementFacade {
      */
     private final Map<Integer, ComicItem> comics = new ConcurrentHashMap<>();
 
+    /**
+     * Immutable snapshot of {@link #comics} that serves every read. Replaced, never modified,
+     * after each change to the map.
+     */
+    @ToString.Exclude
+    private volatile ComicCatalog catalog = ComicCatalog.build(0, List.of(), null);
+
+    /**
+     * Serializes load-modify-save cycles of the comic config so concurrent writers cannot
+     * overwrite each other's changes.
+     */
+    @ToString.Exclude
+    private final Object configLock = new Object();
+
     public ComicManagementFacade(ComicStorageFacade storageFacade, ComicConfigurationService configFacade,
             DownloaderFacade downloaderFacade, RetrievalStatusService retrievalStatusService,
             @Qualifier("sourceDownloadExecutor") Executor sourceDownloadExecutor) {
@@ -88,40 +111,57 @@ public ComicManagementFacade(ComicStorageFacade storageFacade, ComicConfiguratio
         this.retrievalStatusService = retrievalStatusService;
         this.sourceDownloadExecutor = sourceDownloadExecutor;
 
-        // Load comics from configuration
-        refreshComicList();
+        // Publish the configured comics at once; dates and avatar flags are synced with storage
+        // in the background once the application is ready
+        loadComicList();
 
         log.info("Comic configuration loaded.");
     }
 
+    /**
+     * Starts syncing the catalog with storage once the application is ready, so startup does not
+     * wait on a date index load and avatar check per comic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("comic-catalog-warmup").start(this::syncComicsWithStorage);
+    }
+
     @Override
-    @Cacheable(value = "comicMetadata", key = "'allComics'")
     public List<ComicItem> getAllComics() {
-        List<ComicItem> result = new ArrayList<>(comics.values());
-        Collections.sort(result);
-        return result;
+        return catalog.comics();
     }
 
     @Override
     public Optional<ComicItem> getComic(int comicId) {
-        return Optional.ofNullable(comics.get(comicId));
+        return catalog.get(comicId);
     }
 
     @Override
     public Optional<ComicItem> getComicByName(String comicName) {
-        if (comicName == null) {
-            return Optional.empty();
-        }
+        return catalog.findByName(comicName);
+    }
+
+    @Override
+    public List<ComicItem> searchComics(String query) {
+        return catalog.search(query);
+    }
+
+    @Override
+    public ComicPage getComicPage(String search, Boolean enabled, Integer afterId, int limit) {
+        return catalog.page(search, enabled, afterId, limit);
+    }
 
-        return comics.values().stream()
-                .filter(comic -> Optional.ofNullable(comic.getName())
-                                        .map(name -> name.equalsIgnoreCase(comicName))
-                                        .orElse(false))
-                .findFirst();
+    /**
+     * Builds a snapshot of the comic map and swaps it in. Serialized so that a snapshot of an
+     * older map state can never replace a newer one.
+     */
+    private synchronized void publishCatalog() {
+        ComicCatalog previous = catalog;
+        catalog = ComicCatalog.build(previous.version() + 1, comics.values(), previous);
     }
 
     @Override
-    @CacheEvict(value = "comicMetadata", key = "'allComics'")
     public Optional<ComicItem> createComic(ComicItem comicItem) {
         // Don't create if already exists
         if (comics.containsKey(comicItem.getId())) {
@@ -129,17 +169,16 @@ public Optional<ComicItem> createComic(ComicItem comicItem) {
         }
 
         comics.put(comicItem.getId(), comicItem);
+        publishCatalog();
 
         // Save to configuration
-        ComicConfig config = configFacade.loadComicConfig();
-        config.getItems().put(comicItem.getId(), comicItem);
-        configFacade.saveComicConfig(config);
+        ComicItem created = comicItem;
+        editConfig(config -> config.getItems().put(created.getId(), created));
 
         return Optional.of(comicItem);
     }
 
     @Override
-    @CacheEvict(value = "comicMetadata", key = "'comic:' + #comicId")
     public Optional<ComicItem> updateComic(int comicId, ComicItem comicItem) {
         // Ensure ID in comics matches the request ID
         if (comicItem.getId() != comicId) {
@@ -147,11 +186,11 @@ public Optional<ComicItem> updateComic(int comicId, ComicItem comicItem) {
         }
 
         comics.put(comicId, comicItem);
+        publishCatalog();
 
         // Save to configuration
-        ComicConfig config = configFacade.loadComicConfig();
-        config.getItems().put(comicId, comicItem);
-        configFacade.saveComicConfig(config);
+        ComicItem saved = comicItem;
+        editConfig(config -> config.getItems().put(comicId, saved));
 
         return Optional.of(comicItem);
     }
@@ -210,17 +249,16 @@ public boolean updateComic(String comicName) {
     }
 
     @Override
-    @CacheEvict(value = "comicMetadata", allEntries = true)
     public boolean deleteComic(int comicId) {
         ComicItem removed = comics.remove(comicId);
 
         if (removed != null) {
+            publishCatalog();
+
             // Also remove from storage and configuration
             storageFacade.deleteComic(ComicIdentifier.from(removed));
 
-            ComicConfig config = configFacade.loadComicConfig();
-            config.getItems().remove(comicId);
-            configFacade.saveComicConfig(config);
+            editConfig(config -> config.getItems().remove(comicId));
 
             return true;
         }
@@ -435,8 +473,6 @@ public List<ComicDownloadResult> updateComicsForDate(LocalDate date) {
 
     @Override
     public List<ComicDownloadResult> updateComicsForDate(LocalDate date, String sourceFilter) {
-        boolean hasSourceFilter = sourceFilter != null && !"ALL".equalsIgnoreCase(sourceFilter);
-
         try {
             // Log if attempting to download future dates
             if (date.isAfter(LocalDate.now())) {
@@ -446,24 +482,7 @@ public List<ComicDownloadResult> updateComicsForDate(LocalDate date, String sour
                 log.info("Downloading comics for date: {} (today: {}, sourceFilter: {})", date, LocalDate.now(), sourceFilter);
             }
 
-            // Get the current comic configuration
-            ComicConfig config = configFacade.loadComicConfig();
-
-            if (config == null || config.getComics() == null) {
-                log.warn("Comic configuration is null or empty");
-                return new ArrayList<>();
-            }
-
-            DayOfWeek dayOfWeek = date.getDayOfWeek();
-
-            // Apply all eligibility filters and group remaining comics by source. LinkedHashMap to keep grouping deterministic for tests.
-            Map<String, List<ComicItem>> bySource = new LinkedHashMap<>();
-            for (ComicItem comic : config.getComics()) {
-                if (!isEligibleForDownload(comic, date, dayOfWeek, sourceFilter, hasSourceFilter)) {
-                    continue;
-                }
-                bySource.computeIfAbsent(comic.getSource(), s -> new ArrayList<>()).add(comic);
-            }
+            Map<String, List<ComicItem>> bySource = findComicsForDailyUpdate(date, sourceFilter);
 
             if (bySource.isEmpty()) {
                 log.info("No comics eligible for download on {} (sourceFilter: {})", date, sourceFilter);
@@ -487,6 +506,31 @@ public List<ComicDownloadResult> updateComicsForDate(LocalDate date, String sour
         }
     }
 
+    @Override
+    public Map<String, List<ComicItem>> findComicsForDailyUpdate(LocalDate date, String sourceFilter) {
+        boolean hasSourceFilter = sourceFilter != null && !"ALL".equalsIgnoreCase(sourceFilter);
+
+        // Get the current comic configuration
+        ComicConfig config = configFacade.loadComicConfig();
+
+        if (config == null || config.getComics() == null) {
+            log.warn("Comic configuration is null or empty");
+            return new LinkedHashMap<>();
+        }
+
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+
+        // Apply all eligibility filters and group remaining comics by source. LinkedHashMap to keep grouping deterministic for tests.
+        Map<String, List<ComicItem>> bySource = new LinkedHashMap<>();
+        for (ComicItem comic : config.getComics()) {
+            if (!isEligibleForDownload(comic, date, dayOfWeek, sourceFilter, hasSourceFilter)) {
+                continue;
+            }
+            bySource.computeIfAbsent(comic.getSource(), s -> new ArrayList<>()).add(comic);
+        }
+        return bySource;
+    }
+
     private boolean isEligibleForDownload(ComicItem comic, LocalDate date, DayOfWeek dayOfWeek, String sourceFilter, boolean hasSourceFilter) {
         if (comic.getSource() == null || comic.getSource().isEmpty()) {
             log.warn("Skipping comic '{}' - has null or empty source", comic.getName());
@@ -516,32 +560,9 @@ private List<ComicDownloadResult> downloadAllForSource(String source, List<Comic
         log.info("Source thread starting: {} ({} comics for {})", source, comics.size(), date);
         long start = System.currentTimeMillis();
         try {
-            boolean indexed = downloaderFacade.isIndexedSource(source);
             for (ComicItem comic : comics) {
                 try {
-                    if (indexed) {
-                        downloadLatestIndexedComic(comic).ifPresent(sourceResults::add);
-                        continue;
-                    }
-
-                    ComicDownloadRequest request = ComicDownloadRequest.builder().comicId(comic.getId())
-                            .comicName(comic.getName()).source(comic.getSource())
-                            .sourceIdentifier(comic.getSourceIdentifier()).date(date).build();
-
-                    ComicDownloadResult result = downloaderFacade.downloadComic(request);
-                    sourceResults.add(result);
-
-                    if (result.isSuccessful()) {
-                        boolean saved = storageFacade.saveComicStrip(ComicIdentifier.from(comic), date, result.getImageData());
-                        if (!saved) {
-                            log.error("Failed to save comic {} to storage", comic.getName());
-                            continue;
-                        }
-                        ComicItem updated = comic.toBuilder().newest(date).build();
-                        updateComic(comic.getId(), updated);
-                    } else {
-                        log.error("Failed to download comic {}: {}", comic.getName(), result.getErrorMessage());
-                    }
+                    updateComicForDate(comic, date).ifPresent(sourceResults::add);
                 } catch (Exception e) {
                     log.error("Error processing comic {} on {}: {}", comic.getName(), date, e.getMessage(), e);
                 }
@@ -552,6 +573,32 @@ private List<ComicDownloadResult> downloadAllForSource(String source, List<Comic
         return sourceResults;
     }
 
+    @Override
+    public Optional<ComicDownloadResult> updateComicForDate(ComicItem comic, LocalDate date) {
+        if (downloaderFacade.isIndexedSource(comic.getSource())) {
+            return downloadLatestIndexedComic(comic);
+        }
+
+        ComicDownloadRequest request = ComicDownloadRequest.builder().comicId(comic.getId())
+                .comicName(comic.getName()).source(comic.getSource())
+                .sourceIdentifier(comic.getSourceIdentifier()).date(date).build();
+
+        ComicDownloadResult result = downloaderFacade.downloadComic(request);
+
+        if (result.isSuccessful()) {
+            boolean saved = storageFacade.saveComicStrip(ComicIdentifier.from(comic), date, result.getImageData());
+            if (saved) {
+                ComicItem updated = comic.toBuilder().newest(date).build();
+                updateComic(comic.getId(), updated);
+            } else {
+                log.error("Failed to save comic {} to storage", comic.getName());
+            }
+        } else {
+            log.error("Failed to download comic {}: {}", comic.getName(), result.getErrorMessage());
+        }
+        return Optional.of(result);
+    }
+
     @Override
     public Optional<ComicDownloadResult> downloadComicForDate(ComicItem comic, LocalDate date) {
         // Validate comic has a source
@@ -704,8 +751,29 @@ private void updateStripNumberOnBuilder(ComicItem.ComicItemBuilder builder, Comi
     @Override
     public void refreshComicList() {
         long startTime = System.currentTimeMillis();
+        loadComicList();
+        syncComicsWithStorage();
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Refreshed comic list: loaded {} comics in {}ms", comics.size(), duration);
+    }
+
+    /**
+     * Loads the comic config, applies the edit and saves it, one writer at a time.
+     */
+    private void editConfig(Consumer<ComicConfig> edit) {
+        synchronized (configLock) {
+            ComicConfig config = configFacade.loadComicConfig();
+            edit.accept(config);
+            configFacade.saveComicConfig(config);
+        }
+    }
+
+    /**
+     * Replaces the comic map with the configured comics and publishes it.
+     */
+    private void loadComicList() {
         try {
-            // Load comic configuration
             ComicConfig comicConfig = configFacade.loadComicConfig();
 
             // Clear and reload comics
@@ -713,48 +781,88 @@ public void refreshComicList() {
             if (comicConfig.getItems() != null) {
                 comics.putAll(comicConfig.getItems());
             }
+        } catch (Exception e) {
+            log.error("Error loading comic list: {}", e.getMessage(), e);
+        } finally {
+            publishCatalog();
+        }
+    }
 
-            // Sync oldest/newest dates and avatarAvailable flag from the actual index
-            boolean configDirty = false;
-            for (Map.Entry<Integer, ComicItem> entry : comics.entrySet()) {
-                ComicItem comic = entry.getValue();
-                ComicIdentifier id = ComicIdentifier.from(comic);
-                Optional<LocalDate> actualOldest = storageFacade.getOldestDateWithComic(id);
-                Optional<LocalDate> actualNewest = storageFacade.getNewestDateWithComic(id);
-                boolean avatarExists = storageFacade.getAvatar(id).isPresent();
-
-                boolean datesStale = actualOldest.isPresent() && !actualOldest.get().equals(comic.getOldest())
-                        || actualNewest.isPresent() && !actualNewest.get().equals(comic.getNewest());
-                boolean avatarStale = avatarExists != comic.isAvatarAvailable();
-
-                if (datesStale || avatarStale) {
-                    ComicItem updated = comic.toBuilder()
-                            .oldest(actualOldest.orElse(comic.getOldest()))
-                            .newest(actualNewest.orElse(comic.getNewest()))
-                            .avatarAvailable(avatarExists)
-                            .build();
-                    entry.setValue(updated);
-                    comicConfig.getItems().put(updated.getId(), updated);
-                    configDirty = true;
-                }
+    /**
+     * Syncs oldest/newest dates and the avatarAvailable flag of every comic from the date index
+     * and the cache. Comics are checked in parallel on virtual threads, bounded like a cache scan.
+     * A synced copy replaces only the exact instance it was built from, so a comic changed while it
+     * was being checked keeps its newer state, and only comics actually replaced are persisted.
+     */
+    private void syncComicsWithStorage() {
+        long startTime = System.currentTimeMillis();
+        Map<ComicItem, ComicItem> stale = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(CacheScanner.DEFAULT_CONCURRENCY);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ComicItem comic : List.copyOf(comics.values())) {
+                executor.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        syncWithStorage(comic).ifPresent(updated -> stale.put(comic, updated));
+                    } catch (Exception e) {
+                        log.error("Error syncing comic {} with storage: {}", comic.getName(), e.getMessage(), e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        // ComicItem.equals compares only id and name, so swap by identity rather than with replace(key, old, new)
+        List<ComicItem> synced = new ArrayList<>();
+        stale.forEach((comic, updated) -> {
+            if (comics.computeIfPresent(comic.getId(), (id, current) -> current == comic ? updated : current) == updated) {
+                synced.add(updated);
             }
-            if (configDirty) {
-                configFacade.saveComicConfig(comicConfig);
-                log.info("Synced comic metadata from index for {} comics", comics.size());
+        });
+        if (!synced.isEmpty()) {
+            publishCatalog();
+            try {
+                // A comic updated after the swap is persisted by its own update; skip it here
+                editConfig(comicConfig -> synced.stream()
+                        .filter(updated -> comics.get(updated.getId()) == updated)
+                        .forEach(updated -> comicConfig.getItems().put(updated.getId(), updated)));
+            } catch (Exception e) {
+                log.error("Error saving synced comic metadata: {}", e.getMessage(), e);
             }
+            log.info("Synced comic metadata from index for {} comics", synced.size());
+        }
+        log.info("Synced {} comics with storage in {}ms", comics.size(), System.currentTimeMillis() - startTime);
+    }
 
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("Refreshed comic list: loaded {} comics in {}ms", comics.size(), duration);
-        } catch (Exception e) {
-            log.error("Error refreshing comic list: {}", e.getMessage(), e);
+    /**
+     * Returns the comic with dates and avatar flag taken from storage, if they differ.
+     */
+    private Optional<ComicItem> syncWithStorage(ComicItem comic) {
+        ComicIdentifier id = ComicIdentifier.from(comic);
+        Optional<LocalDate> actualOldest = storageFacade.getOldestDateWithComic(id);
+        Optional<LocalDate> actualNewest = storageFacade.getNewestDateWithComic(id);
+        boolean avatarExists = storageFacade.avatarExists(id);
+
+        boolean datesStale = actualOldest.isPresent() && !actualOldest.get().equals(comic.getOldest())
+                || actualNewest.isPresent() && !actualNewest.get().equals(comic.getNewest());
+        boolean avatarStale = avatarExists != comic.isAvatarAvailable();
+        if (!datesStale && !avatarStale) {
+            return Optional.empty();
         }
+        return Optional.of(comic.toBuilder()
+                .oldest(actualOldest.orElse(comic.getOldest()))
+                .newest(actualNewest.orElse(comic.getNewest()))
+                .avatarAvailable(avatarExists)
+                .build());
     }
 
     @Override
     public boolean purgeOldImages(int daysToKeep) {
         boolean allSucceeded = true;
 
-        for (ComicItem comic : comics.values()) {
+        for (ComicItem comic : catalog.comics()) {
             boolean success = storageFacade.purgeOldImages(ComicIdentifier.from(comic), daysToKeep);
             if (!success) {
                 log.error("Failed to purge old images for comic {}", comic.getName());
@@ -770,52 +878,67 @@ public List<ComicNavigationResult> getStripWindow(int comicId, LocalDate center,
         return getComic(comicId)
                 .map(comic -> {
                     ComicIdentifier identifier = ComicIdentifier.from(comic);
-                    List<LocalDate> dates = new ArrayList<>();
-
-                    // Walk backward from center to collect `before` dates
-                    LocalDate cursor = center;
-                    for (int i = 0; i < before; i++) {
-                        Optional<LocalDate> prev = storageFacade.getPreviousDateWithComic(identifier, cursor);
-                        if (prev.isEmpty()) {
-                            break;
-                        }
-                        dates.addFirst(prev.get());
-                        cursor = prev.get();
-                    }
 
-                    // Add center
-                    dates.add(center);
+                    // One extra date on each side gives the window's edge strips their neighbours
+                    List<LocalDate> slice = storageFacade.getDatesAround(identifier, center, before + 1, after + 1);
+                    NavigableSet<LocalDate> available = new TreeSet<>(slice);
 
-                    // Walk forward from center to collect `after` dates
-                    cursor = center;
-                    for (int i = 0; i < after; i++) {
-                        Optional<LocalDate> next = storageFacade.getNextDateWithComic(identifier, cursor);
-                        if (next.isEmpty()) {
-                            break;
-                        }
-                        dates.add(next.get());
-                        cursor = next.get();
-                    }
+                    List<LocalDate> earlier = new ArrayList<>(available.headSet(center, false));
+                    List<LocalDate> dates = new ArrayList<>(earlier.subList(Math.max(0, earlier.size() - before), earlier.size()));
+                    dates.add(center);
+                    dates.addAll(available.tailSet(center, false).stream().limit(after).toList());
 
-                    // Fetch navigation results for each date
-                    return dates.stream()
-                            .map(date -> getComicStripWithNavigation(comicId, date))
-                            .toList();
+                    return toNavigationResults(identifier, dates, available);
                 })
                 .orElse(List.of());
     }
 
     @Override
-    public Optional<LocalDate> getRandomDate(int comicId) {
+    public List<ComicNavigationResult> getStrips(int comicId, List<LocalDate> dates) {
         return getComic(comicId)
-                .flatMap(comic -> {
-                    List<LocalDate> dates = storageFacade.getAvailableDates(ComicIdentifier.from(comic));
-                    if (dates.isEmpty()) {
-                        return Optional.empty();
+                .map(comic -> {
+                    ComicIdentifier identifier = ComicIdentifier.from(comic);
+
+                    // Each date's neighbours are the available dates on either side of it, so the
+                    // union of the one-date slices answers every previous/next lookup
+                    NavigableSet<LocalDate> available = new TreeSet<>();
+                    for (LocalDate date : new LinkedHashSet<>(dates)) {
+                        available.addAll(storageFacade.getDatesAround(identifier, date, 1, 1));
                     }
-                    int index = java.util.concurrent.ThreadLocalRandom.current().nextInt(dates.size());
-                    return Optional.of(dates.get(index));
-                });
+                    return toNavigationResults(identifier, dates, available);
+                })
+                .orElseGet(() -> dates.stream()
+                        .map(date -> ComicNavigationResult.notFound("NO_COMICS_AVAILABLE", date, null, null))
+                        .toList());
+    }
+
+    /**
+     * Builds navigation results for dates of one comic, taking previous and next dates from
+     * {@code available} and strip details from one batch descriptor lookup.
+     */
+    private List<ComicNavigationResult> toNavigationResults(ComicIdentifier identifier, List<LocalDate> dates,
+                                                            NavigableSet<LocalDate> available) {
+        List<LocalDate> stored = dates.stream().filter(available::contains).distinct().toList();
+        Map<LocalDate, ImageDto> descriptors = stored.isEmpty()
+                ? Map.of()
+                : storageFacade.getComicStripDescriptors(identifier, stored);
+
+        return dates.stream()
+                .map(date -> {
+                    LocalDate prev = available.lower(date);
+                    LocalDate next = available.higher(date);
+                    ImageDto descriptor = descriptors.get(date);
+                    return descriptor != null
+                            ? ComicNavigationResult.found(descriptor, prev, next)
+                            : ComicNavigationResult.notFound("NOT_AVAILABLE", date, prev, next);
+                })
+                .toList();
+    }
+
+    @Override
+    public Optional<LocalDate> getRandomDate(int comicId, LocalDate from, LocalDate to, boolean favorRecent) {
+        return getComic(comicId)
+                .flatMap(comic -> storageFacade.getRandomDate(ComicIdentifier.from(comic), from, to, favorRecent));
     }
 
     @Override
@@ -855,17 +978,16 @@ public int purgeOldRetrievalRecords(int daysToKeep) {
     }
 
     @Override
-    @CacheEvict(value = "comicMetadata", allEntries = true)
     public int downloadMissingAvatars() {
         int downloaded = 0;
         int skipped = 0;
         int failed = 0;
 
-        for (ComicItem comic : comics.values()) {
+        for (ComicItem comic : catalog.comics()) {
             ComicIdentifier identifier = ComicIdentifier.from(comic);
 
             // Skip if avatar already exists on disk
-            if (storageFacade.getAvatar(identifier).isPresent()) {
+            if (storageFacade.avatarExists(identifier)) {
                 skipped++;
                 continue;
             }
@@ -9,6 +9,7 @@
 import org.stapledon.common.dto.ComicDownloadResult;
 import org.stapledon.common.dto.ComicItem;
 import org.stapledon.common.dto.ComicNavigationResult;
+import org.stapledon.common.dto.ComicPage;
 import org.stapledon.common.dto.ComicRetrievalRecord;
 import org.stapledon.common.dto.ComicRetrievalStatus;
 import org.stapledon.common.dto.ImageDto;
@@ -25,7 +26,9 @@
 public interface ManagementFacade {
 
     /**
-     * Gets a list of all available comics.
+     * Gets all available comics, sorted by name.
+     * The list is a shared, unmodifiable snapshot; its comics must be treated as read-only
+     * and changed through {@link #updateComic(int, ComicItem)}.
      */
     List<ComicItem> getAllComics();
 
@@ -39,6 +42,22 @@ public interface ManagementFacade {
      */
     Optional<ComicItem> getComicByName(String comicName);
 
+    /**
+     * Finds comics whose name, author or description contains the query, ignoring case.
+     * Results are in the same order as {@link #getAllComics()}.
+     */
+    List<ComicItem> searchComics(String query);
+
+    /**
+     * Gets one page of comics in {@link #getAllComics()} order, optionally filtered.
+     *
+     * @param search  text the name, author or description must contain (ignoring case), or null
+     * @param enabled required enabled state, or null for either
+     * @param afterId id of the last comic on the previous page, or null for the first page
+     * @param limit   maximum number of comics to return
+     */
+    ComicPage getComicPage(String search, Boolean enabled, Integer afterId, int limit);
+
     /**
      * Creates a new comic with the provided details.
      * Returns the created comic if successful, empty otherwise.
@@ -153,6 +172,28 @@ public interface ManagementFacade {
      */
     List<ComicDownloadResult> updateComicsForDate(LocalDate date, String sourceFilter);
 
+    /**
+     * Finds the comics that still need a strip for the specified date, grouped by source in configuration order.
+     * Applies the same eligibility rules as {@link #updateComicsForDate(LocalDate, String)}, so comics whose strip
+     * is already cached are left out.
+     *
+     * @param date         The date for which to download comics
+     * @param sourceFilter The source to filter by (e.g., "gocomics"), or null/"ALL" for all sources
+     * @return Eligible comics keyed by source; empty if none need downloading
+     */
+    Map<String, List<ComicItem>> findComicsForDailyUpdate(LocalDate date, String sourceFilter);
+
+    /**
+     * Downloads and saves one comic's strip for the daily update, advancing its newest date on success.
+     * Indexed comics download their latest strip instead of a dated one.
+     * Unlike {@link #updateComicsForDate(LocalDate, String)}, unexpected errors are thrown so the caller can retry or skip the comic.
+     *
+     * @param comic The comic item to download
+     * @param date  The date for which to download the comic
+     * @return The download result, or empty if the comic produced no result
+     */
+    Optional<ComicDownloadResult> updateComicForDate(ComicItem comic, LocalDate date);
+
     /**
      * Downloads and saves a specific comic strip for the specified date.
      * This is more efficient for backfill operations where the comic is already
@@ -198,14 +239,23 @@ public interface ManagementFacade {
     /**
      * Gets a window of strips centered on a date.
      * Returns up to `before` older strips + the center strip + up to `after` newer strips,
-     * in chronological order.
+     * in chronological order. The dates come from one slice of the date index and the strip
+     * details from one batch lookup, so results carry no image data.
      */
     List<ComicNavigationResult> getStripWindow(int comicId, LocalDate center, int before, int after);
 
     /**
-     * Gets a random available date for the specified comic.
+     * Gets the strips of one comic for the given dates, in the order given.
+     * Navigation dates come from the date index and strip details from one batch lookup; the
+     * results carry dimensions and transcripts but no image data.
+     */
+    List<ComicNavigationResult> getStrips(int comicId, List<LocalDate> dates);
+
+    /**
+     * Gets a random available date for the specified comic between {@code from} and {@code to}
+     * inclusive (null for an open end), optionally weighted towards recent strips.
      */
-    Optional<LocalDate> getRandomDate(int comicId);
+    Optional<LocalDate> getRandomDate(int comicId, LocalDate from, LocalDate to, boolean favorRecent);
 
     /**
      * Gets the newest date with a comic strip for the specified comic.
@@ -0,0 +1,519 @@
+package org.stapledon.engine.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.dto.ImageMetadata;
+import org.stapledon.common.infrastructure.storage.CacheScanListener;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.CacheScanner.ScanOptions;
+import org.stapledon.common.infrastructure.storage.CacheScanner.ScanSummary;
+import org.stapledon.common.service.StorageEventListener;
+import org.stapledon.engine.storage.ImageMetadataRepository;
+
+/**
+ * In-memory inverted index over strip transcripts.
+ *
+ * <p>Transcripts are split into lower-case words, and each word maps to a sorted postings list of
+ * strip keys ({@code comicId} in the high 32 bits, date in the low 32). A query intersects the
+ * postings of its words, so it never reads image metadata. Keys sort by comic and then date, which
+ * gives results a stable order and lets a page resume from its cursor with a binary search. A page
+ * stops walking once it is full; the total over all pages is counted once per query and cached until
+ * the index next changes.
+ *
+ * <p>The index is built from the image metadata segments on a background thread once the
+ * application is ready; searches made before then see only what has been indexed so far. Saves,
+ * purges and comic deletions keep it current through {@link StorageEventListener} events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscriptSearchIndex implements StorageEventListener {
+
+    /** Words shorter than this are not indexed. */
+    static final int MIN_WORD_LENGTH = 2;
+
+    private static final String[] REMOVED = new String[0];
+
+    private static final int MAX_CACHED_TOTALS = 256;
+
+    private final CacheProperties cacheProperties;
+    private final CacheScanner cacheScanner;
+    private final ImageMetadataRepository imageMetadataRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Postings per word. Guarded by {@link #lock}. */
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexed words per strip key; until a build is installed, {@link #REMOVED} marks a strip whose
+     * transcript was removed or replaced, so the build does not bring back a stale one. The markers
+     * are purged once no build is pending. Guarded by {@link #lock}.
+     */
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    /** Builds started and not yet installed. Guarded by {@link #lock}. */
+    private int buildsInProgress;
+
+    /** Whether a build has been installed. Guarded by {@link #lock}. */
+    private boolean installed;
+
+    /**
+     * Match counts by query, cleared whenever the index changes. Filled under the read lock, so
+     * access is synchronized on the map itself.
+     */
+    private final Map<TotalKey, Integer> totals = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TotalKey, Integer> eldest) {
+            return size() > MAX_CACHED_TOTALS;
+        }
+    };
+
+    /** Comic ids by cache directory name, learned from indexed metadata. */
+    private final Map<String, Integer> comicIdsByDirectory = new ConcurrentHashMap<>();
+
+    /**
+     * Starts building the index from the cache once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("transcript-index").start(this::rebuild);
+    }
+
+    /**
+     * Indexes the transcripts of every strip in the cache. Strips already indexed, or removed,
+     * since startup keep their current state.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, String[]> built = new ConcurrentHashMap<>();
+        lock.writeLock().lock();
+        try {
+            buildsInProgress++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ScanSummary summary = cacheScanner.scanCache(Path.of(cacheProperties.getLocation()), ScanOptions.pngNames(),
+                List.of(new CacheScanListener() {
+                    @Override
+                    public void onYearScanned(String comicDirectory, String year, Path yearDirectory,
+                                              List<CacheScanner.ScannedFile> files) {
+                        if (!files.isEmpty()) {
+                            imageMetadataRepository.forEachMetadata(yearDirectory, metadata -> {
+                                long key = documentKey(metadata);
+                                String[] words = words(metadata.getTranscript());
+                                if (key != -1 && words.length > 0) {
+                                    comicIdsByDirectory.put(comicDirectory, metadata.getComicId());
+                                    built.put(key, words);
+                                }
+                            });
+                        }
+                    }
+                }));
+
+        lock.writeLock().lock();
+        try {
+            installAll(built);
+            installed = true;
+            if (--buildsInProgress == 0) {
+                documents.values().removeIf(words -> words == REMOVED);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Transcript index built: {} strips, {} words from {} comics in {}ms", built.size(),
+                wordCount(), summary.comics(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Finds strips whose transcripts contain every word of the query.
+     *
+     * @param query   words to search for; case and punctuation are ignored
+     * @param comicId restricts results to one comic, or null for all comics
+     * @param after   returns matches after this one, or null to start from the beginning
+     * @param limit   maximum number of matches to return
+     * @return matches ordered by comic id then date, with the total over all pages
+     */
+    public SearchResult search(String query, Integer comicId, Match after, int limit) {
+        Set<String> queryWords = new LinkedHashSet<>(tokenize(query));
+        if (queryWords.isEmpty()) {
+            return new SearchResult(List.of(), 0, false);
+        }
+
+        long from = comicId != null ? firstKey(comicId) : Long.MIN_VALUE;
+        long to = comicId != null ? firstKey(comicId + 1) : Long.MAX_VALUE;
+        long afterKey = after != null ? key(after.comicId(), after.date().toEpochDay()) : Long.MIN_VALUE;
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(queryWords.size());
+            for (String word : queryWords) {
+                Postings list = postings.get(word);
+                if (list == null) {
+                    return new SearchResult(List.of(), 0, false);
+                }
+                lists.add(list);
+            }
+            // Walk the rarest word and probe the others, stopping at the first match past the page
+            lists.sort(Comparator.comparingInt(Postings::size));
+            Postings rarest = lists.getFirst();
+
+            List<Match> page = new ArrayList<>(Math.min(limit, 64));
+            boolean hasMore = false;
+            for (int i = rarest.lowerBound(after != null ? Math.max(from, afterKey + 1) : from); i < rarest.size(); i++) {
+                long key = rarest.get(i);
+                if (key >= to) {
+                    break;
+                }
+                if (!containsAll(lists, key)) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                page.add(new Match(comicId(key), date(key)));
+            }
+
+            // A first page that holds every match already knows the total
+            int total = after == null && !hasMore ? page.size() : total(new TotalKey(queryWords, comicId), lists, from, to);
+            return new SearchResult(page, total, hasMore);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStripSaved(String comicDirectoryName, LocalDate date, long sizeBytes) {
+        // The transcript arrives with onStripMetadataSaved
+    }
+
+    @Override
+    public void onStripMetadataSaved(ImageMetadata metadata) {
+        long key = documentKey(metadata);
+        if (key == -1) {
+            return;
+        }
+        comicDirectory(metadata).ifPresent(directory -> comicIdsByDirectory.put(directory, metadata.getComicId()));
+        String[] words = words(metadata.getTranscript());
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(key);
+            if (words.length > 0) {
+                addDocument(key, words);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStripDeleted(String comicDirectoryName, LocalDate date, long sizeBytes) {
+        Integer comicId = comicIdsByDirectory.get(comicDirectoryName);
+        if (comicId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(key(comicId, date.toEpochDay()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComicDeleted(String comicDirectoryName) {
+        Integer comicId = comicIdsByDirectory.remove(comicDirectoryName);
+        if (comicId == null) {
+            return;
+        }
+        long from = firstKey(comicId);
+        long to = firstKey(comicId + 1);
+        lock.writeLock().lock();
+        try {
+            List<Long> keys = documents.keySet().stream().filter(key -> key >= from && key < to).toList();
+            keys.forEach(this::removeDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits. Apostrophes inside a word are
+     * dropped ("don't" becomes "dont"); any other character separates words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                word.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (word.isEmpty() || (codePoint != '\'' && codePoint != '\u2019')) {
+                addWord(word, tokens);
+            }
+        }
+        addWord(word, tokens);
+        return tokens;
+    }
+
+    private static void addWord(StringBuilder word, List<String> tokens) {
+        if (word.length() >= MIN_WORD_LENGTH) {
+            tokens.add(word.toString());
+        }
+        word.setLength(0);
+    }
+
+    private static String[] words(String transcript) {
+        return new LinkedHashSet<>(tokenize(transcript)).toArray(String[]::new);
+    }
+
+    // Adds startup results for strips with no state yet. Caller holds the write lock.
+    private void installAll(Map<Long, String[]> built) {
+        Map<String, List<Long>> additions = new HashMap<>();
+        for (Map.Entry<Long, String[]> entry : built.entrySet()) {
+            if (documents.putIfAbsent(entry.getKey(), entry.getValue()) != null) {
+                continue;
+            }
+            for (String word : entry.getValue()) {
+                additions.computeIfAbsent(word, w -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        additions.forEach((word, keys) -> postings.computeIfAbsent(word, w -> new Postings()).addAll(keys));
+        clearTotals();
+    }
+
+    // Caller holds the write lock
+    private void addDocument(long key, String[] words) {
+        clearTotals();
+        documents.put(key, words);
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> new Postings()).add(key);
+        }
+    }
+
+    // Caller holds the write lock
+    private void removeDocument(long key) {
+        String[] words = !installed || buildsInProgress > 0 ? documents.put(key, REMOVED) : documents.remove(key);
+        if (words == null || words == REMOVED) {
+            return;
+        }
+        clearTotals();
+        for (String word : words) {
+            Postings list = postings.get(word);
+            if (list != null && list.remove(key) && list.size() == 0) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    private int wordCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of strips matching the query, counted on first use and cached until the index changes.
+     * Caller holds the read lock, so no write can clear the cache while the count is taken.
+     */
+    private int total(TotalKey query, List<Postings> lists, long from, long to) {
+        synchronized (totals) {
+            Integer cached = totals.get(query);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Postings rarest = lists.getFirst();
+        int total = 0;
+        for (int i = rarest.lowerBound(from); i < rarest.size() && rarest.get(i) < to; i++) {
+            if (containsAll(lists, rarest.get(i))) {
+                total++;
+            }
+        }
+        synchronized (totals) {
+            totals.put(query, total);
+        }
+        return total;
+    }
+
+    // Caller holds the write lock
+    private void clearTotals() {
+        synchronized (totals) {
+            totals.clear();
+        }
+    }
+
+    private static boolean containsAll(List<Postings> lists, long key) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Key for the strip described by the metadata, or -1 if its file name is not a date.
+     */
+    private static long documentKey(ImageMetadata metadata) {
+        if (metadata == null || metadata.getFilePath() == null) {
+            return -1;
+        }
+        String fileName = Path.of(metadata.getFilePath()).getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        try {
+            LocalDate date = LocalDate.parse(dot > 0 ? fileName.substring(0, dot) : fileName);
+            return key(metadata.getComicId(), date.toEpochDay());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    // Strip images live at <cache>/<comic directory>/<year>/<date>.png
+    private static Optional<String> comicDirectory(ImageMetadata metadata) {
+        Path yearDirectory = Path.of(metadata.getFilePath()).getParent();
+        Path comicDirectory = yearDirectory != null ? yearDirectory.getParent() : null;
+        return Optional.ofNullable(comicDirectory).map(dir -> dir.getFileName().toString());
+    }
+
+    /**
+     * Packs a strip into a key that sorts by comic and then date. The sign bit of the epoch day
+     * is flipped so dates before 1970 sort first.
+     */
+    private static long key(int comicId, long epochDay) {
+        return (long) comicId << 32 | (((int) epochDay ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static long firstKey(int comicId) {
+        return (long) comicId << 32;
+    }
+
+    private static int comicId(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static LocalDate date(long key) {
+        return LocalDate.ofEpochDay((int) key ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * A strip whose transcript matched a query.
+     */
+    public record Match(int comicId, LocalDate date) {
+    }
+
+    /**
+     * Query words, as a set so word order does not matter, and comic filter of a cached total.
+     */
+    private record TotalKey(Set<String> words, Integer comicId) {
+    }
+
+    /**
+     * One page of matches.
+     *
+     * @param matches    the matches on this page
+     * @param totalCount number of matches across all pages
+     * @param hasMore    whether more matches follow this page
+     */
+    public record SearchResult(List<Match> matches, int totalCount, boolean hasMore) {
+    }
+
+    /**
+     * Sorted set of strip keys backed by a growable array.
+     */
+    private static final class Postings {
+        private long[] keys = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return keys[index];
+        }
+
+        boolean contains(long key) {
+            return Arrays.binarySearch(keys, 0, size, key) >= 0;
+        }
+
+        /** Index of the first key not less than {@code key}. */
+        int lowerBound(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        void add(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            keys[index] = key;
+            size++;
+        }
+
+        /** Merges many keys at once, avoiding an array shift per key. */
+        void addAll(List<Long> added) {
+            long[] merged = Arrays.copyOf(keys, size + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                merged[size + i] = added.get(i);
+            }
+            Arrays.sort(merged);
+            int unique = 0;
+            for (int i = 0; i < merged.length; i++) {
+                if (unique == 0 || merged[i] != merged[unique - 1]) {
+                    merged[unique++] = merged[i];
+                }
+            }
+            keys = merged;
+            size = unique;
+        }
+
+        boolean remove(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
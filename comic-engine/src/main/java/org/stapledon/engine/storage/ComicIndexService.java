@@ -7,25 +7,26 @@
 
 import java.io.IOException;
 import java.io.Reader;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.dto.ComicDateIndex;
+import org.stapledon.common.infrastructure.storage.CacheScanListener;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
 import org.stapledon.common.util.NfsFileOperations;
 
 /**
@@ -39,9 +40,6 @@ public class ComicIndexService {
     public static final String INDEX_FILENAME = "available-dates.json";
     public static final String STRIP_INDEX_FILENAME = "downloaded-strips.json";
 
-    /** Synology NAS metadata directories - excluded from scanning */
-    private static final String SYNOLOGY_METADATA_PREFIX = "@";
-
     /**
      * Pattern to validate comic names - alphanumeric, spaces, hyphens, underscores
      * only
@@ -52,6 +50,7 @@ public class ComicIndexService {
     private final Gson gson;
     private final CacheProperties cacheProperties;
     private final ImageMetadataRepository metadataRepository;
+    private final CacheScanner cacheScanner;
 
     // In-memory cache of the indexes to avoid repeated disk reads.
     private final Map<Integer, ComicDateIndex> indexCache = new ConcurrentHashMap<>();
@@ -65,6 +64,9 @@ public class ComicIndexService {
     // Per-comic locks for thread-safe index updates
     private final Map<Integer, ReadWriteLock> comicLocks = new ConcurrentHashMap<>();
 
+    /** Bumped on every change to the cached indexes, so snapshot writes can skip unchanged state. */
+    private final AtomicLong generation = new AtomicLong();
+
     /**
      * Sanitizes a comic name to prevent path traversal attacks. Removes any
      * characters that could be used for directory traversal.
@@ -195,6 +197,76 @@ public List<LocalDate> getAvailableDates(int comicId, String comicName) {
         return List.copyOf(dates);
     }
 
+    /**
+     * Get the available dates around a center date from a single read of the index, in ascending
+     * order: up to {@code before} dates earlier than center, center itself if available, and up to
+     * {@code after} dates later than center.
+     */
+    public List<LocalDate> getDatesAround(int comicId, String comicName, LocalDate center, int before, int after) {
+        ComicDateIndex index = getOrLoadIndex(comicId, comicName);
+        if (index == null) {
+            return List.of();
+        }
+        List<LocalDate> dates = index.getAvailableDates();
+        if (dates == null || dates.isEmpty()) {
+            return List.of();
+        }
+
+        int pos = Collections.binarySearch(dates, center);
+
+        // Earlier dates end just before center (or its insertion point); later dates start just after
+        int firstAfter = pos >= 0 ? pos + 1 : -(pos + 1);
+        int lastBefore = pos >= 0 ? pos : firstAfter;
+        int from = Math.max(0, lastBefore - Math.max(before, 0));
+        int to = (int) Math.min(dates.size(), (long) firstAfter + Math.max(after, 0));
+        return List.copyOf(dates.subList(from, to));
+    }
+
+    /**
+     * Pick a random available date without copying the index. The candidates are the dates
+     * between {@code from} and {@code to} inclusive (either may be null for an open end), found by
+     * binary search; one is then picked by rank, either uniformly or weighted towards the newest.
+     */
+    public Optional<LocalDate> getRandomDate(int comicId, String comicName, LocalDate from, LocalDate to,
+                                             boolean favorRecent) {
+        ComicDateIndex index = getOrLoadIndex(comicId, comicName);
+        if (index == null) {
+            return Optional.empty();
+        }
+        // The list is replaced, never modified, on update, so it can be read without the lock
+        List<LocalDate> dates = index.getAvailableDates();
+        if (dates == null || dates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int first = from == null ? 0 : insertionPoint(dates, from, false);
+        int end = to == null ? dates.size() : insertionPoint(dates, to, true);
+        if (first >= end) {
+            return Optional.empty();
+        }
+        int rank = randomRank(end - first, ThreadLocalRandom.current().nextDouble(), favorRecent);
+        return Optional.of(dates.get(first + rank));
+    }
+
+    /**
+     * Maps a uniform sample in [0, 1) to a rank below {@code count}. Recency weighting gives rank
+     * {@code i} a weight of {@code 2i + 1}, so the newest strip is picked about twice as often as
+     * the middle one and the oldest almost never.
+     */
+    static int randomRank(int count, double sample, boolean favorRecent) {
+        double position = favorRecent ? Math.sqrt(sample) : sample;
+        return Math.min(count - 1, (int) (position * count));
+    }
+
+    // Index of the first date after (or, unless inclusive of it, at) the given date
+    private static int insertionPoint(List<LocalDate> dates, LocalDate date, boolean afterMatch) {
+        int pos = Collections.binarySearch(dates, date);
+        if (pos < 0) {
+            return -(pos + 1);
+        }
+        return afterMatch ? pos + 1 : pos;
+    }
+
     /**
      * Mark a date as available and update the index. Thread-safe: uses write lock
      * to prevent concurrent modification.
@@ -242,6 +314,7 @@ public void addDateToIndex(int comicId, String comicName, LocalDate date) {
 
                 // Only update cache if disk write succeeded
                 indexCache.put(comicId, index);
+                generation.incrementAndGet();
 
                 // Clear verified empty marker since we now have data
                 verifiedEmptyComics.remove(comicId);
@@ -271,6 +344,7 @@ public void removeDateFromIndex(int comicId, String comicName, LocalDate date) {
             if (dates.remove(date)) {
                 index.setAvailableDates(dates);
                 index.setLastUpdated(LocalDate.now());
+                generation.incrementAndGet();
                 try {
                     saveIndex(index, comicName);
                 } catch (IOException e) {
@@ -303,6 +377,7 @@ public void addStripNumberToIndex(int comicId, String comicName, int stripNumber
             Set<Integer> strips = stripIndexCache.computeIfAbsent(comicId, id -> loadStripIndex(id, comicName));
 
             if (strips.add(stripNumber)) {
+                generation.incrementAndGet();
                 List<Integer> sorted = new ArrayList<>(strips);
                 Collections.sort(sorted);
                 try {
@@ -321,6 +396,7 @@ public void addStripNumberToIndex(int comicId, String comicName, int stripNumber
     }
 
     private Set<Integer> loadStripIndex(int comicId, String comicName) {
+        generation.incrementAndGet();
         Path indexFile = getStripIndexFile(comicId, comicName);
         if (NfsFileOperations.exists(indexFile)) {
             try (Reader reader = Files.newBufferedReader(indexFile)) {
@@ -350,6 +426,87 @@ private Path getStripIndexFile(int comicId, String comicName) {
         return NfsFileOperations.resolvePath(cacheProperties.getLocation(), parsedName, STRIP_INDEX_FILENAME);
     }
 
+    /**
+     * Current generation of the cached indexes; changes whenever any of them does.
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Captures every cached, non-empty date index and any loaded strip-number index together with
+     * the stamps of their JSON files. Each comic is captured under its read lock, so an entry
+     * always matches the file state it records.
+     */
+    List<IndexSnapshotFile.Entry> captureSnapshot() {
+        List<IndexSnapshotFile.Entry> entries = new ArrayList<>(indexCache.size());
+        for (Integer comicId : List.copyOf(indexCache.keySet())) {
+            ReadWriteLock lock = getLock(comicId);
+            lock.readLock().lock();
+            try {
+                ComicDateIndex index = indexCache.get(comicId);
+                if (index == null || index.getAvailableDates() == null || index.getAvailableDates().isEmpty()) {
+                    continue;
+                }
+                String comicName = index.getComicName() != null ? index.getComicName() : "";
+                int[] epochDays = index.getAvailableDates().stream().mapToInt(date -> (int) date.toEpochDay()).toArray();
+                Set<Integer> strips = stripIndexCache.get(comicId);
+                int[] stripNumbers = strips != null ? strips.stream().mapToInt(Integer::intValue).sorted().toArray() : null;
+                entries.add(new IndexSnapshotFile.Entry(comicId, comicName,
+                        index.getLastUpdated() != null ? index.getLastUpdated().toEpochDay() : LocalDate.now().toEpochDay(),
+                        IndexSnapshotFile.FileStamp.of(getIndexFile(comicId, comicName)), epochDays,
+                        strips != null ? IndexSnapshotFile.FileStamp.of(getStripIndexFile(comicId, comicName))
+                                : IndexSnapshotFile.FileStamp.MISSING,
+                        stripNumbers));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Seeds the cache from snapshot entries whose JSON files have not changed since they were
+     * captured. Comics already in the cache keep their state; anything stale is left to load from
+     * its JSON file as usual.
+     *
+     * @return number of comics whose date index was restored
+     */
+    int restoreSnapshot(List<IndexSnapshotFile.Entry> entries) {
+        int restored = 0;
+        for (IndexSnapshotFile.Entry entry : entries) {
+            ReadWriteLock lock = getLock(entry.comicId());
+            lock.writeLock().lock();
+            try {
+                if (!indexCache.containsKey(entry.comicId())
+                        && entry.datesStamp().equals(IndexSnapshotFile.FileStamp.of(getIndexFile(entry.comicId(), entry.comicName())))) {
+                    List<LocalDate> dates = new ArrayList<>(entry.epochDays().length);
+                    for (int epochDay : entry.epochDays()) {
+                        dates.add(LocalDate.ofEpochDay(epochDay));
+                    }
+                    indexCache.put(entry.comicId(), ComicDateIndex.builder()
+                            .comicId(entry.comicId())
+                            .comicName(entry.comicName())
+                            .availableDates(dates)
+                            .lastUpdated(LocalDate.ofEpochDay(entry.lastUpdatedEpochDay()))
+                            .build());
+                    restored++;
+                }
+                if (entry.stripNumbers() != null && !stripIndexCache.containsKey(entry.comicId())
+                        && entry.stripsStamp().equals(IndexSnapshotFile.FileStamp.of(getStripIndexFile(entry.comicId(), entry.comicName())))) {
+                    Set<Integer> strips = ConcurrentHashMap.newKeySet(entry.stripNumbers().length);
+                    for (int stripNumber : entry.stripNumbers()) {
+                        strips.add(stripNumber);
+                    }
+                    stripIndexCache.put(entry.comicId(), strips);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return restored;
+    }
+
     /**
      * Invalidate the cache for a comic (e.g., when comic is deleted).
      */
@@ -360,6 +517,7 @@ public void invalidateCache(int comicId) {
             indexCache.remove(comicId);
             stripIndexCache.remove(comicId);
             verifiedEmptyComics.remove(comicId);
+            generation.incrementAndGet();
             log.debug("Invalidated cache for comic {}", comicId);
         } finally {
             lock.writeLock().unlock();
@@ -376,8 +534,8 @@ public void rebuildIndex(int comicId, String comicName) {
     /**
      * Rebuild the entire index from scratch by scanning the filesystem.
      *
-     * @param validateMetadata If true, reads each sidecar JSON to verify the
-     *                         comicId matches.
+     * @param validateMetadata If true, reads each image's metadata record to
+     *                         verify the comicId matches.
      */
     public void rebuildIndex(int comicId, String comicName, boolean validateMetadata) {
         ReadWriteLock lock = getLock(comicId);
@@ -394,6 +552,7 @@ public void rebuildIndex(int comicId, String comicName, boolean validateMetadata
             }
 
             indexCache.put(comicId, index);
+            generation.incrementAndGet();
             log.info("Rebuilt index for '{}' with {} available dates on disk", comicName, index.getAvailableDates().size());
         } finally {
             lock.writeLock().unlock();
@@ -412,45 +571,30 @@ private ComicDateIndex rebuildIndexInternal(int comicId, String comicName) {
      * Internal rebuild method that does not acquire locks.
      * Caller must hold write lock.
      *
-     * @param validateMetadata If true, reads each sidecar JSON to verify the comicId matches.
+     * @param validateMetadata If true, reads each image's metadata record to verify the comicId matches.
      */
     private ComicDateIndex rebuildIndexInternal(int comicId, String comicName, boolean validateMetadata) {
         String parsedName = sanitizeComicName(comicName, comicId);
         Path comicDir = NfsFileOperations.resolvePath(cacheProperties.getLocation(), parsedName);
 
-        Set<LocalDate> dateSet = new HashSet<>();
-        if (Files.isDirectory(comicDir)) {
-            try (DirectoryStream<Path> yearDirs = Files.newDirectoryStream(comicDir, Files::isDirectory)) {
-                for (Path yearDir : yearDirs) {
-                    // Skip Synology metadata directories
-                    if (yearDir.getFileName().toString().startsWith(SYNOLOGY_METADATA_PREFIX)) {
-                        continue;
-                    }
-
-                    try (DirectoryStream<Path> images = Files.newDirectoryStream(yearDir, "*.png")) {
-                        for (Path image : images) {
-                            String name = image.getFileName().toString();
-                            try {
-                                String dateStr = name.substring(0, name.lastIndexOf('.'));
-                                LocalDate date = LocalDate.parse(dateStr);
-
-                                if (validateMetadata) {
-                                    validateImageMetadata(image, comicId, comicName, date);
-                                }
-
-                                dateSet.add(date);
-                            } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
-                                log.warn("Skipping invalid file '{}': {}", name, e.getMessage());
-                            } catch (Exception e) {
-                                log.error("Error processing file '{}': {}", name, e.getMessage(), e);
-                            }
-                        }
+        Set<LocalDate> dateSet = ConcurrentHashMap.newKeySet();
+        cacheScanner.scanComic(comicDir, CacheScanner.ScanOptions.pngNames(), List.of(new CacheScanListener() {
+            @Override
+            public void onFile(CacheScanner.ScannedFile file) {
+                if (file.date() == null) {
+                    log.warn("Skipping invalid file '{}': not a dated strip", file.fileName());
+                    return;
+                }
+                try {
+                    if (validateMetadata) {
+                        validateImageMetadata(file.path(), comicId, comicName, file.date());
                     }
+                    dateSet.add(file.date());
+                } catch (Exception e) {
+                    log.error("Error processing file '{}': {}", file.fileName(), e.getMessage(), e);
                 }
-            } catch (IOException e) {
-                log.error("Failed to scan directory {}: {}", comicDir, e.getMessage());
             }
-        }
+        }));
 
         List<LocalDate> sortedDates = new ArrayList<>(dateSet);
         Collections.sort(sortedDates);
@@ -505,6 +649,7 @@ private ComicDateIndex getOrLoadIndex(int comicId, String comicName) {
 
             // Update cache and return
             indexCache.put(comicId, index);
+            generation.incrementAndGet();
             return index;
         } finally {
             lock.writeLock().unlock();
@@ -533,6 +678,7 @@ private ComicDateIndex getOrLoadIndexUnsafe(int comicId, String comicName) {
             }
         }
         indexCache.put(comicId, index);
+        generation.incrementAndGet();
         return index;
     }
 
@@ -590,7 +736,7 @@ private void validateImageMetadata(Path image, int comicId, String comicName, Lo
                 }
             });
         } else {
-            log.warn("MISSING: Metadata sidecar missing for '{}' on {}", comicName, date);
+            log.warn("MISSING: Image metadata missing for '{}' on {}", comicName, date);
         }
     }
 }
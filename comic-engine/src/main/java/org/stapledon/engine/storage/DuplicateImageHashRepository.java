@@ -13,9 +13,11 @@
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.dto.ImageHashRecord;
@@ -23,12 +25,14 @@
 
 /**
  * Repository for managing image hash records used in duplicate detection.
- * Hash data is stored per-comic/per-year in JSON files named
- * "image-hashes.json".
- * Example: cache/AdamAtHome/2025/image-hashes.json
+ * Hash data is stored per-comic/per-year. 64-bit perceptual hashes are stored
+ * in a fixed-width binary file named "image-hashes.bin"; other hashes (MD5,
+ * SHA-256) stay in the JSON file "image-hashes.json", which is also imported
+ * and converted when no binary file exists yet.
+ * Example: cache/AdamAtHome/2025/image-hashes.bin
  *
- * Uses an in-memory cache for performance - loaded on first access per
- * comic/year.
+ * Uses an in-memory cache of {@link PackedHashRecords} for performance - loaded
+ * on first access per comic/year.
  */
 @Slf4j
 @ToString
@@ -47,7 +51,13 @@ public class DuplicateImageHashRepository {
      * In-memory cache of loaded hash records: key is "comicId:year", value is hash
      * map.
      */
-    private final Map<String, Map<String, ImageHashRecord>> cache = new ConcurrentHashMap<>();
+    private final Map<String, PackedHashRecords> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Per comic/year locks serializing writes, so a rebuild cannot drop a hash
+     * added while it was replacing the year's records.
+     */
+    private final Map<String, Object> yearLocks = new ConcurrentHashMap<>();
 
     /**
      * Finds an image hash record by hash value for a specific comic and year.
@@ -65,7 +75,7 @@ public Optional<ImageHashRecord> findByHash(int comicId, String comicName, int y
 
     /**
      * Adds a new hash record for a comic image.
-     * Updates both the in-memory cache and the JSON file.
+     * Updates both the in-memory cache and the hash file on disk.
      *
      * @param comicId   The comic ID
      * @param comicName The comic name
@@ -73,13 +83,15 @@ public Optional<ImageHashRecord> findByHash(int comicId, String comicName, int y
      * @param record    The hash record to add
      */
     public void addHash(int comicId, String comicName, int year, ImageHashRecord record) {
-        Map<String, ImageHashRecord> yearHashes = loadHashes(comicId, comicName, year);
+        synchronized (yearLock(comicId, year)) {
+            PackedHashRecords yearHashes = loadRecords(comicId, comicName, year);
 
-        // Add to cache
-        yearHashes.put(record.getHash(), record);
+            // Add to cache
+            yearHashes.put(record.getHash(), record);
 
-        // Persist to disk
-        saveHashes(comicId, comicName, year, yearHashes);
+            // Persist to disk
+            saveHashes(comicId, comicName, year, yearHashes);
+        }
     }
 
     /**
@@ -89,19 +101,51 @@ public void addHash(int comicId, String comicName, int year, ImageHashRecord rec
      * @param comicId   The comic ID
      * @param comicName The comic name
      * @param year      The year
-     * @return Map of hash value to ImageHashRecord
+     * @return Thread-safe live map of hash value to ImageHashRecord; records are built on access
      */
     public Map<String, ImageHashRecord> loadHashes(int comicId, String comicName, int year) {
+        return loadRecords(comicId, comicName, year);
+    }
+
+    private PackedHashRecords loadRecords(int comicId, String comicName, int year) {
         String cacheKey = getCacheKey(comicId, year);
 
         // Check in-memory cache first
-        if (cache.containsKey(cacheKey)) {
-            return cache.get(cacheKey);
+        PackedHashRecords cached = cache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        PackedHashRecords hashes = loadFromDisk(comicId, comicName, year);
+
+        // Store in cache; a concurrent loader may have won the race
+        PackedHashRecords existing = cache.putIfAbsent(cacheKey, hashes);
+        return existing != null ? existing : hashes;
+    }
+
+    /**
+     * Loads a year's hashes from the binary store, falling back to importing the
+     * legacy JSON file. An imported JSON file is converted to binary straight away
+     * when all of its records can be packed.
+     */
+    private PackedHashRecords loadFromDisk(int comicId, String comicName, int year) {
+        Path yearDir = getYearDirectory(comicId, comicName, year);
+        Path binaryFile = getBinaryHashFile(comicId, comicName, year);
+
+        if (NfsFileOperations.exists(binaryFile)) {
+            try {
+                PackedHashRecords hashes = PackedHashFile.read(binaryFile, yearDir);
+                log.info("Loaded {} hash records for comic {} year {} from {}", hashes.size(), comicName, year,
+                        binaryFile.toAbsolutePath());
+                return hashes;
+            } catch (IOException e) {
+                log.error("Failed to load hash file {}, falling back to JSON: {}", binaryFile.toAbsolutePath(),
+                        e.getMessage());
+            }
         }
 
-        // Load from disk
         Path hashFile = getHashFile(comicId, comicName, year);
-        Map<String, ImageHashRecord> hashes = new ConcurrentHashMap<>();
+        PackedHashRecords hashes = new PackedHashRecords(yearDir);
 
         if (NfsFileOperations.exists(hashFile)) {
             try (Reader reader = Files.newBufferedReader(hashFile)) {
@@ -115,33 +159,53 @@ public Map<String, ImageHashRecord> loadHashes(int comicId, String comicName, in
                         hashFile.toAbsolutePath());
             } catch (IOException e) {
                 log.error("Failed to load hash file {}: {}", hashFile.toAbsolutePath(), e.getMessage(), e);
+                return hashes;
+            }
+
+            if (!hashes.isEmpty() && hashes.isFullyPacked()) {
+                log.info("Converting hash file for comic {} year {} to binary", comicName, year);
+                saveHashes(comicId, comicName, year, hashes);
             }
         } else {
             log.info("No existing hash file for comic {} year {}, creating new hash cache", comicName, year);
         }
 
-        // Store in cache
-        cache.put(cacheKey, hashes);
-
         return hashes;
     }
 
     /**
      * Saves hash records to disk for a specific comic and year using atomic write
-     * for NFS safety.
+     * for NFS safety. Fully packed records are written in the binary format;
+     * anything else (e.g. MD5/SHA-256 hashes) is written as JSON. The file in the
+     * other format is removed so there is a single source of truth.
      */
-    private void saveHashes(int comicId, String comicName, int year, Map<String, ImageHashRecord> hashes) {
+    private void saveHashes(int comicId, String comicName, int year, PackedHashRecords hashes) {
         Path hashFile = getHashFile(comicId, comicName, year);
+        Path binaryFile = getBinaryHashFile(comicId, comicName, year);
+        boolean binary = hashes.isFullyPacked();
+        Path target = binary ? binaryFile : hashFile;
 
         try {
-            String json = gson.toJson(hashes);
-            NfsFileOperations.atomicWrite(hashFile, json);
-            log.info("Saved {} hash records to {}", hashes.size(), hashFile.toAbsolutePath());
+            if (binary) {
+                PackedHashFile.write(binaryFile, hashes);
+                Files.deleteIfExists(hashFile);
+            } else {
+                NfsFileOperations.atomicWrite(hashFile, gson.toJson(new HashMap<>(hashes)));
+                Files.deleteIfExists(binaryFile);
+            }
+            log.info("Saved {} hash records to {}", hashes.size(), target.toAbsolutePath());
         } catch (IOException e) {
-            log.error("Failed to save hash file {}: {}", hashFile.toAbsolutePath(), e.getMessage(), e);
+            log.error("Failed to save hash file {}: {}", target.toAbsolutePath(), e.getMessage(), e);
         }
     }
 
+    /**
+     * Gets the Path for the binary hash file.
+     */
+    private Path getBinaryHashFile(int comicId, String comicName, int year) {
+        return getYearDirectory(comicId, comicName, year).resolve(PackedHashFile.FILE_NAME);
+    }
+
     /**
      * Gets the Path for the hash JSON file.
      */
@@ -194,9 +258,39 @@ public Path getYearDirectory(int comicId, String comicName, int year) {
      * @param hashes    The new hash map to store
      */
     public void replaceHashes(int comicId, String comicName, int year, Map<String, ImageHashRecord> hashes) {
-        String cacheKey = getCacheKey(comicId, year);
-        cache.put(cacheKey, new ConcurrentHashMap<>(hashes));
-        saveHashes(comicId, comicName, year, hashes);
+        replaceHashes(comicId, comicName, year, hashes, record -> false);
+    }
+
+    /**
+     * Replaces all hashes for a comic/year, keeping existing records that match
+     * {@code keep} and are not in the new map. Runs under the year's write lock,
+     * so records added by {@link #addHash} while the replacement was being built
+     * are kept when they match.
+     *
+     * @param comicId   The comic ID
+     * @param comicName The comic name
+     * @param year      The year
+     * @param hashes    The new hash map to store
+     * @param keep      Which existing records to carry over
+     */
+    public void replaceHashes(int comicId, String comicName, int year, Map<String, ImageHashRecord> hashes,
+                              Predicate<ImageHashRecord> keep) {
+        synchronized (yearLock(comicId, year)) {
+            PackedHashRecords current = loadRecords(comicId, comicName, year);
+            PackedHashRecords replacement = new PackedHashRecords(getYearDirectory(comicId, comicName, year), hashes.size());
+            current.forEach((hash, record) -> {
+                if (!hashes.containsKey(hash) && keep.test(record)) {
+                    replacement.put(hash, record);
+                }
+            });
+            replacement.putAll(hashes);
+            cache.put(getCacheKey(comicId, year), replacement);
+            saveHashes(comicId, comicName, year, replacement);
+        }
+    }
+
+    private Object yearLock(int comicId, int year) {
+        return yearLocks.computeIfAbsent(getCacheKey(comicId, year), key -> new Object());
     }
 
     /**
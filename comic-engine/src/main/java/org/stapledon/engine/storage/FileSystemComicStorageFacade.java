@@ -14,8 +14,12 @@
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.dto.ComicIdentifier;
@@ -25,9 +29,12 @@
 import org.stapledon.common.dto.ImageMetadata;
 import org.stapledon.common.dto.ImageValidationResult;
 import org.stapledon.common.dto.SaveResult;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
 import org.stapledon.common.service.AnalysisService;
 import org.stapledon.common.service.ComicStorageFacade;
 import org.stapledon.common.service.DuplicateValidationService;
+import org.stapledon.common.service.StorageEventListener;
 import org.stapledon.common.service.ValidationService;
 import org.stapledon.common.util.ImageUtils;
 import org.stapledon.engine.validation.DuplicateHashCacheService;
@@ -55,6 +62,9 @@ public class FileSystemComicStorageFacade implements ComicStorageFacade {
     private final AnalysisService imageAnalysisService;
     private final ImageMetadataRepository imageMetadataRepository;
     private final ComicIndexService comicIndexService;
+    private final CacheScanner cacheScanner;
+    private final IoScheduler ioScheduler;
+    private final List<StorageEventListener> storageEventListeners;
 
     @Override
     public SaveResult saveComicStripWithResult(@lombok.NonNull ComicIdentifier comic,
@@ -100,6 +110,7 @@ public SaveResult saveComicStripWithResult(@lombok.NonNull ComicIdentifier comic
         // Create the file
         String filename = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
         File file = new File(String.format("%s/%s.png", directory.getAbsolutePath(), filename));
+        long replacedSize = file.exists() ? file.length() : -1;
 
         try (FileOutputStream fos = new FileOutputStream(file)) {
             fos.write(imageData);
@@ -124,10 +135,19 @@ public SaveResult saveComicStripWithResult(@lombok.NonNull ComicIdentifier comic
                 log.error("Index update failed for {} on {}, rolling back file write", comic.getName(), date, e);
                 if (!file.delete()) {
                     log.error("CRITICAL: Failed to delete orphan file: {}", file.getAbsolutePath());
+                } else if (replacedSize >= 0) {
+                    // The write already overwrote the previous strip, so deleting the file removed it too
+                    notifyListeners(listener -> listener.onStripDeleted(comic.getDirectoryName(), date, replacedSize));
                 }
                 return SaveResult.ioError("Index update failed: " + e.getMessage());
             }
 
+            if (replacedSize >= 0) {
+                notifyListeners(listener -> listener.onStripReplaced(comic.getDirectoryName(), date, replacedSize, imageData.length));
+            } else {
+                notifyListeners(listener -> listener.onStripSaved(comic.getDirectoryName(), date, imageData.length));
+            }
+
             // Add to strip number index for indexed comics (non-critical)
             if (data.stripNumber() != null) {
                 try {
@@ -144,6 +164,7 @@ public SaveResult saveComicStripWithResult(@lombok.NonNull ComicIdentifier comic
                 boolean saved = imageMetadataRepository.saveMetadata(metadata);
                 if (saved) {
                     log.debug("Saved metadata for comic strip: {}", file.getAbsolutePath());
+                    notifyListeners(listener -> listener.onStripMetadataSaved(metadata));
                 } else {
                     log.error(
                             "Failed to save metadata for comic strip {} on {}: metadata validation failed or incomplete",
@@ -210,7 +231,8 @@ public Optional<ImageDto> getComicStrip(@lombok.NonNull ComicIdentifier comic, @
                 comic.getDirectoryName(), yearPath, filename));
 
         try {
-            ImageDto dto = ImageUtils.getImageDto(file);
+            // Reads run at the caller's priority: interactive for user requests, background for jobs
+            ImageDto dto = ioScheduler.submit(() -> ImageUtils.getImageDto(file));
             imageMetadataRepository.loadMetadata(file.getAbsolutePath())
                     .map(ImageMetadata::getTranscript)
                     .ifPresent(dto::setTranscript);
@@ -221,6 +243,38 @@ public Optional<ImageDto> getComicStrip(@lombok.NonNull ComicIdentifier comic, @
         }
     }
 
+    @Override
+    public Map<LocalDate, ImageDto> getComicStripDescriptors(@lombok.NonNull ComicIdentifier comic,
+                                                             @lombok.NonNull Collection<LocalDate> dates) {
+        Map<LocalDate, ImageDto> descriptors = new HashMap<>();
+        for (LocalDate date : dates) {
+            if (descriptors.containsKey(date) || !comicStripExists(comic, date)) {
+                continue;
+            }
+            String yearPath = date.format(DateTimeFormatter.ofPattern("yyyy"));
+            String filename = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            File file = new File(String.format("%s/%s/%s/%s.png", getCacheRoot().toAbsolutePath(),
+                    comic.getDirectoryName(), yearPath, filename));
+
+            // Dimensions and transcript come from the metadata segment; only strips without
+            // metadata fall back to decoding the image
+            Optional<ImageDto> descriptor = imageMetadataRepository.loadMetadata(file.getAbsolutePath())
+                    .map(metadata -> ImageDto.builder()
+                            .mimeType("image/png")
+                            .width(metadata.getWidth())
+                            .height(metadata.getHeight())
+                            .imageDate(date)
+                            .transcript(metadata.getTranscript())
+                            .build())
+                    .or(() -> getComicStrip(comic, date).map(image -> {
+                        image.setImageData(null);
+                        return image;
+                    }));
+            descriptor.ifPresent(dto -> descriptors.put(date, dto));
+        }
+        return descriptors;
+    }
+
     @Override
     public Optional<ImageDto> getAvatar(@lombok.NonNull ComicIdentifier comic) {
 
@@ -233,13 +287,19 @@ public Optional<ImageDto> getAvatar(@lombok.NonNull ComicIdentifier comic) {
         }
 
         try {
-            return Optional.of(ImageUtils.getImageDto(file));
+            return Optional.of(ioScheduler.submit(() -> ImageUtils.getImageDto(file)));
         } catch (IOException e) {
             log.error("Failed to read avatar for {}: {}", comic.getName(), e.getMessage());
             return Optional.empty();
         }
     }
 
+    @Override
+    public boolean avatarExists(@lombok.NonNull ComicIdentifier comic) {
+        return new File(String.format("%s/%s/%s", getCacheRoot().toAbsolutePath(),
+                comic.getDirectoryName(), AVATAR_FILE)).exists();
+    }
+
     @Override
     public Optional<LocalDate> getNextDateWithComic(@lombok.NonNull ComicIdentifier comic,
                                                      @lombok.NonNull LocalDate fromDate) {
@@ -267,6 +327,18 @@ public List<LocalDate> getAvailableDates(@lombok.NonNull ComicIdentifier comic)
         return comicIndexService.getAvailableDates(comic.getId(), comic.getName());
     }
 
+    @Override
+    public List<LocalDate> getDatesAround(@lombok.NonNull ComicIdentifier comic, @lombok.NonNull LocalDate center,
+                                          int before, int after) {
+        return comicIndexService.getDatesAround(comic.getId(), comic.getName(), center, before, after);
+    }
+
+    @Override
+    public Optional<LocalDate> getRandomDate(@lombok.NonNull ComicIdentifier comic, LocalDate from, LocalDate to,
+                                             boolean favorRecent) {
+        return comicIndexService.getRandomDate(comic.getId(), comic.getName(), from, to, favorRecent);
+    }
+
     @Override
     public boolean comicStripExists(@lombok.NonNull ComicIdentifier comic, @lombok.NonNull LocalDate date) {
 
@@ -293,10 +365,26 @@ public boolean deleteComic(@lombok.NonNull ComicIdentifier comic) {
         if (deleted) {
             // Invalidate the in-memory index cache
             comicIndexService.invalidateCache(comic.getId());
+            imageMetadataRepository.evictDirectory(directory.toPath());
+            notifyListeners(listener -> listener.onComicDeleted(comic.getDirectoryName()));
         }
         return deleted;
     }
 
+    /**
+     * Deliver a storage event to every registered listener. Listener failures are non-critical.
+     */
+    private void notifyListeners(Consumer<StorageEventListener> event) {
+        for (StorageEventListener listener : storageEventListeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                log.warn("Storage event listener {} failed (non-critical): {}", listener.getClass().getSimpleName(),
+                        e.getMessage());
+            }
+        }
+    }
+
     private boolean deleteDirectory(File directory) {
         File[] files = directory.listFiles();
         if (files != null) {
@@ -357,9 +445,12 @@ public boolean purgeOldImages(@lombok.NonNull ComicIdentifier comic, int daysToK
                     LocalDate comicDate = LocalDate.parse(filename, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
                     if (comicDate.isBefore(cutoffDate)) {
+                        long size = comicFile.length();
                         if (comicFile.delete()) {
                             // Update the index to remove the deleted date
                             comicIndexService.removeDateFromIndex(comic.getId(), comic.getName(), comicDate);
+                            imageMetadataRepository.deleteMetadata(comicFile.getAbsolutePath());
+                            notifyListeners(listener -> listener.onStripDeleted(comic.getDirectoryName(), comicDate, size));
                         } else {
                             log.error("Failed to delete old comic file: {}", comicFile.getAbsolutePath());
                             success = false;
@@ -425,25 +516,16 @@ public long getStorageSize(@lombok.NonNull ComicIdentifier comic) {
             return 0;
         }
 
-        return calculateDirectorySize(comicRoot);
-    }
-
-    private long calculateDirectorySize(File directory) {
+        // Top-level files (avatar, indexes) plus everything under the year directories,
+        // which are stat'ed in parallel by the shared cache scanner
         long size = 0;
-
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return 0;
-        }
-
-        for (File file : files) {
-            if (file.isFile()) {
+        File[] topLevelFiles = comicRoot.listFiles(File::isFile);
+        if (topLevelFiles != null) {
+            for (File file : topLevelFiles) {
                 size += file.length();
-            } else if (file.isDirectory() && !EXCLUDED_SYNOLOGY_DIR.equals(file.getName())) {
-                size += calculateDirectorySize(file);
             }
         }
-
-        return size;
+        return size + cacheScanner.scanComic(comicRoot.toPath(), CacheScanner.ScanOptions.allFilesWithAttributes(),
+                List.of()).bytes();
     }
 }
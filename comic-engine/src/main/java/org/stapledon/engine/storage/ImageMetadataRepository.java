@@ -1,6 +1,7 @@
 package org.stapledon.engine.storage;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -8,30 +9,54 @@
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
-import java.io.Reader;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.stapledon.common.dto.ImageMetadata;
-import org.stapledon.common.util.NfsFileOperations;
 
 /**
- * Repository for managing image metadata sidecar files.
- * Metadata is stored as JSON files with the same name as the image but with
- * .json extension.
- * Example: 2023-01-15.png -> 2023-01-15.json
+ * Repository for image metadata.
+ * Metadata for all images in a directory (one comic year) is kept in a single
+ * append-only segment file, keyed by image file name.
+ * Example: 2023/2023-01-15.png -> record "2023-01-15.png" in 2023/image-metadata.seg
+ *
+ * Segments are indexed in memory on first access per directory; legacy per-image
+ * .json sidecars found at that point are migrated into the segment and deleted.
+ * See {@link ImageMetadataSegment} for the file format.
  */
 @Slf4j
 @ToString
 @Repository
 @RequiredArgsConstructor
 public class ImageMetadataRepository {
+
+    /**
+     * Number of segments whose read channel is kept open between lookups.
+     */
+    private static final int MAX_OPEN_READERS = 64;
+
     @Qualifier("gsonWithLocalDate")
     private final Gson gson;
 
     /**
-     * Saves metadata for an image file as a sidecar JSON file using atomic write.
+     * Loaded segments, keyed by absolute directory path.
+     */
+    @ToString.Exclude
+    private final Map<Path, ImageMetadataSegment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Segments with an open read channel, least recently read first.
+     */
+    @ToString.Exclude
+    private final Map<ImageMetadataSegment, Boolean> openReaders = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Saves metadata for an image file by appending it to the directory's segment.
      * Only saves if metadata is valid (not empty/unknown).
      */
     public boolean saveMetadata(ImageMetadata metadata) {
@@ -43,11 +68,10 @@ public boolean saveMetadata(ImageMetadata metadata) {
             return false;
         }
 
-        Path metadataFile = getMetadataFile(metadata.getFilePath());
+        Path image = imagePath(metadata.getFilePath());
 
         try {
-            String json = gson.toJson(metadata);
-            NfsFileOperations.atomicWrite(metadataFile, json);
+            segmentFor(image).put(image.getFileName().toString(), metadata);
             log.debug("Saved metadata for image: {}", metadata.getFilePath());
             return true;
         } catch (IOException e) {
@@ -94,21 +118,19 @@ private boolean isValidMetadata(ImageMetadata metadata) {
     }
 
     /**
-     * Loads metadata for an image file from its sidecar JSON file.
+     * Loads metadata for an image file from its directory's segment.
      */
     public Optional<ImageMetadata> loadMetadata(String imageFilePath) {
-        Path metadataFile = getMetadataFile(imageFilePath);
+        Path image = imagePath(imageFilePath);
+        ImageMetadataSegment segment = segmentFor(image);
 
-        if (!NfsFileOperations.exists(metadataFile)) {
-            return Optional.empty();
-        }
-
-        try (Reader reader = Files.newBufferedReader(metadataFile)) {
-            ImageMetadata metadata = gson.fromJson(reader, ImageMetadata.class);
-            return Optional.ofNullable(metadata);
-        } catch (IOException e) {
+        try {
+            return segment.get(image.getFileName().toString());
+        } catch (IOException | JsonParseException e) {
             log.error("Failed to load metadata for {}: {}", imageFilePath, e.getMessage(), e);
             return Optional.empty();
+        } finally {
+            keepReaderOpen(segment);
         }
     }
 
@@ -116,43 +138,96 @@ public Optional<ImageMetadata> loadMetadata(String imageFilePath) {
      * Checks if metadata exists for an image file.
      */
     public boolean metadataExists(String imageFilePath) {
-        Path metadataFile = getMetadataFile(imageFilePath);
-        return NfsFileOperations.exists(metadataFile);
+        Path image = imagePath(imageFilePath);
+
+        try {
+            return segmentFor(image).contains(image.getFileName().toString());
+        } catch (IOException e) {
+            log.error("Failed to read metadata segment for {}: {}", imageFilePath, e.getMessage(), e);
+            return false;
+        }
     }
 
     /**
      * Deletes metadata for an image file.
      */
     public boolean deleteMetadata(String imageFilePath) {
-        Path metadataFile = getMetadataFile(imageFilePath);
+        Path image = imagePath(imageFilePath);
 
-        if (!NfsFileOperations.exists(metadataFile)) {
-            return true; // Already deleted
+        try {
+            if (segmentFor(image).remove(image.getFileName().toString())) {
+                log.debug("Deleted metadata for image: {}", imageFilePath);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to delete metadata for image: {}", imageFilePath);
+            return false;
         }
+    }
 
+    /**
+     * Passes the metadata of every image in a directory to the consumer, reading
+     * the directory's segment at most once.
+     *
+     * @return false if the segment could not be read
+     */
+    public boolean forEachMetadata(Path directory, Consumer<ImageMetadata> consumer) {
         try {
-            Files.delete(metadataFile);
-            log.debug("Deleted metadata for image: {}", imageFilePath);
+            segmentIn(directory.toAbsolutePath().normalize()).forEach(consumer);
             return true;
         } catch (IOException e) {
-            log.warn("Failed to delete metadata for image: {}", imageFilePath);
+            log.error("Failed to read metadata segment in {}: {}", directory, e.getMessage(), e);
             return false;
         }
     }
 
     /**
-     * Gets the metadata file path for an image file.
-     * Replaces the image extension with .json
+     * Forgets loaded segments in or below a directory, e.g. after the directory
+     * has been deleted.
      */
-    private Path getMetadataFile(String imageFilePath) {
-        // Remove the image extension and add .json
-        String metadataPath = imageFilePath.replaceAll("\\.(png|jpg|jpeg|gif|tif|tiff|bmp|webp)$", ".json");
+    public void evictDirectory(Path directory) {
+        Path root = directory.toAbsolutePath().normalize();
+        segments.values().removeIf(segment -> {
+            if (!segment.getDirectory().startsWith(root)) {
+                return false;
+            }
+            synchronized (openReaders) {
+                openReaders.remove(segment);
+            }
+            segment.unload();
+            return true;
+        });
+    }
+
+    private ImageMetadataSegment segmentFor(Path image) {
+        return segmentIn(image.getParent());
+    }
+
+    private ImageMetadataSegment segmentIn(Path directory) {
+        return segments.computeIfAbsent(directory, dir -> new ImageMetadataSegment(dir, gson));
+    }
 
-        // If no extension was found, just append .json
-        if (metadataPath.equals(imageFilePath)) {
-            metadataPath = imageFilePath + ".json";
+    /**
+     * Marks a segment as recently read, closing the read channel of the least
+     * recently read segment once too many are open.
+     */
+    private void keepReaderOpen(ImageMetadataSegment segment) {
+        ImageMetadataSegment eldest = null;
+        synchronized (openReaders) {
+            openReaders.put(segment, Boolean.TRUE);
+            if (openReaders.size() > MAX_OPEN_READERS) {
+                Iterator<ImageMetadataSegment> iterator = openReaders.keySet().iterator();
+                eldest = iterator.next();
+                iterator.remove();
+            }
         }
+        // Closed outside the lock so a reader never waits on another segment's monitor while holding it
+        if (eldest != null) {
+            eldest.closeReader();
+        }
+    }
 
-        return Path.of(metadataPath);
+    private static Path imagePath(String imageFilePath) {
+        return Path.of(imageFilePath).toAbsolutePath().normalize();
     }
 }
@@ -0,0 +1,395 @@
+package org.stapledon.engine.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.stapledon.common.dto.ImageMetadata;
+import org.stapledon.common.util.NfsFileOperations;
+
+/**
+ * Image metadata for one directory (one comic year), stored as an append-only segment file.
+ *
+ * <p>Each line is {@code <image file name>\t<compact JSON>}; a line with nothing after the tab is a
+ * tombstone for deleted metadata, and later lines supersede earlier ones. The file is read once on
+ * first use to build an index from image file name to the offset and length of its current line;
+ * records are then fetched with positional reads. Writes append a line, and the file is rewritten
+ * with only the current lines once superseded lines outweigh them.
+ *
+ * <p>When a directory has no segment yet, legacy per-image {@code .json} sidecars are imported into
+ * a new segment and then deleted.
+ */
+@Slf4j
+final class ImageMetadataSegment {
+
+    static final String FILE_NAME = "image-metadata.seg";
+
+    // JSON files that share the year directory with sidecars but are not image metadata
+    private static final Set<String> NON_SIDECAR_FILES = Set.of("image-hashes.json");
+
+    // Index values pack the line offset above a 24-bit line length
+    private static final int LENGTH_BITS = 24;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+    private final Path directory;
+    private final Path file;
+    private final Gson gson;
+
+    private Map<String, Long> index;
+    private long length;
+    private long liveBytes;
+    private long deadBytes;
+    private FileChannel reader;
+
+    ImageMetadataSegment(Path directory, Gson gson) {
+        this.directory = directory;
+        this.file = directory.resolve(FILE_NAME);
+        this.gson = gson;
+    }
+
+    synchronized boolean contains(String name) throws IOException {
+        ensureLoaded();
+        return index.containsKey(name);
+    }
+
+    synchronized Optional<ImageMetadata> get(String name) throws IOException {
+        ensureLoaded();
+        Long entry = index.get(name);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        String payload = readPayload(name, entry);
+        if (payload == null) {
+            // The file changed outside this segment; index it again and retry once
+            log.warn("Metadata segment {} changed on disk, reloading", file);
+            unload();
+            ensureLoaded();
+            entry = index.get(name);
+            payload = entry == null ? null : readPayload(name, entry);
+            if (payload == null) {
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(gson.fromJson(payload, ImageMetadata.class));
+    }
+
+    synchronized void put(String name, ImageMetadata metadata) throws IOException {
+        String json = gson.toJsonTree(metadata).toString();
+        append(name, (name + '\t' + json + '\n').getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    /**
+     * Appends a tombstone for the image's metadata.
+     *
+     * @return false if there was no metadata to remove
+     */
+    synchronized boolean remove(String name) throws IOException {
+        ensureLoaded();
+        if (!index.containsKey(name)) {
+            return false;
+        }
+        append(name, (name + "\t\n").getBytes(StandardCharsets.UTF_8), true);
+        return true;
+    }
+
+    /**
+     * Passes the current record of every image to the consumer, reading the file at most once.
+     */
+    synchronized void forEach(Consumer<ImageMetadata> consumer) throws IOException {
+        byte[] data = ensureLoaded();
+        if (index.isEmpty()) {
+            return;
+        }
+        if (data == null) {
+            data = Files.readAllBytes(file);
+        }
+
+        for (Map.Entry<String, Long> entry : index.entrySet()) {
+            long offset = entry.getValue() >>> LENGTH_BITS;
+            int lineLength = (int) (entry.getValue() & LENGTH_MASK);
+            int prefixLength = entry.getKey().getBytes(StandardCharsets.UTF_8).length + 1;
+            if (offset + lineLength > data.length || lineLength <= prefixLength) {
+                continue;
+            }
+            String payload = new String(data, (int) offset + prefixLength, lineLength - prefixLength - 1,
+                    StandardCharsets.UTF_8);
+            try {
+                ImageMetadata metadata = gson.fromJson(payload, ImageMetadata.class);
+                if (metadata != null) {
+                    consumer.accept(metadata);
+                }
+            } catch (JsonParseException e) {
+                log.warn("Skipping unreadable metadata for {} in {}: {}", entry.getKey(), file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Closes the read channel; it is reopened on the next lookup.
+     */
+    synchronized void closeReader() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                log.debug("Failed to close metadata segment {}: {}", file, e.getMessage());
+            }
+            reader = null;
+        }
+    }
+
+    /**
+     * Drops the in-memory index; the segment is read again on next use.
+     */
+    synchronized void unload() {
+        closeReader();
+        index = null;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private void append(String name, byte[] line, boolean tombstone) throws IOException {
+        if (line.length > LENGTH_MASK) {
+            throw new IOException("Metadata record of " + line.length + " bytes is too large for " + file);
+        }
+        ensureLoaded();
+        if (sizeOnDisk() != length) {
+            // Written elsewhere or left with a torn line; index it again before appending
+            log.warn("Metadata segment {} changed on disk, reloading before append", file);
+            unload();
+            ensureLoaded();
+        }
+
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+        indexLine(name, length, line.length, tombstone);
+        length += line.length;
+
+        if (deadBytes > liveBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Builds the index if it is not loaded yet.
+     *
+     * @return the segment contents when they were read to build the index, otherwise null
+     */
+    private byte[] ensureLoaded() throws IOException {
+        if (index != null) {
+            return null;
+        }
+        index = new HashMap<>();
+        length = 0;
+        liveBytes = 0;
+        deadBytes = 0;
+        try {
+            if (Files.exists(file)) {
+                byte[] data = Files.readAllBytes(file);
+                return loadSegment(data) ? data : null;
+            }
+            migrateSidecars();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            unload();
+            throw e;
+        }
+    }
+
+    // Returns false if an incomplete trailing line was dropped, which rewrites the file
+    private boolean loadSegment(byte[] data) throws IOException {
+        int start = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != '\n') {
+                continue;
+            }
+            int tab = indexOf(data, (byte) '\t', start, i);
+            if (tab < 0) {
+                deadBytes += i + 1 - start;
+            } else {
+                String name = new String(data, start, tab - start, StandardCharsets.UTF_8);
+                indexLine(name, start, i + 1 - start, tab + 1 == i);
+            }
+            start = i + 1;
+        }
+        length = start;
+
+        if (start < data.length) {
+            log.warn("Dropping {} bytes of incomplete metadata at the end of {}", data.length - start, file);
+            compact();
+            return false;
+        }
+        return true;
+    }
+
+    private void migrateSidecars() throws IOException {
+        List<Path> sidecars;
+        try (Stream<Path> files = Files.list(directory)) {
+            sidecars = files.filter(path -> {
+                String fileName = path.getFileName().toString();
+                return fileName.endsWith(".json") && !NON_SIDECAR_FILES.contains(fileName);
+            }).sorted().toList();
+        } catch (NoSuchFileException e) {
+            return;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Path> migrated = new ArrayList<>();
+        for (Path sidecar : sidecars) {
+            try {
+                ImageMetadata metadata = gson.fromJson(Files.readString(sidecar), ImageMetadata.class);
+                if (metadata == null || metadata.getFilePath() == null || metadata.getFormat() == null) {
+                    continue;
+                }
+                String name = Path.of(metadata.getFilePath()).getFileName().toString();
+                byte[] line = (name + '\t' + gson.toJsonTree(metadata) + '\n').getBytes(StandardCharsets.UTF_8);
+                indexLine(name, out.size(), line.length, false);
+                out.write(line);
+                migrated.add(sidecar);
+            } catch (IOException | JsonParseException e) {
+                log.warn("Skipping unreadable metadata sidecar {}: {}", sidecar, e.getMessage());
+            }
+        }
+        if (migrated.isEmpty()) {
+            return;
+        }
+
+        NfsFileOperations.atomicWrite(file, out.toByteArray());
+        length = out.size();
+        for (Path sidecar : migrated) {
+            try {
+                Files.deleteIfExists(sidecar);
+            } catch (IOException e) {
+                log.warn("Failed to delete migrated metadata sidecar {}: {}", sidecar, e.getMessage());
+            }
+        }
+        log.info("Migrated {} metadata sidecars into {}", migrated.size(), file);
+    }
+
+    /**
+     * Rewrites the file with only the current line for each image, or deletes it when none remain.
+     */
+    private void compact() throws IOException {
+        if (index.isEmpty()) {
+            closeReader();
+            Files.deleteIfExists(file);
+            length = 0;
+            liveBytes = 0;
+            deadBytes = 0;
+            return;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(liveBytes, Integer.MAX_VALUE));
+        Map<String, Long> compacted = new HashMap<>();
+        for (Map.Entry<String, Long> entry : new TreeMap<>(index).entrySet()) {
+            byte[] line = readLine(entry.getValue());
+            compacted.put(entry.getKey(), pack(out.size(), line.length));
+            out.write(line);
+        }
+
+        NfsFileOperations.atomicWrite(file, out.toByteArray());
+        closeReader();
+        index = compacted;
+        length = out.size();
+        liveBytes = length;
+        deadBytes = 0;
+        log.debug("Compacted metadata segment {} to {} records", file, index.size());
+    }
+
+    private void indexLine(String name, long offset, int lineLength, boolean tombstone) {
+        Long previous = tombstone ? index.remove(name) : index.put(name, pack(offset, lineLength));
+        if (previous != null) {
+            long previousLength = previous & LENGTH_MASK;
+            liveBytes -= previousLength;
+            deadBytes += previousLength;
+        }
+        if (tombstone) {
+            deadBytes += lineLength;
+        } else {
+            liveBytes += lineLength;
+        }
+    }
+
+    // Returns the JSON after "name\t", or null if the indexed line belongs to something else
+    private String readPayload(String name, long entry) throws IOException {
+        byte[] line;
+        try {
+            line = readLine(entry);
+        } catch (EOFException e) {
+            return null;
+        }
+        byte[] prefix = (name + '\t').getBytes(StandardCharsets.UTF_8);
+        if (line.length <= prefix.length || line[line.length - 1] != '\n') {
+            return null;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (line[i] != prefix[i]) {
+                return null;
+            }
+        }
+        return new String(line, prefix.length, line.length - prefix.length - 1, StandardCharsets.UTF_8);
+    }
+
+    private byte[] readLine(long entry) throws IOException {
+        if (reader == null) {
+            reader = FileChannel.open(file, StandardOpenOption.READ);
+        }
+        long offset = entry >>> LENGTH_BITS;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (entry & LENGTH_MASK));
+        while (buffer.hasRemaining()) {
+            if (reader.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Metadata segment " + file + " is shorter than its index");
+            }
+        }
+        return buffer.array();
+    }
+
+    private long sizeOnDisk() throws IOException {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    private static long pack(long offset, int lineLength) {
+        return offset << LENGTH_BITS | lineLength;
+    }
+
+    private static int indexOf(byte[] data, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
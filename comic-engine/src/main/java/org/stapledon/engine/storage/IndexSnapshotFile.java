@@ -0,0 +1,158 @@
+package org.stapledon.engine.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.stapledon.common.util.NfsFileOperations;
+
+/**
+ * Binary warm-start snapshot of the date and strip-number indexes held by {@link ComicIndexService}.
+ *
+ * <pre>
+ * header   magic "CCWS" (int), version (int), entry count (int)
+ * entry    comic id (int), comic name (modified UTF-8), last updated epoch day (long),
+ *          date index file size (long), date index file mtime (long), date count (int), epoch days (int each),
+ *          has strip numbers (boolean), and if so strip index file size (long), strip index file mtime (long),
+ *          strip number count (int), strip numbers (int each)
+ * </pre>
+ *
+ * <p>Each entry records the size and modification time of the JSON file it was captured from, so a
+ * reader can tell whether that file has changed since. The whole file is read in one sequential pass.
+ */
+final class IndexSnapshotFile {
+
+    static final String FILE_NAME = "index-snapshot.bin";
+
+    private static final int MAGIC = 0x43435753; // "CCWS"
+    private static final int VERSION = 1;
+
+    private IndexSnapshotFile() {
+    }
+
+    /**
+     * Size and modification time of a file, or {@link #MISSING} if it does not exist.
+     */
+    record FileStamp(long size, long modifiedMillis) {
+
+        static final FileStamp MISSING = new FileStamp(-1, -1);
+
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * One comic's indexes and the stamps of the files they match.
+     *
+     * @param stripNumbers downloaded strip numbers, or null if the strip index was not loaded
+     */
+    record Entry(int comicId, String comicName, long lastUpdatedEpochDay,
+                 FileStamp datesStamp, int[] epochDays, FileStamp stripsStamp, int[] stripNumbers) {
+    }
+
+    /**
+     * Writes the entries atomically.
+     */
+    static void write(Path target, List<Entry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                out.writeInt(entry.comicId());
+                out.writeUTF(entry.comicName());
+                out.writeLong(entry.lastUpdatedEpochDay());
+                writeStamped(out, entry.datesStamp(), entry.epochDays());
+                out.writeBoolean(entry.stripNumbers() != null);
+                if (entry.stripNumbers() != null) {
+                    writeStamped(out, entry.stripsStamp(), entry.stripNumbers());
+                }
+            }
+        }
+        NfsFileOperations.atomicWrite(target, bytes.toByteArray());
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @return the entries, or an empty list if the file does not exist
+     * @throws IOException if the file cannot be read or is not a snapshot of this version
+     */
+    static List<Entry> read(Path source) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an index snapshot: " + source);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported index snapshot version " + version + " in " + source);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupt index snapshot header in " + source);
+            }
+
+            List<Entry> entries = new ArrayList<>(Math.min(count, 4096));
+            for (int i = 0; i < count; i++) {
+                int comicId = in.readInt();
+                String comicName = in.readUTF();
+                long lastUpdated = in.readLong();
+                FileStamp datesStamp = readStamp(in);
+                int[] epochDays = readInts(in, source);
+                FileStamp stripsStamp = FileStamp.MISSING;
+                int[] stripNumbers = null;
+                if (in.readBoolean()) {
+                    stripsStamp = readStamp(in);
+                    stripNumbers = readInts(in, source);
+                }
+                entries.add(new Entry(comicId, comicName, lastUpdated, datesStamp, epochDays, stripsStamp, stripNumbers));
+            }
+            return entries;
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (EOFException e) {
+            throw new IOException("Truncated index snapshot " + source, e);
+        }
+    }
+
+    private static void writeStamped(DataOutputStream out, FileStamp stamp, int[] values) throws IOException {
+        out.writeLong(stamp.size());
+        out.writeLong(stamp.modifiedMillis());
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static FileStamp readStamp(DataInputStream in) throws IOException {
+        return new FileStamp(in.readLong(), in.readLong());
+    }
+
+    private static int[] readInts(DataInputStream in, Path source) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupt index snapshot entry in " + source);
+        }
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+}
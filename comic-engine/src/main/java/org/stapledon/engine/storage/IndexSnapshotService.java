@@ -0,0 +1,105 @@
+package org.stapledon.engine.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.stapledon.common.config.CacheProperties;
+
+/**
+ * Keeps a binary warm-start snapshot ({@value IndexSnapshotFile#FILE_NAME}) of the indexes cached by
+ * {@link ComicIndexService}.
+ *
+ * <p>At startup the snapshot is read in one sequential pass and every comic whose
+ * {@code available-dates.json} (and {@code downloaded-strips.json}) still has the recorded size and
+ * modification time is seeded into the cache, so it is never parsed. Changed or missing files fall
+ * back to the JSON as before. The snapshot is rewritten periodically and on graceful shutdown,
+ * but only when the index generation has moved since the last write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexSnapshotService {
+
+    private final CacheProperties cacheProperties;
+    private final ComicIndexService comicIndexService;
+
+    private long writtenGeneration = -1;
+
+    /**
+     * Restores the indexes from the snapshot, if enabled and present.
+     */
+    @PostConstruct
+    public void restore() {
+        if (!cacheProperties.isWarmStartSnapshot()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            List<IndexSnapshotFile.Entry> entries = IndexSnapshotFile.read(snapshotFile());
+            int restored = comicIndexService.restoreSnapshot(entries);
+            synchronized (this) {
+                writtenGeneration = comicIndexService.generation();
+            }
+            log.info("Restored {} of {} comic indexes from warm-start snapshot in {}ms",
+                    restored, entries.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable warm-start snapshot, indexes will load from JSON: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the snapshot periodically.
+     */
+    @Scheduled(initialDelayString = "${comics.cache.warm-start-snapshot-interval-minutes:15}",
+            fixedDelayString = "${comics.cache.warm-start-snapshot-interval-minutes:15}", timeUnit = TimeUnit.MINUTES)
+    public void writePeriodically() {
+        write();
+    }
+
+    /**
+     * Writes the snapshot on graceful shutdown.
+     */
+    @PreDestroy
+    public void writeOnShutdown() {
+        write();
+    }
+
+    /**
+     * Writes the snapshot if enabled and the indexes changed since the last write.
+     *
+     * @return true if a snapshot was written
+     */
+    synchronized boolean write() {
+        if (!cacheProperties.isWarmStartSnapshot()) {
+            return false;
+        }
+        // Read the generation first: a change during capture leaves it behind, forcing the next write
+        long generation = comicIndexService.generation();
+        if (generation == writtenGeneration) {
+            return false;
+        }
+        try {
+            List<IndexSnapshotFile.Entry> entries = comicIndexService.captureSnapshot();
+            IndexSnapshotFile.write(snapshotFile(), entries);
+            writtenGeneration = generation;
+            log.debug("Wrote warm-start snapshot of {} comic indexes", entries.size());
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to write warm-start snapshot: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private Path snapshotFile() {
+        return Path.of(cacheProperties.getLocation(), IndexSnapshotFile.FILE_NAME);
+    }
+}
@@ -0,0 +1,119 @@
+package org.stapledon.engine.storage;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.stapledon.common.util.NfsFileOperations;
+
+/**
+ * Fixed-width binary format for {@link PackedHashRecords}.
+ *
+ * <pre>
+ * header   magic "CCHS" (int), version (int), record count (int), path count (int)
+ * records  hash (long), epoch day (int), path id (short), algorithm (byte), reserved (byte)
+ * paths    length (short), UTF-8 bytes -- one per path table entry
+ * </pre>
+ *
+ * <p>Records are 16 bytes each, so a year of daily strips is under 6 KB. Files are read through a
+ * read-only memory mapping straight into the primitive arrays, with no per-record parsing or
+ * object allocation.
+ */
+final class PackedHashFile {
+
+    static final String FILE_NAME = "image-hashes.bin";
+
+    private static final int MAGIC = 0x43434853; // "CCHS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+
+    private PackedHashFile() {
+    }
+
+    /**
+     * Writes the packed records atomically. The records must be {@link PackedHashRecords#isFullyPacked() fully packed}.
+     */
+    static void write(Path target, PackedHashRecords records) throws IOException {
+        byte[] bytes;
+        synchronized (records) {
+            int count = records.packedCount();
+            List<String> paths = records.pathTable();
+            List<byte[]> encodedPaths = paths.stream().map(path -> path.getBytes(StandardCharsets.UTF_8)).toList();
+            int pathBytes = encodedPaths.stream().mapToInt(encoded -> Short.BYTES + encoded.length).sum();
+
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + count * RECORD_BYTES + pathBytes)
+                    .order(ByteOrder.BIG_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(paths.size());
+            for (int slot = 0; slot < count; slot++) {
+                buffer.putLong(records.hashAt(slot))
+                        .putInt(records.epochDayAt(slot))
+                        .putShort(records.pathIdAt(slot))
+                        .put(records.algorithmAt(slot))
+                        .put((byte) 0);
+            }
+            for (byte[] encoded : encodedPaths) {
+                buffer.putShort((short) encoded.length).put(encoded);
+            }
+            bytes = buffer.array();
+        }
+        NfsFileOperations.atomicWrite(target, bytes);
+    }
+
+    /**
+     * Reads a packed hash file through a memory mapping.
+     *
+     * @throws IOException if the file cannot be read or is not a packed hash file
+     */
+    static PackedHashRecords read(Path source, Path yearDirectory) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Truncated hash file " + source);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a packed hash file: " + source);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported hash file version " + version + " in " + source);
+            }
+            int count = buffer.getInt();
+            int pathCount = buffer.getInt();
+            if (count < 0 || pathCount < 0 || HEADER_BYTES + (long) count * RECORD_BYTES > size) {
+                throw new IOException("Corrupt hash file header in " + source);
+            }
+
+            PackedHashRecords records = new PackedHashRecords(yearDirectory, count);
+            for (int i = 0; i < count; i++) {
+                long hash = buffer.getLong();
+                int epochDay = buffer.getInt();
+                short pathId = buffer.getShort();
+                byte algorithm = buffer.get();
+                buffer.get(); // reserved
+                if (pathId != PackedHashRecords.DEFAULT_PATH && (pathId < 0 || pathId >= pathCount)) {
+                    throw new IOException("Corrupt path id " + pathId + " in " + source);
+                }
+                records.putPacked(hash, epochDay, pathId, algorithm);
+            }
+            for (int i = 0; i < pathCount; i++) {
+                byte[] encoded = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(encoded);
+                records.addPath(new String(encoded, StandardCharsets.UTF_8));
+            }
+            return records;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated hash file " + source, e);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package org.stapledon.engine.storage;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.stapledon.common.dto.HashAlgorithm;
+import org.stapledon.common.dto.ImageHashRecord;
+import org.stapledon.common.util.LongIntHashMap;
+
+/**
+ * Compact per-comic/year hash records, exposed as a {@code Map} of hex hash to record.
+ *
+ * <p>Records whose hash is a 64-bit value in {@code %016x} form (the perceptual hashers) are held
+ * in a {@link LongIntHashMap} over parallel primitive arrays: the date as an epoch day, the
+ * algorithm ordinal and a path id. The path id is {@link #DEFAULT_PATH} when the file is the
+ * conventional {@code <yearDir>/<date>.png}, otherwise an index into a small path table.
+ * {@link ImageHashRecord}s are only built on lookup. Any other record (MD5, SHA-256, non-hex
+ * test values) is kept as-is in an overflow map. Removing a packed record moves the last slot into
+ * its place, so the arrays stay dense.
+ *
+ * <p>All access is synchronized on the instance. Views iterate over a snapshot, but removing through
+ * them removes from the map.
+ */
+final class PackedHashRecords extends AbstractMap<String, ImageHashRecord> {
+
+    static final short DEFAULT_PATH = -1;
+    private static final byte NO_ALGORITHM = 0;
+    private static final HashAlgorithm[] ALGORITHMS = HashAlgorithm.values();
+
+    private final Path yearDirectory;
+    private final String normalizedYearDirectory;
+
+    private final LongIntHashMap index;
+    private long[] hashes;
+    private int[] epochDays;
+    private short[] pathIds;
+    private byte[] algorithms;
+    private int count;
+
+    private final List<String> paths = new ArrayList<>();
+    private final Map<String, Short> pathIndex = new HashMap<>();
+
+    private final Map<String, ImageHashRecord> overflow = new HashMap<>();
+
+    PackedHashRecords(Path yearDirectory) {
+        this(yearDirectory, 16);
+    }
+
+    PackedHashRecords(Path yearDirectory, int expectedSize) {
+        this.yearDirectory = yearDirectory;
+        this.normalizedYearDirectory = yearDirectory.toAbsolutePath().normalize().toString();
+        int capacity = Math.max(expectedSize, 16);
+        this.index = new LongIntHashMap(capacity);
+        this.hashes = new long[capacity];
+        this.epochDays = new int[capacity];
+        this.pathIds = new short[capacity];
+        this.algorithms = new byte[capacity];
+    }
+
+    /**
+     * Parses a {@code %016x} hash, or returns null if the string is not in that exact form.
+     */
+    static Long parsePacked(String hash) {
+        if (hash == null || hash.length() != 16) {
+            return null;
+        }
+        for (int i = 0; i < 16; i++) {
+            char c = hash.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return null;
+            }
+        }
+        return Long.parseUnsignedLong(hash, 16);
+    }
+
+    static String formatPacked(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    @Override
+    public synchronized ImageHashRecord get(Object key) {
+        if (!(key instanceof String hash)) {
+            return null;
+        }
+        Long packed = parsePacked(hash);
+        if (packed == null) {
+            return overflow.get(hash);
+        }
+        int slot = index.get(packed);
+        return slot == LongIntHashMap.MISSING ? null : toRecord(slot);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public synchronized ImageHashRecord put(String hash, ImageHashRecord record) {
+        Long packed = parsePacked(hash);
+        if (packed == null || !hash.equals(record.getHash()) || record.getDate() == null) {
+            return overflow.put(hash, record);
+        }
+        short pathId = pathIdFor(record.getDate(), record.getFilePath());
+        if (pathId == Short.MIN_VALUE) {
+            return overflow.put(hash, record);
+        }
+
+        int slot = index.get(packed);
+        ImageHashRecord previous = slot == LongIntHashMap.MISSING ? overflow.remove(hash) : toRecord(slot);
+        if (slot == LongIntHashMap.MISSING) {
+            slot = count++;
+            ensureCapacity(count);
+            index.put(packed, slot);
+        }
+        hashes[slot] = packed;
+        epochDays[slot] = (int) record.getDate().toEpochDay();
+        pathIds[slot] = pathId;
+        algorithms[slot] = record.getAlgorithm() == null ? NO_ALGORITHM : (byte) (record.getAlgorithm().ordinal() + 1);
+        return previous;
+    }
+
+    @Override
+    public synchronized ImageHashRecord remove(Object key) {
+        if (!(key instanceof String hash)) {
+            return null;
+        }
+        Long packed = parsePacked(hash);
+        if (packed == null) {
+            return overflow.remove(hash);
+        }
+        int slot = index.remove(packed);
+        if (slot == LongIntHashMap.MISSING) {
+            return null;
+        }
+
+        ImageHashRecord previous = toRecord(slot);
+        int last = --count;
+        if (slot != last) {
+            hashes[slot] = hashes[last];
+            epochDays[slot] = epochDays[last];
+            pathIds[slot] = pathIds[last];
+            algorithms[slot] = algorithms[last];
+            index.put(hashes[slot], slot);
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        index.clear();
+        count = 0;
+        paths.clear();
+        pathIndex.clear();
+        overflow.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+        return count + overflow.size();
+    }
+
+    @Override
+    public Set<Entry<String, ImageHashRecord>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, ImageHashRecord>> iterator() {
+                Iterator<Entry<String, ImageHashRecord>> entries = snapshot().iterator();
+                return new Iterator<>() {
+                    private Entry<String, ImageHashRecord> current;
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, ImageHashRecord> next() {
+                        current = entries.next();
+                        return current;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (current == null) {
+                            throw new IllegalStateException();
+                        }
+                        PackedHashRecords.this.remove(current.getKey());
+                        current = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PackedHashRecords.this.size();
+            }
+
+            @Override
+            public void clear() {
+                PackedHashRecords.this.clear();
+            }
+        };
+    }
+
+    // Records are materialized here rather than held
+    private synchronized List<Entry<String, ImageHashRecord>> snapshot() {
+        List<Entry<String, ImageHashRecord>> entries = new ArrayList<>(size());
+        for (int slot = 0; slot < count; slot++) {
+            ImageHashRecord record = toRecord(slot);
+            entries.add(new SimpleImmutableEntry<>(record.getHash(), record));
+        }
+        overflow.forEach((hash, record) -> entries.add(new SimpleImmutableEntry<>(hash, record)));
+        return entries;
+    }
+
+    /**
+     * Whether every record is held in packed form, so the set can be written as binary.
+     */
+    synchronized boolean isFullyPacked() {
+        return overflow.isEmpty();
+    }
+
+    synchronized int packedCount() {
+        return count;
+    }
+
+    synchronized long hashAt(int slot) {
+        return hashes[slot];
+    }
+
+    synchronized int epochDayAt(int slot) {
+        return epochDays[slot];
+    }
+
+    synchronized short pathIdAt(int slot) {
+        return pathIds[slot];
+    }
+
+    synchronized byte algorithmAt(int slot) {
+        return algorithms[slot];
+    }
+
+    synchronized List<String> pathTable() {
+        return List.copyOf(paths);
+    }
+
+    /**
+     * Appends a record read from the binary store, trusting its path id to refer to the path table.
+     */
+    synchronized void putPacked(long hash, int epochDay, short pathId, byte algorithm) {
+        int slot = index.get(hash);
+        if (slot == LongIntHashMap.MISSING) {
+            slot = count++;
+            ensureCapacity(count);
+            index.put(hash, slot);
+        }
+        hashes[slot] = hash;
+        epochDays[slot] = epochDay;
+        pathIds[slot] = pathId;
+        algorithms[slot] = algorithm;
+    }
+
+    synchronized void addPath(String path) {
+        pathIndex.put(path, (short) paths.size());
+        paths.add(path);
+    }
+
+    private ImageHashRecord toRecord(int slot) {
+        LocalDate date = LocalDate.ofEpochDay(epochDays[slot]);
+        short pathId = pathIds[slot];
+        String filePath = pathId == DEFAULT_PATH ? defaultPath(date) : paths.get(pathId);
+        byte algorithm = algorithms[slot];
+        return ImageHashRecord.builder()
+                .hash(formatPacked(hashes[slot]))
+                .date(date)
+                .filePath(filePath)
+                .algorithm(algorithm == NO_ALGORITHM ? null : ALGORITHMS[algorithm - 1])
+                .build();
+    }
+
+    /**
+     * Path id for a record, or {@link Short#MIN_VALUE} if the path table is full.
+     */
+    private short pathIdFor(LocalDate date, String filePath) {
+        if (filePath == null) {
+            return Short.MIN_VALUE;
+        }
+        if (filePath.equals(defaultPath(date))) {
+            return DEFAULT_PATH;
+        }
+        Short existing = pathIndex.get(filePath);
+        if (existing != null) {
+            return existing;
+        }
+        if (paths.size() >= Short.MAX_VALUE) {
+            return Short.MIN_VALUE;
+        }
+        short id = (short) paths.size();
+        paths.add(filePath);
+        pathIndex.put(filePath, id);
+        return id;
+    }
+
+    private String defaultPath(LocalDate date) {
+        return normalizedYearDirectory + yearDirectory.getFileSystem().getSeparator() + date + ".png";
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= hashes.length) {
+            return;
+        }
+        int capacity = Math.max(required, hashes.length * 2);
+        hashes = Arrays.copyOf(hashes, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        pathIds = Arrays.copyOf(pathIds, capacity);
+        algorithms = Arrays.copyOf(algorithms, capacity);
+    }
+}
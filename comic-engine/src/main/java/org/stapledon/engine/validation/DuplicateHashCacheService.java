@@ -10,10 +10,12 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.dto.HashAlgorithm;
@@ -22,9 +24,9 @@
 import org.stapledon.engine.storage.DuplicateImageHashRepository;
 
 /**
- * Service for managing duplicate hash cache, including backfilling existing
- * images
- * and rebuilding cache when hash algorithm changes.
+ * Service for managing duplicate hash cache. Backfilling existing images and
+ * rebuilding the cache when the hash algorithm changes are handed off to
+ * {@link HashCacheBackfillService} so lookups never block on bulk rehashing.
  */
 @Slf4j
 @ToString
@@ -35,10 +37,12 @@ public class DuplicateHashCacheService {
     private final DuplicateImageHashRepository hashRepository;
     private final ImageHasherFactory imageHasherFactory;
     private final CacheProperties cacheProperties;
+    private final HashCacheBackfillService backfillService;
 
     /**
-     * Loads hashes for a comic/year, with automatic backfill and algorithm change
-     * detection.
+     * Loads hashes for a comic/year, queuing a background backfill when the year
+     * has images but no hashes, or hashes written with a different algorithm.
+     * Never blocks on the backfill; returns whatever records are currently cached.
      *
      * @param comicId   The comic ID
      * @param comicName The comic name
@@ -47,133 +51,91 @@ public class DuplicateHashCacheService {
      */
     public Map<String, ImageHashRecord> loadHashesWithBackfill(int comicId, String comicName, int year) {
         Map<String, ImageHashRecord> hashes = hashRepository.loadHashes(comicId, comicName, year);
-
-        // Check if cache needs rebuilding (algorithm changed or empty)
-        boolean needsRebuild = false;
-        String rebuildReason = null;
+        if (backfillService.isInProgress(comicId, year)) {
+            return hashes;
+        }
 
         if (hashes.isEmpty()) {
             // Check if there are existing images to backfill
             Path yearDir = hashRepository.getYearDirectory(comicId, comicName, year);
             if (Files.isDirectory(yearDir)) {
                 try (DirectoryStream<Path> stream = Files.newDirectoryStream(yearDir, "*.png")) {
-                    int imageCount = 0;
-                    for (Path ignored : stream) {
-                        imageCount++;
-                    }
-                    if (imageCount > 0) {
-                        needsRebuild = true;
-                        rebuildReason = "empty cache with existing images";
-                        log.info("No existing hash file for comic {} year {}, found {} images to backfill",
-                                comicName, year, imageCount);
+                    if (stream.iterator().hasNext()) {
+                        backfillService.schedule(comicId, comicName, year, "empty cache with existing images");
                     }
                 } catch (IOException e) {
                     log.warn("Failed to check for existing images: {}", e.getMessage());
                 }
             }
         } else {
-            // Check if algorithm changed
+            // Check if any records were written with a different algorithm
             HashAlgorithm currentAlgorithm = cacheProperties.getHashAlgorithm();
-            Optional<HashAlgorithm> existingAlgorithm = hashes.values().stream()
-                    .map(ImageHashRecord::getAlgorithm)
-                    .filter(Objects::nonNull)
-                    .findFirst();
-
-            if (existingAlgorithm.isPresent() && !existingAlgorithm.get().equals(currentAlgorithm)) {
-                needsRebuild = true;
-                rebuildReason = String.format("algorithm changed from %s to %s",
-                        existingAlgorithm.get(), currentAlgorithm);
-                log.warn("Hash algorithm changed from {} to {} for {} year {}, rebuilding cache",
-                        existingAlgorithm.get(), currentAlgorithm, comicName, year);
-            }
-        }
+            Optional<HashAlgorithm> staleAlgorithm = legacyAlgorithms(hashes, currentAlgorithm).stream().findFirst();
 
-        if (needsRebuild) {
-            log.info("Rebuilding hash cache for {} year {}: {}", comicName, year, rebuildReason);
-            hashes = backfillExistingImages(comicId, comicName, year);
-            hashRepository.replaceHashes(comicId, comicName, year, hashes);
+            if (staleAlgorithm.isPresent()) {
+                backfillService.schedule(comicId, comicName, year, String.format("algorithm changed from %s to %s",
+                        staleAlgorithm.get(), currentAlgorithm));
+            }
         }
 
         return hashes;
     }
 
     /**
-     * Backfills hash records from existing image files in the directory.
+     * Finds an existing hash record for a comic/year.
+     * Queues a backfill if needed, but searches only the records cached now.
      *
      * @param comicId   The comic ID
      * @param comicName The comic name
      * @param year      The year
-     * @return Map of hash value to ImageHashRecord
+     * @param hash      The hash value to find
+     * @return Optional containing the matching record, or empty if not found
      */
-    private Map<String, ImageHashRecord> backfillExistingImages(int comicId, String comicName, int year) {
-        Map<String, ImageHashRecord> hashes = new ConcurrentHashMap<>();
-        Path yearDir = hashRepository.getYearDirectory(comicId, comicName, year);
-
-        if (!Files.isDirectory(yearDir)) {
-            log.debug("No year directory exists for {} year {}", comicName, year);
-            return hashes;
-        }
-
-        ImageHasher hasher = imageHasherFactory.getImageHasher();
-        int backfilled = 0;
-        int failed = 0;
-
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(yearDir, "*.png")) {
-            for (Path imageFile : stream) {
-                try {
-                    // Extract date from filename (yyyy-MM-dd.png)
-                    String filename = imageFile.getFileName().toString();
-                    String dateStr = filename.substring(0, filename.lastIndexOf('.'));
-                    LocalDate date = LocalDate.parse(dateStr);
-
-                    // Read image and calculate hash
-                    byte[] imageData = Files.readAllBytes(imageFile);
-                    String hash = hasher.calculateHash(imageData);
-
-                    if (hash != null) {
-                        ImageHashRecord record = ImageHashRecord.builder()
-                                .hash(hash)
-                                .date(date)
-                                .filePath(imageFile.toAbsolutePath().toString())
-                                .algorithm(cacheProperties.getHashAlgorithm())
-                                .build();
-
-                        hashes.put(hash, record);
-                        backfilled++;
-                        log.debug("Backfilled hash for {} on {}: {}", comicName, date, hash);
-                    } else {
-                        log.warn("Failed to calculate hash for {}", filename);
-                        failed++;
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to backfill hash for {}: {}", imageFile.getFileName(), e.getMessage());
-                    failed++;
-                }
-            }
-        } catch (IOException e) {
-            log.error("Failed to read directory {}: {}", yearDir.toAbsolutePath(), e.getMessage());
-        }
-
-        log.info("Backfilled {} hashes for {} year {} ({} successful, {} failed)",
-                backfilled, comicName, year, backfilled, failed);
-
-        return hashes;
+    public Optional<ImageHashRecord> findByHash(int comicId, String comicName, int year, String hash) {
+        // Ensure cache is loaded and backfill queued
+        loadHashesWithBackfill(comicId, comicName, year);
+        return hashRepository.findByHash(comicId, comicName, year, hash);
     }
 
     /**
-     * Finds an existing hash record for a comic/year.
-     * Ensures cache is loaded with backfill before searching.
+     * Finds an existing record matching an image, reading both current and
+     * previous-algorithm records while an algorithm migration is in progress.
      *
      * @param comicId   The comic ID
      * @param comicName The comic name
      * @param year      The year
-     * @param hash      The hash value to find
+     * @param hash      The image hash under the configured algorithm
+     * @param imageData The raw image data, rehashed for any older algorithm still present
      * @return Optional containing the matching record, or empty if not found
      */
-    public Optional<ImageHashRecord> findByHash(int comicId, String comicName, int year, String hash) {
-        // Ensure cache is loaded with backfill
-        loadHashesWithBackfill(comicId, comicName, year);
-        return hashRepository.findByHash(comicId, comicName, year, hash);
+    public Optional<ImageHashRecord> findByHash(int comicId, String comicName, int year, String hash,
+            byte[] imageData) {
+        Map<String, ImageHashRecord> hashes = loadHashesWithBackfill(comicId, comicName, year);
+        HashAlgorithm currentAlgorithm = cacheProperties.getHashAlgorithm();
+
+        ImageHashRecord match = hashes.get(hash);
+        if (match != null && (match.getAlgorithm() == null || match.getAlgorithm() == currentAlgorithm)) {
+            return Optional.of(match);
+        }
+
+        // Records not yet migrated only match a hash computed with their own algorithm
+        for (HashAlgorithm algorithm : legacyAlgorithms(hashes, currentAlgorithm)) {
+            String legacyHash = imageHasherFactory.getImageHasher(algorithm).calculateHash(imageData);
+            ImageHashRecord legacyMatch = legacyHash == null ? null : hashes.get(legacyHash);
+            if (legacyMatch != null && legacyMatch.getAlgorithm() == algorithm) {
+                return Optional.of(legacyMatch);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Set<HashAlgorithm> legacyAlgorithms(Map<String, ImageHashRecord> hashes,
+            HashAlgorithm currentAlgorithm) {
+        return hashes.values().stream()
+                .map(ImageHashRecord::getAlgorithm)
+                .filter(Objects::nonNull)
+                .filter(algorithm -> algorithm != currentAlgorithm)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(HashAlgorithm.class)));
     }
 
     /**
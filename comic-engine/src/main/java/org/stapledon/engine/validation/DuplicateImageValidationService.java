@@ -51,8 +51,10 @@ public DuplicateValidationResult validateNoDuplicate(int comicId,
 
         int year = date.getYear();
 
-        // Check if this hash already exists for this comic/year (with automatic backfill/rebuild)
-        Optional<ImageHashRecord> existingRecord = hashCacheService.findByHash(comicId, comicName, year, hash);
+        // Check if this hash already exists for this comic/year; records from a previous
+        // algorithm are matched too while the background rehash is still migrating them
+        Optional<ImageHashRecord> existingRecord = hashCacheService.findByHash(comicId, comicName, year, hash,
+                imageData);
 
         if (existingRecord.isPresent()) {
             ImageHashRecord existing = existingRecord.get();
@@ -0,0 +1,301 @@
+package org.stapledon.engine.validation;
+
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.dto.HashAlgorithm;
+import org.stapledon.common.dto.ImageHashRecord;
+import org.stapledon.common.infrastructure.storage.CacheScanListener;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.IoPriority;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
+import org.stapledon.common.service.ImageHasher;
+import org.stapledon.engine.storage.DuplicateImageHashRepository;
+
+/**
+ * Background job that (re)builds the duplicate-detection hash cache for a comic/year.
+ *
+ * <p>Work is queued by {@link DuplicateHashCacheService} when a year has images but no hashes, or
+ * its hashes were written with a different algorithm, and drained by a single virtual-thread
+ * worker so the save path never waits on bulk rehashing. Images within a year are hashed in
+ * parallel, bounded by {@code comics.cache.hash-backfill-concurrency}. Progress is tracked per
+ * comic/year and exposed through {@link #getProgress()}; completed years are dropped after
+ * {@link #COMPLETED_RETENTION}, and a failed year can be queued again. Image reads are background
+ * IO through the {@link IoScheduler}, so rehashing gives way to user requests.
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+@Service
+public class HashCacheBackfillService {
+
+    static final Duration COMPLETED_RETENTION = Duration.ofHours(1);
+
+    private final DuplicateImageHashRepository hashRepository;
+    private final ImageHasherFactory imageHasherFactory;
+    private final CacheProperties cacheProperties;
+    private final CacheScanner cacheScanner;
+    private final IoScheduler ioScheduler;
+
+    @ToString.Include
+    private final int concurrency;
+
+    // "comicId:year" -> progress of the most recent run for that year
+    private final Map<String, YearTracker> trackers = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<YearTracker> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean workerRunning = new AtomicBoolean(false);
+
+    public HashCacheBackfillService(DuplicateImageHashRepository hashRepository, ImageHasherFactory imageHasherFactory,
+                                    CacheProperties cacheProperties, CacheScanner cacheScanner, IoScheduler ioScheduler) {
+        this.hashRepository = hashRepository;
+        this.imageHasherFactory = imageHasherFactory;
+        this.cacheProperties = cacheProperties;
+        this.cacheScanner = cacheScanner;
+        this.ioScheduler = ioScheduler;
+        int configured = cacheProperties.getHashBackfillConcurrency();
+        this.concurrency = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Queues a background rehash of a comic/year. Ignored when the year is already queued or
+     * running, or has recently been rehashed with the current algorithm; a year whose last run
+     * failed is queued again.
+     *
+     * @param comicId   The comic ID
+     * @param comicName The comic name
+     * @param year      The year
+     * @param reason    Why the rehash is needed, for logging and progress
+     * @return true if the year was queued
+     */
+    public boolean schedule(int comicId, String comicName, int year, String reason) {
+        HashAlgorithm algorithm = cacheProperties.getHashAlgorithm();
+        evictCompleted();
+        YearTracker candidate = new YearTracker(comicId, comicName, year, algorithm, reason);
+        YearTracker tracker = trackers.compute(key(comicId, year), (k, existing) ->
+                existing == null || existing.algorithm != algorithm || existing.status == Status.FAILED ? candidate : existing);
+        if (tracker != candidate) {
+            return false;
+        }
+
+        log.info("Queued hash backfill for {} year {}: {}", comicName, year, reason);
+        queue.add(tracker);
+        startWorker();
+        return true;
+    }
+
+    /**
+     * Whether a rehash of the comic/year is queued or running.
+     */
+    public boolean isInProgress(int comicId, int year) {
+        YearTracker tracker = trackers.get(key(comicId, year));
+        return tracker != null && (tracker.status == Status.PENDING || tracker.status == Status.RUNNING);
+    }
+
+    /**
+     * Progress of every queued, running or failed comic/year backfill, and of those completed within
+     * {@link #COMPLETED_RETENTION}, oldest year first.
+     */
+    public List<Progress> getProgress() {
+        evictCompleted();
+        return trackers.values().stream()
+                .map(YearTracker::snapshot)
+                .sorted(Comparator.comparing(Progress::comicName, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparingInt(Progress::year))
+                .toList();
+    }
+
+    /**
+     * Progress for a single comic/year, if a backfill has been queued for it.
+     */
+    public Optional<Progress> getProgress(int comicId, int year) {
+        return Optional.ofNullable(trackers.get(key(comicId, year))).map(YearTracker::snapshot);
+    }
+
+    private void evictCompleted() {
+        Instant cutoff = Instant.now().minus(COMPLETED_RETENTION);
+        trackers.values().removeIf(tracker -> tracker.status == Status.COMPLETED
+                && tracker.completedAt != null && tracker.completedAt.isBefore(cutoff));
+    }
+
+    private void startWorker() {
+        if (!workerRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("hash-cache-backfill").start(() -> {
+            try {
+                YearTracker tracker;
+                while ((tracker = queue.poll()) != null) {
+                    rehash(tracker);
+                }
+            } finally {
+                workerRunning.set(false);
+                // A task queued between the last poll and the flag reset still needs a worker
+                if (!queue.isEmpty()) {
+                    startWorker();
+                }
+            }
+        });
+    }
+
+    /**
+     * Hashes every strip in the year directory in parallel and replaces the year's hash records. The
+     * replace runs under the repository's year lock and keeps records already written with the current
+     * algorithm, so strips saved while the rehash ran are not lost.
+     */
+    void rehash(YearTracker tracker) {
+        tracker.status = Status.RUNNING;
+        tracker.startedAt = Instant.now();
+        try {
+            Path yearDir = hashRepository.getYearDirectory(tracker.comicId, tracker.comicName, tracker.year);
+            Map<String, ImageHashRecord> rehashed = Files.isDirectory(yearDir)
+                    ? hashYear(tracker, yearDir)
+                    : new ConcurrentHashMap<>();
+
+            // Strips saved while the rehash ran were hashed with the current algorithm already
+            hashRepository.replaceHashes(tracker.comicId, tracker.comicName, tracker.year, rehashed,
+                    record -> record.getAlgorithm() == tracker.algorithm);
+
+            tracker.status = Status.COMPLETED;
+            log.info("Hash backfill for {} year {} complete: {} hashed, {} failed in {}ms", tracker.comicName,
+                    tracker.year, tracker.hashed.get(), tracker.failed.get(),
+                    Instant.now().toEpochMilli() - tracker.startedAt.toEpochMilli());
+        } catch (Exception e) {
+            tracker.status = Status.FAILED;
+            log.error("Hash backfill for {} year {} failed: {}", tracker.comicName, tracker.year, e.getMessage(), e);
+        } finally {
+            tracker.completedAt = Instant.now();
+        }
+    }
+
+    private Map<String, ImageHashRecord> hashYear(YearTracker tracker, Path yearDir) {
+        List<CacheScanner.ScannedFile> files = new ArrayList<>();
+        cacheScanner.scanYear(yearDir, CacheScanner.ScanOptions.pngNames(), List.of(new CacheScanListener() {
+            @Override
+            public void onYearScanned(String comicDirectory, String year, Path yearDirectory,
+                                      List<CacheScanner.ScannedFile> scanned) {
+                files.addAll(scanned);
+            }
+        }));
+        tracker.total.set(files.size());
+
+        ImageHasher hasher = imageHasherFactory.getImageHasher(tracker.algorithm);
+        Map<String, ImageHashRecord> hashes = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CacheScanner.ScannedFile file : files) {
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        hashFile(tracker, hasher, file).ifPresent(record -> hashes.put(record.getHash(), record));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return hashes;
+    }
+
+    private Optional<ImageHashRecord> hashFile(YearTracker tracker, ImageHasher hasher, CacheScanner.ScannedFile file) {
+        try {
+            // Date comes from the filename (yyyy-MM-dd.png)
+            LocalDate date = file.date();
+            if (date == null) {
+                throw new IllegalArgumentException("not a dated strip");
+            }
+
+            byte[] imageData = ioScheduler.submit(IoPriority.BACKGROUND, () -> Files.readAllBytes(file.path()));
+            String hash = hasher.calculateHash(imageData);
+            if (hash == null) {
+                log.warn("Failed to calculate hash for {}", file.fileName());
+                tracker.failed.incrementAndGet();
+                return Optional.empty();
+            }
+
+            tracker.hashed.incrementAndGet();
+            log.debug("Backfilled hash for {} on {}: {}", tracker.comicName, date, hash);
+            return Optional.of(ImageHashRecord.builder()
+                    .hash(hash)
+                    .date(date)
+                    .filePath(file.path().toAbsolutePath().toString())
+                    .algorithm(tracker.algorithm)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to backfill hash for {}: {}", file.fileName(), e.getMessage());
+            tracker.failed.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    private static String key(int comicId, int year) {
+        return comicId + ":" + year;
+    }
+
+    /**
+     * State of a comic/year backfill.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * Point-in-time progress of a comic/year backfill.
+     */
+    public record Progress(int comicId, String comicName, int year, HashAlgorithm algorithm, String reason,
+                           Status status, int totalImages, int hashed, int failed,
+                           Instant startedAt, Instant completedAt) {
+    }
+
+    /**
+     * Mutable progress for one run, updated by the worker and read by {@link #getProgress()}.
+     */
+    static final class YearTracker {
+        final int comicId;
+        final String comicName;
+        final int year;
+        final HashAlgorithm algorithm;
+        final String reason;
+        final AtomicInteger total = new AtomicInteger();
+        final AtomicInteger hashed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        volatile Status status = Status.PENDING;
+        volatile Instant startedAt;
+        volatile Instant completedAt;
+
+        YearTracker(int comicId, String comicName, int year, HashAlgorithm algorithm, String reason) {
+            this.comicId = comicId;
+            this.comicName = comicName;
+            this.year = year;
+            this.algorithm = algorithm;
+            this.reason = reason;
+        }
+
+        Progress snapshot() {
+            return new Progress(comicId, comicName, year, algorithm, reason, status, total.get(), hashed.get(),
+                    failed.get(), startedAt, completedAt);
+        }
+    }
+}
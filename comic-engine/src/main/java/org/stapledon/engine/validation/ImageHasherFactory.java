@@ -40,8 +40,17 @@ public class ImageHasherFactory {
      * @return The appropriate ImageHasher implementation
      */
     public ImageHasher getImageHasher() {
-        HashAlgorithm algorithm = cacheProperties.getHashAlgorithm();
+        return getImageHasher(cacheProperties.getHashAlgorithm());
+    }
 
+    /**
+     * Gets the ImageHasher for a specific algorithm, regardless of configuration.
+     * Used to match records written under a previous algorithm during migration.
+     *
+     * @param algorithm The hash algorithm
+     * @return The ImageHasher implementation for that algorithm
+     */
+    public ImageHasher getImageHasher(HashAlgorithm algorithm) {
         log.debug("Selecting ImageHasher for algorithm: {}", algorithm);
 
         return switch (algorithm) {
@@ -4,14 +4,10 @@
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import javax.imageio.ImageIO;
 
 import org.stapledon.common.service.ImageHasher;
+import org.stapledon.engine.analysis.ImageSampling;
 
 /**
  * Average Hash (aHash) implementation for duplicate image detection.
@@ -40,22 +36,18 @@ public String calculateHash(byte[] imageData) {
             return null;
         }
 
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(imageData)) {
-            BufferedImage image = ImageIO.read(bis);
-            if (image == null) {
+        try {
+            // Resize to 8x8 and convert to grayscale; only the rows the resize reads are decoded
+            int[] resized = ImageSampling.grayscaleThumbnail(imageData, HASH_SIZE, HASH_SIZE);
+            if (resized == null) {
                 log.warn("ImageIO could not decode image for average hashing");
                 return null;
             }
 
-            // Resize to 8x8 and convert to grayscale
-            BufferedImage resized = resizeAndGrayscale(image, HASH_SIZE, HASH_SIZE);
-
             // Calculate average pixel value
             int sum = 0;
-            for (int y = 0; y < HASH_SIZE; y++) {
-                for (int x = 0; x < HASH_SIZE; x++) {
-                    sum += resized.getRGB(x, y) & 0xFF;
-                }
+            for (int pixel : resized) {
+                sum += pixel;
             }
             int average = sum / (HASH_SIZE * HASH_SIZE);
 
@@ -63,7 +55,7 @@ public String calculateHash(byte[] imageData) {
             long hash = 0;
             for (int y = 0; y < HASH_SIZE; y++) {
                 for (int x = 0; x < HASH_SIZE; x++) {
-                    int pixel = resized.getRGB(x, y) & 0xFF;
+                    int pixel = resized[y * HASH_SIZE + x];
                     if (pixel > average) {
                         hash |= 1L << (y * HASH_SIZE + x);
                     }
@@ -77,21 +69,4 @@ public String calculateHash(byte[] imageData) {
             return null;
         }
     }
-
-    /**
-     * Resizes an image and converts it to grayscale.
-     *
-     * @param original The original image
-     * @param width    The target width
-     * @param height   The target height
-     * @return The resized grayscale image
-     */
-    private BufferedImage resizeAndGrayscale(BufferedImage original, int width, int height) {
-        BufferedImage grayscale = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
-        Graphics2D g = grayscale.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(original, 0, 0, width, height, null);
-        g.dispose();
-        return grayscale;
-    }
 }
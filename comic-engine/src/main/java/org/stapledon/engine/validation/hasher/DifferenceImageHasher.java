@@ -4,14 +4,10 @@
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import javax.imageio.ImageIO;
 
 import org.stapledon.common.service.ImageHasher;
+import org.stapledon.engine.analysis.ImageSampling;
 
 /**
  * Difference Hash (dHash) implementation for duplicate image detection.
@@ -40,22 +36,21 @@ public String calculateHash(byte[] imageData) {
             return null;
         }
 
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(imageData)) {
-            BufferedImage image = ImageIO.read(bis);
-            if (image == null) {
+        try {
+            // Resize to 9x8 (need one extra column for comparison); only the rows the resize reads are decoded
+            int width = HASH_SIZE + 1;
+            int[] resized = ImageSampling.grayscaleThumbnail(imageData, width, HASH_SIZE);
+            if (resized == null) {
                 log.warn("ImageIO could not decode image for difference hashing");
                 return null;
             }
 
-            // Resize to 9x8 (need one extra column for comparison)
-            BufferedImage resized = resizeAndGrayscale(image, HASH_SIZE + 1, HASH_SIZE);
-
             // Build hash based on horizontal gradients
             long hash = 0;
             for (int y = 0; y < HASH_SIZE; y++) {
                 for (int x = 0; x < HASH_SIZE; x++) {
-                    int leftPixel = resized.getRGB(x, y) & 0xFF;
-                    int rightPixel = resized.getRGB(x + 1, y) & 0xFF;
+                    int leftPixel = resized[y * width + x];
+                    int rightPixel = resized[y * width + x + 1];
                     if (leftPixel > rightPixel) {
                         hash |= 1L << (y * HASH_SIZE + x);
                     }
@@ -69,21 +64,4 @@ public String calculateHash(byte[] imageData) {
             return null;
         }
     }
-
-    /**
-     * Resizes an image and converts it to grayscale.
-     *
-     * @param original The original image
-     * @param width    The target width
-     * @param height   The target height
-     * @return The resized grayscale image
-     */
-    private BufferedImage resizeAndGrayscale(BufferedImage original, int width, int height) {
-        BufferedImage grayscale = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
-        Graphics2D g = grayscale.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(original, 0, 0, width, height, null);
-        g.dispose();
-        return grayscale;
-    }
 }
@@ -172,6 +172,19 @@ void shouldDetectColorEvenWithMostlyGrayscale() throws Exception {
                 colorMode == ImageMetadata.ColorMode.GRAYSCALE).isTrue();
     }
 
+    @Test
+    void shouldDetectSingleColoredPixelWithFullSampling() throws Exception {
+        // Given - Every row is scanned at 100% sampling
+        ImageAnalysisService fullSampling = new ImageAnalysisService(100.0);
+        byte[] imageData = createMostlyGrayscaleImage(100, 100);
+
+        // When
+        ImageMetadata.ColorMode colorMode = fullSampling.detectColorMode(imageData);
+
+        // Then
+        assertThat(colorMode).isEqualTo(ImageMetadata.ColorMode.COLOR);
+    }
+
     @Test
     void shouldHandleSmallImages() throws Exception {
         // Given - Very small image (1x1)
@@ -0,0 +1,116 @@
+package org.stapledon.engine.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+class ImageKernelsTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_BYTE_INDEXED, BufferedImage.TYPE_4BYTE_ABGR})
+    void grayscaleThumbnailMatchesGraphics2D(int type) {
+        Random random = new Random(type);
+        for (int i = 0; i < 50; i++) {
+            BufferedImage image = randomImage(random, type, 1 + random.nextInt(1200), 1 + random.nextInt(400));
+
+            assertThat(ImageKernels.grayscaleThumbnail(image, 9, 8)).isEqualTo(graphics2DThumbnail(image, 9, 8));
+            assertThat(ImageKernels.grayscaleThumbnail(image, 8, 8)).isEqualTo(graphics2DThumbnail(image, 8, 8));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_BYTE_INDEXED})
+    void grayscaleThumbnailMatchesGraphics2DForSubimages(int type) {
+        BufferedImage image = randomImage(new Random(type), type, 640, 200);
+        BufferedImage subimage = image.getSubimage(13, 7, 500, 150);
+
+        assertThat(ImageKernels.grayscaleThumbnail(subimage, 9, 8)).isEqualTo(graphics2DThumbnail(subimage, 9, 8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_BYTE_INDEXED, BufferedImage.TYPE_4BYTE_ABGR})
+    void hasColorFindsSingleColoredPixelOnScannedRow(int type) {
+        BufferedImage image = grayImage(type, 301, 100);
+        image.setRGB(299, 40, Color.RED.getRGB());
+
+        assertThat(ImageKernels.hasColor(image, 1)).isTrue();
+        assertThat(ImageKernels.hasColor(image, 20)).isTrue();
+        assertThat(ImageKernels.hasColor(image, 30)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_BYTE_INDEXED})
+    void hasColorIsFalseForGrayscale(int type) {
+        assertThat(ImageKernels.hasColor(grayImage(type, 257, 33), 1)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 31, 32, 33, 64, 65, 97})
+    void rowScansFindLastPixelFromUnalignedStarts(int pixels) {
+        byte[] bgr = new byte[pixels * 3 + 5];
+        int[] rgb = new int[pixels + 2];
+        for (int pixel = 0; pixel < pixels; pixel++) {
+            // Shift everything by one element to exercise unaligned row starts
+            int offset = 1 + pixel * 3;
+            bgr[offset] = bgr[offset + 1] = bgr[offset + 2] = (byte) (pixel * 7);
+            rgb[1 + pixel] = 0x010101 * ((pixel * 7) & 0xFF);
+        }
+        assertThat(ImageKernels.hasColorInterleaved3(bgr, 1, 1 + pixels * 3)).isFalse();
+        assertThat(ImageKernels.hasColorIntRgb(rgb, 1, 1 + pixels)).isFalse();
+
+        bgr[1 + (pixels - 1) * 3 + 2] ^= 1;
+        rgb[pixels] ^= 1;
+        assertThat(ImageKernels.hasColorInterleaved3(bgr, 1, 1 + pixels * 3)).isTrue();
+        assertThat(ImageKernels.hasColorIntRgb(rgb, 1, 1 + pixels)).isTrue();
+    }
+
+    private static BufferedImage randomImage(Random random, int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g = image.createGraphics();
+        for (int i = 0; i < 40; i++) {
+            g.setColor(new Color(random.nextInt()));
+            g.fillOval(random.nextInt(width), random.nextInt(height), random.nextInt(width) + 1,
+                    random.nextInt(height) + 1);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage grayImage(int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g = image.createGraphics();
+        for (int y = 0; y < height; y++) {
+            int level = (255 * y) / height;
+            g.setColor(new Color(level, level, level));
+            g.drawLine(0, y, width, y);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static int[] graphics2DThumbnail(BufferedImage original, int width, int height) {
+        BufferedImage grayscale = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = grayscale.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(original, 0, 0, width, height, null);
+        g.dispose();
+
+        int[] gray = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                gray[y * width + x] = grayscale.getRGB(x, y) & 0xFF;
+            }
+        }
+        return gray;
+    }
+}
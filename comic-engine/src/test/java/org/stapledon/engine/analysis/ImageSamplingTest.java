@@ -0,0 +1,101 @@
+package org.stapledon.engine.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+class ImageSamplingTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_BYTE_INDEXED,
+            BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_BYTE_BINARY})
+    void pngThumbnailMatchesFullDecode(int type) throws IOException {
+        Random random = new Random(type);
+        for (int i = 0; i < 20; i++) {
+            byte[] png = encode(randomImage(random, type, 1 + random.nextInt(1500), 1 + random.nextInt(500)), "png");
+
+            assertThat(ImageSampling.grayscaleThumbnail(png, 9, 8)).isEqualTo(fullDecodeThumbnail(png, 9, 8));
+            assertThat(ImageSampling.grayscaleThumbnail(png, 8, 8)).isEqualTo(fullDecodeThumbnail(png, 8, 8));
+        }
+    }
+
+    @Test
+    void jpegThumbnailMatchesFullDecode() throws IOException {
+        byte[] jpeg = encode(randomImage(new Random(1), BufferedImage.TYPE_INT_RGB, 900, 300), "jpg");
+
+        assertThat(ImageSampling.grayscaleThumbnail(jpeg, 9, 8)).isEqualTo(fullDecodeThumbnail(jpeg, 9, 8));
+    }
+
+    @Test
+    void thumbnailIsNullForUndecodableData() throws IOException {
+        assertThat(ImageSampling.grayscaleThumbnail("not an image".getBytes(), 9, 8)).isNull();
+    }
+
+    @Test
+    void pngRowDecoderSkipsImagesWithAlpha() throws IOException {
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+
+        assertThat(PngRowDecoder.open(encode(image, "png"))).isNull();
+        assertThat(PngRowDecoder.open(encode(randomImage(new Random(2), BufferedImage.TYPE_INT_RGB, 10, 10), "png")))
+                .isNotNull();
+    }
+
+    @Test
+    void readRowsDecodesEveryNthRow() throws IOException {
+        BufferedImage image = randomImage(new Random(3), BufferedImage.TYPE_INT_RGB, 200, 101);
+        byte[] png = encode(image, "png");
+
+        BufferedImage rows;
+        try (MemoryCacheImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(png))) {
+            rows = ImageSampling.readRows(input, 20);
+        }
+
+        assertThat(rows.getWidth()).isEqualTo(200);
+        assertThat(rows.getHeight()).isEqualTo(6);
+        for (int y = 0; y < rows.getHeight(); y++) {
+            for (int x = 0; x < rows.getWidth(); x++) {
+                assertThat(rows.getRGB(x, y)).isEqualTo(image.getRGB(x, y * 20));
+            }
+        }
+    }
+
+    @Test
+    void readRowsReturnsNullForNullStream() throws IOException {
+        assertThat(ImageSampling.readRows(null, 1)).isNull();
+    }
+
+    private static int[] fullDecodeThumbnail(byte[] imageData, int width, int height) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
+        return ImageKernels.grayscaleThumbnail(image, width, height);
+    }
+
+    private static BufferedImage randomImage(Random random, int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g = image.createGraphics();
+        for (int i = 0; i < 40; i++) {
+            g.setColor(new Color(random.nextInt()));
+            g.fillOval(random.nextInt(width), random.nextInt(height), random.nextInt(width) + 1,
+                    random.nextInt(height) + 1);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+}
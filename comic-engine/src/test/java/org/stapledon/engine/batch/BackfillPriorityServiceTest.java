@@ -0,0 +1,99 @@
+package org.stapledon.engine.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.stapledon.common.dto.ComicItem;
+import org.stapledon.common.service.FavoritesService;
+import org.stapledon.engine.batch.ComicBackfillService.BackfillTask;
+import org.stapledon.engine.batch.ComicBackfillService.DateBackfillTask;
+import org.stapledon.engine.batch.ComicBackfillService.StripBackfillTask;
+import org.stapledon.metrics.collector.AccessMetricsCollector;
+
+@ExtendWith(MockitoExtension.class)
+class BackfillPriorityServiceTest {
+
+    private static final LocalDate NEWEST = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private AccessMetricsCollector accessMetricsCollector;
+
+    @Mock
+    private FavoritesService favoritesService;
+
+    private BackfillPriorityService priorityService;
+
+    @BeforeEach
+    void setUp() {
+        priorityService = new BackfillPriorityService(accessMetricsCollector, favoritesService);
+    }
+
+    @Test
+    void rank_prefersRecentlyReadComics() {
+        // Given: equal gaps in a comic read yesterday, one last read a year ago and one never read
+        ComicItem recent = createComic(1, "Recent");
+        ComicItem stale = createComic(2, "Stale");
+        ComicItem unread = createComic(3, "Unread");
+        String yesterday = LocalDateTime.now().minusDays(1).toString();
+        String lastYear = LocalDateTime.now().minusYears(1).toString();
+        when(accessMetricsCollector.getAccessCounts()).thenReturn(Map.of("Recent", 20, "Stale", 500));
+        when(accessMetricsCollector.getLastAccessTimes()).thenReturn(Map.of("Recent", yesterday, "Stale", lastYear));
+
+        BackfillTask unreadTask = new DateBackfillTask(unread, NEWEST);
+        BackfillTask staleTask = new DateBackfillTask(stale, NEWEST);
+        BackfillTask recentTask = new DateBackfillTask(recent, NEWEST);
+
+        // When
+        List<BackfillTask> ranked = priorityService.rank(List.of(unreadTask, staleTask, recentTask));
+
+        // Then
+        assertThat(ranked).containsExactly(recentTask, staleTask, unreadTask);
+    }
+
+    @Test
+    void rank_prefersGapsNearTheNewestStripAndFavorites() {
+        // Given
+        ComicItem plain = createComic(1, "Plain");
+        ComicItem favorite = createComic(2, "Favorite");
+        when(favoritesService.getFavoriteCounts()).thenReturn(Map.of(2, 1));
+
+        BackfillTask plainOld = new DateBackfillTask(plain, NEWEST.minusDays(300));
+        BackfillTask plainNew = new DateBackfillTask(plain, NEWEST.minusDays(1));
+        BackfillTask favoriteOld = new DateBackfillTask(favorite, NEWEST.minusDays(300));
+
+        // When
+        List<BackfillTask> ranked = priorityService.rank(List.of(plainOld, favoriteOld, plainNew));
+
+        // Then: a near gap in a plain comic beats an old favorite gap, which beats an old plain gap
+        assertThat(ranked).containsExactly(plainNew, favoriteOld, plainOld);
+    }
+
+    @Test
+    void distance_countsStripNumbersForIndexedComics() {
+        ComicItem indexed = createComic(1, "Indexed");
+        indexed.setLastStripNumber(4000);
+
+        assertThat(BackfillPriorityService.distance(new StripBackfillTask(indexed, 3990))).isEqualTo(10);
+        assertThat(BackfillPriorityService.distance(new DateBackfillTask(createComic(2, "Daily"), NEWEST.minusDays(7)))).isEqualTo(7);
+    }
+
+    private ComicItem createComic(int id, String name) {
+        ComicItem comic = new ComicItem();
+        comic.setId(id);
+        comic.setName(name);
+        comic.setSource("test-source");
+        comic.setNewest(NEWEST);
+        return comic;
+    }
+}
@@ -0,0 +1,115 @@
+package org.stapledon.engine.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.util.GsonUtils;
+import org.stapledon.engine.batch.dto.BackfillQueueItem;
+import org.stapledon.engine.batch.dto.BackfillScanCursor;
+
+class BackfillQueueRepositoryTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 6, 1, 7, 0, 0, 0, ZoneOffset.UTC);
+
+    @TempDir
+    Path cacheRoot;
+
+    @Test
+    void shouldPersistItemsAndCursorsAcrossInstances() {
+        // Given
+        BackfillQueueRepository repository = newRepository();
+        BackfillQueueItem older = BackfillQueueItem.forDate(1, LocalDate.of(2025, 5, 1));
+        BackfillQueueItem newer = BackfillQueueItem.forDate(1, LocalDate.of(2025, 5, 2));
+        repository.enqueue(older);
+        repository.enqueue(newer);
+        repository.enqueue(BackfillQueueItem.forStrip(2, 42));
+        repository.saveCursor(1, new BackfillScanCursor(20240, 20210, 2, false));
+
+        // When
+        repository.flush();
+        BackfillQueueRepository reloaded = newRepository();
+
+        // Then
+        assertThat(reloaded.findDue(1, NOW, 10)).containsExactly(newer, older);
+        assertThat(reloaded.findDue(2, NOW, 10)).extracting(BackfillQueueItem::stripNumber).containsExactly(42);
+        assertThat(reloaded.findCursor(1)).hasValue(new BackfillScanCursor(20240, 20210, 2, false));
+    }
+
+    @Test
+    void shouldBackOffExponentiallyThenMarkPermanentMiss() {
+        // Given
+        BackfillQueueRepository repository = newRepository();
+        BackfillQueueItem item = BackfillQueueItem.forDate(1, LocalDate.of(2025, 5, 1));
+        repository.enqueue(item);
+
+        // When & Then
+        repository.recordFailure(item, "404", NOW, Duration.ofHours(24), 3);
+        assertThat(repository.find(item.key())).get().extracting(BackfillQueueItem::nextEligibleAt).isEqualTo(NOW.plusHours(24));
+
+        repository.recordFailure(item, "404", NOW, Duration.ofHours(24), 3);
+        assertThat(repository.find(item.key())).get().extracting(BackfillQueueItem::nextEligibleAt).isEqualTo(NOW.plusHours(48));
+        assertThat(repository.findDue(1, NOW.plusHours(47), 10)).isEmpty();
+        assertThat(repository.findDue(1, NOW.plusHours(48), 10)).hasSize(1);
+
+        repository.recordFailure(item, "404", NOW, Duration.ofHours(24), 3);
+        BackfillQueueItem givenUp = repository.find(item.key()).orElseThrow();
+        assertThat(givenUp.permanentMiss()).isTrue();
+        assertThat(givenUp.attempts()).isEqualTo(3);
+        assertThat(repository.findDue(1, NOW.plusYears(1), 10)).isEmpty();
+    }
+
+    @Test
+    void successShouldRemoveItemAndReopenExhaustedScan() {
+        // Given
+        BackfillQueueRepository repository = newRepository();
+        BackfillQueueItem item = BackfillQueueItem.forStrip(1, 7);
+        repository.enqueue(item);
+        repository.saveCursor(1, new BackfillScanCursor(10, 5, 4, true));
+
+        // When
+        repository.recordSuccess(item);
+
+        // Then
+        assertThat(repository.find(item.key())).isEmpty();
+        assertThat(repository.findCursor(1)).hasValue(new BackfillScanCursor(10, 5, 0, false));
+    }
+
+    @Test
+    void findDueShouldReturnOnlyTheComicsRetryableItemsNewestFirst() {
+        // Given
+        BackfillQueueRepository repository = newRepository();
+        BackfillQueueItem oldest = BackfillQueueItem.forDate(1, LocalDate.of(2025, 5, 1));
+        BackfillQueueItem middle = BackfillQueueItem.forDate(1, LocalDate.of(2025, 5, 2));
+        BackfillQueueItem newest = BackfillQueueItem.forDate(1, LocalDate.of(2025, 5, 3));
+        repository.enqueue(middle);
+        repository.enqueue(BackfillQueueItem.forDate(2, LocalDate.of(2025, 5, 4)));
+        repository.enqueue(oldest);
+        repository.enqueue(newest);
+
+        // When
+        repository.recordFailure(newest, "404", NOW, Duration.ofHours(24), 1);
+        repository.recordSuccess(middle);
+        repository.flush();
+        BackfillQueueRepository reloaded = newRepository();
+        reloaded.enqueue(newest);
+
+        // Then
+        assertThat(repository.findDue(1, NOW, 10)).containsExactly(oldest);
+        assertThat(reloaded.findDue(1, NOW.plusYears(1), 10)).containsExactly(oldest);
+        assertThat(reloaded.find(newest.key())).get().extracting(BackfillQueueItem::permanentMiss).isEqualTo(true);
+        assertThat(reloaded.findDue(2, NOW, 0)).isEmpty();
+    }
+
+    private BackfillQueueRepository newRepository() {
+        return new BackfillQueueRepository(GsonUtils.createGson(), CacheProperties.builder().location(cacheRoot.toString()).build());
+    }
+}
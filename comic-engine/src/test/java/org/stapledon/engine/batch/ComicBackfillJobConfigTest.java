@@ -13,9 +13,11 @@
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.partition.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.Step;
 import org.springframework.batch.infrastructure.item.Chunk;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
 import org.springframework.batch.infrastructure.item.ItemReader;
 import org.springframework.batch.infrastructure.item.ItemWriter;
@@ -23,6 +25,7 @@
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -58,7 +61,7 @@ class ComicBackfillJobConfigTest {
     void setUp() {
         config = new ComicBackfillJobConfig(managementFacade, backfillService);
         setField(config, "chunkSize", 10);
-        setField(config, "delayBetweenComics", 0L); // No delay for tests
+        setField(config, "maxConcurrentSources", 4);
     }
 
     @Test
@@ -73,11 +76,22 @@ void comicBackfillJob_shouldBeCreated() {
 
     @Test
     void comicBackfillStep_shouldBeCreated() {
+        Partitioner mockPartitioner = mock(Partitioner.class);
+        Step workerStep = mock(Step.class);
+
+        Step step = config.comicBackfillStep(jobRepository, mockPartitioner, workerStep);
+
+        assertThat(step).isNotNull();
+        assertThat(step.getName()).isEqualTo("comicBackfillStep");
+    }
+
+    @Test
+    void comicBackfillWorkerStep_shouldBeCreated() {
         ItemReader<BackfillTask> mockReader = mock(ItemReader.class);
         ItemProcessor<BackfillTask, ComicDownloadResult> mockProcessor = mock(ItemProcessor.class);
         ItemWriter<ComicDownloadResult> mockWriter = mock(ItemWriter.class);
 
-        Step step = config.comicBackfillStep(
+        Step step = config.comicBackfillWorkerStep(
                 jobRepository,
                 transactionManager,
                 mockReader,
@@ -85,7 +99,17 @@ void comicBackfillStep_shouldBeCreated() {
                 mockWriter);
 
         assertThat(step).isNotNull();
-        assertThat(step.getName()).isEqualTo("comicBackfillStep");
+        assertThat(step.getName()).isEqualTo("comicBackfillWorkerStep");
+    }
+
+    @Test
+    void backfillSourcePartitioner_shouldCreateOnePartitionPerSource() {
+        when(backfillService.findEligibleSources("ALL")).thenReturn(List.of("comicskingdom", "gocomics"));
+
+        Map<String, ExecutionContext> partitions = config.backfillSourcePartitioner("ALL").partition(4);
+
+        assertThat(partitions).containsOnlyKeys("comicskingdom", "gocomics");
+        assertThat(partitions.get("gocomics").getString("source")).isEqualTo("gocomics");
     }
 
     @Test
@@ -93,9 +117,9 @@ void backfillTaskReader_shouldReturnTasks() throws Exception {
         ComicItem comic = createComic(1, "Test Comic");
         BackfillTask task = new DateBackfillTask(comic, LocalDate.of(2025, 1, 1));
 
-        when(backfillService.findMissingStrips(null)).thenReturn(List.of(task));
+        when(backfillService.findMissingStrips("test-source")).thenReturn(List.of(task));
 
-        ItemReader<BackfillTask> reader = config.backfillTaskReader(null);
+        ItemReader<BackfillTask> reader = config.backfillTaskReader("test-source");
 
         BackfillTask result = reader.read();
         assertThat(result).isNotNull();
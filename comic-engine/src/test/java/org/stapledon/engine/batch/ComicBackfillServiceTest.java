@@ -4,6 +4,8 @@
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -11,22 +13,31 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.dto.ComicDownloadRequest;
+import org.stapledon.common.dto.ComicDownloadResult;
 import org.stapledon.common.dto.ComicIdentifier;
 import org.stapledon.common.dto.ComicItem;
 import org.stapledon.common.service.ComicStorageFacade;
+import org.stapledon.common.service.FavoritesService;
+import org.stapledon.common.util.GsonUtils;
 import org.stapledon.engine.batch.ComicBackfillService.BackfillTask;
 import org.stapledon.engine.batch.ComicBackfillService.DateBackfillTask;
 import org.stapledon.engine.downloader.DownloaderFacade;
 import org.stapledon.engine.management.ManagementFacade;
 import org.stapledon.engine.storage.ComicIndexService;
+import org.stapledon.metrics.collector.AccessMetricsCollector;
 
 @ExtendWith(MockitoExtension.class)
 class ComicBackfillServiceTest {
@@ -46,6 +57,15 @@ class ComicBackfillServiceTest {
     @Mock
     private ComicIndexService comicIndexService;
 
+    @Mock
+    private AccessMetricsCollector accessMetricsCollector;
+
+    @Mock
+    private FavoritesService favoritesService;
+
+    @TempDir
+    Path cacheRoot;
+
     private ComicBackfillService service;
 
     private static final int MAX_CONSECUTIVE_FAILURES = 14;
@@ -54,7 +74,7 @@ class ComicBackfillServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new ComicBackfillService(managementFacade, storageFacade, configService, downloaderFacade, comicIndexService);
+        service = newService();
 
         // Setup default configuration service behavior using lenient to avoid
         // UnnecessaryStubbingException for tests that don't use all stubs
@@ -112,6 +132,23 @@ void findMissingStrips_withDisabledSource_skipsComic() {
         verifyNoInteractions(storageFacade);
     }
 
+    @Test
+    void findEligibleSources_returnsDistinctEnabledSourcesInOrder() {
+        ComicItem first = createComic(1, "First", true);
+        first.setSource("gocomics");
+        ComicItem second = createComic(2, "Second", true);
+        second.setSource("comicskingdom");
+        ComicItem third = createComic(3, "Third", true);
+        third.setSource("gocomics");
+        ComicItem inactive = createComic(4, "Inactive", false);
+        inactive.setSource("freefall");
+        when(managementFacade.getAllComics()).thenReturn(List.of(first, second, third, inactive));
+
+        assertThat(service.findEligibleSources("ALL")).containsExactly("comicskingdom", "gocomics");
+        assertThat(service.findEligibleSources("gocomics")).containsExactly("gocomics");
+        verifyNoInteractions(storageFacade);
+    }
+
     @Test
     void findMissingStrips_withAllStripsExisting_returnsEmptyList() {
         ComicItem comic = createComic(1, "Complete Comic", true);
@@ -304,6 +341,86 @@ void findMissingStrips_respectsComicOldestDate() {
         }
     }
 
+    @Test
+    void findMissingStrips_resumesFromQueueInsteadOfRescanning() {
+        ComicItem comic = createComic(1, "Queued Comic", true);
+        when(managementFacade.getAllComics()).thenReturn(List.of(comic));
+        when(configService.getMaxPerDayForSource("test-source")).thenReturn(3);
+        when(configService.getRetryBackoffHours()).thenReturn(24);
+        when(storageFacade.comicStripExists(any(ComicIdentifier.class), any(LocalDate.class))).thenReturn(false);
+        LocalDate today = LocalDate.now();
+
+        // First run scans the three newest dates
+        List<BackfillTask> first = service.findMissingStrips();
+        assertThat(first).extracting(task -> ((DateBackfillTask) task).date())
+                .containsExactly(today, today.minusDays(1), today.minusDays(2));
+
+        // A run before any outcome is recorded takes the same due items from the queue without scanning again
+        assertThat(service.findMissingStrips()).containsExactlyElementsOf(first);
+        verify(storageFacade, times(3)).comicStripExists(any(ComicIdentifier.class), any(LocalDate.class));
+
+        // Once they failed (retry in 24h), a fresh service resumes the scan below them
+        first.forEach(task -> service.recordFailure(task, "404"));
+        service.flushQueue();
+        ComicBackfillService restarted = newService();
+
+        assertThat(restarted.findMissingStrips()).extracting(task -> ((DateBackfillTask) task).date())
+                .containsExactly(today.minusDays(3), today.minusDays(4), today.minusDays(5));
+        verify(storageFacade, never()).comicStripExists(ComicIdentifier.from(comic), today.minusDays(6));
+    }
+
+    @Test
+    void recordFailure_stopsRetryingPermanentMisses() {
+        ComicItem comic = createComic(1, "Missing Comic", true);
+        comic.setOldest(LocalDate.now());
+        when(managementFacade.getAllComics()).thenReturn(List.of(comic));
+        when(configService.getPermanentMissAfterAttempts()).thenReturn(2);
+        when(storageFacade.comicStripExists(any(ComicIdentifier.class), any(LocalDate.class))).thenReturn(false);
+
+        // With no backoff the failed date is due again on the next run, until its second failure
+        BackfillTask task = service.findMissingStrips().getFirst();
+        service.recordFailure(task, "404");
+        assertThat(service.findMissingStrips()).containsExactly(task);
+        service.recordFailure(task, "404");
+
+        assertThat(service.findMissingStrips()).isEmpty();
+    }
+
+    @Test
+    void recordResult_removesStoredStripFromQueue() {
+        ComicItem comic = createComic(1, "Daily Comic", true);
+        comic.setOldest(LocalDate.now());
+        when(managementFacade.getAllComics()).thenReturn(List.of(comic));
+        when(storageFacade.comicStripExists(any(ComicIdentifier.class), any(LocalDate.class))).thenReturn(false);
+
+        DateBackfillTask task = (DateBackfillTask) service.findMissingStrips().getFirst();
+        ComicDownloadRequest request = ComicDownloadRequest.builder().comicId(1).comicName(comic.getName()).date(task.date()).build();
+        service.recordResult(task, ComicDownloadResult.success(request, new byte[0]));
+
+        assertThat(service.findMissingStrips()).isEmpty();
+    }
+
+    @Test
+    void findMissingStrips_spendsSourceBudgetOnMostPopularComics() {
+        ComicItem unread = createComic(1, "Unread Comic", true);
+        ComicItem favorite = createComic(2, "Favorite Comic", true);
+        when(managementFacade.getAllComics()).thenReturn(List.of(unread, favorite));
+        when(configService.getMaxPerDayForSource("test-source")).thenReturn(2);
+        when(favoritesService.getFavoriteCounts()).thenReturn(Map.of(2, 1));
+        when(storageFacade.comicStripExists(any(ComicIdentifier.class), any(LocalDate.class))).thenReturn(false);
+
+        List<BackfillTask> result = service.findMissingStrips();
+
+        // Both comics offer two candidates; the shared budget of two goes to the favorite
+        assertThat(result).extracting(BackfillTask::comic).containsExactly(favorite, favorite);
+    }
+
+    private ComicBackfillService newService() {
+        BackfillQueueRepository queue = new BackfillQueueRepository(GsonUtils.createGson(), CacheProperties.builder().location(cacheRoot.toString()).build());
+        return new ComicBackfillService(managementFacade, storageFacade, configService, downloaderFacade, comicIndexService, queue,
+                new BackfillPriorityService(accessMetricsCollector, favoritesService));
+    }
+
     private ComicItem createComic(int id, String name, boolean active) {
         ComicItem comic = new ComicItem();
         comic.setId(id);
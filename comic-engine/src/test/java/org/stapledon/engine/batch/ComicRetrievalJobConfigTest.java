@@ -1,10 +1,18 @@
 package org.stapledon.engine.batch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,17 +21,36 @@
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.parameters.JobParameters;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
 import org.springframework.batch.core.step.Step;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
+import org.springframework.batch.infrastructure.item.ItemReader;
+import org.springframework.batch.infrastructure.item.support.ListItemReader;
+import org.springframework.batch.infrastructure.support.transaction.ResourcelessTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import org.stapledon.common.dto.ComicDownloadRequest;
 import org.stapledon.common.dto.ComicDownloadResult;
+import org.stapledon.common.dto.ComicItem;
+import org.stapledon.common.dto.ComicRetrievalStatus;
 import org.stapledon.engine.batch.config.ComicRetrievalJobConfig;
 import org.stapledon.engine.management.ManagementFacade;
 
@@ -58,38 +85,165 @@ void comicDownloadJob_shouldBeCreated() {
 
     @ParameterizedTest
     @NullAndEmptySource
-    @ValueSource(strings = {"ALL"})
-    void comicProcessor_withNoSourceFilter_downloadsAllSources(String sourceFilter) throws Exception {
+    @ValueSource(strings = {"ALL", "gocomics"})
+    void retrievalSourcePartitioner_createsOnePartitionPerSourceWithTodaysDate(String sourceFilter) {
+        // Given
+        Map<String, List<ComicItem>> bySource = new LinkedHashMap<>();
+        bySource.put("gocomics", List.of(createComic(1, "Garfield", "gocomics")));
+        bySource.put("freefall", List.of(createComic(2, "Freefall", "freefall")));
+        when(managementFacade.findComicsForDailyUpdate(any(LocalDate.class), eq(sourceFilter))).thenReturn(bySource);
+
+        // When
+        Map<String, ExecutionContext> partitions = config.retrievalSourcePartitioner(sourceFilter).partition(1);
+
+        // Then
+        assertThat(partitions).containsOnlyKeys("gocomics", "freefall");
+        assertThat(partitions.get("gocomics").getString("source")).isEqualTo("gocomics");
+        assertThat(partitions.get("freefall").getString("date")).isEqualTo(LocalDate.now().toString());
+    }
+
+    @Test
+    void retrievalSourcePartitioner_withNothingToDownload_createsNoPartitions() {
+        when(managementFacade.findComicsForDailyUpdate(any(LocalDate.class), eq(null))).thenReturn(Map.of());
+
+        assertThat(config.retrievalSourcePartitioner(null).partition(1)).isEmpty();
+    }
+
+    @Test
+    void comicReader_readsComicsStillMissingForItsSourceAndDate() throws Exception {
+        // Given: one of the source's comics was already saved by an earlier attempt and is no longer returned
         LocalDate date = LocalDate.of(2026, 3, 23);
-        when(managementFacade.updateComicsForDate(date, sourceFilter)).thenReturn(List.of());
+        ComicItem remaining = createComic(2, "Remaining", "gocomics");
+        when(managementFacade.findComicsForDailyUpdate(date, "gocomics")).thenReturn(Map.of("gocomics", List.of(remaining)));
 
-        ItemProcessor<LocalDate, List<ComicDownloadResult>> processor = config.comicProcessor(sourceFilter);
-        List<ComicDownloadResult> results = processor.process(date);
+        // When
+        ItemReader<ComicItem> reader = config.comicReader("gocomics", date.toString());
 
-        assertThat(results).isEmpty();
-        verify(managementFacade).updateComicsForDate(date, sourceFilter);
+        // Then
+        assertThat(reader.read()).isSameAs(remaining);
+        assertThat(reader.read()).isNull();
     }
 
-    @ParameterizedTest
-    @ValueSource(strings = {"gocomics", "comicskingdom", "freefall"})
-    void comicProcessor_withSourceFilter_passesFilterToFacade(String sourceFilter) throws Exception {
+    @Test
+    void comicProcessor_updatesOneComicForThePartitionDate() throws Exception {
+        // Given
         LocalDate date = LocalDate.of(2026, 3, 23);
-        when(managementFacade.updateComicsForDate(date, sourceFilter)).thenReturn(List.of());
+        ComicItem comic = createComic(1, "Garfield", "gocomics");
+        ComicDownloadResult result = ComicDownloadResult.builder().successful(true).build();
+        when(managementFacade.updateComicForDate(comic, date)).thenReturn(Optional.of(result));
 
-        ItemProcessor<LocalDate, List<ComicDownloadResult>> processor = config.comicProcessor(sourceFilter);
-        List<ComicDownloadResult> results = processor.process(date);
+        // When
+        ItemProcessor<ComicItem, ComicDownloadResult> processor = config.comicProcessor(date.toString());
 
-        assertThat(results).isEmpty();
-        verify(managementFacade).updateComicsForDate(date, sourceFilter);
+        // Then
+        assertThat(processor.process(comic)).isSameAs(result);
+        verify(managementFacade).updateComicForDate(comic, date);
     }
 
     @Test
-    void dateReader_isStepScoped() throws NoSuchMethodException {
-        Method method = ComicRetrievalJobConfig.class.getDeclaredMethod("dateReader");
+    void comicProcessor_rethrowsTransientFailuresAndReturnsOthers() throws Exception {
+        // Given
+        LocalDate date = LocalDate.of(2026, 3, 23);
+        ComicItem flaky = createComic(1, "Garfield", "gocomics");
+        ComicItem missing = createComic(2, "Freefall", "gocomics");
+        ComicDownloadResult unavailable = ComicDownloadResult.failure(request(missing, date), "Strip not published", ComicRetrievalStatus.COMIC_UNAVAILABLE);
+        when(managementFacade.updateComicForDate(flaky, date))
+                .thenReturn(Optional.of(ComicDownloadResult.failure(request(flaky, date), "Read timed out", ComicRetrievalStatus.NETWORK_ERROR)));
+        when(managementFacade.updateComicForDate(missing, date)).thenReturn(Optional.of(unavailable));
+
+        // When
+        ItemProcessor<ComicItem, ComicDownloadResult> processor = config.comicProcessor(date.toString());
+
+        // Then
+        assertThatThrownBy(() -> processor.process(flaky))
+                .isInstanceOf(ComicRetrievalJobConfig.TransientDownloadException.class)
+                .hasMessageContaining("Garfield")
+                .hasMessageContaining("Read timed out");
+        assertThat(processor.process(missing)).isSameAs(unavailable);
+    }
 
-        assertThat(method.isAnnotationPresent(StepScope.class))
-                .as("dateReader must be @StepScope: without it the singleton ListItemReader is exhausted after the first job run, "
+    @Test
+    void comicRetrievalWorkerStep_retriesThenSkipsComicsThatKeepFailingTransiently() throws Exception {
+        // Given: one comic times out on every attempt, the other is simply not published today
+        LocalDate date = LocalDate.of(2026, 3, 23);
+        ComicItem flaky = createComic(1, "Garfield", "gocomics");
+        ComicItem missing = createComic(2, "Freefall", "gocomics");
+        ComicDownloadResult unavailable = ComicDownloadResult.failure(request(missing, date), "Strip not published", ComicRetrievalStatus.COMIC_UNAVAILABLE);
+        when(managementFacade.updateComicForDate(flaky, date))
+                .thenReturn(Optional.of(ComicDownloadResult.failure(request(flaky, date), "Read timed out", ComicRetrievalStatus.NETWORK_ERROR)));
+        when(managementFacade.updateComicForDate(missing, date)).thenReturn(Optional.of(unavailable));
+        ReflectionTestUtils.setField(config, "retryLimit", 2);
+        ReflectionTestUtils.setField(config, "skipLimit", 5);
+
+        JobRepository repository = new ResourcelessJobRepository();
+        List<ComicDownloadResult> written = new ArrayList<>();
+        Step step = config.comicRetrievalWorkerStep(repository, new ResourcelessTransactionManager(),
+                new ListItemReader<>(List.of(flaky, missing)), config.comicProcessor(date.toString()), chunk -> written.addAll(chunk.getItems()));
+        Job job = new JobBuilder("comicRetrievalWorkerStepTest", repository).start(step).build();
+        JobParameters parameters = new JobParameters();
+        JobExecution jobExecution = repository.createJobExecution(repository.createJobInstance(job.getName(), parameters), parameters, new ExecutionContext());
+
+        // When
+        job.execute(jobExecution);
+
+        // Then: the timed-out comic was retried before being skipped, and the unavailable one was written without a retry
+        verify(managementFacade, atLeast(2)).updateComicForDate(flaky, date);
+        verify(managementFacade).updateComicForDate(missing, date);
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions()).singleElement().satisfies(stepExecution -> {
+            assertThat(stepExecution.getProcessSkipCount()).isEqualTo(1);
+            assertThat(stepExecution.getWriteCount()).isEqualTo(1);
+        });
+        assertThat(written).containsExactly(unavailable);
+    }
+
+    @Test
+    void comicDownloadSkipListener_logsSkippedComicAndCauseAtError() {
+        // Given
+        Logger logger = (Logger) LoggerFactory.getLogger(ComicRetrievalJobConfig.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        IOException cause = new IOException("connection reset");
+
+        // When
+        try {
+            new ComicRetrievalJobConfig.ComicDownloadSkipListener().onSkipInProcess(createComic(1, "Garfield", "gocomics"), cause);
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        // Then
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+            assertThat(event.getFormattedMessage()).contains("Garfield").contains("connection reset");
+            assertThat(event.getThrowableProxy().getMessage()).isEqualTo("connection reset");
+        });
+    }
+
+    @Test
+    void partitionBeans_areStepScoped() throws NoSuchMethodException {
+        Method reader = ComicRetrievalJobConfig.class.getDeclaredMethod("comicReader", String.class, String.class);
+        Method partitioner = ComicRetrievalJobConfig.class.getDeclaredMethod("retrievalSourcePartitioner", String.class);
+
+        assertThat(reader.isAnnotationPresent(StepScope.class))
+                .as("comicReader must be @StepScope: without it the singleton ListItemReader is exhausted after the first job run, "
                         + "and every subsequent ComicDownloadJob silently completes in 1ms with zero downloads")
                 .isTrue();
+        assertThat(partitioner.isAnnotationPresent(StepScope.class))
+                .as("retrievalSourcePartitioner must be @StepScope so the target date is captured per run, not at startup")
+                .isTrue();
+    }
+
+    private ComicDownloadRequest request(ComicItem comic, LocalDate date) {
+        return ComicDownloadRequest.builder().comicId(comic.getId()).comicName(comic.getName()).source(comic.getSource()).date(date).build();
+    }
+
+    private ComicItem createComic(int id, String name, String source) {
+        ComicItem comic = new ComicItem();
+        comic.setId(id);
+        comic.setName(name);
+        comic.setSource(source);
+        return comic;
     }
 }
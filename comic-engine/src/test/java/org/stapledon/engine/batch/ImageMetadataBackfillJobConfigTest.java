@@ -19,6 +19,8 @@
 import java.io.File;
 
 import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
 import org.stapledon.common.service.AnalysisService;
 import org.stapledon.common.service.ComicConfigurationService;
 import org.stapledon.common.service.ValidationService;
@@ -56,7 +58,8 @@ class ImageMetadataBackfillJobConfigTest {
 
     @BeforeEach
     void setUp() {
-        config = new ImageMetadataBackfillJobConfig(cacheProperties, imageValidationService, imageAnalysisService, imageMetadataRepository, comicConfigurationService);
+        config = new ImageMetadataBackfillJobConfig(cacheProperties, imageValidationService, imageAnalysisService, imageMetadataRepository, comicConfigurationService,
+                new CacheScanner(4), IoScheduler.unlimited());
         setField(config, "batchSize", 100);
     }
 
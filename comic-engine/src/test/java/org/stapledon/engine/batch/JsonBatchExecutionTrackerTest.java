@@ -18,16 +18,19 @@
 import org.springframework.batch.core.step.StepExecution;
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.util.GsonUtils;
+import org.stapledon.engine.batch.dto.BatchExecutionStats;
 import org.stapledon.engine.batch.dto.BatchExecutionSummary;
 
 import com.google.gson.Gson;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 
 class JsonBatchExecutionTrackerTest {
@@ -46,7 +49,7 @@ void setUp() {
 
         gson = GsonUtils.createGson();
 
-        tracker = new JsonBatchExecutionTracker(cacheProperties, gson, 5, "America/Toronto");
+        tracker = new JsonBatchExecutionTracker(cacheProperties, gson, 5, 3, "America/Toronto");
     }
 
     @Test
@@ -309,11 +312,89 @@ void getAllExecutionHistorySortsByStartTimeDescending() {
     }
 
     @Test
-    void atomicWriteCreatesFileOnFirstExecution() {
+    void jobEventsAreAppendedToLogUntilCompaction() throws Exception {
         tracker.afterJob(createJobExecution("TestJob", 1L, BatchStatus.COMPLETED));
+        tracker.afterJob(createJobExecution("TestJob", 2L, BatchStatus.COMPLETED));
 
+        Path logFile = tempDir.resolve("batch-executions.log");
         Path jsonFile = tempDir.resolve("batch-executions.json");
-        assertThat(Files.exists(jsonFile)).isTrue();
+        assertThat(Files.readAllLines(logFile)).hasSize(2);
+        assertThat(Files.exists(jsonFile)).isFalse();
+
+        // Third event reaches the compaction threshold
+        tracker.afterJob(createJobExecution("TestJob", 3L, BatchStatus.COMPLETED));
+
+        assertThat(Files.exists(logFile)).isFalse();
+        assertThat(tracker.parseWithMigration(Files.readString(jsonFile)).get("TestJob"))
+                .extracting(BatchExecutionSummary::getExecutionId)
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void restartReplaysLogOnTopOfSnapshot() {
+        for (long i = 1; i <= 4; i++) {
+            tracker.afterJob(createJobExecution("TestJob", i, BatchStatus.COMPLETED));
+        }
+        // Three events were compacted into the snapshot, the fourth is only in the log
+        assertThat(tempDir.resolve("batch-executions.log")).exists();
+
+        var restarted = new JsonBatchExecutionTracker(cacheProperties, gson, 5, 3, "America/Toronto");
+
+        assertThat(restarted.getExecutionHistory("TestJob", 10))
+                .extracting(BatchExecutionSummary::getExecutionId)
+                .containsExactly(4L, 3L, 2L, 1L);
+        assertThat(restarted.getExecution(4L)).isPresent();
+    }
+
+    @Test
+    void unreadableLogLineIsSkippedAndLogCompacted() throws Exception {
+        tracker.afterJob(createJobExecution("TestJob", 1L, BatchStatus.COMPLETED));
+        Path logFile = tempDir.resolve("batch-executions.log");
+        Files.writeString(logFile, "{\"executionId\": 2, \"jobName\"", StandardOpenOption.APPEND);
+
+        var restarted = new JsonBatchExecutionTracker(cacheProperties, gson, 5, 3, "America/Toronto");
+
+        assertThat(restarted.getExecutionHistory("TestJob", 10))
+                .extracting(BatchExecutionSummary::getExecutionId)
+                .containsExactly(1L);
+        assertThat(logFile).doesNotExist();
+        assertThat(tempDir.resolve("batch-executions.json")).exists();
+    }
+
+    @Test
+    void getDailyStatsAggregatesJobsPerStartDate() {
+        tracker.afterJob(createJobExecutionWithTimes("JobA", 1L,
+                LocalDateTime.of(2026, 3, 16, 6, 0), LocalDateTime.of(2026, 3, 16, 6, 10)));
+        tracker.afterJob(createJobExecutionWithTimes("JobB", 2L,
+                LocalDateTime.of(2026, 3, 16, 7, 0), LocalDateTime.of(2026, 3, 16, 7, 30)));
+        tracker.afterJob(createJobExecution("JobA", 3L, BatchStatus.FAILED));
+        tracker.afterJob(createJobExecution("OtherJob", 4L, BatchStatus.COMPLETED));
+
+        NavigableMap<LocalDate, BatchExecutionStats> stats = tracker.getDailyStats(
+                List.of("JobA", "JobB"), LocalDate.of(2026, 3, 16), LocalDate.of(2026, 3, 17));
+
+        assertThat(stats).containsOnlyKeys(LocalDate.of(2026, 3, 16), LocalDate.of(2026, 3, 17));
+        BatchExecutionStats first = stats.get(LocalDate.of(2026, 3, 16));
+        assertThat(first.total()).isEqualTo(2);
+        assertThat(first.completed()).isEqualTo(2);
+        assertThat(first.averageDurationMs()).isEqualTo(20 * 60_000.0);
+        assertThat(stats.get(LocalDate.of(2026, 3, 17)).failed()).isEqualTo(1);
+    }
+
+    @Test
+    void getDailyStatsReflectsStatusUpdates() {
+        JobExecution execution = createJobExecution("TestJob", 1L, BatchStatus.STARTED);
+        tracker.beforeJob(execution);
+        LocalDate day = LocalDate.of(2026, 3, 17);
+        assertThat(tracker.getDailyStats(List.of("TestJob"), day, day).get(day).running()).isEqualTo(1);
+
+        execution.setStatus(BatchStatus.COMPLETED);
+        tracker.afterJob(execution);
+
+        BatchExecutionStats stats = tracker.getDailyStats(List.of("TestJob"), day, day).get(day);
+        assertThat(stats.total()).isEqualTo(1);
+        assertThat(stats.running()).isZero();
+        assertThat(stats.completed()).isEqualTo(1);
     }
 
     // =========================================================================
@@ -358,7 +439,7 @@ void stableIdIncrementsPersistentlyAcrossTrackerInstances() {
         assertThat(tracker.getLastExecution("TestJob").orElseThrow().getExecutionId()).isEqualTo(1L);
 
         // Simulate restart: new tracker instance, same JSON file
-        var tracker2 = new JsonBatchExecutionTracker(cacheProperties, gson, 5, "America/Toronto");
+        var tracker2 = new JsonBatchExecutionTracker(cacheProperties, gson, 5, 3, "America/Toronto");
         // H2 would restart from 1, but stable ID should continue from 2
         tracker2.afterJob(createJobExecution("TestJob", 1L, BatchStatus.COMPLETED));
 
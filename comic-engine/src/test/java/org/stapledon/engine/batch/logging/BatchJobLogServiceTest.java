@@ -7,8 +7,10 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,8 @@ class BatchJobLogServiceTest {
     @TempDir
     Path tempDir;
 
+    private static final String LOG_FILE = "TestJob-20260320-a3f7b2c1.log";
+
     private BatchJobLogService service;
 
     @BeforeEach
@@ -124,4 +128,78 @@ void shouldSortDescendingByFilename() throws Exception {
         assertThat(recent.get(1).getFileName().toString()).contains("20260318");
         assertThat(recent.get(2).getFileName().toString()).contains("20260315");
     }
+
+    @Test
+    @DisplayName("should page by line number using the line index")
+    void shouldPageByLineNumber() throws Exception {
+        writeIndexedLog(250);
+
+        BatchLogPage page = service.getExecutionLogFromLine("TestJob", LOG_FILE, 205, 3).orElseThrow();
+
+        assertThat(page.lines()).containsExactly("line 205", "line 206", "line 207");
+        assertThat(page.firstLine()).isEqualTo(205);
+        assertThat(page.totalLines()).isEqualTo(250);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should tail the last complete lines and skip a line still being written")
+    void shouldTailCompleteLines() throws Exception {
+        Path logFile = writeIndexedLog(250);
+        Files.writeString(logFile, "line 250 in progr", StandardOpenOption.APPEND);
+
+        BatchLogPage page = service.getExecutionLogTail("TestJob", LOG_FILE, 2).orElseThrow();
+
+        assertThat(page.lines()).containsExactly("line 248", "line 249");
+        assertThat(page.firstLine()).isEqualTo(248);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should follow a growing log from the previous page's end offset")
+    void shouldFollowFromEndOffset() throws Exception {
+        Path logFile = writeIndexedLog(3);
+        BatchLogPage first = service.getExecutionLogFromOffset("TestJob", LOG_FILE, 0, 10).orElseThrow();
+        assertThat(first.lines()).hasSize(3);
+        assertThat(first.hasMore()).isFalse();
+
+        Files.writeString(logFile, "line 3\nline 4\n", StandardOpenOption.APPEND);
+        BatchLogPage next = service.getExecutionLogFromOffset("TestJob", LOG_FILE, first.endOffset(), 10).orElseThrow();
+
+        assertThat(next.lines()).containsExactly("line 3", "line 4");
+        assertThat(next.firstLine()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should page logs written without a line index")
+    void shouldPageWithoutIndex() throws Exception {
+        Path logDir = tempDir.resolve("batch-logs").resolve("TestJob");
+        Files.createDirectories(logDir);
+        Files.writeString(logDir.resolve(LOG_FILE), "a\r\nb\nc\n");
+
+        BatchLogPage page = service.getExecutionLogFromLine("TestJob", LOG_FILE, 1, 5).orElseThrow();
+
+        assertThat(page.lines()).containsExactly("b", "c");
+        assertThat(page.totalLines()).isEqualTo(3);
+        assertThat(service.getExecutionLogTail("TestJob", LOG_FILE, 5).orElseThrow().lines()).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    @DisplayName("should return empty page for missing log file")
+    void shouldReturnEmptyPageForMissingLog() {
+        assertThat(service.getExecutionLogTail("NonexistentJob", LOG_FILE, 10)).isEmpty();
+    }
+
+    private Path writeIndexedLog(int lineCount) throws Exception {
+        Path logDir = tempDir.resolve("batch-logs").resolve("TestJob");
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(LOG_FILE);
+        LogLineIndex.Writer index = LogLineIndex.open(logFile);
+        for (int i = 0; i < lineCount; i++) {
+            byte[] line = ("line " + i + "\n").getBytes(StandardCharsets.UTF_8);
+            Files.write(logFile, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            index.written(line);
+        }
+        return logFile;
+    }
 }
@@ -0,0 +1,38 @@
+package org.stapledon.engine.batch.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class MdcTaskDecoratorTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void decorate_copiesSubmitterMdcToWorkerAndClearsItAfterwards() throws Exception {
+        // Arrange
+        MDC.put("batchLogPath", "ComicBackfillJob/ComicBackfillJob-20261018-abcd1234");
+        Runnable task = new MdcTaskDecorator().decorate(() -> assertThat(MDC.get("batchLogPath"))
+                .isEqualTo("ComicBackfillJob/ComicBackfillJob-20261018-abcd1234"));
+
+        try (ExecutorService worker = Executors.newSingleThreadExecutor()) {
+            // Act
+            worker.submit(task).get(5, TimeUnit.SECONDS);
+
+            // Assert: the pooled worker thread does not keep the job's MDC
+            String leftOver = CompletableFuture.supplyAsync(() -> MDC.get("batchLogPath"), worker).get(5, TimeUnit.SECONDS);
+            assertThat(leftOver).isNull();
+        }
+        assertThat(MDC.get("batchLogPath")).isNotNull();
+    }
+}
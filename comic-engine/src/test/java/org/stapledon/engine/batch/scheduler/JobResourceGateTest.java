@@ -0,0 +1,117 @@
+package org.stapledon.engine.batch.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("JobResourceGate")
+class JobResourceGateTest {
+
+    private static final Set<JobResourceClass> NETWORK = Set.of(JobResourceClass.NETWORK);
+    private static final Set<JobResourceClass> DISK = Set.of(JobResourceClass.DISK_SCAN);
+
+    private JobResourceGate gate;
+
+    @BeforeEach
+    void setUp() {
+        gate = new JobResourceGate(1, 1, 2, 180);
+    }
+
+    @Test
+    @DisplayName("should refuse a second job of a full resource class and name the blocker")
+    void shouldRefuseSecondJobOfFullClass() throws Exception {
+        // Given
+        try (JobResourceGate.Lease ignored = gate.acquire("ComicDownloadJob", NETWORK, Set.of(), Duration.ZERO)) {
+
+            // When / Then
+            assertThatThrownBy(() -> gate.acquire("AvatarBackfillJob", NETWORK, Set.of(), Duration.ZERO))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("NETWORK capacity");
+            assertThat(gate.getRunningJobs()).containsExactly("ComicDownloadJob");
+        }
+    }
+
+    @Test
+    @DisplayName("should run jobs of different classes concurrently")
+    void shouldRunDifferentClassesConcurrently() throws Exception {
+        try (JobResourceGate.Lease download = gate.acquire("ComicDownloadJob", NETWORK, Set.of(), Duration.ZERO);
+                JobResourceGate.Lease purge = gate.acquire("RetrievalRecordPurgeJob", DISK, Set.of(), Duration.ZERO)) {
+            assertThat(gate.getRunningJobs()).containsExactlyInAnyOrder("ComicDownloadJob", "RetrievalRecordPurgeJob");
+        }
+        assertThat(gate.getRunningJobs()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should honor a class limit above one")
+    void shouldHonorClassLimitAboveOne() throws Exception {
+        Set<JobResourceClass> decode = Set.of(JobResourceClass.CPU_DECODE);
+
+        try (JobResourceGate.Lease first = gate.acquire("FirstJob", decode, Set.of(), Duration.ZERO);
+                JobResourceGate.Lease second = gate.acquire("SecondJob", decode, Set.of(), Duration.ZERO)) {
+            assertThatThrownBy(() -> gate.acquire("ThirdJob", decode, Set.of(), Duration.ZERO))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should hold a dependent job until the job it runs after finishes")
+    void shouldHoldDependentJobUntilDependencyFinishes() throws Exception {
+        // Given: the download is running and metadata backfill, which runs after it, is launched
+        JobResourceGate.Lease download = gate.acquire("ComicDownloadJob", NETWORK, Set.of(), Duration.ZERO);
+        CountDownLatch waiting = new CountDownLatch(1);
+        CompletableFuture<JobResourceGate.Lease> metadata = CompletableFuture.supplyAsync(() -> {
+            waiting.countDown();
+            try {
+                return gate.acquire("ImageMetadataBackfillJob", DISK, Set.of("ComicDownloadJob"), Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        waiting.await();
+
+        // When
+        Thread.sleep(100);
+        boolean startedEarly = metadata.isDone();
+        download.close();
+
+        // Then
+        try (JobResourceGate.Lease lease = metadata.get(5, TimeUnit.SECONDS)) {
+            assertThat(startedEarly).isFalse();
+            assertThat(gate.getRunningJobs()).containsExactly("ImageMetadataBackfillJob");
+        }
+    }
+
+    @Test
+    @DisplayName("should give up after the wait and release nothing it did not take")
+    void shouldGiveUpAfterWait() throws Exception {
+        try (JobResourceGate.Lease ignored = gate.acquire("ComicDownloadJob", NETWORK, Set.of(), Duration.ZERO)) {
+            assertThatThrownBy(() -> gate.acquire("ComicBackfillJob", NETWORK, Set.of("ComicDownloadJob"), Duration.ofMillis(50)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("ComicDownloadJob");
+        }
+
+        // The abandoned wait leaves the class free for the next job
+        try (JobResourceGate.Lease lease = gate.acquire("ComicBackfillJob", NETWORK, Set.of("ComicDownloadJob"), Duration.ZERO)) {
+            assertThat(gate.getRunningJobs()).containsExactly("ComicBackfillJob");
+        }
+    }
+
+    @Test
+    @DisplayName("should not start a job while its previous run is still going")
+    void shouldNotOverlapRunsOfSameJob() throws Exception {
+        try (JobResourceGate.Lease ignored = gate.acquire("MetricsArchiveJob", Set.of(), Set.of(), Duration.ZERO)) {
+            assertThatThrownBy(() -> gate.acquire("MetricsArchiveJob", Set.of(), Set.of(), Duration.ZERO))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("previous run");
+        }
+    }
+}
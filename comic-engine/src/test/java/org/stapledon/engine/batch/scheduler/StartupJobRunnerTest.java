@@ -1,21 +1,26 @@
 package org.stapledon.engine.batch.scheduler;
 
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("StartupJobRunner")
@@ -97,4 +102,26 @@ void shouldNotCallMethodsWhenNoSchedulersPresent() {
 
         verify(unusedScheduler, never()).runMissedExecutionIfNeeded();
     }
+
+    @Test
+    @DisplayName("should check makeup runs for a job after the jobs it runs after")
+    void shouldCheckDependenciesFirst() {
+        // Given: the dependent job is registered before its dependency
+        when(scheduler1.getJobName()).thenReturn("ImageMetadataBackfillJob");
+        when(scheduler1.getRunsAfter()).thenReturn(Set.of("ComicDownloadJob", "UnregisteredJob"));
+        when(scheduler2.getJobName()).thenReturn("ComicDownloadJob");
+
+        Map<String, DailyJobScheduler> schedulers = new LinkedHashMap<>();
+        schedulers.put("imageMetadataBackfillJobScheduler", scheduler1);
+        schedulers.put("comicDownloadJobScheduler", scheduler2);
+
+        // When
+        startupJobRunner = new StartupJobRunner(schedulers);
+        startupJobRunner.onApplicationReady(event);
+
+        // Then
+        InOrder inOrder = inOrder(scheduler2, scheduler1);
+        inOrder.verify(scheduler2).runMissedExecutionIfNeeded();
+        inOrder.verify(scheduler1).runMissedExecutionIfNeeded();
+    }
 }
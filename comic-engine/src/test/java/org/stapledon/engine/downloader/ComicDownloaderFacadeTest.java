@@ -15,6 +15,8 @@
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -26,6 +28,7 @@
 import org.stapledon.common.dto.ComicDownloadRequest;
 import org.stapledon.common.dto.ComicDownloadResult;
 import org.stapledon.common.dto.ComicItem;
+import org.stapledon.common.dto.ComicRetrievalStatus;
 
 @ExtendWith(MockitoExtension.class)
 class ComicDownloaderFacadeTest {
@@ -115,9 +118,32 @@ void shouldReturnFailureWhenStrategyThrowsException() {
         assertThat(result).isNotNull();
         assertThat(result.isSuccessful()).isFalse();
         assertThat(result.getErrorMessage().contains("Error downloading comic")).isTrue();
+        assertThat(result.isTransientFailure()).isFalse();
         verify(goComicsStrategy).downloadComic(request);
     }
 
+    @Test
+    void shouldReportTransientFailureWhenStrategyTimesOut() {
+        // Arrange
+        ComicDownloadRequest request = ComicDownloadRequest.builder()
+                .comicId(1)
+                .comicName("calvin")
+                .source("gocomics")
+                .sourceIdentifier("calvinandhobbes")
+                .date(testDate)
+                .build();
+
+        when(goComicsStrategy.downloadComic(request)).thenThrow(new UncheckedIOException(new SocketTimeoutException("Read timed out")));
+
+        // Act
+        ComicDownloadResult result = facade.downloadComic(request);
+
+        // Assert
+        assertThat(result.isSuccessful()).isFalse();
+        assertThat(result.getStatus()).isEqualTo(ComicRetrievalStatus.NETWORK_ERROR);
+        assertThat(result.isTransientFailure()).isTrue();
+    }
+
     @Test
     void shouldDownloadAvatarSuccessfully() {
         // Arrange
@@ -0,0 +1,116 @@
+package org.stapledon.engine.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.stapledon.common.dto.ComicItem;
+import org.stapledon.common.dto.ComicPage;
+
+class ComicCatalogTest {
+
+    private final ComicItem garfield = ComicItem.builder().id(1).name("Garfield").author("Jim Davis")
+            .description("A lazy orange cat who loves lasagna").build();
+    private final ComicItem peanuts = ComicItem.builder().id(2).name("Peanuts").author("Charles M. Schulz")
+            .description("Charlie Brown and his dog Snoopy").build();
+    private final ComicItem unnamed = ComicItem.builder().id(3).name(null).build();
+
+    private final ComicCatalog catalog = ComicCatalog.build(7, List.of(peanuts, unnamed, garfield), null);
+
+    @Test
+    void keepsComicsInSortedOrder() {
+        assertThat(catalog.comics()).containsExactly(unnamed, garfield, peanuts);
+        assertThat(catalog.version()).isEqualTo(7);
+    }
+
+    @Test
+    void holdsReadOnlyCopiesOfComics() {
+        assertThat(catalog.comics()).isUnmodifiable();
+        assertThat(catalog.get(1)).get().isNotSameAs(garfield).isEqualTo(garfield);
+        assertThat(catalog.get(99)).isEmpty();
+    }
+
+    @Test
+    void rebuildReflectsChangedText() {
+        ComicItem renamed = garfield.toBuilder().name("Nermal").build();
+        ComicItem newer = peanuts.toBuilder().newest(LocalDate.of(2000, 2, 13)).build();
+
+        ComicCatalog datesOnly = ComicCatalog.build(8, List.of(newer, unnamed, garfield), catalog);
+        ComicCatalog textChanged = ComicCatalog.build(9, List.of(peanuts, unnamed, renamed), datesOnly);
+
+        assertThat(datesOnly.search("snoopy")).extracting(ComicItem::getNewest).containsExactly(newer.getNewest());
+        assertThat(datesOnly.search("garf")).containsExactly(garfield);
+        assertThat(textChanged.search("garf")).isEmpty();
+        assertThat(textChanged.search("nermal")).containsExactly(renamed);
+        assertThat(textChanged.comics()).containsExactly(unnamed, renamed, peanuts);
+    }
+
+    @Test
+    void findsComicByNameIgnoringCase() {
+        assertThat(catalog.findByName("PEANUTS")).contains(peanuts);
+        assertThat(catalog.findByName("Peanut")).isEmpty();
+        assertThat(catalog.findByName(null)).isEmpty();
+    }
+
+    @Test
+    void searchMatchesShortAndLongSubstrings() {
+        assertThat(catalog.search("a")).containsExactly(garfield, peanuts);
+        assertThat(catalog.search("Ca")).containsExactly(garfield);
+        assertThat(catalog.search("LASAGNA")).containsExactly(garfield);
+        assertThat(catalog.search("brown and")).containsExactly(peanuts);
+        assertThat(catalog.search("schulzz")).isEmpty();
+        assertThat(catalog.search("xyz")).isEmpty();
+    }
+
+    @Test
+    void emptyQueryMatchesComicsWithAnySearchableField() {
+        assertThat(catalog.search("")).containsExactly(garfield, peanuts);
+        assertThat(catalog.search(null)).isEmpty();
+    }
+
+    @Test
+    void pagesResumeAfterCursorComic() {
+        ComicCatalog paged = ComicCatalog.build(1, numberedComics(), null);
+
+        ComicPage first = paged.page(null, null, null, 4);
+        ComicPage last = paged.page(null, null, 8, 4);
+
+        assertThat(first.comics()).extracting(ComicItem::getId).containsExactly(1, 2, 3, 4);
+        assertThat(first.hasPrevious()).isFalse();
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.comics()).extracting(ComicItem::getId).containsExactly(9, 10);
+        assertThat(last.hasPrevious()).isTrue();
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.totalCount()).isEqualTo(10);
+    }
+
+    @Test
+    void filteredPagesResumeAfterCursorComic() {
+        ComicCatalog paged = ComicCatalog.build(1, numberedComics(), null);
+
+        assertThat(paged.page(null, true, 4, 2).comics()).extracting(ComicItem::getId).containsExactly(6, 8);
+        assertThat(paged.page(null, false, 4, 10).comics()).extracting(ComicItem::getId).containsExactly(5, 7, 9);
+        assertThat(paged.page(null, false, null, 10).totalCount()).isEqualTo(5);
+        assertThat(paged.page("comic 1", true, null, 10).comics()).extracting(ComicItem::getId).containsExactly(10);
+        assertThat(paged.page("comic 0", null, 3, 2).comics()).extracting(ComicItem::getId).containsExactly(4, 5);
+    }
+
+    @Test
+    void unknownCursorStartsFromFirstPage() {
+        ComicPage page = catalog.page(null, null, 99, 10);
+
+        assertThat(page.comics()).containsExactly(unnamed, garfield, peanuts);
+        assertThat(page.hasPrevious()).isFalse();
+    }
+
+    // Comics 1-10 named in id order; even ids are enabled
+    private static List<ComicItem> numberedComics() {
+        return IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> ComicItem.builder().id(i).name("Comic %02d".formatted(i)).enabled(i % 2 == 0).build())
+                .toList();
+    }
+}
@@ -1,11 +1,13 @@
 package org.stapledon.engine.management;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -85,9 +87,6 @@ void setUp() {
 
         // Configure the minimal mocks needed for basic setup
         when(configFacade.loadComicConfig()).thenReturn(comicConfig);
-        // Return a present avatar for the test comic so refreshComicList() doesn't flag avatarAvailable as stale
-        when(storageFacade.getAvatar(ComicIdentifier.from(testComic)))
-                .thenReturn(Optional.of(ImageDto.builder().mimeType("image/png").imageData("").build()));
 
         // Initialize facade with a synchronous executor so per-source threading runs inline in tests
         facade = new ComicManagementFacade(storageFacade, configFacade, downloaderFacade,
@@ -212,6 +211,113 @@ void shouldHandleComicItemWithNullName() {
         assertThat(nullNameFacade.getComicByName("AnyName").stream().count()).isEqualTo(0);
     }
 
+    @Test
+    void shouldSearchComicsByNameAuthorAndDescription() {
+        // Act and Assert
+        assertThat(facade.searchComics("COMIC")).containsExactly(testComic);
+        assertThat(facade.searchComics("st au")).containsExactly(testComic);
+        assertThat(facade.searchComics("description")).containsExactly(testComic);
+        assertThat(facade.searchComics("missing")).isEmpty();
+    }
+
+    @Test
+    void shouldPublishNewSnapshotOnUpdate() {
+        // Arrange
+        List<ComicItem> before = facade.getAllComics();
+        ComicItem update = testComic.toBuilder().newest(LocalDate.of(2030, 1, 1)).build();
+
+        // Act
+        facade.updateComic(testComic.getId(), update);
+        update.setNewest(LocalDate.of(1999, 1, 1));
+
+        // Assert
+        List<ComicItem> after = facade.getAllComics();
+        assertThat(after).isNotSameAs(before).isUnmodifiable();
+        assertThat(before.getFirst().getNewest()).isEqualTo(testComic.getNewest());
+        assertThat(after.getFirst().getNewest()).isEqualTo(LocalDate.of(2030, 1, 1));
+        assertThat(facade.getComic(testComic.getId())).map(ComicItem::getNewest).contains(LocalDate.of(2030, 1, 1));
+        assertThat(facade.getAllComics()).isSameAs(after);
+    }
+
+    @Test
+    void shouldFindRenamedComicByNewName() {
+        // Arrange
+        facade.getComicByName("Test Comic");
+
+        // Act
+        facade.updateComic(testComic.getId(), testComic.toBuilder().name("Renamed Comic").build());
+
+        // Assert
+        assertThat(facade.getComicByName("renamed comic")).map(ComicItem::getName).contains("Renamed Comic");
+        assertThat(facade.getComicByName("Test Comic")).isEmpty();
+        assertThat(facade.searchComics("renamed")).hasSize(1);
+    }
+
+    @Test
+    void shouldPublishConfiguredComicsWithoutTouchingStorage() {
+        // Construction loads the catalog only; storage is synced after startup
+        assertThat(facade.getComic(1)).contains(testComic);
+        verifyNoInteractions(storageFacade);
+    }
+
+    @Test
+    void shouldSyncDatesAndAvatarFlagOnRefresh() {
+        // Arrange
+        ComicIdentifier id = ComicIdentifier.from(testComic);
+        LocalDate oldest = LocalDate.of(2001, 1, 1);
+        when(storageFacade.getOldestDateWithComic(id)).thenReturn(Optional.of(oldest));
+        when(storageFacade.getNewestDateWithComic(id)).thenReturn(Optional.of(testComic.getNewest()));
+        when(storageFacade.avatarExists(id)).thenReturn(false);
+
+        // Act
+        facade.refreshComicList();
+
+        // Assert
+        ComicItem synced = facade.getComic(1).orElseThrow();
+        assertThat(synced.getOldest()).isEqualTo(oldest);
+        assertThat(synced.isAvatarAvailable()).isFalse();
+        verify(configFacade).saveComicConfig(any(ComicConfig.class));
+        verify(storageFacade, never()).getAvatar(any());
+    }
+
+    @Test
+    void shouldKeepComicUpdatedWhileRefreshWasSyncingIt() {
+        // Arrange: an admin disables the comic after the sync has snapshotted it but before the swap
+        ComicIdentifier id = ComicIdentifier.from(testComic);
+        ComicItem disabled = testComic.toBuilder().enabled(false).build();
+        when(storageFacade.getOldestDateWithComic(id)).thenReturn(Optional.of(LocalDate.of(2001, 1, 1)));
+        when(storageFacade.getNewestDateWithComic(id)).thenReturn(Optional.of(testComic.getNewest()));
+        when(storageFacade.avatarExists(id)).thenAnswer(invocation -> {
+            facade.updateComic(testComic.getId(), disabled);
+            return false;
+        });
+
+        // Act
+        facade.refreshComicList();
+
+        // Assert: the stale synced copy was not swapped in and only the admin edit was saved
+        ComicItem current = facade.getComic(1).orElseThrow();
+        assertThat(current.isEnabled()).isFalse();
+        assertThat(current.getOldest()).isEqualTo(testComic.getOldest());
+        verify(configFacade, Mockito.times(1)).saveComicConfig(any(ComicConfig.class));
+    }
+
+    @Test
+    void shouldNotSaveConfigWhenRefreshFindsNothingStale() {
+        // Arrange
+        ComicIdentifier id = ComicIdentifier.from(testComic);
+        when(storageFacade.getOldestDateWithComic(id)).thenReturn(Optional.of(testComic.getOldest()));
+        when(storageFacade.getNewestDateWithComic(id)).thenReturn(Optional.empty());
+        when(storageFacade.avatarExists(id)).thenReturn(true);
+
+        // Act
+        facade.refreshComicList();
+
+        // Assert
+        assertThat(facade.getComic(1)).contains(testComic);
+        verify(configFacade, never()).saveComicConfig(any());
+    }
+
     @Test
     void shouldCreateComic() {
         // Arrange
@@ -387,6 +493,33 @@ void shouldUpdateAllComics() {
         verify(configFacade).saveComicConfig(any());
     }
 
+    @Test
+    void shouldFindComicsForDailyUpdateGroupedBySourceExcludingCachedStrips() {
+        // Arrange
+        LocalDate date = LocalDate.now();
+        when(storageFacade.comicStripExists(any(ComicIdentifier.class), eq(date))).thenReturn(false, true);
+
+        // Act
+        Map<String, List<ComicItem>> missing = facade.findComicsForDailyUpdate(date, "gocomics");
+        Map<String, List<ComicItem>> afterDownload = facade.findComicsForDailyUpdate(date, "gocomics");
+
+        // Assert
+        assertThat(missing).containsOnlyKeys("gocomics");
+        assertThat(missing.get("gocomics")).extracting(ComicItem::getId).containsExactly(1);
+        assertThat(afterDownload).isEmpty();
+    }
+
+    @Test
+    void shouldPropagateErrorsWhenUpdatingOneComicForDate() {
+        // Arrange
+        when(downloaderFacade.downloadComic(any())).thenThrow(new IllegalStateException("connection reset"));
+
+        // Act / Assert
+        assertThatThrownBy(() -> facade.updateComicForDate(testComic, LocalDate.now()))
+                .isInstanceOf(IllegalStateException.class);
+        verify(storageFacade, never()).saveComicStrip(any(ComicIdentifier.class), any(), any());
+    }
+
     @Test
     void shouldUpdateSingleComic() {
         // Arrange
@@ -457,35 +590,30 @@ void shouldGetOldestDateWithComic() {
 
     @Test
     void shouldGetStripWindowCenteredOnDate() {
-        // Arrange: center date with one before and one after
+        // Arrange: the slice holds one extra date each side for the edge strips' navigation
         LocalDate center = LocalDate.of(2026, 3, 15);
         LocalDate before = center.minusDays(1);
         LocalDate after = center.plusDays(1);
+        LocalDate beyondBefore = center.minusDays(2);
+        LocalDate beyondAfter = center.plusDays(2);
         ImageDto img = ImageDto.builder().mimeType("image/png").build();
         ComicIdentifier id = ComicIdentifier.from(testComic);
 
-        when(storageFacade.getPreviousDateWithComic(id, center)).thenReturn(Optional.of(before));
-        when(storageFacade.getNextDateWithComic(id, center)).thenReturn(Optional.of(after));
-
-        // Navigation for each date
-        when(storageFacade.getComicStrip(id, before)).thenReturn(Optional.of(img));
-        when(storageFacade.getPreviousDateWithComic(id, before)).thenReturn(Optional.empty());
-        when(storageFacade.getNextDateWithComic(id, before)).thenReturn(Optional.of(center));
-
-        when(storageFacade.getComicStrip(id, center)).thenReturn(Optional.of(img));
-        when(storageFacade.getNextDateWithComic(id, after)).thenReturn(Optional.empty());
-
-        when(storageFacade.getComicStrip(id, after)).thenReturn(Optional.of(img));
-        when(storageFacade.getPreviousDateWithComic(id, after)).thenReturn(Optional.of(center));
+        when(storageFacade.getDatesAround(id, center, 2, 2))
+                .thenReturn(List.of(beyondBefore, before, center, after, beyondAfter));
+        when(storageFacade.getComicStripDescriptors(id, List.of(before, center, after)))
+                .thenReturn(Map.of(before, img, center, img, after, img));
 
         // Act
         List<ComicNavigationResult> results = facade.getStripWindow(1, center, 1, 1);
 
         // Assert
         assertThat(results).hasSize(3);
-        assertThat(results.get(0).isFound()).isTrue();
-        assertThat(results.get(1).isFound()).isTrue();
-        assertThat(results.get(2).isFound()).isTrue();
+        assertThat(results).allMatch(ComicNavigationResult::isFound);
+        assertThat(results.get(0).getNearestPreviousDate()).isEqualTo(beyondBefore);
+        assertThat(results.get(0).getNearestNextDate()).isEqualTo(center);
+        assertThat(results.get(2).getNearestNextDate()).isEqualTo(beyondAfter);
+        verify(storageFacade, never()).getComicStrip(any(), any());
     }
 
     @Test
@@ -496,20 +624,16 @@ void shouldGetStripWindowAtBoundary() {
         ImageDto img = ImageDto.builder().mimeType("image/png").build();
         ComicIdentifier id = ComicIdentifier.from(testComic);
 
-        when(storageFacade.getPreviousDateWithComic(id, center)).thenReturn(Optional.empty());
-        when(storageFacade.getNextDateWithComic(id, center)).thenReturn(Optional.of(after));
-
-        when(storageFacade.getComicStrip(id, center)).thenReturn(Optional.of(img));
-        when(storageFacade.getNextDateWithComic(id, after)).thenReturn(Optional.empty());
-
-        when(storageFacade.getComicStrip(id, after)).thenReturn(Optional.of(img));
-        when(storageFacade.getPreviousDateWithComic(id, after)).thenReturn(Optional.of(center));
+        when(storageFacade.getDatesAround(id, center, 4, 4)).thenReturn(List.of(center, after));
+        when(storageFacade.getComicStripDescriptors(id, List.of(center, after)))
+                .thenReturn(Map.of(center, img, after, img));
 
         // Act — request 3 before but only center + after available
         List<ComicNavigationResult> results = facade.getStripWindow(1, center, 3, 3);
 
         // Assert
         assertThat(results).hasSize(2);
+        assertThat(results.getFirst().getNearestPreviousDate()).isNull();
     }
 
     @Test
@@ -518,9 +642,8 @@ void shouldGetStripWindowCenterOnlyWhenBeforeAndAfterAreZero() {
         ImageDto img = ImageDto.builder().mimeType("image/png").build();
         ComicIdentifier id = ComicIdentifier.from(testComic);
 
-        when(storageFacade.getComicStrip(id, center)).thenReturn(Optional.of(img));
-        when(storageFacade.getPreviousDateWithComic(id, center)).thenReturn(Optional.empty());
-        when(storageFacade.getNextDateWithComic(id, center)).thenReturn(Optional.empty());
+        when(storageFacade.getDatesAround(id, center, 1, 1)).thenReturn(List.of(center));
+        when(storageFacade.getComicStripDescriptors(id, List.of(center))).thenReturn(Map.of(center, img));
 
         List<ComicNavigationResult> results = facade.getStripWindow(1, center, 0, 0);
 
@@ -537,23 +660,38 @@ void shouldHandleAsymmetricStripWindow() {
         ImageDto img = ImageDto.builder().mimeType("image/png").build();
         ComicIdentifier id = ComicIdentifier.from(testComic);
 
-        when(storageFacade.getPreviousDateWithComic(id, center)).thenReturn(Optional.of(before1));
-        when(storageFacade.getPreviousDateWithComic(id, before1)).thenReturn(Optional.of(before2));
-        when(storageFacade.getPreviousDateWithComic(id, before2)).thenReturn(Optional.empty());
-        when(storageFacade.getNextDateWithComic(id, center)).thenReturn(Optional.empty());
+        when(storageFacade.getDatesAround(id, center, 6, 6)).thenReturn(List.of(before2, before1, center));
+        when(storageFacade.getComicStripDescriptors(id, List.of(before2, before1, center)))
+                .thenReturn(Map.of(before2, img, before1, img, center, img));
+
+        List<ComicNavigationResult> results = facade.getStripWindow(1, center, 5, 5);
 
-        when(storageFacade.getComicStrip(id, before2)).thenReturn(Optional.of(img));
-        when(storageFacade.getNextDateWithComic(id, before2)).thenReturn(Optional.of(before1));
+        assertThat(results).hasSize(3);
+    }
 
-        when(storageFacade.getComicStrip(id, before1)).thenReturn(Optional.of(img));
-        when(storageFacade.getNextDateWithComic(id, before1)).thenReturn(Optional.of(center));
-        when(storageFacade.getPreviousDateWithComic(id, before1)).thenReturn(Optional.of(before2));
+    @Test
+    void shouldIncludeUnavailableCenterInStripWindow() {
+        // Arrange: nothing was published on the center date
+        LocalDate center = LocalDate.of(2026, 3, 15);
+        LocalDate before = center.minusDays(3);
+        LocalDate after = center.plusDays(4);
+        ImageDto img = ImageDto.builder().mimeType("image/png").build();
+        ComicIdentifier id = ComicIdentifier.from(testComic);
 
-        when(storageFacade.getComicStrip(id, center)).thenReturn(Optional.of(img));
+        when(storageFacade.getDatesAround(id, center, 2, 2)).thenReturn(List.of(before, after));
+        when(storageFacade.getComicStripDescriptors(id, List.of(before, after)))
+                .thenReturn(Map.of(before, img, after, img));
 
-        List<ComicNavigationResult> results = facade.getStripWindow(1, center, 5, 5);
+        // Act
+        List<ComicNavigationResult> results = facade.getStripWindow(1, center, 1, 1);
 
+        // Assert
         assertThat(results).hasSize(3);
+        ComicNavigationResult missing = results.get(1);
+        assertThat(missing.isFound()).isFalse();
+        assertThat(missing.getRequestedDate()).isEqualTo(center);
+        assertThat(missing.getNearestPreviousDate()).isEqualTo(before);
+        assertThat(missing.getNearestNextDate()).isEqualTo(after);
     }
 
     @Test
@@ -563,6 +701,46 @@ void shouldReturnEmptyStripWindowForUnknownComic() {
         assertThat(results).isEmpty();
     }
 
+    // =========================================================================
+    // getStrips
+    // =========================================================================
+
+    @Test
+    void shouldGetStripsWithNavigationFromDateSlices() {
+        // Arrange: two requested dates, one of them without a strip
+        LocalDate first = LocalDate.of(2026, 3, 10);
+        LocalDate missing = LocalDate.of(2026, 3, 20);
+        LocalDate neighbour = LocalDate.of(2026, 3, 22);
+        ImageDto img = ImageDto.builder().mimeType("image/png").imageDate(first).build();
+        ComicIdentifier id = ComicIdentifier.from(testComic);
+
+        when(storageFacade.getDatesAround(id, first, 1, 1)).thenReturn(List.of(first, neighbour));
+        when(storageFacade.getDatesAround(id, missing, 1, 1)).thenReturn(List.of(first, neighbour));
+        when(storageFacade.getComicStripDescriptors(id, List.of(first))).thenReturn(Map.of(first, img));
+
+        // Act
+        List<ComicNavigationResult> results = facade.getStrips(1, List.of(missing, first));
+
+        // Assert
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).isFound()).isFalse();
+        assertThat(results.get(0).getNearestPreviousDate()).isEqualTo(first);
+        assertThat(results.get(0).getNearestNextDate()).isEqualTo(neighbour);
+        assertThat(results.get(1).isFound()).isTrue();
+        assertThat(results.get(1).getCurrentDate()).isEqualTo(first);
+        assertThat(results.get(1).getNearestNextDate()).isEqualTo(neighbour);
+    }
+
+    @Test
+    void shouldReturnNotFoundStripsForUnknownComic() {
+        LocalDate date = LocalDate.of(2026, 3, 10);
+
+        List<ComicNavigationResult> results = facade.getStrips(999, List.of(date));
+
+        assertThat(results).singleElement()
+                .satisfies(result -> assertThat(result.getReason()).isEqualTo("NO_COMICS_AVAILABLE"));
+    }
+
     // =========================================================================
     // getRandomDate
     // =========================================================================
@@ -570,47 +748,51 @@ void shouldReturnEmptyStripWindowForUnknownComic() {
     @Test
     void shouldGetRandomDateForComic() {
         // Arrange
-        List<LocalDate> dates = List.of(
-                LocalDate.of(2026, 1, 1),
-                LocalDate.of(2026, 2, 1),
-                LocalDate.of(2026, 3, 1));
-        when(storageFacade.getAvailableDates(ComicIdentifier.from(testComic))).thenReturn(dates);
+        LocalDate date = LocalDate.of(2026, 2, 1);
+        when(storageFacade.getRandomDate(ComicIdentifier.from(testComic), null, null, false))
+                .thenReturn(Optional.of(date));
 
         // Act
-        Optional<LocalDate> result = facade.getRandomDate(1);
+        Optional<LocalDate> result = facade.getRandomDate(1, null, null, false);
 
         // Assert
-        assertThat(result).isPresent();
-        assertThat(dates).contains(result.get());
+        assertThat(result).contains(date);
     }
 
     @Test
-    void shouldReturnEmptyRandomDateForEmptyComic() {
-        when(storageFacade.getAvailableDates(ComicIdentifier.from(testComic))).thenReturn(List.of());
+    void shouldPassRangeAndWeightingToStorage() {
+        // Arrange
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2020, 12, 31);
+        LocalDate date = LocalDate.of(2020, 6, 1);
+        when(storageFacade.getRandomDate(ComicIdentifier.from(testComic), from, to, true))
+                .thenReturn(Optional.of(date));
 
-        Optional<LocalDate> result = facade.getRandomDate(1);
+        // Act
+        Optional<LocalDate> result = facade.getRandomDate(1, from, to, true);
 
-        assertThat(result).isEmpty();
+        // Assert
+        assertThat(result).contains(date);
     }
 
     @Test
-    void shouldReturnEmptyRandomDateForUnknownComic() {
-        Optional<LocalDate> result = facade.getRandomDate(999);
+    void shouldReturnEmptyRandomDateForEmptyComic() {
+        when(storageFacade.getRandomDate(ComicIdentifier.from(testComic), null, null, false))
+                .thenReturn(Optional.empty());
+
+        Optional<LocalDate> result = facade.getRandomDate(1, null, null, false);
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void shouldReturnSingleDateWhenOnlyOneAvailable() {
-        LocalDate onlyDate = LocalDate.of(2026, 6, 1);
-        when(storageFacade.getAvailableDates(ComicIdentifier.from(testComic))).thenReturn(List.of(onlyDate));
-
-        Optional<LocalDate> result = facade.getRandomDate(1);
+    void shouldReturnEmptyRandomDateForUnknownComic() {
+        Optional<LocalDate> result = facade.getRandomDate(999, null, null, false);
 
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(onlyDate);
+        assertThat(result).isEmpty();
     }
 
+
     // =========================================================================
     // Navigation
     // =========================================================================
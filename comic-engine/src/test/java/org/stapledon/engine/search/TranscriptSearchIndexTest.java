@@ -0,0 +1,201 @@
+package org.stapledon.engine.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.dto.ImageFormat;
+import org.stapledon.common.dto.ImageMetadata;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.engine.search.TranscriptSearchIndex.Match;
+import org.stapledon.engine.search.TranscriptSearchIndex.SearchResult;
+import org.stapledon.engine.storage.ImageMetadataRepository;
+
+class TranscriptSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(1965, 10, 31);
+
+    @TempDir
+    Path cacheRoot;
+
+    private ImageMetadataRepository metadataRepository;
+    private TranscriptSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = mock(CacheProperties.class);
+        when(cacheProperties.getLocation()).thenReturn(cacheRoot.toString());
+        metadataRepository = new ImageMetadataRepository(new Gson());
+        index = new TranscriptSearchIndex(cacheProperties, new CacheScanner(4), metadataRepository);
+    }
+
+    @Test
+    void tokenizeLowercasesAndSplitsOnPunctuation() {
+        assertThat(TranscriptSearchIndex.tokenize("Good grief, Charlie Brown! Don't 2 SAY 42."))
+                .containsExactly("good", "grief", "charlie", "brown", "dont", "say", "42");
+        assertThat(TranscriptSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void searchRequiresEveryWord() {
+        // Given
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY, "The Great Pumpkin rises"));
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY.plusDays(1), "A great day"));
+
+        // When
+        SearchResult result = index.search("great PUMPKIN", null, null, 10);
+
+        // Then
+        assertThat(result.matches()).containsExactly(new Match(1, DAY));
+        assertThat(result.totalCount()).isEqualTo(1);
+        assertThat(index.search("great", null, null, 10).totalCount()).isEqualTo(2);
+        assertThat(index.search("pumpkin turnip", null, null, 10).matches()).isEmpty();
+        assertThat(index.search("!!", null, null, 10).matches()).isEmpty();
+    }
+
+    @Test
+    void searchPagesInComicThenDateOrder() {
+        // Given
+        index.onStripMetadataSaved(metadata(2, "Garfield", LocalDate.of(1980, 1, 1), "lasagna"));
+        index.onStripMetadataSaved(metadata(1, "Peanuts", LocalDate.of(1999, 1, 1), "lasagna"));
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY, "lasagna"));
+
+        // When
+        SearchResult first = index.search("lasagna", null, null, 2);
+        SearchResult second = index.search("lasagna", null, first.matches().getLast(), 2);
+
+        // Then
+        assertThat(first.matches()).containsExactly(new Match(1, DAY), new Match(1, LocalDate.of(1999, 1, 1)));
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.matches()).containsExactly(new Match(2, LocalDate.of(1980, 1, 1)));
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.totalCount()).isEqualTo(3);
+        assertThat(index.search("lasagna", 2, null, 10).matches()).containsExactly(new Match(2, LocalDate.of(1980, 1, 1)));
+    }
+
+    @Test
+    void savedTranscriptReplacesPreviousOne() {
+        // Given
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY, "kite eating tree"));
+
+        // When
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY, "football"));
+
+        // Then
+        assertThat(index.search("kite", null, null, 10).matches()).isEmpty();
+        assertThat(index.search("football", null, null, 10).matches()).containsExactly(new Match(1, DAY));
+    }
+
+    @Test
+    void deletedStripsAndComicsAreRemoved() {
+        // Given
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY, "snoopy"));
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY.plusDays(1), "snoopy"));
+        index.onStripMetadataSaved(metadata(2, "Garfield", DAY, "snoopy"));
+
+        // When
+        index.onStripDeleted("Peanuts", DAY, 100);
+
+        // Then
+        assertThat(index.search("snoopy", null, null, 10).totalCount()).isEqualTo(2);
+
+        // When
+        index.onComicDeleted("Peanuts");
+
+        // Then
+        assertThat(index.search("snoopy", null, null, 10).matches()).containsExactly(new Match(2, DAY));
+    }
+
+    @Test
+    void rebuildIndexesMetadataSegmentsWithoutOverridingNewerUpdates() throws Exception {
+        // Given
+        saveStrip(metadata(1, "Peanuts", DAY, "security blanket"));
+        saveStrip(metadata(1, "Peanuts", DAY.plusDays(1), "security blanket"));
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY.plusDays(1), "psychiatric help"));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertThat(index.search("blanket", null, null, 10).matches()).containsExactly(new Match(1, DAY));
+        assertThat(index.search("help", null, null, 10).matches()).containsExactly(new Match(1, DAY.plusDays(1)));
+    }
+
+    @Test
+    void laterPagesReuseCachedTotalUntilIndexChanges() {
+        // Given
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY, "lasagna"));
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY.plusDays(1), "lasagna"));
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY.plusDays(2), "lasagna"));
+        SearchResult first = index.search("lasagna", null, null, 1);
+
+        // When
+        SearchResult second = index.search("lasagna", null, first.matches().getLast(), 1);
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY.plusDays(3), "lasagna"));
+        SearchResult afterSave = index.search("lasagna", null, second.matches().getLast(), 1);
+
+        // Then
+        assertThat(first.totalCount()).isEqualTo(3);
+        assertThat(second.matches()).containsExactly(new Match(1, DAY.plusDays(1)));
+        assertThat(second.totalCount()).isEqualTo(3);
+        assertThat(second.hasMore()).isTrue();
+        assertThat(afterSave.matches()).containsExactly(new Match(1, DAY));
+        assertThat(afterSave.totalCount()).isEqualTo(4);
+    }
+
+    @Test
+    void rebuildPurgesRemovalMarkers() throws Exception {
+        // Given: a strip deleted before the build is installed leaves a marker
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY, "snoopy"));
+        index.onStripDeleted("Peanuts", DAY, 100);
+
+        // When
+        index.rebuild();
+        index.onStripMetadataSaved(metadata(1, "Peanuts", DAY.plusDays(1), "snoopy"));
+        index.onStripDeleted("Peanuts", DAY.plusDays(1), 100);
+
+        // Then: neither the marker nor the later deletion stays behind
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(index, "documents")).isEmpty();
+        assertThat(index.search("snoopy", null, null, 10).matches()).isEmpty();
+    }
+
+    @Test
+    void searchWithNoWordsInIndexReturnsEmptyPage() {
+        assertThat(index.search("anything", null, null, 10)).isEqualTo(new SearchResult(List.of(), 0, false));
+    }
+
+    private void saveStrip(ImageMetadata metadata) throws Exception {
+        Path image = Path.of(metadata.getFilePath());
+        Files.createDirectories(image.getParent());
+        Files.write(image, new byte[] {1});
+        assertThat(metadataRepository.saveMetadata(metadata)).isTrue();
+    }
+
+    private ImageMetadata metadata(int comicId, String comicDirectory, LocalDate date, String transcript) {
+        Path image = cacheRoot.resolve(comicDirectory).resolve(String.valueOf(date.getYear())).resolve(date + ".png");
+        return ImageMetadata.builder()
+                .comicId(comicId)
+                .comicName(comicDirectory)
+                .filePath(image.toString())
+                .format(ImageFormat.PNG)
+                .width(100)
+                .height(100)
+                .sizeInBytes(1)
+                .colorMode(ImageMetadata.ColorMode.COLOR)
+                .transcript(transcript)
+                .build();
+    }
+}
@@ -9,6 +9,8 @@
 import org.stapledon.common.dto.DuplicateValidationResult;
 import org.stapledon.common.dto.ImageFormat;
 import org.stapledon.common.dto.ImageValidationResult;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
 import org.stapledon.common.service.AnalysisService;
 import org.stapledon.common.service.DuplicateValidationService;
 import org.stapledon.common.service.ValidationService;
@@ -18,6 +20,7 @@
 import java.io.File;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -63,7 +66,7 @@ void setUp() {
         lenient().when(metadataRepository.saveMetadata(any())).thenReturn(true);
 
         // Real ComicIndexService - this is what we're testing
-        indexService = new ComicIndexService(gson, cacheProperties, metadataRepository);
+        indexService = new ComicIndexService(gson, cacheProperties, metadataRepository, new CacheScanner(4));
 
         // Mock validation services (not critical for this test)
         ValidationService validationService = mock(ValidationService.class);
@@ -86,7 +89,10 @@ void setUp() {
                 hashCacheService,
                 analysisService,
                 metadataRepository,
-                indexService
+                indexService,
+                new CacheScanner(4),
+                IoScheduler.unlimited(),
+                List.of()
         );
     }
 
@@ -158,7 +164,7 @@ void saveComicStrip_shouldPersistIndexAcrossServiceRestart() {
         CacheProperties cacheProperties = CacheProperties.builder()
                 .location(tempDir.toAbsolutePath().toString())
                 .build();
-        ComicIndexService newIndexService = new ComicIndexService(gson, cacheProperties, metadataRepository);
+        ComicIndexService newIndexService = new ComicIndexService(gson, cacheProperties, metadataRepository, new CacheScanner(4));
 
         ValidationService validationService = mock(ValidationService.class);
         when(validationService.validateWithMinDimensions(any(byte[].class), anyInt(), anyInt()))
@@ -176,7 +182,10 @@ void saveComicStrip_shouldPersistIndexAcrossServiceRestart() {
                 hashCacheService,
                 analysisService,
                 metadataRepository,
-                newIndexService
+                newIndexService,
+                new CacheScanner(4),
+                IoScheduler.unlimited(),
+                List.of()
         );
 
         // Act - Save second strip after "restart"
@@ -23,6 +23,7 @@
 
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.dto.ComicDateIndex;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
 import org.stapledon.common.util.GsonUtils;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,7 +45,7 @@ class ComicIndexServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         when(cacheProperties.getLocation()).thenReturn(tempDir.toString());
-        indexService = new ComicIndexService(gson, cacheProperties, metadataRepository);
+        indexService = new ComicIndexService(gson, cacheProperties, metadataRepository, new CacheScanner(4));
     }
 
     @Test
@@ -100,6 +101,79 @@ void getPreviousDate_shouldReturnPreviousDate() {
         assertThat(prev).hasValue(d2);
     }
 
+    @Test
+    void getDatesAround_shouldSliceDatesAroundAvailableCenter() {
+        // Arrange
+        int comicId = 1;
+        String comicName = "TestComic";
+        LocalDate d1 = LocalDate.of(2023, 1, 1);
+        LocalDate d2 = LocalDate.of(2023, 1, 5);
+        LocalDate d3 = LocalDate.of(2023, 1, 10);
+        LocalDate d4 = LocalDate.of(2023, 1, 15);
+
+        setupIndex(comicId, comicName, Arrays.asList(d1, d2, d3, d4));
+
+        // Act
+        List<LocalDate> window = indexService.getDatesAround(comicId, comicName, d2, 1, 5);
+
+        // Assert
+        assertThat(window).containsExactly(d1, d2, d3, d4);
+    }
+
+    @Test
+    void getDatesAround_shouldSliceDatesAroundMissingCenter() {
+        // Arrange
+        int comicId = 1;
+        String comicName = "TestComic";
+        LocalDate d1 = LocalDate.of(2023, 1, 1);
+        LocalDate d2 = LocalDate.of(2023, 1, 5);
+        LocalDate d3 = LocalDate.of(2023, 1, 10);
+        LocalDate d4 = LocalDate.of(2023, 1, 15);
+
+        setupIndex(comicId, comicName, Arrays.asList(d1, d2, d3, d4));
+
+        // Act
+        List<LocalDate> window = indexService.getDatesAround(comicId, comicName, LocalDate.of(2023, 1, 7), 1, 1);
+
+        // Assert
+        assertThat(window).containsExactly(d2, d3);
+        assertThat(indexService.getDatesAround(comicId, comicName, d4, 0, 0)).containsExactly(d4);
+    }
+
+    @Test
+    void getRandomDate_shouldPickWithinRange() {
+        // Arrange
+        int comicId = 1;
+        String comicName = "TestComic";
+        LocalDate d1 = LocalDate.of(2023, 1, 1);
+        LocalDate d2 = LocalDate.of(2023, 1, 5);
+        LocalDate d3 = LocalDate.of(2023, 1, 10);
+
+        setupIndex(comicId, comicName, Arrays.asList(d1, d2, d3));
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertThat(indexService.getRandomDate(comicId, comicName, d2, null, false)).get().isIn(d2, d3);
+            assertThat(indexService.getRandomDate(comicId, comicName, d1, d2, true)).get().isIn(d1, d2);
+        }
+        assertThat(indexService.getRandomDate(comicId, comicName, LocalDate.of(2023, 1, 6), LocalDate.of(2023, 1, 9), false))
+                .isEmpty();
+        assertThat(indexService.getRandomDate(comicId, comicName, d3, d3, false)).hasValue(d3);
+    }
+
+    @Test
+    void randomRank_shouldWeightTowardsNewestWhenFavoringRecent() {
+        // Uniform picks map the sample straight onto the ranks
+        assertThat(ComicIndexService.randomRank(4, 0.0, false)).isZero();
+        assertThat(ComicIndexService.randomRank(4, 0.5, false)).isEqualTo(2);
+        assertThat(ComicIndexService.randomRank(4, 0.999, false)).isEqualTo(3);
+
+        // Recency weighting: rank i has weight 2i + 1 of 16, so rank 3 takes the top 7/16 of samples
+        assertThat(ComicIndexService.randomRank(4, 0.05, true)).isZero();
+        assertThat(ComicIndexService.randomRank(4, 0.5, true)).isEqualTo(2);
+        assertThat(ComicIndexService.randomRank(4, 0.6, true)).isEqualTo(3);
+    }
+
     @Test
     void addDateToIndex_shouldUpdateAndSave() {
         // Arrange
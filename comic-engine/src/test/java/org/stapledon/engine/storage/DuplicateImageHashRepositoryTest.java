@@ -15,6 +15,7 @@
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Map;
@@ -23,6 +24,7 @@
 
 
 import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.dto.HashAlgorithm;
 import org.stapledon.common.dto.ImageHashRecord;
 
 @ExtendWith(MockitoExtension.class)
@@ -169,6 +171,37 @@ void shouldReplaceAllHashes() {
         assertThat(newResult.get().getFilePath()).isEqualTo("/comics/test/2024/2024-06-20.png");
     }
 
+    @Test
+    void shouldKeepMatchingExistingRecordsWhenReplacing() {
+        // Arrange: one record saved with the current algorithm while a rebuild ran, one legacy record
+        ImageHashRecord saved = ImageHashRecord.builder()
+                .date(LocalDate.of(2024, 6, 21))
+                .hash("savedHash")
+                .filePath("/comics/test/2024/2024-06-21.png")
+                .build();
+        ImageHashRecord legacy = ImageHashRecord.builder()
+                .date(LocalDate.of(2024, 6, 15))
+                .hash("legacyHash")
+                .filePath("/comics/test/2024/2024-06-15.png")
+                .build();
+        repository.addHash(comicId, comicName, year, saved);
+        repository.addHash(comicId, comicName, year, legacy);
+
+        Map<String, ImageHashRecord> rebuilt = new ConcurrentHashMap<>();
+        rebuilt.put(testHash, ImageHashRecord.builder()
+                .date(LocalDate.of(2024, 6, 20))
+                .hash(testHash)
+                .filePath("/comics/test/2024/2024-06-20.png")
+                .build());
+
+        // Act
+        repository.replaceHashes(comicId, comicName, year, rebuilt, record -> record.getHash().equals("savedHash"));
+
+        // Assert
+        repository.clearCache();
+        assertThat(repository.loadHashes(comicId, comicName, year)).containsOnlyKeys(testHash, "savedHash");
+    }
+
     @Test
     void shouldGetYearDirectory() {
         // Act
@@ -277,6 +310,75 @@ void shouldSeparateHashesByYear() {
         assertThat(result2023.get().getFilePath()).isEqualTo("/comics/test/2023/2023-06-15.png");
     }
 
+    @Test
+    void shouldPersistPerceptualHashesAsBinary() {
+        // Arrange
+        Path yearDir = repository.getYearDirectory(comicId, comicName, year);
+        ImageHashRecord record = ImageHashRecord.builder()
+                .date(LocalDate.of(2024, 6, 15))
+                .hash("00ff00ff00ff00ff")
+                .filePath(yearDir.toAbsolutePath().normalize().resolve("2024-06-15.png").toString())
+                .algorithm(HashAlgorithm.DIFFERENCE_HASH)
+                .build();
+
+        // Act
+        repository.addHash(comicId, comicName, year, record);
+        repository.clearCache();
+        Optional<ImageHashRecord> result = repository.findByHash(comicId, comicName, year, "00ff00ff00ff00ff");
+
+        // Assert
+        assertThat(yearDir.resolve("image-hashes.bin")).exists();
+        assertThat(yearDir.resolve("image-hashes.json")).doesNotExist();
+        assertThat(result).contains(record);
+    }
+
+    @Test
+    void shouldImportJsonAndConvertToBinary() throws Exception {
+        // Arrange
+        Path yearDir = repository.getYearDirectory(comicId, comicName, year);
+        Files.createDirectories(yearDir);
+        Files.writeString(yearDir.resolve("image-hashes.json"), """
+                {
+                  "8000000000000001": {
+                    "hash": "8000000000000001",
+                    "date": "2024-03-01",
+                    "filePath": "/elsewhere/2024-03-01.png",
+                    "algorithm": "AVERAGE_HASH"
+                  }
+                }
+                """);
+
+        // Act
+        Optional<ImageHashRecord> result = repository.findByHash(comicId, comicName, year, "8000000000000001");
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getDate()).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(result.get().getFilePath()).isEqualTo("/elsewhere/2024-03-01.png");
+        assertThat(result.get().getAlgorithm()).isEqualTo(HashAlgorithm.AVERAGE_HASH);
+        assertThat(yearDir.resolve("image-hashes.bin")).exists();
+        assertThat(yearDir.resolve("image-hashes.json")).doesNotExist();
+    }
+
+    @Test
+    void shouldKeepJsonWhenHashesCannotBePacked() {
+        // Arrange
+        Path yearDir = repository.getYearDirectory(comicId, comicName, year);
+        ImageHashRecord md5Record = ImageHashRecord.builder()
+                .date(LocalDate.of(2024, 6, 15))
+                .hash("d41d8cd98f00b204e9800998ecf8427e")
+                .filePath("/comics/test/2024/2024-06-15.png")
+                .algorithm(HashAlgorithm.MD5)
+                .build();
+
+        // Act
+        repository.addHash(comicId, comicName, year, md5Record);
+
+        // Assert
+        assertThat(yearDir.resolve("image-hashes.json")).exists();
+        assertThat(yearDir.resolve("image-hashes.bin")).doesNotExist();
+    }
+
     @Test
     void shouldHaveValidToString() {
         // Act
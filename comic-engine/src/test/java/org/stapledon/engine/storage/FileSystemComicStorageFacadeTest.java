@@ -3,8 +3,10 @@
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -27,15 +29,20 @@
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.stapledon.common.config.CacheProperties;
 import org.stapledon.common.dto.ComicIdentifier;
 import org.stapledon.common.dto.DuplicateValidationResult;
+import org.stapledon.common.dto.ImageDto;
 import org.stapledon.common.dto.ImageFormat;
 import org.stapledon.common.dto.ImageMetadata;
 import org.stapledon.common.dto.ImageValidationResult;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
 import org.stapledon.common.service.DuplicateValidationService;
+import org.stapledon.common.service.StorageEventListener;
 import org.stapledon.common.service.ValidationService;
 import org.stapledon.engine.validation.DuplicateHashCacheService;
 
@@ -69,6 +76,9 @@ class FileSystemComicStorageFacadeTest {
     @Mock
     private ComicIndexService comicIndexService;
 
+    @Mock
+    private StorageEventListener storageEventListener;
+
     private FileSystemComicStorageFacade storageFacade;
     private File cacheRoot;
     private static final int COMIC_ID = 42;
@@ -86,7 +96,7 @@ void setUp() throws IOException {
 
         storageFacade = new FileSystemComicStorageFacade(cacheProperties, imageValidationService,
                 duplicateValidationService, duplicateHashCacheService, imageAnalysisService, imageMetadataRepository,
-                comicIndexService);
+                comicIndexService, new CacheScanner(4), IoScheduler.unlimited(), List.of(storageEventListener));
 
         // Create test directory structure
         createTestDirectoryStructure();
@@ -104,7 +114,7 @@ private void configureMocksForSave() {
         // Mock image analysis to return a test metadata
         lenient()
                 .when(imageAnalysisService.analyzeImage(anyInt(), anyString(), any(byte[].class), anyString(), any(),
-                        any()))
+                        any(), any()))
                 .thenReturn(createTestMetadata());
 
         // Mock metadata repository to return true
@@ -294,6 +304,47 @@ void navigation_shouldIgnoreInvalidFilenames() throws Exception {
         assertThat(result.get()).isEqualTo(oldest);
     }
 
+    @Test
+    void getDatesAround_shouldDelegateToIndexService() {
+        // Arrange
+        List<LocalDate> slice = List.of(LocalDate.of(2023, 1, 10), TEST_DATE);
+        when(comicIndexService.getDatesAround(COMIC_ID, COMIC_NAME, TEST_DATE, 1, 1)).thenReturn(slice);
+
+        // Act
+        List<LocalDate> result = storageFacade.getDatesAround(COMIC_IDENTIFIER, TEST_DATE, 1, 1);
+
+        // Assert
+        assertThat(result).isEqualTo(slice);
+    }
+
+    @Test
+    void getComicStripDescriptors_shouldDescribeStoredStripsFromMetadata() {
+        // Arrange
+        LocalDate earlier = LocalDate.of(2023, 1, 10);
+        LocalDate missingDate = LocalDate.of(2023, 3, 1);
+        ImageMetadata metadata = createTestMetadata().toBuilder().transcript("Good grief").build();
+        when(imageMetadataRepository.loadMetadata(anyString())).thenReturn(Optional.of(metadata));
+
+        // Act
+        Map<LocalDate, ImageDto> result = storageFacade.getComicStripDescriptors(COMIC_IDENTIFIER,
+                List.of(earlier, TEST_DATE, missingDate));
+
+        // Assert
+        assertThat(result).containsOnlyKeys(earlier, TEST_DATE);
+        ImageDto descriptor = result.get(TEST_DATE);
+        assertThat(descriptor.getImageDate()).isEqualTo(TEST_DATE);
+        assertThat(descriptor.getWidth()).isEqualTo(100);
+        assertThat(descriptor.getTranscript()).isEqualTo("Good grief");
+        assertThat(descriptor.getImageData()).isNull();
+    }
+
+    @Test
+    void avatarExists_shouldCheckForAvatarFile() {
+        // Act & Assert
+        assertThat(storageFacade.avatarExists(COMIC_IDENTIFIER)).isTrue();
+        assertThat(storageFacade.avatarExists(new ComicIdentifier(7, "NoAvatar"))).isFalse();
+    }
+
     @Test
     void comicStripExists_shouldReturnTrueWhenExists() {
         // Act
@@ -438,4 +489,79 @@ void saveComicStrip_shouldNotAddToCache_whenSaveFails() throws Exception {
                 any(byte[].class),
                 anyString());
     }
+
+    @Test
+    void saveComicStrip_shouldNotifyStorageListeners() {
+        // Arrange
+        configureMocksForSave();
+        LocalDate date = LocalDate.of(2023, 2, 1);
+        byte[] imageData = new byte[] { 0x01, 0x02, 0x03, 0x04 };
+
+        // Act
+        boolean result = storageFacade.saveComicStrip(COMIC_IDENTIFIER, date, imageData);
+
+        // Assert
+        assertThat(result).isTrue();
+        verify(storageEventListener).onStripSaved(COMIC_NAME_PARSED, date, imageData.length);
+        verify(storageEventListener, never()).onStripDeleted(anyString(), any(LocalDate.class), anyLong());
+    }
+
+    @Test
+    void saveComicStrip_shouldNotifyListenersOfSavedMetadata() {
+        // Arrange
+        configureMocksForSave();
+        LocalDate date = LocalDate.of(2023, 2, 1);
+
+        // Act
+        storageFacade.saveComicStrip(COMIC_IDENTIFIER, date, new byte[] { 0x01, 0x02, 0x03, 0x04 });
+
+        // Assert
+        verify(storageEventListener).onStripMetadataSaved(any(ImageMetadata.class));
+    }
+
+    @Test
+    void saveComicStrip_shouldReportReplacedImage_whenOverwriting() throws Exception {
+        // Arrange
+        configureMocksForSave();
+        File existing = new File(cacheRoot, COMIC_NAME_PARSED + "/2023/2023-01-15.png");
+        long existingSize = existing.length();
+        byte[] imageData = new byte[] { 0x01, 0x02, 0x03, 0x04 };
+
+        // Act
+        storageFacade.saveComicStrip(COMIC_IDENTIFIER, TEST_DATE, imageData);
+
+        // Assert
+        verify(storageEventListener).onStripReplaced(COMIC_NAME_PARSED, TEST_DATE, existingSize, imageData.length);
+        verify(storageEventListener, never()).onStripSaved(anyString(), any(LocalDate.class), anyLong());
+        verify(storageEventListener, never()).onStripDeleted(anyString(), any(LocalDate.class), anyLong());
+    }
+
+    @Test
+    void saveComicStrip_shouldReportRemovedImage_whenRollingBackOverwrite() {
+        // Arrange
+        configureMocksForSave();
+        File existing = new File(cacheRoot, COMIC_NAME_PARSED + "/2023/2023-01-15.png");
+        long existingSize = existing.length();
+        doThrow(new IllegalStateException("index unavailable")).when(comicIndexService)
+                .addDateToIndex(anyInt(), anyString(), any(LocalDate.class));
+
+        // Act
+        boolean result = storageFacade.saveComicStrip(COMIC_IDENTIFIER, TEST_DATE, new byte[] { 0x01, 0x02, 0x03, 0x04 });
+
+        // Assert
+        assertThat(result).isFalse();
+        assertThat(existing).doesNotExist();
+        verify(storageEventListener).onStripDeleted(COMIC_NAME_PARSED, TEST_DATE, existingSize);
+        verify(storageEventListener, never()).onStripSaved(anyString(), any(LocalDate.class), anyLong());
+        verify(storageEventListener, never()).onStripReplaced(anyString(), any(LocalDate.class), anyLong(), anyLong());
+    }
+
+    @Test
+    void deleteComic_shouldNotifyStorageListeners() {
+        // Act
+        storageFacade.deleteComic(COMIC_IDENTIFIER);
+
+        // Assert
+        verify(storageEventListener).onComicDeleted(COMIC_NAME_PARSED);
+    }
 }
@@ -14,7 +14,9 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -57,7 +59,8 @@ void shouldSaveMetadata() throws Exception {
 
         // Then
         assertThat(result).isTrue();
-        assertThat(new File(tempDir.resolve("2023-01-15.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
+        assertThat(tempDir.resolve("2023-01-15.json")).doesNotExist();
     }
 
     @Test
@@ -145,20 +148,24 @@ void shouldHandleDifferentImageExtensions() throws Exception {
         createEmptyFile(pngPath);
         repository.saveMetadata(createTestMetadata(pngPath));
         assertThat(repository.metadataExists(pngPath)).isTrue();
-        assertThat(new File(tempDir.resolve("image.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
 
         // Test JPG
         String jpgPath = tempDir.resolve("image.jpg").toString();
         createEmptyFile(jpgPath);
         repository.saveMetadata(createTestMetadata(jpgPath));
         assertThat(repository.metadataExists(jpgPath)).isTrue();
-        assertThat(new File(tempDir.resolve("image.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
 
         // Test JPEG
         String jpegPath = tempDir.resolve("photo.jpeg").toString();
         createEmptyFile(jpegPath);
         repository.saveMetadata(createTestMetadata(jpegPath));
         assertThat(repository.metadataExists(jpegPath)).isTrue();
+
+        // Images sharing a base name keep separate records
+        assertThat(repository.loadMetadata(pngPath).get().getFilePath()).isEqualTo(pngPath);
+        assertThat(repository.loadMetadata(jpgPath).get().getFilePath()).isEqualTo(jpgPath);
     }
 
     @Test
@@ -172,7 +179,7 @@ void shouldHandleGifExtension() throws Exception {
 
         // Then
         assertThat(repository.metadataExists(gifPath)).isTrue();
-        assertThat(new File(tempDir.resolve("animation.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
     }
 
     @Test
@@ -186,7 +193,7 @@ void shouldHandleWebpExtension() throws Exception {
 
         // Then
         assertThat(repository.metadataExists(webpPath)).isTrue();
-        assertThat(new File(tempDir.resolve("modern.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
     }
 
     @Test
@@ -200,7 +207,7 @@ void shouldHandleTiffExtension() throws Exception {
 
         // Then
         assertThat(repository.metadataExists(tiffPath)).isTrue();
-        assertThat(new File(tempDir.resolve("photo.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
     }
 
     @Test
@@ -214,7 +221,7 @@ void shouldHandleTifExtension() throws Exception {
 
         // Then
         assertThat(repository.metadataExists(tifPath)).isTrue();
-        assertThat(new File(tempDir.resolve("photo.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
     }
 
     @Test
@@ -228,7 +235,7 @@ void shouldHandleBmpExtension() throws Exception {
 
         // Then
         assertThat(repository.metadataExists(bmpPath)).isTrue();
-        assertThat(new File(tempDir.resolve("bitmap.json").toString()).exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
     }
 
     @Test
@@ -242,7 +249,7 @@ void shouldHandleFilesWithoutExtension() throws Exception {
 
         // Then
         assertThat(repository.metadataExists(noExtPath)).isTrue();
-        assertThat(new File(noExtPath + ".json").exists()).isTrue();
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).exists();
     }
 
     @Test
@@ -410,6 +417,79 @@ void shouldNotSaveMetadataWithZeroFileSize() throws Exception {
         assertThat(repository.metadataExists(imagePath)).isFalse();
     }
 
+    @Test
+    void shouldReloadSegmentInNewRepository() throws Exception {
+        // Given
+        String firstPath = tempDir.resolve("2023-01-15.png").toString();
+        String secondPath = tempDir.resolve("2023-01-16.png").toString();
+        repository.saveMetadata(createTestMetadata(firstPath));
+        repository.saveMetadata(createTestMetadata(secondPath));
+        repository.saveMetadata(createTestMetadata(firstPath).toBuilder().width(640).build());
+        repository.deleteMetadata(secondPath);
+
+        // When
+        ImageMetadataRepository reloaded = new ImageMetadataRepository(gson);
+
+        // Then
+        assertThat(reloaded.loadMetadata(firstPath)).get().extracting(ImageMetadata::getWidth).isEqualTo(640);
+        assertThat(reloaded.metadataExists(secondPath)).isFalse();
+    }
+
+    @Test
+    void shouldMigrateLegacySidecars() throws Exception {
+        // Given
+        String imagePath = tempDir.resolve("2023-01-15.png").toString();
+        Files.writeString(tempDir.resolve("2023-01-15.json"), gson.toJson(createTestMetadata(imagePath)));
+        Files.writeString(tempDir.resolve("image-hashes.json"), "{}");
+
+        // When
+        Optional<ImageMetadata> loaded = repository.loadMetadata(imagePath);
+
+        // Then
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().getFilePath()).isEqualTo(imagePath);
+        assertThat(tempDir.resolve("2023-01-15.json")).doesNotExist();
+        assertThat(tempDir.resolve("image-hashes.json")).exists();
+        assertThat(new ImageMetadataRepository(gson).metadataExists(imagePath)).isTrue();
+    }
+
+    @Test
+    void shouldCompactSegmentAndRemoveItWhenEmpty() throws Exception {
+        // Given
+        String imagePath = tempDir.resolve("2023-01-15.png").toString();
+        for (int i = 0; i < 5; i++) {
+            repository.saveMetadata(createTestMetadata(imagePath));
+        }
+
+        // Then - superseded records never outweigh the current one
+        assertThat(Files.readAllLines(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).size()).isLessThanOrEqualTo(2);
+
+        // When
+        repository.deleteMetadata(imagePath);
+
+        // Then
+        assertThat(tempDir.resolve(ImageMetadataSegment.FILE_NAME)).doesNotExist();
+    }
+
+    @Test
+    void shouldIgnoreIncompleteTrailingRecord() throws Exception {
+        // Given
+        String imagePath = tempDir.resolve("2023-01-15.png").toString();
+        repository.saveMetadata(createTestMetadata(imagePath));
+        Files.writeString(tempDir.resolve(ImageMetadataSegment.FILE_NAME), "2023-01-16.png\t{\"width\":",
+                StandardOpenOption.APPEND);
+
+        // When
+        ImageMetadataRepository reloaded = new ImageMetadataRepository(gson);
+
+        // Then
+        assertThat(reloaded.metadataExists(imagePath)).isTrue();
+        assertThat(reloaded.metadataExists(tempDir.resolve("2023-01-16.png").toString())).isFalse();
+        assertThat(reloaded.saveMetadata(createTestMetadata(tempDir.resolve("2023-01-17.png").toString()))).isTrue();
+        assertThat(new ImageMetadataRepository(gson).metadataExists(tempDir.resolve("2023-01-17.png").toString()))
+                .isTrue();
+    }
+
     // Helper methods
 
     private ImageMetadata createTestMetadata(String imagePath) {
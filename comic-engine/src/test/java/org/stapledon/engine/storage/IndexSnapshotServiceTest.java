@@ -0,0 +1,106 @@
+package org.stapledon.engine.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.util.GsonUtils;
+
+class IndexSnapshotServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path cacheRoot;
+
+    private final Gson gson = GsonUtils.createGson();
+    private CacheProperties cacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = mock(CacheProperties.class);
+        when(cacheProperties.getLocation()).thenReturn(cacheRoot.toString());
+        when(cacheProperties.isWarmStartSnapshot()).thenReturn(true);
+    }
+
+    @Test
+    void restoresUnchangedIndexesFromSnapshot() throws Exception {
+        // Given: indexes loaded, extended and snapshotted by one instance
+        ComicIndexService before = newIndexService();
+        before.addDateToIndex(1, "Peanuts", DAY);
+        before.addDateToIndex(1, "Peanuts", DAY.plusDays(1));
+        before.addStripNumberToIndex(1, "Peanuts", 42);
+        assertThat(new IndexSnapshotService(cacheProperties, before).write()).isTrue();
+
+        // When
+        ComicIndexService after = newIndexService();
+        List<IndexSnapshotFile.Entry> entries = IndexSnapshotFile.read(cacheRoot.resolve(IndexSnapshotFile.FILE_NAME));
+        int restored = after.restoreSnapshot(entries);
+
+        // Then
+        assertThat(restored).isEqualTo(1);
+        assertThat(after.getAvailableDates(1, "Peanuts")).containsExactly(DAY, DAY.plusDays(1));
+        assertThat(after.getDownloadedStripNumbers(1, "Peanuts")).containsExactly(42);
+    }
+
+    @Test
+    void skipsIndexesWhoseJsonChangedSinceSnapshot() throws Exception {
+        // Given
+        ComicIndexService before = newIndexService();
+        before.addDateToIndex(1, "Peanuts", DAY);
+        new IndexSnapshotService(cacheProperties, before).write();
+
+        // The JSON index is updated by another writer after the snapshot
+        ComicIndexService other = newIndexService();
+        other.addDateToIndex(1, "Peanuts", DAY.plusDays(7));
+        Path indexFile = cacheRoot.resolve("Peanuts").resolve(ComicIndexService.INDEX_FILENAME);
+        Files.setLastModifiedTime(indexFile, FileTime.fromMillis(Files.getLastModifiedTime(indexFile).toMillis() + 1000));
+
+        // When
+        ComicIndexService after = newIndexService();
+        new IndexSnapshotService(cacheProperties, after).restore();
+
+        // Then
+        assertThat(after.getAvailableDates(1, "Peanuts")).containsExactly(DAY, DAY.plusDays(7));
+    }
+
+    @Test
+    void writesOnlyWhenIndexesChanged() {
+        // Given
+        ComicIndexService indexService = newIndexService();
+        IndexSnapshotService snapshotService = new IndexSnapshotService(cacheProperties, indexService);
+        indexService.addDateToIndex(1, "Peanuts", DAY);
+
+        // When & Then
+        assertThat(snapshotService.write()).isTrue();
+        assertThat(snapshotService.write()).isFalse();
+        indexService.addDateToIndex(1, "Peanuts", DAY.plusDays(1));
+        assertThat(snapshotService.write()).isTrue();
+    }
+
+    @Test
+    void missingSnapshotRestoresNothing() {
+        ComicIndexService indexService = newIndexService();
+
+        new IndexSnapshotService(cacheProperties, indexService).restore();
+
+        assertThat(indexService.captureSnapshot()).isEmpty();
+    }
+
+    private ComicIndexService newIndexService() {
+        return new ComicIndexService(gson, cacheProperties, mock(ImageMetadataRepository.class), new CacheScanner(4));
+    }
+}
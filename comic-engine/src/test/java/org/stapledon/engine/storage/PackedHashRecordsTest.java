@@ -0,0 +1,87 @@
+package org.stapledon.engine.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.stapledon.common.dto.HashAlgorithm;
+import org.stapledon.common.dto.ImageHashRecord;
+
+class PackedHashRecordsTest {
+
+    @TempDir
+    Path yearDir;
+
+    @Test
+    void removeDropsPackedAndOverflowRecordsAndKeepsTheRestReachable() {
+        // Arrange
+        PackedHashRecords records = new PackedHashRecords(yearDir);
+        ImageHashRecord first = packed("0000000000000001", 1);
+        ImageHashRecord second = packed("0000000000000002", 2);
+        ImageHashRecord third = packed("0000000000000003", 3);
+        ImageHashRecord md5 = overflow("d41d8cd98f00b204e9800998ecf8427e", 4);
+        records.put(first.getHash(), first);
+        records.put(second.getHash(), second);
+        records.put(third.getHash(), third);
+        records.put(md5.getHash(), md5);
+
+        // Act
+        ImageHashRecord removed = records.remove(first.getHash());
+        ImageHashRecord removedOverflow = records.remove(md5.getHash());
+
+        // Assert
+        assertThat(removed).isEqualTo(first);
+        assertThat(removedOverflow).isEqualTo(md5);
+        assertThat(records.remove(first.getHash())).isNull();
+        assertThat(records).hasSize(2).containsEntry(second.getHash(), second).containsEntry(third.getHash(), third);
+        assertThat(records.packedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void viewsAndClearWriteThroughToThePackedArrays() {
+        // Arrange
+        PackedHashRecords records = new PackedHashRecords(yearDir);
+        for (int day = 1; day <= 5; day++) {
+            ImageHashRecord record = packed(String.format("%016x", day), day);
+            records.put(record.getHash(), record);
+        }
+
+        // Act
+        records.values().removeIf(record -> record.getDate().getDayOfMonth() % 2 == 0);
+
+        // Assert
+        assertThat(records.keySet()).containsExactlyInAnyOrder("0000000000000001", "0000000000000003", "0000000000000005");
+        assertThat(records.get("0000000000000002")).isNull();
+
+        // Act
+        records.clear();
+
+        // Assert
+        assertThat(records).isEmpty();
+        assertThat(records.packedCount()).isZero();
+        assertThat(records.get("0000000000000001")).isNull();
+    }
+
+    private ImageHashRecord packed(String hash, int day) {
+        LocalDate date = LocalDate.of(2024, 6, day);
+        return ImageHashRecord.builder()
+                .hash(hash)
+                .date(date)
+                .filePath(yearDir.toAbsolutePath().normalize().resolve(date + ".png").toString())
+                .algorithm(HashAlgorithm.DIFFERENCE_HASH)
+                .build();
+    }
+
+    private ImageHashRecord overflow(String hash, int day) {
+        return ImageHashRecord.builder()
+                .hash(hash)
+                .date(LocalDate.of(2024, 6, day))
+                .filePath("/comics/test/2024/2024-06-0" + day + ".png")
+                .algorithm(HashAlgorithm.MD5)
+                .build();
+    }
+}
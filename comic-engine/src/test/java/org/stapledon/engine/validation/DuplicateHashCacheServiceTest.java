@@ -6,7 +6,6 @@
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,7 +33,7 @@
 
 /**
  * Unit tests for DuplicateHashCacheService.
- * Tests cache management, backfill, and algorithm change detection.
+ * Tests cache management, backfill scheduling, algorithm change detection and dual reads.
  */
 @ExtendWith(MockitoExtension.class)
 class DuplicateHashCacheServiceTest {
@@ -54,6 +53,9 @@ class DuplicateHashCacheServiceTest {
     @Mock
     private CacheProperties cacheProperties;
 
+    @Mock
+    private HashCacheBackfillService backfillService;
+
     private DuplicateHashCacheService service;
 
     private static final int COMIC_ID = 42;
@@ -64,7 +66,7 @@ class DuplicateHashCacheServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new DuplicateHashCacheService(hashRepository, imageHasherFactory, cacheProperties);
+        service = new DuplicateHashCacheService(hashRepository, imageHasherFactory, cacheProperties, backfillService);
     }
 
     @Test
@@ -82,44 +84,37 @@ void loadHashesWithBackfillEmptyCacheNoExistingImagesReturnsEmptyMap() {
         // Then
         assertThat(result).as("Result should not be null").isNotNull();
         assertThat(result.isEmpty()).as("Result should be empty when no images exist").isTrue();
-        verify(hashRepository, never()).replaceHashes(anyInt(), anyString(), anyInt(), any());
+        verify(backfillService, never()).schedule(anyInt(), anyString(), anyInt(), anyString());
     }
 
     @Test
-    void loadHashesWithBackfillEmptyCacheWithExistingImagesBackfillsCache() throws Exception {
+    void loadHashesWithBackfillEmptyCacheWithExistingImagesSchedulesBackgroundBackfill() throws Exception {
         // Given
-        when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
-        when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
-
         Map<String, ImageHashRecord> emptyMap = new ConcurrentHashMap<>();
         when(hashRepository.loadHashes(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(emptyMap);
 
         // Create test directory with images
         Path yearDir = tempDir.resolve(COMIC_NAME).resolve(String.valueOf(YEAR));
         Files.createDirectories(yearDir);
-        Path image1 = yearDir.resolve("2023-01-15.png");
-        Path image2 = yearDir.resolve("2023-01-16.png");
-        Files.write(image1, "test image 1".getBytes());
-        Files.write(image2, "test image 2".getBytes());
+        Files.write(yearDir.resolve("2023-01-15.png"), "test image 1".getBytes());
+        Files.write(yearDir.resolve("2023-01-16.png"), "test image 2".getBytes());
 
         when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(yearDir);
-        when(imageHasher.calculateHash(any(byte[].class))).thenReturn("hash1", "hash2");
 
         // When
         Map<String, ImageHashRecord> result = service.loadHashesWithBackfill(COMIC_ID, COMIC_NAME, YEAR);
 
         // Then
-        assertThat(result).as("Result should not be null").isNotNull();
-        assertThat(result.size()).as("Should have backfilled 2 images").isEqualTo(2);
-        verify(hashRepository).replaceHashes(eq(COMIC_ID), eq(COMIC_NAME), eq(YEAR), any());
-        verify(imageHasher, times(2)).calculateHash(any(byte[].class));
+        assertThat(result).as("Should return the current (empty) cache without waiting").isEmpty();
+        verify(backfillService).schedule(eq(COMIC_ID), eq(COMIC_NAME), eq(YEAR), anyString());
+        verify(imageHasher, never()).calculateHash(any(byte[].class));
+        verify(hashRepository, never()).replaceHashes(anyInt(), anyString(), anyInt(), any());
     }
 
     @Test
-    void loadHashesWithBackfillAlgorithmChangedRebuildsCache() throws Exception {
+    void loadHashesWithBackfillAlgorithmChangedSchedulesMigration() {
         // Given
         when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
-        when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
 
         Map<String, ImageHashRecord> existingMap = new ConcurrentHashMap<>();
         ImageHashRecord oldRecord = ImageHashRecord.builder()
@@ -132,23 +127,78 @@ void loadHashesWithBackfillAlgorithmChangedRebuildsCache() throws Exception {
 
         when(hashRepository.loadHashes(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(existingMap);
 
-        // Create test directory with images
-        Path yearDir = tempDir.resolve(COMIC_NAME).resolve(String.valueOf(YEAR));
-        Files.createDirectories(yearDir);
-        Path image1 = yearDir.resolve("2023-01-15.png");
-        Files.write(image1, "test image 1".getBytes());
+        // When
+        Map<String, ImageHashRecord> result = service.loadHashesWithBackfill(COMIC_ID, COMIC_NAME, YEAR);
 
-        when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(yearDir);
-        when(imageHasher.calculateHash(any(byte[].class))).thenReturn("new-hash");
+        // Then
+        assertThat(result).as("Old records stay readable until the migration completes").containsKey("old-hash");
+        verify(backfillService).schedule(COMIC_ID, COMIC_NAME, YEAR,
+                "algorithm changed from MD5 to DIFFERENCE_HASH");
+    }
+
+    @Test
+    void loadHashesWithBackfillWhileInProgressDoesNotReschedule() {
+        // Given
+        when(hashRepository.loadHashes(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(new ConcurrentHashMap<>());
+        when(backfillService.isInProgress(COMIC_ID, YEAR)).thenReturn(true);
 
         // When
-        Map<String, ImageHashRecord> result = service.loadHashesWithBackfill(COMIC_ID, COMIC_NAME, YEAR);
+        service.loadHashesWithBackfill(COMIC_ID, COMIC_NAME, YEAR);
 
         // Then
-        assertThat(result).as("Result should not be null").isNotNull();
-        assertThat(result.containsKey("new-hash")).as("Should have new hash with current algorithm").isTrue();
-        verify(hashRepository).replaceHashes(eq(COMIC_ID), eq(COMIC_NAME), eq(YEAR), any());
-        verify(imageHasher).calculateHash(any(byte[].class));
+        verify(backfillService, never()).schedule(anyInt(), anyString(), anyInt(), anyString());
+        verify(hashRepository, never()).getYearDirectory(anyInt(), anyString(), anyInt());
+    }
+
+    @Test
+    void findByHashWithImageDataMatchesRecordFromPreviousAlgorithm() {
+        // Given
+        when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
+
+        Map<String, ImageHashRecord> existingMap = new ConcurrentHashMap<>();
+        ImageHashRecord oldRecord = ImageHashRecord.builder()
+                .hash("md5-hash")
+                .date(LocalDate.of(2023, 1, 15))
+                .filePath("/path/to/image.png")
+                .algorithm(HashAlgorithm.MD5)
+                .build();
+        existingMap.put("md5-hash", oldRecord);
+        when(hashRepository.loadHashes(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(existingMap);
+
+        byte[] imageData = "test image".getBytes();
+        when(imageHasherFactory.getImageHasher(HashAlgorithm.MD5)).thenReturn(imageHasher);
+        when(imageHasher.calculateHash(imageData)).thenReturn("md5-hash");
+
+        // When
+        Optional<ImageHashRecord> result = service.findByHash(COMIC_ID, COMIC_NAME, YEAR, "dhash-value", imageData);
+
+        // Then
+        assertThat(result).contains(oldRecord);
+    }
+
+    @Test
+    void findByHashWithImageDataIgnoresKeyCollisionFromOtherAlgorithm() {
+        // Given
+        when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
+
+        Map<String, ImageHashRecord> existingMap = new ConcurrentHashMap<>();
+        existingMap.put(TEST_HASH, ImageHashRecord.builder()
+                .hash(TEST_HASH)
+                .date(LocalDate.of(2023, 1, 15))
+                .filePath("/path/to/image.png")
+                .algorithm(HashAlgorithm.MD5)
+                .build());
+        when(hashRepository.loadHashes(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(existingMap);
+
+        byte[] imageData = "test image".getBytes();
+        when(imageHasherFactory.getImageHasher(HashAlgorithm.MD5)).thenReturn(imageHasher);
+        when(imageHasher.calculateHash(imageData)).thenReturn("different-md5");
+
+        // When
+        Optional<ImageHashRecord> result = service.findByHash(COMIC_ID, COMIC_NAME, YEAR, TEST_HASH, imageData);
+
+        // Then
+        assertThat(result).isEmpty();
     }
 
     @Test
@@ -174,7 +224,7 @@ void loadHashesWithBackfillSameAlgorithmDoesNotRebuild() {
         assertThat(result).as("Result should not be null").isNotNull();
         assertThat(result.size()).as("Should return existing cache").isEqualTo(1);
         assertThat(result.containsKey(TEST_HASH)).as("Should contain existing hash").isTrue();
-        verify(hashRepository, never()).replaceHashes(anyInt(), anyString(), anyInt(), any());
+        verify(backfillService, never()).schedule(anyInt(), anyString(), anyInt(), anyString());
     }
 
     @Test
@@ -300,58 +350,6 @@ void addImageToCacheUsesCorrectYear() {
         verify(hashRepository).addHash(eq(COMIC_ID), eq(COMIC_NAME), eq(2025), any());
     }
 
-    @Test
-    void backfillExistingImagesIgnoresNonPngFiles() throws Exception {
-        // Given
-        when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
-        when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
-
-        Map<String, ImageHashRecord> emptyMap = new ConcurrentHashMap<>();
-        when(hashRepository.loadHashes(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(emptyMap);
-
-        // Create test directory with mixed files
-        Path yearDir = tempDir.resolve(COMIC_NAME).resolve(String.valueOf(YEAR));
-        Files.createDirectories(yearDir);
-        Path pngFile = yearDir.resolve("2023-01-15.png");
-        Path jpgFile = yearDir.resolve("2023-01-16.jpg");
-        Path txtFile = yearDir.resolve("readme.txt");
-        Files.write(pngFile, "test image".getBytes());
-        Files.write(jpgFile, "test jpeg".getBytes());
-        Files.write(txtFile, "test text".getBytes());
-
-        when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(yearDir);
-        when(imageHasher.calculateHash(any(byte[].class))).thenReturn("hash1");
-
-        // When
-        Map<String, ImageHashRecord> result = service.loadHashesWithBackfill(COMIC_ID, COMIC_NAME, YEAR);
-
-        // Then
-        assertThat(result.size()).as("Should only backfill PNG files").isEqualTo(1);
-        verify(imageHasher, times(1)).calculateHash(any(byte[].class));
-    }
-
-    @Test
-    void backfillExistingImagesHandlesInvalidFilenames() throws Exception {
-        // Given
-        Map<String, ImageHashRecord> emptyMap = new ConcurrentHashMap<>();
-        when(hashRepository.loadHashes(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(emptyMap);
-
-        // Create test directory with invalid filename
-        Path yearDir = tempDir.resolve(COMIC_NAME).resolve(String.valueOf(YEAR));
-        Files.createDirectories(yearDir);
-        Path invalidFile = yearDir.resolve("invalid-date.png");
-        Files.write(invalidFile, "test image".getBytes());
-
-        when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(yearDir);
-
-        // When
-        Map<String, ImageHashRecord> result = service.loadHashesWithBackfill(COMIC_ID, COMIC_NAME, YEAR);
-
-        // Then
-        assertThat(result.isEmpty()).as("Should not backfill files with invalid date format").isTrue();
-        verify(imageHasher, never()).calculateHash(any(byte[].class));
-    }
-
     @Test
     void loadHashesWithBackfillNullAlgorithmInExistingRecordDoesNotCrash() {
         // Given
@@ -1,6 +1,7 @@
 package org.stapledon.engine.validation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
@@ -63,7 +64,7 @@ void shouldReturnUniqueWhenDuplicateDetectionDisabled() {
         assertThat(result.isDuplicate()).isFalse();
         assertThat(result.getHash()).isEqualTo("disabled");
         verify(imageHasherFactory, never()).getImageHasher();
-        verify(hashCacheService, never()).findByHash(anyInt(), anyString(), anyInt(), anyString());
+        verify(hashCacheService, never()).findByHash(anyInt(), anyString(), anyInt(), anyString(), any(byte[].class));
     }
 
     @Test
@@ -80,7 +81,7 @@ void shouldReturnUniqueWhenHashCalculationFails() {
         // Assert
         assertThat(result.isDuplicate()).isFalse();
         assertThat(result.getHash()).isEqualTo("hash-failed");
-        verify(hashCacheService, never()).findByHash(anyInt(), anyString(), anyInt(), anyString());
+        verify(hashCacheService, never()).findByHash(anyInt(), anyString(), anyInt(), anyString(), any(byte[].class));
     }
 
     @Test
@@ -89,7 +90,7 @@ void shouldReturnUniqueWhenNoExistingHashFound() {
         when(cacheProperties.isDuplicateDetectionEnabled()).thenReturn(true);
         when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
         when(imageHasher.calculateHash(testImageData)).thenReturn(testHash);
-        when(hashCacheService.findByHash(comicId, comicName, testDate.getYear(), testHash))
+        when(hashCacheService.findByHash(comicId, comicName, testDate.getYear(), testHash, testImageData))
                 .thenReturn(Optional.empty());
 
         // Act
@@ -115,7 +116,7 @@ void shouldReturnUniqueWhenHashMatchesSameDate() {
         when(cacheProperties.isDuplicateDetectionEnabled()).thenReturn(true);
         when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
         when(imageHasher.calculateHash(testImageData)).thenReturn(testHash);
-        when(hashCacheService.findByHash(comicId, comicName, testDate.getYear(), testHash))
+        when(hashCacheService.findByHash(comicId, comicName, testDate.getYear(), testHash, testImageData))
                 .thenReturn(Optional.of(existingRecord));
 
         // Act
@@ -144,7 +145,7 @@ void shouldReturnDuplicateWhenHashMatchesDifferentDate() {
         when(cacheProperties.isDuplicateDetectionEnabled()).thenReturn(true);
         when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
         when(imageHasher.calculateHash(testImageData)).thenReturn(testHash);
-        when(hashCacheService.findByHash(comicId, comicName, testDate.getYear(), testHash))
+        when(hashCacheService.findByHash(comicId, comicName, testDate.getYear(), testHash, testImageData))
                 .thenReturn(Optional.of(existingRecord));
 
         // Act
@@ -169,7 +170,7 @@ void shouldUseConfiguredYear() {
         when(cacheProperties.isDuplicateDetectionEnabled()).thenReturn(true);
         when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
         when(imageHasher.calculateHash(testImageData)).thenReturn(testHash);
-        when(hashCacheService.findByHash(comicId, comicName, 2023, testHash))
+        when(hashCacheService.findByHash(comicId, comicName, 2023, testHash, testImageData))
                 .thenReturn(Optional.empty());
 
         // Act
@@ -178,7 +179,7 @@ void shouldUseConfiguredYear() {
 
         // Assert
         assertThat(result.isDuplicate()).isFalse();
-        verify(hashCacheService).findByHash(comicId, comicName, 2023, testHash);
+        verify(hashCacheService).findByHash(comicId, comicName, 2023, testHash, testImageData);
     }
 
     @Test
@@ -188,7 +189,7 @@ void shouldHandleEmptyImageData() {
         when(cacheProperties.isDuplicateDetectionEnabled()).thenReturn(true);
         when(imageHasherFactory.getImageHasher()).thenReturn(imageHasher);
         when(imageHasher.calculateHash(emptyData)).thenReturn(testHash);
-        when(hashCacheService.findByHash(anyInt(), anyString(), anyInt(), anyString()))
+        when(hashCacheService.findByHash(anyInt(), anyString(), anyInt(), anyString(), any(byte[].class)))
                 .thenReturn(Optional.empty());
 
         // Act
@@ -0,0 +1,208 @@
+package org.stapledon.engine.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.stapledon.common.config.CacheProperties;
+import org.stapledon.common.dto.HashAlgorithm;
+import org.stapledon.common.dto.ImageHashRecord;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.infrastructure.storage.IoScheduler;
+import org.stapledon.common.service.ImageHasher;
+import org.stapledon.engine.storage.DuplicateImageHashRepository;
+
+/**
+ * Unit tests for HashCacheBackfillService.
+ */
+@ExtendWith(MockitoExtension.class)
+class HashCacheBackfillServiceTest {
+
+    private static final int COMIC_ID = 42;
+    private static final String COMIC_NAME = "TestComic";
+    private static final int YEAR = 2023;
+    private static final HashAlgorithm CURRENT_ALGORITHM = HashAlgorithm.DIFFERENCE_HASH;
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DuplicateImageHashRepository hashRepository;
+
+    @Mock
+    private ImageHasherFactory imageHasherFactory;
+
+    @Mock
+    private ImageHasher imageHasher;
+
+    @Mock
+    private CacheProperties cacheProperties;
+
+    private HashCacheBackfillService service;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheProperties.getHashBackfillConcurrency()).thenReturn(4);
+        service = new HashCacheBackfillService(hashRepository, imageHasherFactory, cacheProperties, new CacheScanner(4),
+                IoScheduler.unlimited());
+    }
+
+    @Test
+    void rehashHashesDatedPngsInParallelAndReplacesRecords() throws Exception {
+        // Arrange
+        Path yearDir = tempDir.resolve(COMIC_NAME).resolve(String.valueOf(YEAR));
+        Files.createDirectories(yearDir);
+        Files.write(yearDir.resolve("2023-01-15.png"), "image 1".getBytes());
+        Files.write(yearDir.resolve("2023-01-16.png"), "image 2".getBytes());
+        Files.write(yearDir.resolve("2023-01-17.jpg"), "jpeg".getBytes());
+        Files.write(yearDir.resolve("invalid-date.png"), "bad name".getBytes());
+
+        when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(yearDir);
+        when(imageHasherFactory.getImageHasher(CURRENT_ALGORITHM)).thenReturn(imageHasher);
+        when(imageHasher.calculateHash(any(byte[].class)))
+                .thenAnswer(invocation -> "hash-" + new String(invocation.getArgument(0, byte[].class)));
+
+        HashCacheBackfillService.YearTracker tracker =
+                new HashCacheBackfillService.YearTracker(COMIC_ID, COMIC_NAME, YEAR, CURRENT_ALGORITHM, "test");
+
+        // Act
+        service.rehash(tracker);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, ImageHashRecord>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(hashRepository).replaceHashes(eq(COMIC_ID), eq(COMIC_NAME), eq(YEAR), captor.capture(), any());
+        assertThat(captor.getValue()).containsOnlyKeys("hash-image 1", "hash-image 2");
+        assertThat(captor.getValue().get("hash-image 1").getAlgorithm()).isEqualTo(CURRENT_ALGORITHM);
+
+        HashCacheBackfillService.Progress progress = tracker.snapshot();
+        assertThat(progress.status()).isEqualTo(HashCacheBackfillService.Status.COMPLETED);
+        assertThat(progress.totalImages()).isEqualTo(3);
+        assertThat(progress.hashed()).isEqualTo(2);
+        assertThat(progress.failed()).isEqualTo(1);
+        assertThat(progress.completedAt()).isNotNull();
+    }
+
+    @Test
+    void rehashKeepsExistingRecordsWithCurrentAlgorithmOnly() {
+        // Arrange
+        ImageHashRecord savedDuringRun = ImageHashRecord.builder()
+                .hash("fresh")
+                .date(LocalDate.of(2023, 2, 1))
+                .filePath("/path/2023-02-01.png")
+                .algorithm(CURRENT_ALGORITHM)
+                .build();
+        ImageHashRecord legacy = ImageHashRecord.builder()
+                .hash("legacy")
+                .date(LocalDate.of(2023, 1, 1))
+                .filePath("/path/2023-01-01.png")
+                .algorithm(HashAlgorithm.MD5)
+                .build();
+        when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(tempDir.resolve("missing"));
+
+        HashCacheBackfillService.YearTracker tracker =
+                new HashCacheBackfillService.YearTracker(COMIC_ID, COMIC_NAME, YEAR, CURRENT_ALGORITHM, "test");
+
+        // Act
+        service.rehash(tracker);
+
+        // Assert: the replace carries over records saved with the current algorithm while the rehash ran
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Predicate<ImageHashRecord>> keep = ArgumentCaptor.forClass(Predicate.class);
+        verify(hashRepository).replaceHashes(eq(COMIC_ID), eq(COMIC_NAME), eq(YEAR), eq(Map.of()), keep.capture());
+        assertThat(keep.getValue().test(savedDuringRun)).isTrue();
+        assertThat(keep.getValue().test(legacy)).isFalse();
+        verify(hashRepository, never()).addHash(anyInt(), any(), anyInt(), any());
+    }
+
+    @Test
+    void scheduleIgnoresYearAlreadyQueuedForSameAlgorithm() {
+        // Arrange
+        when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
+        lenient().when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(tempDir.resolve("missing"));
+
+        // Act
+        boolean first = service.schedule(COMIC_ID, COMIC_NAME, YEAR, "first");
+        boolean second = service.schedule(COMIC_ID, COMIC_NAME, YEAR, "second");
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(service.getProgress()).hasSize(1);
+        assertThat(service.getProgress(COMIC_ID, YEAR)).get()
+                .extracting(HashCacheBackfillService.Progress::reason).isEqualTo("first");
+    }
+
+    @Test
+    void scheduleRequeuesYearWhoseLastRunFailed() {
+        // Arrange
+        when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
+        when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(tempDir.resolve("missing"));
+        doThrow(new IllegalStateException("disk full")).doNothing()
+                .when(hashRepository).replaceHashes(eq(COMIC_ID), eq(COMIC_NAME), eq(YEAR), any(), any());
+        assertThat(service.schedule(COMIC_ID, COMIC_NAME, YEAR, "first")).isTrue();
+        awaitStatus(HashCacheBackfillService.Status.FAILED);
+
+        // Act
+        boolean requeued = service.schedule(COMIC_ID, COMIC_NAME, YEAR, "retry");
+
+        // Assert
+        assertThat(requeued).isTrue();
+        awaitStatus(HashCacheBackfillService.Status.COMPLETED);
+        assertThat(service.getProgress(COMIC_ID, YEAR)).get()
+                .extracting(HashCacheBackfillService.Progress::reason).isEqualTo("retry");
+    }
+
+    @Test
+    void getProgressEvictsYearsCompletedBeforeRetention() {
+        // Arrange
+        when(cacheProperties.getHashAlgorithm()).thenReturn(CURRENT_ALGORITHM);
+        when(hashRepository.getYearDirectory(COMIC_ID, COMIC_NAME, YEAR)).thenReturn(tempDir.resolve("missing"));
+        service.schedule(COMIC_ID, COMIC_NAME, YEAR, "first");
+        awaitStatus(HashCacheBackfillService.Status.COMPLETED);
+
+        // Act: age the completed run past the retention window
+        HashCacheBackfillService.YearTracker tracker = trackers().get(COMIC_ID + ":" + YEAR);
+        tracker.completedAt = Instant.now().minus(HashCacheBackfillService.COMPLETED_RETENTION).minusSeconds(1);
+
+        // Assert
+        assertThat(service.getProgress()).isEmpty();
+        assertThat(service.getProgress(COMIC_ID, YEAR)).isEmpty();
+    }
+
+    private void awaitStatus(HashCacheBackfillService.Status status) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getProgress(COMIC_ID, YEAR).map(HashCacheBackfillService.Progress::status).orElse(null) != status) {
+            assertThat(System.nanoTime()).as("timed out waiting for %s", status).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, HashCacheBackfillService.YearTracker> trackers() {
+        return (Map<String, HashCacheBackfillService.YearTracker>) ReflectionTestUtils.getField(service, "trackers");
+    }
+}
@@ -3,261 +3,431 @@
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.stapledon.common.dto.ComicStorageMetrics;
 import org.stapledon.common.dto.ImageCacheStats;
+import org.stapledon.common.infrastructure.storage.CacheScanListener;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
+import org.stapledon.common.service.StorageEventListener;
 
 import java.io.File;
-import java.util.Arrays;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Collector for storage metrics. Scans the cache directory and computes storage
- * utilization statistics. This collector only computes metrics in-memory;
- * persistence is handled by
- * MetricsRepository.
+ * Collector for storage metrics. Maintains per-comic, per-year storage tallies
+ * incrementally from save and delete events raised by the storage facade, so
+ * reading the statistics never touches the filesystem. A full reconciling scan
+ * of the cache directory runs on demand via {@link #updateStats()} and
+ * periodically in the background to correct any drift. This collector only
+ * computes metrics in-memory; persistence is handled by MetricsRepository.
  */
 @Slf4j
-@ToString
-public class StorageMetricsCollector {
+@ToString(onlyExplicitlyIncluded = true)
+public class StorageMetricsCollector implements StorageEventListener {
+    private static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofHours(24);
+    private static final Pattern YEAR_DIRECTORY = Pattern.compile("\\d{4}");
+
+    @ToString.Include
     private final String cacheDirectory;
+    @ToString.Include
+    private final Duration reconcileInterval;
+
+    // comic directory name -> year -> tally
+    private final Map<String, Map<String, YearTally>> tallies = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicBoolean reconcileRunning = new AtomicBoolean(false);
+    private final CacheScanner cacheScanner;
 
-    private ImageCacheStats cacheStats;
+    // comic/year -> events raised while a reconcile is running; null otherwise
+    private volatile Map<String, List<PendingEvent>> pendingEvents;
+    private volatile Snapshot snapshot;
+    private volatile Instant lastReconciled;
 
     public StorageMetricsCollector(@Qualifier("cacheLocation") String targetDirectory) {
+        this(targetDirectory, new CacheScanner(CacheScanner.DEFAULT_CONCURRENCY), DEFAULT_RECONCILE_INTERVAL);
+    }
+
+    public StorageMetricsCollector(String targetDirectory, CacheScanner cacheScanner, Duration reconcileInterval) {
         this.cacheDirectory = targetDirectory;
+        this.cacheScanner = cacheScanner;
+        this.reconcileInterval = reconcileInterval;
     }
 
+    /**
+     * Current storage statistics built from the in-memory tallies. The first call
+     * waits for the initial reconciling scan, so it never reports an empty cache
+     * that has simply not been counted yet. Afterwards a background scan is
+     * scheduled when the last one is older than the reconcile interval; the
+     * returned statistics never wait on it.
+     */
     public ImageCacheStats cacheStats() {
-        if (cacheStats == null) {
+        Instant reconciled = lastReconciled;
+        if (reconciled == null) {
+            seed();
+        } else if (reconciled.plus(reconcileInterval).isBefore(Instant.now())) {
+            reconcileInBackground();
+        }
+
+        long currentVersion = version.get();
+        Snapshot current = snapshot;
+        if (current == null || current.version() != currentVersion) {
+            current = new Snapshot(currentVersion, buildStats());
+            snapshot = current;
+        }
+        return current.stats();
+    }
+
+    /**
+     * Run the initial reconciling scan unless one has completed, waiting for any
+     * scan already in progress rather than starting a second one.
+     */
+    private synchronized void seed() {
+        if (lastReconciled == null) {
             updateStats();
         }
-        return cacheStats;
     }
 
     /**
-     * Generate Statistics about the Images cached in a particular directory.
+     * Start a reconciling scan on a background virtual thread unless one is already running.
+     */
+    public void reconcileInBackground() {
+        if (!reconcileRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("storage-metrics-reconcile").start(() -> {
+            try {
+                updateStats();
+            } catch (Exception e) {
+                log.error("Background storage metrics reconcile failed", e);
+            } finally {
+                reconcileRunning.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reconcile the in-memory tallies against the cache directory using a parallel
+     * {@link CacheScanner} pass. Save and delete events raised while a year directory
+     * is being scanned are recorded and replayed against that year's listing, so they
+     * are neither lost nor double counted.
      *
      * @return True if successful
      */
-    public boolean updateStats() {
+    public synchronized boolean updateStats() {
         long startTime = System.currentTimeMillis();
-        log.info("Starting storage metrics scan...");
+        log.info("Starting storage metrics reconcile scan...");
 
-        var root = new File(cacheDirectory);
-        if (!root.exists()) {
+        Path root = Path.of(cacheDirectory);
+        if (!Files.exists(root)) {
             log.error("{} doesn't exist", cacheDirectory);
             return false;
         }
 
-        // Initialize with empty metrics
-        cacheStats = new ImageCacheStats();
+        pendingEvents = new ConcurrentHashMap<>();
+        try {
+            CacheScanner.ScanSummary summary = cacheScanner.scanCache(root, CacheScanner.ScanOptions.imagesWithAttributes(),
+                    List.of(new ReconcileListener()));
+            version.incrementAndGet();
+            lastReconciled = Instant.now();
 
-        // Get all comic directories (one level down from root)
-        File[] comicDirs = root.listFiles(file -> file.isDirectory()
-                && !"@eaDir".equals(file.getName())
-                && !"batch-logs".equals(file.getName()));
-        if (comicDirs == null || comicDirs.length == 0) {
-            log.warn("No comic directories found in {}", cacheDirectory);
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Storage metrics reconcile completed in {}ms: {} comics, {} images, {} bytes", duration,
+                    summary.comics(), summary.files(), summary.bytes());
             return true;
+        } finally {
+            pendingEvents = null;
         }
+    }
 
-        // Process each comic directory to gather metrics
-        Map<String, ComicStorageMetrics> perComicMetrics = new HashMap<>();
-        long totalStorageBytes = 0;
+    @Override
+    public void onStripSaved(String comicDirectoryName, LocalDate date, long sizeBytes) {
+        String year = yearOf(date);
+        String fileName = fileNameOf(date);
+        tallies.computeIfAbsent(comicDirectoryName, k -> new ConcurrentHashMap<>())
+                .compute(year, (k, tally) -> {
+                    recordPending(comicDirectoryName, year, new PendingEvent(fileName, sizeBytes, true));
+                    return (tally == null ? YearTally.EMPTY : tally).plus(fileName, sizeBytes);
+                });
+        version.incrementAndGet();
+    }
 
-        for (File comicDir : comicDirs) {
-            ComicStorageMetrics metrics = calculateComicMetrics(comicDir);
-            perComicMetrics.put(comicDir.getName(), metrics);
-            totalStorageBytes += metrics.getStorageBytes();
-        }
+    /**
+     * An overwrite keeps the image count and boundaries; only the year's bytes change. Relisting the
+     * year here would already see the new file and count it twice once the save was applied.
+     */
+    @Override
+    public void onStripReplaced(String comicDirectoryName, LocalDate date, long previousSizeBytes, long sizeBytes) {
+        String year = yearOf(date);
+        String fileName = fileNameOf(date);
+        tallies.computeIfAbsent(comicDirectoryName, k -> new ConcurrentHashMap<>())
+                .compute(year, (k, tally) -> {
+                    // Replayed as a delete then a save, so a racing listing ends up with the new size
+                    recordPending(comicDirectoryName, year, new PendingEvent(fileName, previousSizeBytes, false));
+                    recordPending(comicDirectoryName, year, new PendingEvent(fileName, sizeBytes, true));
+                    return tally == null ? YearTally.EMPTY.plus(fileName, sizeBytes) : tally.resize(previousSizeBytes, sizeBytes);
+                });
+        version.incrementAndGet();
+    }
 
-        // Gather all years across all comics
-        java.util.Set<String> allYearsSet = new java.util.TreeSet<>();
-        for (File comicDir : comicDirs) {
-            String[] years = comicDir
-                    .list((dir, name) -> new File(dir, name).isDirectory()
-                            && !"@eaDir".equals(name)
-                            && name.matches("\\d{4}"));
-            if (years != null) {
-                allYearsSet.addAll(Arrays.asList(years));
+    @Override
+    public void onStripDeleted(String comicDirectoryName, LocalDate date, long sizeBytes) {
+        String year = yearOf(date);
+        String fileName = fileNameOf(date);
+        File yearDir = new File(new File(cacheDirectory, comicDirectoryName), year);
+        Map<String, YearTally> years = tallies.computeIfAbsent(comicDirectoryName, k -> new ConcurrentHashMap<>());
+
+        // Losing a boundary image means the new boundary is unknown, so the year is listed
+        // again. The listing runs outside compute and is only applied if the tally it was
+        // taken for is still current; otherwise the year is listed again.
+        YearTally listedFor = null;
+        YearTally listing = null;
+        while (true) {
+            YearTally current = years.get(year);
+            if (current != null && current.isBoundary(fileName) && current != listedFor) {
+                listedFor = current;
+                listing = YearTally.scan(yearDir);
+            }
+            if (applyDelete(years, comicDirectoryName, year, fileName, sizeBytes, listedFor, listing)) {
+                break;
             }
         }
+        version.incrementAndGet();
+    }
 
-        if (!allYearsSet.isEmpty()) {
-            String[] allYearsSorted = allYearsSet.toArray(new String[0]);
-            Arrays.sort(allYearsSorted, Comparator.comparing(Integer::valueOf));
-            var years = Arrays.asList(allYearsSorted);
+    /**
+     * Apply a delete to the year's tally, using the listing taken for {@code listedFor}
+     * when a boundary image is removed.
+     *
+     * @return false if a boundary image is removed and the tally is no longer the one listed
+     */
+    private boolean applyDelete(Map<String, YearTally> years, String comicDirectoryName, String year, String fileName,
+                                long sizeBytes, YearTally listedFor, YearTally listing) {
+        AtomicBoolean applied = new AtomicBoolean(true);
+        years.compute(year, (k, tally) -> {
+            if (tally != null && tally.isBoundary(fileName) && tally != listedFor) {
+                applied.set(false);
+                return tally;
+            }
+            recordPending(comicDirectoryName, year, new PendingEvent(fileName, sizeBytes, false));
+            if (tally == null) {
+                return null;
+            }
+            YearTally updated = tally.isBoundary(fileName) ? listing : tally.minus(sizeBytes);
+            return updated.images() > 0 ? updated : null;
+        });
+        return applied.get();
+    }
 
-            // Aggregate year-based statistics across all comics
-            Map<String, Integer> imageCountByYear = new HashMap<>();
-            Map<String, Long> storageBytesByYear = new HashMap<>();
+    @Override
+    public void onComicDeleted(String comicDirectoryName) {
+        tallies.remove(comicDirectoryName);
+        version.incrementAndGet();
+    }
 
-            for (ComicStorageMetrics metrics : perComicMetrics.values()) {
-                if (metrics.getStorageByYear() != null) {
-                    metrics.getStorageByYear().forEach((year, bytes) ->
-                            storageBytesByYear.merge(year, bytes, Long::sum));
-                }
-            }
+    /**
+     * Remember an event while a reconcile is running. Always called from inside the
+     * tally's compute so it is ordered with the reconcile's replacement of that tally.
+     */
+    private void recordPending(String comicDirectoryName, String year, PendingEvent event) {
+        Map<String, List<PendingEvent>> pending = pendingEvents;
+        if (pending != null) {
+            pending.computeIfAbsent(comicDirectoryName + "/" + year, k -> new ArrayList<>()).add(event);
+        }
+    }
 
-            // Calculate image counts per year by scanning each year directory
-            for (String year : years) {
-                int yearImageCount = 0;
-                for (File comicDir : comicDirs) {
-                    File yearDir = new File(comicDir, year);
-                    if (yearDir.exists() && yearDir.isDirectory()) {
-                        File[] images = yearDir.listFiles(file -> file.isFile()
-                                && (file.getName().endsWith(".png") || file.getName().endsWith(".jpg")));
-                        if (images != null) {
-                            yearImageCount += images.length;
-                        }
-                    }
-                }
-                imageCountByYear.put(year, yearImageCount);
+    /**
+     * Replaces each year's tally with the scanned listing as it arrives, then drops
+     * comics and years that no longer exist on disk.
+     */
+    private final class ReconcileListener implements CacheScanListener {
+        @Override
+        public void onYearScanned(String comicDirectory, String year, Path yearDirectory,
+                                  List<CacheScanner.ScannedFile> files) {
+            if (!YEAR_DIRECTORY.matcher(year).matches()) {
+                return;
             }
-
-            // Find oldest and newest images across all comics
-            String oldestComicName = null;
-            String oldestYear = allYearsSorted[0];
-            String oldestImage = null;
-            String newestComicName = null;
-            String newestYear = allYearsSorted[allYearsSorted.length - 1];
-            String newestImage = null;
-
-            // Scan all comics to find the one with the oldest image
-            for (File comicDir : comicDirs) {
-                File yearDir = new File(comicDir, oldestYear);
-                if (yearDir.exists()) {
-                    String first = firstImage(yearDir.getAbsolutePath());
-                    if (first != null && (oldestImage == null || first.compareTo(oldestImage) < 0)) {
-                        oldestImage = first;
-                        oldestComicName = comicDir.getName();
+            Map<String, Long> listing = new HashMap<>();
+            files.forEach(file -> listing.put(file.fileName(), file.sizeBytes()));
+
+            // Only the replay and merge run inside compute, so saves and deletes of this year wait on nothing else
+            tallies.computeIfAbsent(comicDirectory, k -> new ConcurrentHashMap<>()).compute(year, (k, existing) -> {
+                // Replay events that raced with the listing; saves already listed and deletes
+                // no longer listed are no-ops, so the result matches the directory after the events
+                Map<String, List<PendingEvent>> pending = pendingEvents;
+                List<PendingEvent> events = pending == null ? null : pending.remove(comicDirectory + "/" + year);
+                if (events != null) {
+                    for (PendingEvent event : events) {
+                        if (event.saved()) {
+                            listing.putIfAbsent(event.fileName(), event.sizeBytes());
+                        } else {
+                            listing.remove(event.fileName());
+                        }
                     }
                 }
-            }
 
-            // Scan all comics to find the one with the newest image
-            for (File comicDir : comicDirs) {
-                File yearDir = new File(comicDir, newestYear);
-                if (yearDir.exists()) {
-                    String last = lastImage(yearDir.getAbsolutePath());
-                    if (last != null && (newestImage == null || last.compareTo(newestImage) > 0)) {
-                        newestImage = last;
-                        newestComicName = comicDir.getName();
-                    }
+                YearTally tally = YearTally.EMPTY;
+                for (Map.Entry<String, Long> entry : listing.entrySet()) {
+                    tally = tally.plus(entry.getKey(), entry.getValue());
                 }
-            }
-
-            cacheStats = ImageCacheStats.builder().years(years)
-                    .oldestImage(buildImagePath(oldestComicName, oldestYear, oldestImage))
-                    .newestImage(buildImagePath(newestComicName, newestYear, newestImage))
-                    .totalStorageBytes(totalStorageBytes).perComicMetrics(perComicMetrics)
-                    .imageCountByYear(imageCountByYear).storageBytesByYear(storageBytesByYear).build();
+                return tally;
+            });
         }
 
-        long duration = System.currentTimeMillis() - startTime;
-        log.info("Storage metrics scan completed in {}ms: {} comics, {} total bytes", duration, perComicMetrics.size(),
-                totalStorageBytes);
-        return true;
+        @Override
+        public void onScanComplete(Map<String, List<String>> yearsByComic) {
+            tallies.keySet().retainAll(yearsByComic.keySet());
+            yearsByComic.forEach((comicDirectory, years) -> {
+                Map<String, YearTally> comicTallies = tallies.computeIfAbsent(comicDirectory, k -> new ConcurrentHashMap<>());
+                comicTallies.keySet().retainAll(Set.copyOf(years));
+            });
+        }
     }
 
     /**
-     * Calculate storage metrics for a specific comic directory
-     *
-     * @param comicDir Comic directory to analyze
-     * @return Metrics for the comic
+     * Aggregate the per-year tallies into the cache statistics exposed to callers.
      */
-    private ComicStorageMetrics calculateComicMetrics(File comicDir) {
-        long totalSize = 0;
-        int imageCount = 0;
-        Map<String, Long> yearStorage = new HashMap<>();
-
-        // Process each year directory
-        File[] yearDirs = comicDir.listFiles(file -> file.isDirectory() && !"@eaDir".equals(file.getName()));
-        if (yearDirs != null) {
-            for (File yearDir : yearDirs) {
-                long yearSize = 0;
-                File[] images = yearDir.listFiles(
-                        file -> file.isFile() && (file.getName().endsWith(".png") || file.getName().endsWith(".jpg")));
-
-                if (images != null) {
-                    for (File image : images) {
-                        long fileSize = image.length();
-                        yearSize += fileSize;
-                        imageCount++;
+    private ImageCacheStats buildStats() {
+        Map<String, ComicStorageMetrics> perComicMetrics = new HashMap<>();
+        Map<String, Integer> imageCountByYear = new HashMap<>();
+        Map<String, Long> storageBytesByYear = new HashMap<>();
+        long totalStorageBytes = 0;
+
+        String oldestImage = null;
+        String newestImage = null;
+
+        for (Map.Entry<String, Map<String, YearTally>> comicEntry : tallies.entrySet()) {
+            String comicName = comicEntry.getKey();
+            long comicBytes = 0;
+            int comicImages = 0;
+            Map<String, Long> storageByYear = new HashMap<>();
+            Map<String, Integer> comicImagesByYear = new HashMap<>();
+
+            for (Map.Entry<String, YearTally> yearEntry : comicEntry.getValue().entrySet()) {
+                String year = yearEntry.getKey();
+                YearTally tally = yearEntry.getValue();
+
+                storageByYear.put(year, tally.bytes());
+                comicImagesByYear.put(year, tally.images());
+                storageBytesByYear.merge(year, tally.bytes(), Long::sum);
+                imageCountByYear.merge(year, tally.images(), Integer::sum);
+                comicBytes += tally.bytes();
+                comicImages += tally.images();
+
+                if (tally.oldest() != null) {
+                    String path = buildImagePath(comicName, year, tally.oldest());
+                    if (oldestImage == null || tally.oldest().compareTo(fileNameOfPath(oldestImage)) < 0) {
+                        oldestImage = path;
+                    }
+                }
+                if (tally.newest() != null) {
+                    String path = buildImagePath(comicName, year, tally.newest());
+                    if (newestImage == null || tally.newest().compareTo(fileNameOfPath(newestImage)) > 0) {
+                        newestImage = path;
                     }
                 }
-
-                yearStorage.put(yearDir.getName(), yearSize);
-                totalSize += yearSize;
             }
+
+            perComicMetrics.put(comicName, ComicStorageMetrics.builder().comicName(comicName)
+                    .storageBytes(comicBytes).imageCount(comicImages)
+                    .averageImageSize(comicImages > 0 ? (double) comicBytes / comicImages : 0)
+                    .storageByYear(storageByYear).imageCountByYear(comicImagesByYear)
+                    .build());
+            totalStorageBytes += comicBytes;
         }
 
-        return ComicStorageMetrics.builder().comicName(comicDir.getName()).storageBytes(totalSize)
-                .imageCount(imageCount)
-                .averageImageSize(imageCount > 0 ? (double) totalSize / imageCount : 0).storageByYear(yearStorage)
-                .build();
+        List<String> years = new ArrayList<>(storageBytesByYear.keySet());
+        years.sort(Comparator.comparing(Integer::valueOf));
+
+        return ImageCacheStats.builder().years(years)
+                .oldestImage(oldestImage == null ? "" : oldestImage)
+                .newestImage(newestImage == null ? "" : newestImage)
+                .totalStorageBytes(totalStorageBytes).perComicMetrics(perComicMetrics)
+                .imageCountByYear(imageCountByYear).storageBytesByYear(storageBytesByYear).build();
     }
 
     /**
      * Build a proper image path including comic name, year, and filename.
-     *
-     * @param comicName The comic directory name
-     * @param year      The year directory name
-     * @param imageName The image filename (or null if no images)
-     * @return Full path string, or empty string if imageName is null
      */
     private String buildImagePath(String comicName, String year, String imageName) {
-        if (imageName == null) {
-            return "";
-        }
         return String.format("%s/%s/%s/%s", cacheDirectory, comicName, year, imageName);
     }
 
+    private static String fileNameOfPath(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String yearOf(LocalDate date) {
+        return String.format("%04d", date.getYear());
+    }
+
+    private static String fileNameOf(LocalDate date) {
+        return date + ".png";
+    }
+
+    private static boolean isImage(String name) {
+        return name.endsWith(".png") || name.endsWith(".jpg");
+    }
+
     /**
-     * Find the first image in the folder
-     *
-     * @param location Directory to look into
-     * @return First item in the directory when sorted by filename
+     * A save or delete observed while a reconcile was running.
      */
-    private String firstImage(String location) {
-        String[] cachedStrips = images(location);
-        if (cachedStrips.length < 1) {
-            return null;
-        }
-        return cachedStrips[0];
+    private record PendingEvent(String fileName, long sizeBytes, boolean saved) {
     }
 
     /**
-     * Find the last image in the folder
-     *
-     * @param location Directory to look into
-     * @return Last item in the directory when sorted by filename
+     * Statistics built from the tallies at a given version.
      */
-    private String lastImage(String location) {
-        String[] cachedStrips = images(location);
-        if (cachedStrips.length < 1) {
-            return null;
-        }
-        return cachedStrips[cachedStrips.length - 1];
+    private record Snapshot(long version, ImageCacheStats stats) {
     }
 
     /**
-     * Get the list of Images in the selected folder
-     *
-     * @param location Path to search
-     * @return List of folders or null if none were found
+     * Immutable storage tally for one comic-year directory. Filenames sort
+     * chronologically, so the oldest and newest images are tracked by name.
      */
-    private String[] images(String location) {
-        var folder = new File(location);
-        var cachedStrips = folder.list((dir, name) -> new File(dir, name).isFile()
-                && (name.endsWith(".png") || name.endsWith(".jpg")) && !"@eaDir".equals(name));
+    private record YearTally(long bytes, int images, String oldest, String newest) {
+        static final YearTally EMPTY = new YearTally(0, 0, null, null);
+
+        YearTally plus(String fileName, long size) {
+            return new YearTally(bytes + size, images + 1,
+                    oldest == null || fileName.compareTo(oldest) < 0 ? fileName : oldest,
+                    newest == null || fileName.compareTo(newest) > 0 ? fileName : newest);
+        }
 
-        if (cachedStrips == null || cachedStrips.length == 0) {
-            return new String[]{};
+        YearTally resize(long previousSize, long size) {
+            return new YearTally(Math.max(0, bytes - previousSize + size), images, oldest, newest);
+        }
+
+        YearTally minus(long size) {
+            return new YearTally(Math.max(0, bytes - size), Math.max(0, images - 1), oldest, newest);
+        }
+
+        boolean isBoundary(String fileName) {
+            return fileName.equals(oldest) || fileName.equals(newest);
+        }
+
+        static YearTally scan(File yearDir) {
+            File[] images = yearDir.listFiles(file -> file.isFile() && isImage(file.getName()));
+            if (images == null) {
+                return EMPTY;
+            }
+            YearTally tally = EMPTY;
+            for (File image : images) {
+                tally = tally.plus(image.getName(), image.length());
+            }
+            return tally;
         }
-        Arrays.sort(cachedStrips, String::compareTo);
-        return cachedStrips;
     }
 }
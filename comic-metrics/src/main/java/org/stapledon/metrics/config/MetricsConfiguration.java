@@ -4,6 +4,7 @@
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.stapledon.common.infrastructure.storage.CacheScanner;
 import org.stapledon.metrics.collector.AccessMetricsCollector;
 import org.stapledon.metrics.collector.StorageMetricsCollector;
 import org.stapledon.metrics.repository.AccessMetricsRepository;
@@ -14,6 +15,8 @@
 import org.stapledon.metrics.service.MetricsService;
 import org.stapledon.metrics.service.NoOpMetricsService;
 
+import java.time.Duration;
+
 import com.google.gson.Gson;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -59,14 +62,17 @@ public MetricsService noOpMetricsService() {
     }
 
     /**
-     * Creates StorageMetricsCollector when metrics are enabled. Scans filesystem to
-     * compute storage statistics.
+     * Creates StorageMetricsCollector when metrics are enabled. Maintains storage
+     * statistics from storage save/delete events and reconciles against the
+     * filesystem in the background every reconcile-interval-hours.
      */
     @Bean
     @ConditionalOnProperty(prefix = "comics.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public StorageMetricsCollector storageMetricsCollector(@Qualifier("cacheLocation") String cacheLocation) {
-        log.debug("Creating StorageMetricsCollector");
-        return new StorageMetricsCollector(cacheLocation);
+    public StorageMetricsCollector storageMetricsCollector(@Qualifier("cacheLocation") String cacheLocation,
+            CacheScanner cacheScanner,
+            @org.springframework.beans.factory.annotation.Value("${comics.metrics.storage-reconcile-interval-hours:24}") int reconcileIntervalHours) {
+        log.debug("Creating StorageMetricsCollector with reconcile interval: {}h", reconcileIntervalHours);
+        return new StorageMetricsCollector(cacheLocation, cacheScanner, Duration.ofHours(reconcileIntervalHours));
     }
 
     /**
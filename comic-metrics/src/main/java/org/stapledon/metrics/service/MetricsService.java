@@ -15,7 +15,8 @@ public interface MetricsService {
 
     /**
      * Get current storage metrics for all comics.
-     * These metrics are computed from filesystem scans.
+     * These metrics are maintained incrementally from storage events and
+     * periodically reconciled against the filesystem.
      *
      * @return Storage metrics including size and comic counts
      */
@@ -39,7 +40,7 @@ public interface MetricsService {
 
     /**
      * Force an immediate refresh of storage metrics.
-     * Triggers a filesystem scan to update storage statistics.
+     * Triggers a full filesystem reconcile of the incremental storage statistics.
      *
      * @return Updated storage metrics
      */
@@ -34,15 +34,15 @@ public class MetricsUpdateService {
     private final AccessMetricsRepository accessMetricsRepository;
 
     /**
-     * Force a refresh of all metrics immediately. This includes storage metrics and
-     * access metrics persistence. Combined metrics are computed on-demand via
+     * Force a refresh of all metrics immediately. This includes a full storage
+     * reconcile scan and access metrics persistence. Combined metrics are computed on-demand via
      * buildCombinedMetrics().
      */
     public void forceRefreshAll() {
         try {
             log.info("Force refreshing all metrics");
 
-            // Refresh storage metrics by scanning filesystem
+            // Reconcile incrementally-maintained storage metrics against the filesystem
             storageMetricsUpdater.updateStats();
 
             // Persist current access metrics
@@ -165,12 +165,12 @@ private Map<String, YearlyStorageMetrics> buildYearlyStorage(ComicStorageMetrics
         Map<String, YearlyStorageMetrics> yearlyStorage = new HashMap<>();
 
         if (storageMetric.getStorageByYear() != null) {
+            Map<String, Integer> imageCountByYear = storageMetric.getImageCountByYear() != null
+                    ? storageMetric.getImageCountByYear()
+                    : Map.of();
             storageMetric.getStorageByYear().forEach((year, bytes) ->
                     yearlyStorage.put(year, YearlyStorageMetrics.builder().storageBytes(bytes)
-                            // Note: Image count per year per comic not currently tracked in
-                            // ComicStorageMetrics
-                            // Would need to enhance scanning to get this
-                            .imageCount(0).build()));
+                            .imageCount(imageCountByYear.getOrDefault(year, 0)).build()));
         }
 
         return yearlyStorage;
@@ -11,6 +11,7 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -78,6 +79,16 @@ void cacheStats_whenCacheIsEmpty_returnsEmptyStats() {
         assertThat(stats.getPerComicMetrics() == null || stats.getPerComicMetrics().isEmpty()).isTrue();
     }
 
+    @Test
+    void cacheStats_beforeAnyReconcile_waitsForInitialScan() {
+        // Act
+        ImageCacheStats stats = cacheStatsUpdater.cacheStats();
+
+        // Assert
+        assertThat(stats.getTotalStorageBytes()).isEqualTo(82 * 1024);
+        assertThat(stats.getPerComicMetrics()).containsOnlyKeys("CalvinAndHobbes", "Garfield");
+    }
+
     @Test
     void updateStats_calculatesCorrectTotalStorageBytes() {
         // Act
@@ -171,6 +182,84 @@ void updateStats_populatesOldestAndNewestImages() {
         assertThat(stats.getNewestImage()).contains("2020-12-31.png");
     }
 
+    @Test
+    void onStripSaved_updatesStatsWithoutRescan() throws IOException {
+        // Arrange
+        cacheStatsUpdater.updateStats();
+        File year2021 = new File(cacheRoot, "Garfield/2021");
+        year2021.mkdir();
+        createDummyImage(year2021, "2021-03-04.png", 1024 * 5);
+
+        // Act
+        cacheStatsUpdater.onStripSaved("Garfield", LocalDate.of(2021, 3, 4), 1024 * 5);
+
+        // Assert
+        ImageCacheStats stats = cacheStatsUpdater.cacheStats();
+        assertThat(stats.getTotalStorageBytes()).isEqualTo(87 * 1024);
+        assertThat(stats.getPerComicMetrics().get("Garfield").getImageCount()).isEqualTo(3);
+        assertThat(stats.getImageCountByYear()).containsEntry("2021", 1);
+        assertThat(stats.getYears()).containsExactly("2010", "2011", "2020", "2021");
+        assertThat(stats.getNewestImage()).endsWith("Garfield/2021/2021-03-04.png");
+    }
+
+    @Test
+    void onStripDeleted_recomputesBoundaryFromYearDirectory() throws IOException {
+        // Arrange
+        cacheStatsUpdater.updateStats();
+        Files.delete(new File(cacheRoot, "CalvinAndHobbes/2010/2010-01-01.png").toPath());
+
+        // Act
+        cacheStatsUpdater.onStripDeleted("CalvinAndHobbes", LocalDate.of(2010, 1, 1), 1024 * 10);
+
+        // Assert
+        ImageCacheStats stats = cacheStatsUpdater.cacheStats();
+        assertThat(stats.getTotalStorageBytes()).isEqualTo(72 * 1024);
+        assertThat(stats.getOldestImage()).endsWith("CalvinAndHobbes/2010/2010-01-02.png");
+        assertThat(stats.getPerComicMetrics().get("CalvinAndHobbes").getImageCountByYear()).containsEntry("2010", 1);
+    }
+
+    @Test
+    void onStripReplaced_overwritingNewestStripKeepsImageCount() throws IOException {
+        // Arrange
+        cacheStatsUpdater.updateStats();
+        createDummyImage(new File(cacheRoot, "Garfield/2020"), "2020-12-31.png", 1024 * 30);
+
+        // Act
+        cacheStatsUpdater.onStripReplaced("Garfield", LocalDate.of(2020, 12, 31), 1024 * 25, 1024 * 30);
+
+        // Assert
+        ImageCacheStats stats = cacheStatsUpdater.cacheStats();
+        ComicStorageMetrics garfield = stats.getPerComicMetrics().get("Garfield");
+        assertThat(garfield.getImageCountByYear()).containsEntry("2020", 2);
+        assertThat(garfield.getStorageBytes()).isEqualTo(50 * 1024);
+        assertThat(stats.getNewestImage()).endsWith("Garfield/2020/2020-12-31.png");
+        assertThat(stats.getTotalStorageBytes()).isEqualTo(87 * 1024);
+    }
+
+    @Test
+    void onComicDeleted_removesComicFromStats() {
+        // Arrange
+        cacheStatsUpdater.updateStats();
+
+        // Act
+        cacheStatsUpdater.onComicDeleted("Garfield");
+
+        // Assert
+        ImageCacheStats stats = cacheStatsUpdater.cacheStats();
+        assertThat(stats.getPerComicMetrics()).containsOnlyKeys("CalvinAndHobbes");
+        assertThat(stats.getTotalStorageBytes()).isEqualTo(37 * 1024);
+    }
+
+    @Test
+    void updateStats_tracksImageCountsPerComicYear() {
+        // Act
+        cacheStatsUpdater.updateStats();
+
+        // Assert
+        ComicStorageMetrics calvin = cacheStatsUpdater.cacheStats().getPerComicMetrics().get("CalvinAndHobbes");
+        assertThat(calvin.getImageCountByYear()).containsEntry("2010", 2).containsEntry("2011", 1);
+    }
+
     private void deleteDirectory(File dir) {
         if (dir.exists()) {
             File[] files = dir.listFiles();